@@ -70,7 +70,10 @@ import net.sf.ehcache.search.attribute.AttributeExtractor;
 import net.sf.ehcache.search.attribute.DynamicAttributesExtractor;
 import net.sf.ehcache.search.attribute.UnknownAttributeException;
 import net.sf.ehcache.search.expression.BaseCriteria;
+import net.sf.ehcache.statistics.HotKeyTracker;
 import net.sf.ehcache.statistics.StatisticsGateway;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
+import net.sf.ehcache.statistics.extended.WorkingSetTracker;
 import net.sf.ehcache.store.CopyingCacheStore;
 import net.sf.ehcache.store.ElementValueComparator;
 import net.sf.ehcache.store.LegacyStoreWrapper;
@@ -265,24 +268,34 @@ public class Cache implements InternalEhcache, StoreListener {
 
     private volatile CacheWriter registeredCacheWriter;
 
-    private final OperationObserver<GetOutcome> getObserver = operation(GetOutcome.class).named("get").of(this).tag("cache").build();
-    private final OperationObserver<PutOutcome> putObserver = operation(PutOutcome.class).named("put").of(this).tag("cache").build();
-    private final OperationObserver<RemoveOutcome> removeObserver = operation(RemoveOutcome.class).named("remove").of(this).tag("cache").build();
+    private final StatisticsLevelSwitch statisticsLevelSwitch = new StatisticsLevelSwitch();
+
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker(statisticsLevelSwitch);
+
+    private final WorkingSetTracker workingSetTracker = new WorkingSetTracker(statisticsLevelSwitch);
+
+    private final OperationObserver<GetOutcome> getObserver = operation(GetOutcome.class).named("get").of(this)
+            .tag("cache").switchedBy(statisticsLevelSwitch).build();
+    private final OperationObserver<PutOutcome> putObserver = operation(PutOutcome.class).named("put").of(this)
+            .tag("cache").switchedBy(statisticsLevelSwitch).build();
+    private final OperationObserver<RemoveOutcome> removeObserver = operation(RemoveOutcome.class).named("remove").of(this)
+            .tag("cache").switchedBy(statisticsLevelSwitch).build();
     private final OperationObserver<GetAllOutcome> getAllObserver = operation(GetAllOutcome.class).named("getAll").of(this)
-            .tag("cache", "bulk").build();
+            .tag("cache", "bulk").switchedBy(statisticsLevelSwitch).build();
     private final OperationObserver<PutAllOutcome> putAllObserver = operation(PutAllOutcome.class).named("putAll").of(this)
-            .tag("cache", "bulk").build();
+            .tag("cache", "bulk").switchedBy(statisticsLevelSwitch).build();
     private final OperationObserver<RemoveAllOutcome> removeAllObserver = operation(RemoveAllOutcome.class).named("removeAll").of(this)
-            .tag("cache", "bulk").build();
-    private final OperationObserver<SearchOutcome> searchObserver = operation(SearchOutcome.class).named("search").of(this).tag("cache").build();
+            .tag("cache", "bulk").switchedBy(statisticsLevelSwitch).build();
+    private final OperationObserver<SearchOutcome> searchObserver = operation(SearchOutcome.class).named("search").of(this)
+            .tag("cache").switchedBy(statisticsLevelSwitch).build();
     private final OperationObserver<CacheOperationOutcomes.ReplaceOneArgOutcome> replace1Observer = operation(CacheOperationOutcomes.ReplaceOneArgOutcome.class).named("replace1").of(this)
-      .tag("cache").build();
+      .tag("cache").switchedBy(statisticsLevelSwitch).build();
     private final OperationObserver<CacheOperationOutcomes.ReplaceTwoArgOutcome> replace2Observer = operation(CacheOperationOutcomes.ReplaceTwoArgOutcome.class).named("replace2").of(this)
-      .tag("cache").build();
+      .tag("cache").switchedBy(statisticsLevelSwitch).build();
     private final OperationObserver<PutIfAbsentOutcome> putIfAbsentObserver = operation(PutIfAbsentOutcome.class).named("putIfAbsent").of(this)
-      .tag("cache").build();
+      .tag("cache").switchedBy(statisticsLevelSwitch).build();
     private final OperationObserver<RemoveElementOutcome> removeElementObserver = operation(RemoveElementOutcome.class).named("removeElement").of(this)
-      .tag("cache").build();
+      .tag("cache").switchedBy(statisticsLevelSwitch).build();
 
     /**
      * A ThreadPoolExecutor which uses a thread pool to schedule loads in the order in which they are requested.
@@ -870,7 +883,8 @@ public class Cache implements InternalEhcache, StoreListener {
             CacheConfiguration.CacheEventListenerFactoryConfiguration factoryConfiguration =
                     (CacheConfiguration.CacheEventListenerFactoryConfiguration) cacheEventListenerConfiguration;
             CacheEventListener cacheEventListener = createCacheEventListener(factoryConfiguration, loader);
-            registeredEventListeners.registerListener(cacheEventListener, factoryConfiguration.getListenFor());
+            registeredEventListeners.registerListener(cacheEventListener, factoryConfiguration.getListenFor(),
+                    factoryConfiguration.getAsyncDispatchConfiguration());
         }
     }
 
@@ -1134,6 +1148,9 @@ public class Cache implements InternalEhcache, StoreListener {
             };
             this.configuration.addConfigurationListener(configListener);
 
+            statisticsLevelSwitch.setInheritedLevel(cacheManager.getConfiguration().getStatisticsLevel());
+            this.configuration.internalSetStatisticsLevelSwitch(statisticsLevelSwitch);
+
             Store store;
             if (isTerracottaClustered()) {
                 checkClusteredConfig();
@@ -1342,13 +1359,15 @@ public class Cache implements InternalEhcache, StoreListener {
         } else if (configuration.isXaTransactional()) {
             SoftLockManager softLockManager = cacheManager.createSoftLockManager(this);
             LocalTransactionStore localTransactionStore = new LocalTransactionStore(getCacheManager().getTransactionController(),
-                    getCacheManager().getOrCreateTransactionIDFactory(), softLockManager, this, store, elementValueComparator);
+                    getCacheManager().getOrCreateTransactionIDFactory(), softLockManager, this, store, elementValueComparator,
+                    configuration.isMultiVersionReads());
             wrappedStore = new JtaLocalTransactionStore(localTransactionStore, transactionManagerLookup,
                     cacheManager.getTransactionController());
         } else if (configuration.isLocalTransactional()) {
             SoftLockManager softLockManager = cacheManager.createSoftLockManager(this);
             wrappedStore = new LocalTransactionStore(getCacheManager().getTransactionController(), getCacheManager()
-                    .getOrCreateTransactionIDFactory(), softLockManager, this, store, elementValueComparator);
+                    .getOrCreateTransactionIDFactory(), softLockManager, this, store, elementValueComparator,
+                    configuration.isMultiVersionReads());
         } else {
             throw new IllegalStateException("Method should called only with a transactional configuration");
         }
@@ -1375,13 +1394,15 @@ public class Cache implements InternalEhcache, StoreListener {
             } else if (configuration.isXaTransactional()) {
                 SoftLockManager softLockManager = cacheManager.createSoftLockManager(this);
                 LocalTransactionStore localTransactionStore = new LocalTransactionStore(getCacheManager().getTransactionController(),
-                        getCacheManager().getOrCreateTransactionIDFactory(), softLockManager, this, store, comparator);
+                        getCacheManager().getOrCreateTransactionIDFactory(), softLockManager, this, store, comparator,
+                        configuration.isMultiVersionReads());
                 wrappedStore = new JtaLocalTransactionStore(localTransactionStore, transactionManagerLookup,
                         cacheManager.getTransactionController());
             } else if (configuration.isLocalTransactional()) {
                 SoftLockManager softLockManager = cacheManager.createSoftLockManager(this);
                 wrappedStore = new LocalTransactionStore(getCacheManager().getTransactionController(), getCacheManager()
-                        .getOrCreateTransactionIDFactory(), softLockManager, this, store, comparator);
+                        .getOrCreateTransactionIDFactory(), softLockManager, this, store, comparator,
+                        configuration.isMultiVersionReads());
             } else {
                 throw new IllegalStateException("Should not get there");
             }
@@ -1621,7 +1642,8 @@ public class Cache implements InternalEhcache, StoreListener {
             notifyPutInternalListeners(element, doNotNotifyCacheReplicators, elementExists);
         }
         putObserver.end(elementExists ? PutOutcome.UPDATED : PutOutcome.ADDED);
-
+        hotKeyTracker.recordPut(element.getObjectKey());
+        workingSetTracker.recordPut(element.getObjectKey());
     }
 
     private void putAllInternal(Collection<Element> elements, boolean doNotNotifyCacheReplicators) {
@@ -1751,17 +1773,21 @@ public class Cache implements InternalEhcache, StoreListener {
         }
 
         Element element = compoundStore.get(key);
+        workingSetTracker.recordGet(key);
         if (element == null) {
             getObserver.end(GetOutcome.MISS_NOT_FOUND);
+            hotKeyTracker.recordGet(key, false);
             return null;
         } else if (isExpired(element)) {
             tryRemoveImmediately(key, true);
             getObserver.end(GetOutcome.MISS_EXPIRED);
+            hotKeyTracker.recordGet(key, false);
             return null;
         } else if (!skipUpdateAccessStatistics(element)) {
             element.updateAccessStatistics();
         }
         getObserver.end(GetOutcome.HIT);
+        hotKeyTracker.recordGet(key, true);
         return element;
     }
 
@@ -3079,6 +3105,28 @@ public class Cache implements InternalEhcache, StoreListener {
         return statistics;
     }
 
+    /**
+     * Gets the tracker of this cache's hottest keys and store segments.
+     * <p>
+     * The tracker only records while the cache's statistics level is {@code EXTENDED}.
+     *
+     * @return the hot key tracker
+     */
+    public HotKeyTracker getHotKeyTracker() {
+        return hotKeyTracker;
+    }
+
+    /**
+     * Gets the tracker estimating this cache's working set and miss ratio curve.
+     * <p>
+     * The tracker only records while the cache's statistics level is {@code EXTENDED}.
+     *
+     * @return the working set tracker
+     */
+    public WorkingSetTracker getWorkingSetTracker() {
+        return workingSetTracker;
+    }
+
     /**
      * For use by CacheManager.
      *
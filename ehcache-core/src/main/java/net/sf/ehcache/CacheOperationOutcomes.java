@@ -102,6 +102,16 @@ public interface CacheOperationOutcomes {
         EXCEPTION
     };
 
+    /**
+     * The outcomes for write-behind invocations of the cache writer.
+     */
+    enum WriteBehindOutcome {
+        /** success. */
+        SUCCESS,
+        /** exception. */
+        EXCEPTION
+    };
+
     /**
      * The eviction outcomes.
      */
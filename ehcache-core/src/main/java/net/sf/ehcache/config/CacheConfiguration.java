@@ -24,8 +24,12 @@ import net.sf.ehcache.Element;
 import net.sf.ehcache.config.PersistenceConfiguration.Strategy;
 import net.sf.ehcache.config.PinningConfiguration.Store;
 import net.sf.ehcache.config.TerracottaConfiguration.Consistency;
+import net.sf.ehcache.event.AsyncEventDispatchConfiguration;
+import net.sf.ehcache.event.EventOverflowPolicy;
 import net.sf.ehcache.event.NotificationScope;
 import net.sf.ehcache.search.attribute.DynamicAttributesExtractor;
+import net.sf.ehcache.statistics.StatisticsLevel;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
 import net.sf.ehcache.store.compound.ReadWriteCopyStrategy;
 
@@ -165,6 +169,11 @@ public class CacheConfiguration implements Cloneable {
      */
     public static final TransactionalMode DEFAULT_TRANSACTIONAL_MODE = TransactionalMode.OFF;
 
+    /**
+     * Default value for multiVersionReads
+     */
+    public static final boolean DEFAULT_MULTI_VERSION_READS = false;
+
     /**
      * Default value for statistics
      */
@@ -382,7 +391,10 @@ public class CacheConfiguration implements Cloneable {
     private DynamicAttributesExtractor flexIndexer;
     private volatile boolean frozen;
     private volatile TransactionalMode transactionalMode;
+    private volatile boolean multiVersionReads = DEFAULT_MULTI_VERSION_READS;
     private volatile boolean statistics = DEFAULT_STATISTICS;
+    private volatile StatisticsLevel statisticsLevel;
+    private volatile StatisticsLevelSwitch statisticsLevelSwitch;
     private volatile CopyStrategyConfiguration copyStrategyConfiguration = DEFAULT_COPY_STRATEGY_CONFIGURATION.copy();
     private volatile SizeOfPolicyConfiguration sizeOfPolicyConfiguration;
     private volatile PersistenceConfiguration persistenceConfiguration;
@@ -477,6 +489,7 @@ public class CacheConfiguration implements Cloneable {
 
         config.listeners = new CopyOnWriteArraySet<CacheConfigurationListener>();
         config.dynamicSearchListeners = new CopyOnWriteArraySet<DynamicSearchListener>();
+        config.statisticsLevelSwitch = null;
 
         return config;
     }
@@ -2109,6 +2122,8 @@ public class CacheConfiguration implements Cloneable {
      */
     public static final class CacheEventListenerFactoryConfiguration extends FactoryConfiguration<CacheEventListenerFactoryConfiguration> {
         private NotificationScope notificationScope = NotificationScope.ALL;
+        private boolean asynchronous;
+        private AsyncEventDispatchConfiguration dispatchConfiguration = new AsyncEventDispatchConfiguration();
 
         /**
          * Used by BeanHandler to set the mode during parsing. Convert listenFor string to uppercase and
@@ -2136,6 +2151,163 @@ public class CacheConfiguration implements Cloneable {
         public NotificationScope getListenFor() {
             return this.notificationScope;
         }
+
+        /**
+         * Sets whether events are delivered to the listener asynchronously, from dedicated dispatcher threads.
+         *
+         * @param asynchronous true to deliver events asynchronously
+         */
+        public void setAsynchronous(boolean asynchronous) {
+            this.asynchronous = asynchronous;
+        }
+
+        /**
+         * @return this factory configuration instance
+         * @see #setAsynchronous(boolean)
+         */
+        public final CacheEventListenerFactoryConfiguration asynchronous(boolean asynchronous) {
+            setAsynchronous(asynchronous);
+            return this;
+        }
+
+        /**
+         * Are events delivered to the listener asynchronously
+         */
+        public boolean isAsynchronous() {
+            return asynchronous;
+        }
+
+        /**
+         * Sets the number of threads delivering events to an asynchronous listener.
+         *
+         * @param dispatcherThreads the number of dispatcher threads
+         * @see AsyncEventDispatchConfiguration#setDispatcherThreads(int)
+         */
+        public void setDispatcherThreads(int dispatcherThreads) {
+            this.dispatchConfiguration.setDispatcherThreads(dispatcherThreads);
+        }
+
+        /**
+         * @return this factory configuration instance
+         * @see #setDispatcherThreads(int)
+         */
+        public final CacheEventListenerFactoryConfiguration dispatcherThreads(int dispatcherThreads) {
+            setDispatcherThreads(dispatcherThreads);
+            return this;
+        }
+
+        /**
+         * The number of threads delivering events to an asynchronous listener
+         */
+        public int getDispatcherThreads() {
+            return dispatchConfiguration.getDispatcherThreads();
+        }
+
+        /**
+         * Sets the capacity of each queue of an asynchronous listener.
+         *
+         * @param dispatchQueueSize the queue capacity
+         * @see AsyncEventDispatchConfiguration#setQueueSize(int)
+         */
+        public void setDispatchQueueSize(int dispatchQueueSize) {
+            this.dispatchConfiguration.setQueueSize(dispatchQueueSize);
+        }
+
+        /**
+         * @return this factory configuration instance
+         * @see #setDispatchQueueSize(int)
+         */
+        public final CacheEventListenerFactoryConfiguration dispatchQueueSize(int dispatchQueueSize) {
+            setDispatchQueueSize(dispatchQueueSize);
+            return this;
+        }
+
+        /**
+         * The capacity of each queue of an asynchronous listener
+         */
+        public int getDispatchQueueSize() {
+            return dispatchConfiguration.getQueueSize();
+        }
+
+        /**
+         * Sets the maximum number of events handed at once to an asynchronous {@link net.sf.ehcache.event.CacheEventBatchListener}.
+         *
+         * @param dispatchBatchSize the batch size
+         * @see AsyncEventDispatchConfiguration#setBatchSize(int)
+         */
+        public void setDispatchBatchSize(int dispatchBatchSize) {
+            this.dispatchConfiguration.setBatchSize(dispatchBatchSize);
+        }
+
+        /**
+         * @return this factory configuration instance
+         * @see #setDispatchBatchSize(int)
+         */
+        public final CacheEventListenerFactoryConfiguration dispatchBatchSize(int dispatchBatchSize) {
+            setDispatchBatchSize(dispatchBatchSize);
+            return this;
+        }
+
+        /**
+         * The maximum number of events handed at once to an asynchronous batch listener
+         */
+        public int getDispatchBatchSize() {
+            return dispatchConfiguration.getBatchSize();
+        }
+
+        /**
+         * Used by BeanHandler to set the overflow policy of an asynchronous listener during parsing.
+         *
+         * @param overflowPolicy one of {@code block}, {@code drop_newest} or {@code drop_oldest}
+         * @see AsyncEventDispatchConfiguration#setOverflowPolicy(EventOverflowPolicy)
+         */
+        public void setOverflowPolicy(String overflowPolicy) {
+            if (overflowPolicy == null) {
+                throw new IllegalArgumentException("overflowPolicy must be non-null");
+            }
+            this.dispatchConfiguration.setOverflowPolicy(EventOverflowPolicy.valueOf(overflowPolicy.toUpperCase()));
+        }
+
+        /**
+         * @return this factory configuration instance
+         * @see #setOverflowPolicy(String)
+         */
+        public final CacheEventListenerFactoryConfiguration overflowPolicy(String overflowPolicy) {
+            setOverflowPolicy(overflowPolicy);
+            return this;
+        }
+
+        /**
+         * The overflow policy of an asynchronous listener
+         */
+        public EventOverflowPolicy getOverflowPolicy() {
+            return dispatchConfiguration.getOverflowPolicy();
+        }
+
+        /**
+         * The asynchronous dispatch configuration of the listener
+         *
+         * @return the dispatch configuration, or {@code null} if events are delivered synchronously
+         */
+        public AsyncEventDispatchConfiguration getAsyncDispatchConfiguration() {
+            return asynchronous ? copyOf(dispatchConfiguration) : null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public CacheEventListenerFactoryConfiguration clone() {
+            CacheEventListenerFactoryConfiguration clone = super.clone();
+            clone.dispatchConfiguration = copyOf(dispatchConfiguration);
+            return clone;
+        }
+
+        private static AsyncEventDispatchConfiguration copyOf(AsyncEventDispatchConfiguration configuration) {
+            return new AsyncEventDispatchConfiguration().dispatcherThreads(configuration.getDispatcherThreads())
+                .queueSize(configuration.getQueueSize()).batchSize(configuration.getBatchSize())
+                .overflowPolicy(configuration.getOverflowPolicy());
+        }
     }
 
     /**
@@ -2379,6 +2551,33 @@ public class CacheConfiguration implements Cloneable {
         return this;
     }
 
+    /**
+     * Sets whether transactional reads are served from the committed and pending versions kept in soft locks.
+     * <p>
+     * With multi-version reads, reads of a locally transactional cache never block on a key soft locked by another
+     * transaction: they see the last committed value until that transaction's commit is decided, and its new value from
+     * then on. A reader that has seen one of a transaction's writes sees all of them, but reads of several keys do not
+     * form a snapshot. Only applies to caches with a local or xa transactionalMode.
+     *
+     * @param multiVersionReads true to enable multi-version reads
+     */
+    public final void setMultiVersionReads(boolean multiVersionReads) {
+        checkDynamicChange();
+        this.multiVersionReads = multiVersionReads;
+    }
+
+    /**
+     * Builder which sets whether transactional reads are served from the versions kept in soft locks
+     *
+     * @param multiVersionReads true to enable multi-version reads
+     * @return this configuration instance
+     * @see #setMultiVersionReads(boolean)
+     */
+    public final CacheConfiguration multiVersionReads(boolean multiVersionReads) {
+        setMultiVersionReads(multiVersionReads);
+        return this;
+    }
+
     /**
      * Sets whether the cache's statistics are enabled. at startup
      */
@@ -2410,6 +2609,74 @@ public class CacheConfiguration implements Cloneable {
         return true;
     }
 
+    /**
+     * Sets the level of statistics gathered by the cache.
+     * <p>
+     * This can be changed at runtime, a {@code null} level means the cache follows its cache manager's level.
+     *
+     * @param statisticsLevel one of OFF, CORE, EXTENDED or {@code null}
+     */
+    public final void setStatisticsLevel(StatisticsLevel statisticsLevel) {
+        this.statisticsLevel = statisticsLevel;
+        StatisticsLevelSwitch levelSwitch = statisticsLevelSwitch;
+        if (levelSwitch != null) {
+            levelSwitch.setConfiguredLevel(statisticsLevel);
+        }
+    }
+
+    /**
+     * Allows BeanHandler to set the level of statistics gathered by the cache.
+     *
+     * @param statisticsLevel one of OFF, CORE, EXTENDED
+     */
+    public final void setStatisticsLevel(String statisticsLevel) {
+        assertArgumentNotNull("Cache statisticsLevel", statisticsLevel);
+        setStatisticsLevel(StatisticsLevel.valueOf(statisticsLevel.toUpperCase()));
+    }
+
+    /**
+     * Builder which sets the level of statistics gathered by the cache.
+     *
+     * @param statisticsLevel one of OFF, CORE, EXTENDED or {@code null}
+     * @return this configuration instance
+     * @see #setStatisticsLevel(StatisticsLevel)
+     */
+    public final CacheConfiguration statisticsLevel(StatisticsLevel statisticsLevel) {
+        setStatisticsLevel(statisticsLevel);
+        return this;
+    }
+
+    /**
+     * Gets the explicitly configured level of statistics gathered by the cache.
+     *
+     * @return the configured level, or {@code null} if the cache follows its cache manager's level
+     */
+    public final StatisticsLevel getStatisticsLevel() {
+        return statisticsLevel;
+    }
+
+    /**
+     * Intended for internal use only, and subject to change.
+     * Binds the switch through which the cache and its tiers apply this configuration's statistics level.
+     *
+     * @param levelSwitch the cache's statistics level switch
+     */
+    public void internalSetStatisticsLevelSwitch(StatisticsLevelSwitch levelSwitch) {
+        this.statisticsLevelSwitch = levelSwitch;
+        if (levelSwitch != null) {
+            levelSwitch.setConfiguredLevel(statisticsLevel);
+        }
+    }
+
+    /**
+     * Intended for internal use only, and subject to change.
+     *
+     * @return the statistics level switch bound to this configuration, or {@code null}
+     */
+    public StatisticsLevelSwitch getStatisticsLevelSwitch() {
+        return statisticsLevelSwitch;
+    }
+
     /**
      * Used to validate what should be a complete Cache Configuration.
      */
@@ -2792,6 +3059,15 @@ public class CacheConfiguration implements Cloneable {
         return transactionalMode;
     }
 
+    /**
+     * Are transactional reads served from the versions kept in soft locks
+     *
+     * @return true if multi-version reads are enabled
+     */
+    public final boolean isMultiVersionReads() {
+        return multiVersionReads;
+    }
+
     /**
      * Helper method to compute whether the cache is XA transactional or not
      *
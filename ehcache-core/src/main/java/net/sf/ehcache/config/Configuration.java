@@ -24,6 +24,8 @@ import net.sf.ehcache.FeaturesManager;
 import net.sf.ehcache.ObjectExistsException;
 import net.sf.ehcache.Status;
 import net.sf.ehcache.config.generator.ConfigurationSource;
+import net.sf.ehcache.statistics.StatisticsLevel;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.store.Store;
 import net.sf.ehcache.transaction.manager.DefaultTransactionManagerLookup;
 import net.sf.ehcache.transaction.manager.TransactionManagerLookup;
@@ -78,6 +80,10 @@ public final class Configuration {
      * Default value for monitoring
      */
     public static final Monitoring DEFAULT_MONITORING = Monitoring.AUTODETECT;
+    /**
+     * Default value for statisticsLevel
+     */
+    public static final StatisticsLevel DEFAULT_STATISTICS_LEVEL = StatisticsLevel.CORE;
     /**
      * Default sizeOfPolicy configuration
      */
@@ -158,6 +164,18 @@ public final class Configuration {
                 }
                 config.cacheManager.getOnDiskPool().setMaxSize(newValue - diskAllocated);
             }
+        },
+        statisticsLevel {
+            @Override
+            void applyChange(final PropertyChangeEvent evt, final RuntimeCfg config) {
+                StatisticsLevel newValue = (StatisticsLevel) evt.getNewValue();
+                for (Cache cache : getAllActiveCaches(config.cacheManager)) {
+                    StatisticsLevelSwitch levelSwitch = cache.getCacheConfiguration().getStatisticsLevelSwitch();
+                    if (levelSwitch != null) {
+                        levelSwitch.setInheritedLevel(newValue);
+                    }
+                }
+            }
         };
 
 
@@ -194,6 +212,7 @@ public final class Configuration {
     private final Map<String, CacheConfiguration> cacheConfigurations = new ConcurrentHashMap<String, CacheConfiguration>();
     private ConfigurationSource configurationSource;
     private boolean dynamicConfig = DEFAULT_DYNAMIC_CONFIG;
+    private volatile StatisticsLevel statisticsLevel = DEFAULT_STATISTICS_LEVEL;
     private Long maxBytesLocalHeap;
     private String maxBytesLocalHeapInput;
     private Long maxBytesLocalOffHeap;
@@ -477,6 +496,44 @@ public final class Configuration {
         return this.dynamicConfig;
     }
 
+    /**
+     * Builder to set the default level of statistics gathered by the caches of this cache manager.
+     * <p>
+     * Caches that do not configure their own level follow this one, including when it is changed at runtime.
+     *
+     * @param statisticsLevel
+     *            an non-null instance of {@link StatisticsLevel}
+     * @return this configuration instance
+     */
+    public final Configuration statisticsLevel(StatisticsLevel statisticsLevel) {
+        if (null == statisticsLevel) {
+            throw new IllegalArgumentException("StatisticsLevel value must be non-null");
+        }
+        final String prop = "statisticsLevel";
+        final boolean publish = checkDynChange(prop);
+        final StatisticsLevel oldValue = this.statisticsLevel;
+        this.statisticsLevel = statisticsLevel;
+        if (publish) {
+            firePropertyChange(prop, oldValue, statisticsLevel);
+        }
+        return this;
+    }
+
+    /**
+     * Allows BeanHandler to set the default statistics level
+     */
+    public final void setStatisticsLevel(String statisticsLevel) {
+        assertArgumentNotNull("StatisticsLevel", statisticsLevel);
+        statisticsLevel(StatisticsLevel.valueOf(statisticsLevel.toUpperCase()));
+    }
+
+    /**
+     * Get the default statistics level, should not be null
+     */
+    public final StatisticsLevel getStatisticsLevel() {
+        return this.statisticsLevel;
+    }
+
     /**
      * Maximum amount of bytes the CacheManager will use on the heap
      * @return amount of bytes, 0 is unbound
@@ -18,6 +18,7 @@ package net.sf.ehcache.config;
 import net.sf.ehcache.statistics.StatisticsGateway;
 import net.sf.ehcache.util.counter.sampled.SampledCounterConfig;
 import net.sf.ehcache.util.counter.sampled.SampledRateCounterConfig;
+import net.sf.ehcache.util.counter.sampled.StripedSampledCounterConfig;
 
 /**
  *  Configuration class of management REST services.
@@ -263,10 +264,10 @@ public class ManagementRESTServiceConfiguration {
      * @see #getSampleIntervalSeconds()
      * @see #getSampleHistorySize()
      *
-     * @return a {@code SampledCounterConfig}
+     * @return a {@code SampledCounterConfig} creating striped counters
      */
     public SampledCounterConfig makeSampledCounterConfig() {
-        return new SampledCounterConfig(getSampleIntervalSeconds(), getSampleHistorySize(), true, 0L);
+        return new StripedSampledCounterConfig(getSampleIntervalSeconds(), getSampleHistorySize(), true, 0L);
     }
 
     /**
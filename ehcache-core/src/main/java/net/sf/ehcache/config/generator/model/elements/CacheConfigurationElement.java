@@ -30,6 +30,8 @@ import net.sf.ehcache.config.TerracottaConfiguration;
 import net.sf.ehcache.config.generator.model.NodeElement;
 import net.sf.ehcache.config.generator.model.SimpleNodeAttribute;
 import net.sf.ehcache.config.generator.model.SimpleNodeElement;
+import net.sf.ehcache.event.AsyncEventDispatchConfiguration;
+import net.sf.ehcache.event.EventOverflowPolicy;
 import net.sf.ehcache.store.DefaultElementValueComparator;
 
 /**
@@ -126,6 +128,11 @@ public class CacheConfigurationElement extends SimpleNodeElement {
                 .optional(true).defaultValue(0L));
         element.addAttribute(new SimpleNodeAttribute("transactionalMode", cacheConfiguration.getTransactionalMode()).optional(true)
                 .defaultValue(CacheConfiguration.DEFAULT_TRANSACTIONAL_MODE));
+        element.addAttribute(new SimpleNodeAttribute("multiVersionReads", cacheConfiguration.isMultiVersionReads()).optional(true)
+                .defaultValue(CacheConfiguration.DEFAULT_MULTI_VERSION_READS));
+        if (cacheConfiguration.getStatisticsLevel() != null) {
+            element.addAttribute(new SimpleNodeAttribute("statisticsLevel", cacheConfiguration.getStatisticsLevel()));
+        }
         element.addAttribute(new SimpleNodeAttribute("memoryStoreEvictionPolicy", cacheConfiguration.getMemoryStoreEvictionPolicy()
                 .toString().toUpperCase()).optional(true).defaultValue(
                 CacheConfiguration.DEFAULT_MEMORY_STORE_EVICTION_POLICY.toString().toUpperCase()));
@@ -147,6 +154,16 @@ public class CacheConfigurationElement extends SimpleNodeElement {
             CacheEventListenerFactoryConfiguration factoryConfiguration = (CacheEventListenerFactoryConfiguration) child
                     .getFactoryConfiguration();
             child.addAttribute(new SimpleNodeAttribute("listenFor", factoryConfiguration.getListenFor()));
+            child.addAttribute(new SimpleNodeAttribute("asynchronous", factoryConfiguration.isAsynchronous()).optional(true)
+                    .defaultValue(false));
+            child.addAttribute(new SimpleNodeAttribute("dispatcherThreads", factoryConfiguration.getDispatcherThreads()).optional(true)
+                    .defaultValue(AsyncEventDispatchConfiguration.DEFAULT_DISPATCHER_THREADS));
+            child.addAttribute(new SimpleNodeAttribute("dispatchQueueSize", factoryConfiguration.getDispatchQueueSize()).optional(true)
+                    .defaultValue(AsyncEventDispatchConfiguration.DEFAULT_QUEUE_SIZE));
+            child.addAttribute(new SimpleNodeAttribute("dispatchBatchSize", factoryConfiguration.getDispatchBatchSize()).optional(true)
+                    .defaultValue(AsyncEventDispatchConfiguration.DEFAULT_BATCH_SIZE));
+            child.addAttribute(new SimpleNodeAttribute("overflowPolicy", factoryConfiguration.getOverflowPolicy()).optional(true)
+                    .defaultValue(EventOverflowPolicy.BLOCK));
             element.addChildElement(child);
         }
         addAllFactoryConfigsAsChildElements(element, "cacheExtensionFactory", cacheConfiguration.getCacheExtensionConfigurations());
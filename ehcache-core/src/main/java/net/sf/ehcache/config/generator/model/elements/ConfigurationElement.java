@@ -75,6 +75,8 @@ public class ConfigurationElement extends SimpleNodeElement {
                 Configuration.DEFAULT_MONITORING.name().toLowerCase()));
         addAttribute(new SimpleNodeAttribute("dynamicConfig", configuration.getDynamicConfig()).optional(true).defaultValue(
                 String.valueOf(Configuration.DEFAULT_DYNAMIC_CONFIG)));
+        addAttribute(new SimpleNodeAttribute("statisticsLevel", configuration.getStatisticsLevel()).optional(true).defaultValue(
+                Configuration.DEFAULT_STATISTICS_LEVEL));
         addAttribute(new SimpleNodeAttribute("defaultTransactionTimeoutInSeconds", configuration.getDefaultTransactionTimeoutInSeconds())
                 .optional(true).defaultValue(String.valueOf(Configuration.DEFAULT_TRANSACTION_TIMEOUT)));
         testAddMaxBytesLocalHeapAttribute();
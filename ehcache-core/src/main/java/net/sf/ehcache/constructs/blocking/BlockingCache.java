@@ -21,6 +21,10 @@ import static net.sf.ehcache.statistics.StatisticBuilder.operation;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import net.sf.ehcache.CacheException;
@@ -33,6 +37,7 @@ import net.sf.ehcache.concurrent.Sync;
 import net.sf.ehcache.constructs.EhcacheDecoratorAdapter;
 import net.sf.ehcache.constructs.blocking.BlockingCacheOperationOutcomes.GetOutcome;
 import net.sf.ehcache.loader.CacheLoader;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 
 import org.terracotta.statistics.observer.OperationObserver;
 
@@ -77,8 +82,9 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
 
     private final int stripes;
     private final AtomicReference<CacheLockProvider> cacheLockProviderReference;
+    private final ConcurrentMap<Object, InFlightLoad> inFlightLoads;
 
-    private final OperationObserver<GetOutcome> getObserver = operation(GetOutcome.class).named("get").of(this).tag("blocking-cache").build();
+    private final OperationObserver<GetOutcome> getObserver;
 
     /**
      * Creates a BlockingCache which decorates the supplied cache.
@@ -90,9 +96,31 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
      * @since 1.2
      */
     public BlockingCache(final Ehcache cache, int numberOfStripes) throws CacheException {
+        this(cache, numberOfStripes, BlockingMode.STRIPED_LOCKS);
+    }
+
+    /**
+     * Creates a BlockingCache which decorates the supplied cache, blocking in the given mode.
+     *
+     * @param cache a backing ehcache.
+     * @param mode  how concurrent readers of a missing entry are blocked
+     * @throws CacheException shouldn't happen
+     */
+    public BlockingCache(final Ehcache cache, BlockingMode mode) throws CacheException {
+        this(cache, StripedReadWriteLockSync.DEFAULT_NUMBER_OF_MUTEXES, mode);
+    }
+
+    private BlockingCache(final Ehcache cache, int numberOfStripes, BlockingMode mode) throws CacheException {
         super(cache);
         this.stripes = numberOfStripes;
         this.cacheLockProviderReference = new AtomicReference<CacheLockProvider>();
+        if (mode == BlockingMode.SINGLE_FLIGHT) {
+            this.inFlightLoads = new ConcurrentHashMap<Object, InFlightLoad>();
+        } else {
+            this.inFlightLoads = null;
+        }
+        this.getObserver = operation(GetOutcome.class).named("get").of(this).tag("blocking-cache")
+            .switchedBy(StatisticsLevelSwitch.forCache(cache)).build();
     }
 
     /**
@@ -124,6 +152,15 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
         }
     }
 
+    /**
+     * The mode this cache blocks readers of missing entries in.
+     *
+     * @return the blocking mode
+     */
+    public BlockingMode getBlockingMode() {
+        return inFlightLoads == null ? BlockingMode.STRIPED_LOCKS : BlockingMode.SINGLE_FLIGHT;
+    }
+
     /**
      * Retrieve the EHCache backing cache
      *
@@ -145,6 +182,9 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
      * <p>
      * Note. If a LockTimeoutException is thrown while doing a <code>get</code> it means the lock was never acquired,
      * therefore it is a threading error to call {@link #put}
+     * <p>
+     * In {@link BlockingMode#SINGLE_FLIGHT} mode the "lock" is the caller's ownership of the in-flight load of the key: hits
+     * are lock free and other readers of the key wait until the owner puts.
      *
      * @throws LockTimeoutException if timeout millis is non zero and this method has been unable to
      *                              acquire a lock in that time
@@ -153,6 +193,9 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
      */
     @Override
     public Element get(final Object key) throws RuntimeException, LockTimeoutException {
+        if (inFlightLoads != null) {
+            return getSingleFlight(key);
+        }
         getObserver.begin();
         Sync lock = getLockForKey(key);
         acquiredLockForKey(key, lock, LockType.READ);
@@ -178,6 +221,75 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
         }
     }
 
+    private Element getSingleFlight(final Object key) {
+        getObserver.begin();
+        Element element = underlyingCache.get(key);
+        if (element != null) {
+            getObserver.end(GetOutcome.HIT);
+            return element;
+        }
+
+        final Thread current = Thread.currentThread();
+        InFlightLoad load = null;
+        while (true) {
+            InFlightLoad existing = inFlightLoads.get(key);
+            if (existing == null) {
+                if (load == null) {
+                    load = new InFlightLoad(current);
+                }
+                existing = inFlightLoads.putIfAbsent(key, load);
+                if (existing == null) {
+                    // we own the load, unless it got put while we were installing ourselves
+                    element = underlyingCache.get(key);
+                    if (element != null) {
+                        completeLoad(key, load);
+                        getObserver.end(GetOutcome.HIT);
+                    } else {
+                        getObserver.end(GetOutcome.MISS_AND_LOCKED);
+                    }
+                    return element;
+                }
+            }
+            if (existing.owner == current) {
+                // re-entrant get by the loading thread, it is still responsible for the put
+                getObserver.end(GetOutcome.MISS_AND_LOCKED);
+                return null;
+            }
+            awaitLoad(key, existing);
+            element = underlyingCache.get(key);
+            if (element != null) {
+                getObserver.end(GetOutcome.HIT);
+                return element;
+            }
+            // the load put nothing (or it has already been evicted), compete to load it again
+        }
+    }
+
+    private void awaitLoad(final Object key, final InFlightLoad load) {
+        try {
+            if (timeoutMillis > 0) {
+                if (!load.done.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    StringBuilder message = new StringBuilder("Lock timeout. Waited more than ")
+                            .append(timeoutMillis)
+                            .append("ms to acquire lock for key ")
+                            .append(key).append(" on blocking cache ").append(underlyingCache.getName());
+                    throw new LockTimeoutException(message.toString());
+                }
+            } else {
+                load.done.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockTimeoutException("Got interrupted while trying to acquire lock for key " + key, e);
+        }
+    }
+
+    private void completeLoad(final Object key, final InFlightLoad load) {
+        if (inFlightLoads.remove(key, load)) {
+            load.done.countDown();
+        }
+    }
+
     private void acquiredLockForKey(final Object key, final Sync lock, final LockType lockType) {
         if (timeoutMillis > 0) {
             try {
@@ -289,6 +401,18 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
 
         Object key = putAction.element.getObjectKey();
 
+        if (inFlightLoads != null) {
+            try {
+                return putAction.put();
+            } finally {
+                // release the waiters of the load started in the get, if this thread owns it
+                InFlightLoad load = inFlightLoads.get(key);
+                if (load != null && load.owner == Thread.currentThread()) {
+                    completeLoad(key, load);
+                }
+            }
+        }
+
         Sync lock = getLockForKey(key);
 
         if (!lock.isHeldByCurrentThread(LockType.WRITE)) {
@@ -449,7 +573,17 @@ public class BlockingCache extends EhcacheDecoratorAdapter {
          */
         abstract V put();
     }
-}
 
+    /**
+     * A load of a missing key in progress, owned by the thread the get returned {@code null} to.
+     */
+    private static final class InFlightLoad {
 
+        private final Thread owner;
+        private final CountDownLatch done = new CountDownLatch(1);
 
+        private InFlightLoad(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.constructs.blocking;
+
+/**
+ * How a {@link BlockingCache} blocks concurrent readers of a missing entry while it is being loaded.
+ *
+ * @author ehcache
+ */
+public enum BlockingMode {
+
+    /**
+     * Keys are guarded by a fixed number of read/write lock stripes.
+     * <p>
+     * Every get takes the read lock of the key's stripe and a miss holds the stripe's write lock until the entry is put, so
+     * unrelated keys hashing to the same stripe block each other for the duration of a load. This is the default, and the
+     * only mode that blocks across a Terracotta cluster.
+     */
+    STRIPED_LOCKS,
+
+    /**
+     * Loads are tracked per key in a map of in-flight loads local to this node.
+     * <p>
+     * Hits take no lock at all, exactly one thread loads a missing key and the other readers of that key only wait for that
+     * load to complete. Readers of other keys are never blocked.
+     */
+    SINGLE_FLIGHT;
+}
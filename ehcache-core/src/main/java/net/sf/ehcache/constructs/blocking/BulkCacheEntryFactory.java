@@ -0,0 +1,44 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.constructs.blocking;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A <code>CacheEntryFactory</code> which can also create the entries of many keys at once.
+ * <p>
+ * {@link SelfPopulatingCache#refresh(int, int, boolean)} hands whole batches of keys to this factory, so implementations
+ * backed by a database or a remote service can fetch each batch in a single round trip.
+ *
+ * @author ehcache
+ */
+public interface BulkCacheEntryFactory extends CacheEntryFactory {
+
+    /**
+     * Creates the entries of the given keys.
+     * <p>
+     * Values may be {@link net.sf.ehcache.Element}s, in which case the same rules as for {@link #createEntry(Object)} apply.
+     * Keys missing from the returned map are left untouched in the cache.
+     * <p>
+     * Implementations of this method must be thread safe.
+     *
+     * @param keys the keys to create entries for
+     * @return the created values, keyed by cache key
+     * @throws Exception if the entries could not be created
+     */
+    Map<Object, Object> createEntries(Collection<Object> keys) throws Exception;
+}
@@ -0,0 +1,146 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.constructs.blocking;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and failure counts of a batched {@link SelfPopulatingCache} refresh.
+ * <p>
+ * Counts are updated live as batches complete, so they can be polled from another thread while the refresh runs.
+ *
+ * @author ehcache
+ */
+public final class RefreshStatistics {
+
+    private final long keys;
+    private final int batches;
+    private final AtomicLong completedBatches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong refreshedKeys = new AtomicLong();
+    private final AtomicLong failedKeys = new AtomicLong();
+    private final long startTime = System.currentTimeMillis();
+    private volatile long endTime;
+
+    /**
+     * Creates the statistics of a refresh over the given number of keys and batches.
+     *
+     * @param keys    the number of keys found to refresh
+     * @param batches the number of batches the keys were split into
+     */
+    RefreshStatistics(long keys, int batches) {
+        this.keys = keys;
+        this.batches = batches;
+    }
+
+    /**
+     * The number of keys found to refresh.
+     *
+     * @return the key count
+     */
+    public long getKeyCount() {
+        return keys;
+    }
+
+    /**
+     * The number of batches the keys were split into.
+     *
+     * @return the batch count
+     */
+    public int getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * The number of batches completed so far, successfully or not.
+     *
+     * @return the completed batch count
+     */
+    public long getCompletedBatchCount() {
+        return completedBatches.get();
+    }
+
+    /**
+     * The number of batches that failed as a whole, for instance because the bulk factory threw.
+     *
+     * @return the failed batch count
+     */
+    public long getFailedBatchCount() {
+        return failedBatches.get();
+    }
+
+    /**
+     * The number of entries refreshed so far.
+     *
+     * @return the refreshed key count
+     */
+    public long getRefreshedKeyCount() {
+        return refreshedKeys.get();
+    }
+
+    /**
+     * The number of keys that could not be refreshed so far.
+     *
+     * @return the failed key count
+     */
+    public long getFailedKeyCount() {
+        return failedKeys.get();
+    }
+
+    /**
+     * Whether all batches have completed.
+     *
+     * @return true once the refresh is over
+     */
+    public boolean isComplete() {
+        return endTime != 0;
+    }
+
+    /**
+     * How long the refresh has been running, or took if it is complete.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        long end = endTime;
+        return (end == 0 ? System.currentTimeMillis() : end) - startTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RefreshStatistics[keys=" + keys + ", batches=" + getCompletedBatchCount() + "/" + batches + ", refreshed="
+                + getRefreshedKeyCount() + ", failed=" + getFailedKeyCount() + ", elapsed=" + getElapsedMillis() + "ms]";
+    }
+
+    void batchCompleted(long refreshed, long failed) {
+        refreshedKeys.addAndGet(refreshed);
+        failedKeys.addAndGet(failed);
+        completedBatches.incrementAndGet();
+    }
+
+    void batchFailed(long failed) {
+        failedKeys.addAndGet(failed);
+        failedBatches.incrementAndGet();
+        completedBatches.incrementAndGet();
+    }
+
+    void complete() {
+        endTime = Math.max(1L, System.currentTimeMillis());
+    }
+}
@@ -19,11 +19,20 @@ package net.sf.ehcache.constructs.blocking;
 import net.sf.ehcache.CacheException;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
+import net.sf.ehcache.util.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 /**
@@ -50,6 +59,8 @@ public class SelfPopulatingCache extends BlockingCache {
      */
     protected final CacheEntryFactory factory;
 
+    private volatile RefreshStatistics lastBatchedRefresh;
+
     /**
      * Creates a SelfPopulatingCache.
      */
@@ -67,6 +78,17 @@ public class SelfPopulatingCache extends BlockingCache {
        this.factory = factory;
     }
 
+    /**
+     * Create a SelfPopulatingCache blocking concurrent loads of the same key in the given mode.
+     * <p>
+     * With {@link BlockingMode#SINGLE_FLIGHT} the factory is called once per missing key, while readers of other keys
+     * and readers of present keys are never blocked by a running load.
+     */
+    public SelfPopulatingCache(Ehcache cache, BlockingMode mode, CacheEntryFactory factory) throws CacheException {
+        super(cache, mode);
+        this.factory = factory;
+    }
+
   /**
      * Looks up an entry.  creating it if not found.
      */
@@ -174,6 +196,177 @@ public class SelfPopulatingCache extends BlockingCache {
         }
     }
 
+    /**
+     * Refresh the elements of this cache in batches, on a pool of the given number of threads.
+     * <p>
+     * The pool is created for this refresh and shut down once it completes.
+     *
+     * @param parallelism the number of threads refreshing batches concurrently
+     * @param batchSize   the maximum number of keys per batch
+     * @param quiet       whether the backing cache is quietly updated or not, if true replication will not occur
+     * @return the statistics of the refresh
+     * @throws CacheException if any batch failed, once all batches have completed
+     * @see #refresh(ExecutorService, int, boolean)
+     */
+    public RefreshStatistics refresh(int parallelism, int batchSize, boolean quiet) throws CacheException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Refresh parallelism must be positive: " + parallelism);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory(getName() + " refresh", true));
+        try {
+            return refresh(executor, batchSize, quiet);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Refresh the elements of this cache in batches, on the given executor.
+     * <p>
+     * Keys are partitioned into batches of at most <code>batchSize</code> keys, each submitted to the executor. If the factory
+     * is a {@link BulkCacheEntryFactory} each batch is created with a single call to
+     * {@link BulkCacheEntryFactory#createEntries(Collection)}, otherwise entries are created one key at a time. Unless
+     * <code>quiet</code> is set the new elements of a batch are written back to the backing cache with a single
+     * {@link Ehcache#putAll(Collection)}.
+     * <p>
+     * Like {@link #refresh(boolean)}, a failure doesn't stop the refresh: stale elements are kept for the keys that could not be
+     * refreshed and an exception is thrown once all batches have completed. Progress can be followed while the refresh runs
+     * through {@link #getLastBatchedRefreshStatistics()}.
+     *
+     * @param executor  the executor running the batches
+     * @param batchSize the maximum number of keys per batch
+     * @param quiet     whether the backing cache is quietly updated or not, if true replication will not occur
+     * @return the statistics of the refresh
+     * @throws CacheException if any batch failed, once all batches have completed
+     */
+    public RefreshStatistics refresh(ExecutorService executor, int batchSize, final boolean quiet) throws CacheException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Refresh batch size must be positive: " + batchSize);
+        }
+        final List keys = getKeys();
+        final int batchCount = (keys.size() + batchSize - 1) / batchSize;
+        final RefreshStatistics statistics = new RefreshStatistics(keys.size(), batchCount);
+        lastBatchedRefresh = statistics;
+
+        LOG.debug(getName() + ": found " + keys.size() + " keys to refresh in " + batchCount + " batches");
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(batchCount);
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            final List<Object> batch = new ArrayList<Object>(keys.subList(from, Math.min(keys.size(), from + batchSize)));
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    refreshBatch(batch, quiet, statistics);
+                    return null;
+                }
+            }));
+        }
+
+        Throwable failure = null;
+        try {
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                }
+            }
+        } catch (InterruptedException e) {
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while refreshing " + getName(), e);
+        } finally {
+            statistics.complete();
+        }
+
+        if (failure != null) {
+            throw new CacheException(failure.getMessage() + " on batched refresh " + statistics, failure);
+        }
+        return statistics;
+    }
+
+    /**
+     * The statistics of the last batched refresh, which may still be running.
+     *
+     * @return the statistics, or null if no batched refresh was started
+     */
+    public RefreshStatistics getLastBatchedRefreshStatistics() {
+        return lastBatchedRefresh;
+    }
+
+    private void refreshBatch(List<Object> keys, boolean quiet, RefreshStatistics statistics) throws Exception {
+        Ehcache backingCache = getCache();
+        List<Object> presentKeys = new ArrayList<Object>(keys.size());
+        List<Element> presentElements = new ArrayList<Element>(keys.size());
+        for (Object key : keys) {
+            Element element = backingCache.getQuiet(key);
+            if (element != null) {
+                presentKeys.add(key);
+                presentElements.add(element);
+            }
+        }
+
+        if (factory instanceof BulkCacheEntryFactory && !(factory instanceof UpdatingCacheEntryFactory)) {
+            List<Element> replacements = new ArrayList<Element>(presentKeys.size());
+            try {
+                Map<Object, Object> values = ((BulkCacheEntryFactory) factory).createEntries(presentKeys);
+                for (Object key : presentKeys) {
+                    if (values.containsKey(key)) {
+                        replacements.add(makeAndCheckElement(key, values.get(key)));
+                    }
+                }
+                putRefreshed(backingCache, replacements, quiet);
+            } catch (Exception e) {
+                LOG.warn(getName() + ": could not refresh batch of " + presentKeys.size() + " keys", e);
+                statistics.batchFailed(presentKeys.size());
+                throw e;
+            }
+            statistics.batchCompleted(replacements.size(), 0);
+        } else {
+            Exception exception = null;
+            long failed = 0;
+            List<Element> replacements = new ArrayList<Element>(presentKeys.size());
+            for (Element element : presentElements) {
+                try {
+                    if (factory instanceof UpdatingCacheEntryFactory) {
+                        refreshElement(element, backingCache, quiet);
+                    } else {
+                        Object key = element.getObjectKey();
+                        replacements.add(makeAndCheckElement(key, factory.createEntry(key)));
+                    }
+                } catch (Exception e) {
+                    LOG.warn(getName() + "Could not refresh element " + element.getObjectKey(), e);
+                    exception = e;
+                    failed++;
+                }
+            }
+            try {
+                putRefreshed(backingCache, replacements, quiet);
+            } catch (Exception e) {
+                statistics.batchFailed(presentKeys.size());
+                throw e;
+            }
+            statistics.batchCompleted(presentKeys.size() - failed, failed);
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+
+    private static void putRefreshed(Ehcache backingCache, List<Element> elements, boolean quiet) {
+        if (elements.isEmpty()) {
+            return;
+        } else if (quiet) {
+            for (Element element : elements) {
+                backingCache.putQuiet(element);
+            }
+        } else {
+            backingCache.putAll(elements);
+        }
+    }
+
     /**
      * Refresh a single element.
      * <p>
@@ -22,7 +22,10 @@ import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheException;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
+import net.sf.ehcache.Status;
 import net.sf.ehcache.constructs.EhcacheDecoratorAdapter;
+import net.sf.ehcache.constructs.refreshahead.StaleWhileRevalidateRefresher;
+import net.sf.ehcache.extension.CacheExtension;
 
 /**
  * This class implements the simplest of all possible read through cache
@@ -30,6 +33,9 @@ import net.sf.ehcache.constructs.EhcacheDecoratorAdapter;
  * This means that a get() call can take a long time; beware. It also does no more
  * locking than {@link Cache} implements; each separate cache may try to load
  * a key at the same time.
+ * <p>
+ * In stale-while-revalidate mode only misses are loaded synchronously. Elements close to expiry, or past the configured
+ * time to refresh, are returned as they are while a {@link StaleWhileRevalidateRefresher} reloads them in the background.
  *
  * @author cschanck
  *
@@ -38,6 +44,7 @@ public class ReadThroughCache extends EhcacheDecoratorAdapter {
 
     private final ReadThroughCacheConfiguration readThroughCacheConfig;
     private final boolean isModeGet;
+    private final StaleWhileRevalidateRefresher refresher;
 
     /**
      *
@@ -48,11 +55,42 @@ public class ReadThroughCache extends EhcacheDecoratorAdapter {
         super(underlyingCache);
         this.readThroughCacheConfig = config;
         this.isModeGet = readThroughCacheConfig.isModeGet();
+        if (isModeGet && readThroughCacheConfig.isStaleWhileRevalidate()) {
+            this.refresher = new StaleWhileRevalidateRefresher(underlyingCache,
+                readThroughCacheConfig.getTimeToRefreshSeconds() * 1000L, readThroughCacheConfig.getRefreshBeta(), false,
+                readThroughCacheConfig.getRefreshThreads(), readThroughCacheConfig.getMaximumRefreshBacklogItems(),
+                readThroughCacheConfig.getRefreshBatchSize());
+            underlyingCache.registerCacheExtension(new CacheExtension() {
+
+                @Override
+                public void init() {
+                }
+
+                @Override
+                public Status getStatus() {
+                    return ReadThroughCache.this.underlyingCache.getStatus();
+                }
+
+                @Override
+                public void dispose() throws CacheException {
+                    refresher.shutdown();
+                }
+
+                @Override
+                public CacheExtension clone(Ehcache cache) throws CloneNotSupportedException {
+                    throw new CloneNotSupportedException();
+                }
+            });
+        } else {
+            this.refresher = null;
+        }
     }
 
     @Override
     public Element get(Object key) throws IllegalStateException, CacheException {
-        if (isModeGet) {
+        if (refresher != null) {
+            return getStaleWhileRevalidate(key);
+        } else if (isModeGet) {
             return super.getWithLoader(key, null, null);
         }
         return super.get(key);
@@ -60,10 +98,29 @@ public class ReadThroughCache extends EhcacheDecoratorAdapter {
 
     @Override
     public Element get(Serializable key) throws IllegalStateException, CacheException {
-        if (isModeGet) {
-            return super.getWithLoader(key, null, null);
+        return get((Object) key);
+    }
+
+    /**
+     * Number of keys refreshed in the background in stale-while-revalidate mode.
+     *
+     * @return the refreshed key count, 0 if the mode is not enabled
+     */
+    @org.terracotta.statistics.Statistic(name = "refreshed", tags = "readthrough")
+    public long getRefreshSuccessCount() {
+        return refresher == null ? 0 : refresher.getRefreshSuccessCount();
+    }
+
+    private Element getStaleWhileRevalidate(Object key) {
+        Element element = super.get(key);
+        if (element == null) {
+            long start = System.nanoTime();
+            element = super.getWithLoader(key, null, null);
+            refresher.recordLoadTime(System.nanoTime() - start);
+        } else {
+            refresher.possiblyRefresh(element);
         }
-        return super.get(key);
+        return element;
     }
 
     @Override
@@ -18,6 +18,8 @@ package net.sf.ehcache.constructs.readthrough;
 
 import java.util.Properties;
 
+import net.sf.ehcache.constructs.refreshahead.StaleWhileRevalidateRefresher;
+
 /**
  * This classed is used to programmatically configure a {@link ReadThroughCache}.
  *
@@ -36,8 +38,48 @@ public class ReadThroughCacheConfiguration implements Cloneable {
      */
     public static final String GET_KEY = "get";
 
+    /**
+     * Properties key for the stale-while-revalidate attribute
+     */
+    public static final String STALE_WHILE_REVALIDATE_KEY = "staleWhileRevalidate";
+
+    /**
+     * Properties key for the time to refresh attribute
+     */
+    public static final String TIME_TO_REFRESH_SECONDS_KEY = "timeToRefreshSeconds";
+
+    /**
+     * Properties key for the refresh beta attribute
+     */
+    public static final String REFRESH_BETA_KEY = "refreshBeta";
+
+    /**
+     * Properties key for the refresh threads attribute
+     */
+    public static final String REFRESH_THREADS_KEY = "refreshThreads";
+
+    /**
+     * Properties key for the refresh batch size attribute
+     */
+    public static final String REFRESH_BATCH_SIZE_KEY = "refreshBatchSize";
+
+    /**
+     * Properties key for the max refresh backlog attribute
+     */
+    public static final String MAX_REFRESH_BACKLOG_KEY = "maximumRefreshBacklogItems";
+
+    private static final int DEFAULT_REFRESH_THREADS = 1;
+    private static final int DEFAULT_REFRESH_BATCH_SIZE = 100;
+    private static final int DEFAULT_REFRESH_BACKLOG = 1000;
+
     private boolean modeGet = true;
     private String name = null;
+    private boolean staleWhileRevalidate = false;
+    private long timeToRefreshSeconds = 0;
+    private double refreshBeta = StaleWhileRevalidateRefresher.DEFAULT_BETA;
+    private int refreshThreads = DEFAULT_REFRESH_THREADS;
+    private int refreshBatchSize = DEFAULT_REFRESH_BATCH_SIZE;
+    private int maximumRefreshBacklogItems = DEFAULT_REFRESH_BACKLOG;
     private volatile boolean valid = false;
 
     /**
@@ -62,6 +104,18 @@ public class ReadThroughCacheConfiguration implements Cloneable {
                     setModeGet(Boolean.parseBoolean(stringValue));
                 } else if (NAME_KEY.equals(property)) {
                     setName(stringValue);
+                } else if (STALE_WHILE_REVALIDATE_KEY.equals(property)) {
+                    setStaleWhileRevalidate(Boolean.parseBoolean(stringValue));
+                } else if (TIME_TO_REFRESH_SECONDS_KEY.equals(property)) {
+                    setTimeToRefreshSeconds(Long.parseLong(stringValue));
+                } else if (REFRESH_BETA_KEY.equals(property)) {
+                    setRefreshBeta(Double.parseDouble(stringValue));
+                } else if (REFRESH_THREADS_KEY.equals(property)) {
+                    setRefreshThreads(Integer.parseInt(stringValue));
+                } else if (REFRESH_BATCH_SIZE_KEY.equals(property)) {
+                    setRefreshBatchSize(Integer.parseInt(stringValue));
+                } else if (MAX_REFRESH_BACKLOG_KEY.equals(property)) {
+                    setMaximumRefreshBacklogItems(Integer.parseInt(stringValue));
                 } else {
                     throw new IllegalArgumentException("Unrecognized ReadThrough cache config key: " + property);
                 }
@@ -79,6 +133,12 @@ public class ReadThroughCacheConfiguration implements Cloneable {
         Properties p = new Properties();
         p.setProperty(NAME_KEY, getName());
         p.setProperty(GET_KEY, Boolean.toString(isModeGet()));
+        p.setProperty(STALE_WHILE_REVALIDATE_KEY, Boolean.toString(isStaleWhileRevalidate()));
+        p.setProperty(TIME_TO_REFRESH_SECONDS_KEY, Long.toString(getTimeToRefreshSeconds()));
+        p.setProperty(REFRESH_BETA_KEY, Double.toString(getRefreshBeta()));
+        p.setProperty(REFRESH_THREADS_KEY, Integer.toString(getRefreshThreads()));
+        p.setProperty(REFRESH_BATCH_SIZE_KEY, Integer.toString(getRefreshBatchSize()));
+        p.setProperty(MAX_REFRESH_BACKLOG_KEY, Integer.toString(getMaximumRefreshBacklogItems()));
         return p;
     }
 
@@ -93,8 +153,16 @@ public class ReadThroughCacheConfiguration implements Cloneable {
     }
 
     private void validate() {
-        // not much here.
-        // removing the decorator.
+        if (timeToRefreshSeconds < 0) {
+            throw new IllegalStateException("Must provide >=0 timeToRefreshSeconds for read through caching");
+        }
+        if (refreshBeta <= 0 || Double.isNaN(refreshBeta)) {
+            throw new IllegalStateException("Must provide >0 refreshBeta for read through caching");
+        }
+        if (refreshThreads <= 0 || refreshBatchSize <= 0 || maximumRefreshBacklogItems <= 0) {
+            throw new IllegalStateException("Must provide >0 refreshThreads, refreshBatchSize and maximumRefreshBacklogItems"
+                + " for read through caching");
+        }
         valid = true;
     }
 
@@ -167,6 +235,189 @@ public class ReadThroughCacheConfiguration implements Cloneable {
         return this;
     }
 
+    /**
+     * Return whether the stale-while-revalidate mode is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isStaleWhileRevalidate() {
+        checkValid();
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * Set whether the stale-while-revalidate mode is enabled. In this mode proxied gets load synchronously only on a miss;
+     * elements close to their expiry, or past their time to refresh, are served immediately while they are reloaded in the
+     * background. See {@link StaleWhileRevalidateRefresher}.
+     *
+     * @param staleWhileRevalidate true to enable
+     */
+    public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+        valid = false;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    /**
+     * Fluently set whether the stale-while-revalidate mode is enabled.
+     *
+     * @param staleWhileRevalidate true to enable
+     * @return this config
+     */
+    public ReadThroughCacheConfiguration staleWhileRevalidate(boolean staleWhileRevalidate) {
+        setStaleWhileRevalidate(staleWhileRevalidate);
+        return this;
+    }
+
+    /**
+     * Get the age in seconds after which elements are served stale and refreshed, 0 meaning only their expiry is used.
+     *
+     * @return the time to refresh in seconds
+     */
+    public long getTimeToRefreshSeconds() {
+        return timeToRefreshSeconds;
+    }
+
+    /**
+     * Set the age in seconds after which elements are served stale and refreshed, 0 meaning only their expiry is used.
+     *
+     * @param timeToRefreshSeconds the time to refresh in seconds
+     */
+    public void setTimeToRefreshSeconds(long timeToRefreshSeconds) {
+        valid = false;
+        this.timeToRefreshSeconds = timeToRefreshSeconds;
+    }
+
+    /**
+     * Fluently set the age in seconds after which elements are served stale and refreshed.
+     *
+     * @param timeToRefreshSeconds the time to refresh in seconds
+     * @return this config
+     */
+    public ReadThroughCacheConfiguration timeToRefreshSeconds(long timeToRefreshSeconds) {
+        setTimeToRefreshSeconds(timeToRefreshSeconds);
+        return this;
+    }
+
+    /**
+     * Get the beta of the early refresh rule, values above 1 favour earlier refreshes.
+     *
+     * @return the refresh beta
+     */
+    public double getRefreshBeta() {
+        return refreshBeta;
+    }
+
+    /**
+     * Set the beta of the early refresh rule, values above 1 favour earlier refreshes.
+     *
+     * @param refreshBeta the refresh beta
+     */
+    public void setRefreshBeta(double refreshBeta) {
+        valid = false;
+        this.refreshBeta = refreshBeta;
+    }
+
+    /**
+     * Fluently set the beta of the early refresh rule.
+     *
+     * @param refreshBeta the refresh beta
+     * @return this config
+     */
+    public ReadThroughCacheConfiguration refreshBeta(double refreshBeta) {
+        setRefreshBeta(refreshBeta);
+        return this;
+    }
+
+    /**
+     * Get the number of background refresh threads.
+     *
+     * @return the number of threads
+     */
+    public int getRefreshThreads() {
+        return refreshThreads;
+    }
+
+    /**
+     * Set the number of background refresh threads.
+     *
+     * @param refreshThreads the number of threads
+     */
+    public void setRefreshThreads(int refreshThreads) {
+        valid = false;
+        this.refreshThreads = refreshThreads;
+    }
+
+    /**
+     * Fluently set the number of background refresh threads.
+     *
+     * @param refreshThreads the number of threads
+     * @return this config
+     */
+    public ReadThroughCacheConfiguration refreshThreads(int refreshThreads) {
+        setRefreshThreads(refreshThreads);
+        return this;
+    }
+
+    /**
+     * Get the maximum number of keys refreshed by one {@code loadAll} call.
+     *
+     * @return the batch size
+     */
+    public int getRefreshBatchSize() {
+        return refreshBatchSize;
+    }
+
+    /**
+     * Set the maximum number of keys refreshed by one {@code loadAll} call.
+     *
+     * @param refreshBatchSize the batch size
+     */
+    public void setRefreshBatchSize(int refreshBatchSize) {
+        valid = false;
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    /**
+     * Fluently set the maximum number of keys refreshed by one {@code loadAll} call.
+     *
+     * @param refreshBatchSize the batch size
+     * @return this config
+     */
+    public ReadThroughCacheConfiguration refreshBatchSize(int refreshBatchSize) {
+        setRefreshBatchSize(refreshBatchSize);
+        return this;
+    }
+
+    /**
+     * Get the maximum number of keys waiting to be refreshed, above which the oldest requests are dropped.
+     *
+     * @return the maximum backlog
+     */
+    public int getMaximumRefreshBacklogItems() {
+        return maximumRefreshBacklogItems;
+    }
+
+    /**
+     * Set the maximum number of keys waiting to be refreshed, above which the oldest requests are dropped.
+     *
+     * @param maximumRefreshBacklogItems the maximum backlog
+     */
+    public void setMaximumRefreshBacklogItems(int maximumRefreshBacklogItems) {
+        valid = false;
+        this.maximumRefreshBacklogItems = maximumRefreshBacklogItems;
+    }
+
+    /**
+     * Fluently set the maximum number of keys waiting to be refreshed.
+     *
+     * @param maximumRefreshBacklogItems the maximum backlog
+     * @return this config
+     */
+    public ReadThroughCacheConfiguration maximumRefreshBacklogItems(int maximumRefreshBacklogItems) {
+        setMaximumRefreshBacklogItems(maximumRefreshBacklogItems);
+        return this;
+    }
+
     @Override
     public String toString() {
         return toProperties().toString();
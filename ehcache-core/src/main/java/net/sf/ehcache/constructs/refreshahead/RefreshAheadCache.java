@@ -68,11 +68,14 @@ public class RefreshAheadCache extends EhcacheDecoratorAdapter {
 
     private volatile Ehcache supportCache;
     private volatile ThreadedWorkQueue<Object> refreshWorkQueue;
+    private volatile StaleWhileRevalidateRefresher staleWhileRevalidateRefresher;
 
     /**
      * Create a Refresh Ahead Cache Adaptor with the specified configuration. An auxiliary EhCache
      * Cache will be created for the purposes of synchronization, so only one node
      * in a clustered environment will refresh a key at a given time.
+     * <p>
+     * In stale-while-revalidate mode no auxiliary cache is created, refreshes are deduplicated on this node only.
      *
      * @param adaptedCache
      * @param refreshConfig
@@ -89,7 +92,14 @@ public class RefreshAheadCache extends EhcacheDecoratorAdapter {
         refreshAllowed = refreshAllowed && !underlyingCache.getCacheConfiguration().isLocalTransactional();
         refreshAllowed = refreshAllowed && !VmUtils.isInGoogleAppEngine();
 
-        if (refreshAllowed) {
+        if (refreshAllowed && refreshAheadConfig.isStaleWhileRevalidate()) {
+            this.staleWhileRevalidateRefresher = new StaleWhileRevalidateRefresher(underlyingCache,
+                refreshAheadConfig.getTimeToRefreshMillis(), refreshAheadConfig.getRefreshBeta(), refreshAheadConfig.isEvictOnLoadMiss(),
+                refreshAheadConfig.getNumberOfThreads(), refreshAheadConfig.getMaximumRefreshBacklogItems(),
+                refreshAheadConfig.getBatchSize());
+            this.refreshWorkQueue = staleWhileRevalidateRefresher.getWorkQueue();
+            registerDisposeExtension();
+        } else if (refreshAllowed) {
             initSupportCache();
             initWorkQueue();
         } else {
@@ -131,6 +141,10 @@ public class RefreshAheadCache extends EhcacheDecoratorAdapter {
         // wipe it on startup. might wobble in a clustered case, but clears out orphans.
         prior.removeAll();
 
+        registerDisposeExtension();
+    }
+
+    private void registerDisposeExtension() {
         // catch the dispose. not sure this is the best way to do it at all.
         // we could register a listener alternatively
         underlyingCache.registerCacheExtension(new CacheExtension() {
@@ -236,7 +250,10 @@ public class RefreshAheadCache extends EhcacheDecoratorAdapter {
     }
 
     private void possiblyTriggerRefresh(Element elem, long timeToRefreshMillis) {
-        if (checkForRefresh(elem, System.currentTimeMillis(), timeToRefreshMillis)) {
+        StaleWhileRevalidateRefresher refresher = staleWhileRevalidateRefresher;
+        if (refresher != null) {
+            refresher.possiblyRefresh(elem);
+        } else if (checkForRefresh(elem, System.currentTimeMillis(), timeToRefreshMillis)) {
             // now add the key to the queue. smallest overhead we could get.
             refreshWorkQueue.offer(elem.getObjectKey());
         }
@@ -261,11 +278,20 @@ public class RefreshAheadCache extends EhcacheDecoratorAdapter {
      */
     @org.terracotta.statistics.Statistic(name = "refreshed", tags = "refreshahead")
     public long getRefreshSuccessCount() {
+        StaleWhileRevalidateRefresher refresher = staleWhileRevalidateRefresher;
+        if (refresher != null) {
+            return refresher.getRefreshSuccessCount();
+        }
         return refreshSuccessCount.get();
     }
 
     private void localDispose() throws IllegalStateException {
         synchronized (this) {
+            if (staleWhileRevalidateRefresher != null) {
+                staleWhileRevalidateRefresher.shutdown();
+                staleWhileRevalidateRefresher = null;
+                refreshWorkQueue = null;
+            }
             if (refreshWorkQueue != null) {
                 refreshWorkQueue.shutdown();
                 refreshWorkQueue = null;
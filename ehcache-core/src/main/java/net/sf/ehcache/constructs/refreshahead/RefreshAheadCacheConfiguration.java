@@ -56,6 +56,16 @@ public class RefreshAheadCacheConfiguration implements Cloneable {
      */
     public static final String EVICT_ON_LOAD_MISS = "evictOnLoadMiss";
 
+    /**
+     * Properties key for the stale-while-revalidate attribute
+     */
+    public static final String STALE_WHILE_REVALIDATE = "staleWhileRevalidate";
+
+    /**
+     * Properties key for the refresh beta attribute
+     */
+    public static final String REFRESH_BETA = "refreshBeta";
+
     private static final int DEFAULT_NUMBER_THREADS = 1;
     private static final int DEFAULT_BATCHSIZE = 100;
     private static final int DEFAULT_BACKLOG_MAX = -1;
@@ -67,6 +77,8 @@ public class RefreshAheadCacheConfiguration implements Cloneable {
     private boolean evictOnLoadMiss = false;
     private int numberOfThreads = DEFAULT_NUMBER_THREADS;
     private String name = null;
+    private boolean staleWhileRevalidate = false;
+    private double refreshBeta = StaleWhileRevalidateRefresher.DEFAULT_BETA;
 
     private volatile boolean valid = false;
 
@@ -100,6 +112,10 @@ public class RefreshAheadCacheConfiguration implements Cloneable {
                     setEvictOnLoadMiss(Boolean.parseBoolean(stringValue));
                 } else if (MAX_BACKLOG.equals(property)) {
                     setMaximumRefreshBacklogItems(Integer.parseInt(stringValue));
+                } else if (STALE_WHILE_REVALIDATE.equals(property)) {
+                    setStaleWhileRevalidate(Boolean.parseBoolean(stringValue));
+                } else if (REFRESH_BETA.equals(property)) {
+                    setRefreshBeta(Double.parseDouble(stringValue));
                 } else {
                     throw new IllegalArgumentException("Unrecognized RefreshAhead cache config key: " + property);
                 }
@@ -121,6 +137,8 @@ public class RefreshAheadCacheConfiguration implements Cloneable {
         p.setProperty(BATCH_SIZE_KEY, Long.toString(getBatchSize()));
         p.setProperty(EVICT_ON_LOAD_MISS, Boolean.toString(isEvictOnLoadMiss()));
         p.setProperty(MAX_BACKLOG, Long.toString(getMaximumRefreshBacklogItems()));
+        p.setProperty(STALE_WHILE_REVALIDATE, Boolean.toString(isStaleWhileRevalidate()));
+        p.setProperty(REFRESH_BETA, Double.toString(getRefreshBeta()));
         return p;
     }
 
@@ -142,6 +160,9 @@ public class RefreshAheadCacheConfiguration implements Cloneable {
         if (maximumRefreshBacklogItems <= 0) {
             throw new IllegalStateException("Must provide >=0 maximumBacklogItems for refresh ahead caching");
         }
+        if (refreshBeta <= 0 || Double.isNaN(refreshBeta)) {
+            throw new IllegalStateException("Must provide >0 refreshBeta for refresh ahead caching");
+        }
         valid = true;
     }
 
@@ -344,6 +365,70 @@ public class RefreshAheadCacheConfiguration implements Cloneable {
         return this;
     }
 
+    /**
+     * Get whether the stale-while-revalidate mode is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * Set whether the stale-while-revalidate mode is enabled. In this mode elements past their time to refresh are served
+     * while they are refreshed in the background, elements close to their time to refresh or expiry are refreshed early
+     * with a probability rising as the deadline nears, and in-flight refreshes are tracked locally rather than in a support
+     * cache. See {@link StaleWhileRevalidateRefresher}.
+     *
+     * @param staleWhileRevalidate true to enable
+     */
+    public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+        valid = false;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    /**
+     * Fluently set whether the stale-while-revalidate mode is enabled.
+     *
+     * @param staleWhileRevalidate true to enable
+     * @return this config
+     */
+    public RefreshAheadCacheConfiguration staleWhileRevalidate(boolean staleWhileRevalidate) {
+        setStaleWhileRevalidate(staleWhileRevalidate);
+        return this;
+    }
+
+    /**
+     * Get the beta of the early refresh rule used in stale-while-revalidate mode.
+     *
+     * @return the refresh beta
+     */
+    public double getRefreshBeta() {
+        return refreshBeta;
+    }
+
+    /**
+     * Set the beta of the early refresh rule used in stale-while-revalidate mode. Values above 1 favour earlier refreshes,
+     * values below 1 later ones.
+     *
+     * @param refreshBeta the refresh beta
+     */
+    public void setRefreshBeta(double refreshBeta) {
+        valid = false;
+        this.refreshBeta = refreshBeta;
+    }
+
+    /**
+     * Fluently set the beta of the early refresh rule used in stale-while-revalidate mode.
+     *
+     * @param refreshBeta the refresh beta
+     * @return this config
+     */
+    public RefreshAheadCacheConfiguration refreshBeta(double refreshBeta) {
+        setRefreshBeta(refreshBeta);
+        return this;
+    }
+
     @Override
     public String toString() {
         return "RefreshAheadCacheConfiguration:  " + toProperties().toString();
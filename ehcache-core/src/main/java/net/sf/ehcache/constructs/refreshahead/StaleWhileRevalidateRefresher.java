@@ -0,0 +1,229 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.constructs.refreshahead;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.constructs.refreshahead.ThreadedWorkQueue.BatchWorker;
+import net.sf.ehcache.loader.CacheLoader;
+import net.sf.ehcache.util.NamedThreadFactory;
+import net.sf.ehcache.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background refresher used by the stale-while-revalidate mode of {@link RefreshAheadCache} and
+ * {@link net.sf.ehcache.constructs.readthrough.ReadThroughCache}.
+ * <p>
+ * Readers are always served the element currently in the cache. Each read decides, using the probabilistic early
+ * expiration rule known as XFetch, whether to queue a background refresh of the key: a key is refreshed early with a
+ * probability that rises as its deadline approaches and as loads get slower, reaching certainty at the deadline. The
+ * deadline of an element is its expiration time, or its creation time plus the time to refresh when one is set, after
+ * which the element is served stale until the refresh completes.
+ * <p>
+ * Keys being refreshed are tracked in a local in-flight map so that each key is refreshed at most once at a time on this
+ * node. Queued keys are loaded in batches through {@link CacheLoader#loadAll(Collection)} of the cache's registered loaders.
+ *
+ * @author ehcache
+ */
+public class StaleWhileRevalidateRefresher {
+
+    /** Default XFetch beta, values above 1 favour earlier refreshes. */
+    public static final double DEFAULT_BETA = 1.0;
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaleWhileRevalidateRefresher.class);
+
+    /** In-flight marks older than this are assumed lost, e.g. after a refresh thread was interrupted. */
+    private static final long IN_FLIGHT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    /** Load time assumed until a load has been measured. */
+    private static final long INITIAL_LOAD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    /** Weight of the most recent load time in the moving average. */
+    private static final double LOAD_TIME_ALPHA = 0.2;
+
+    private final Ehcache underlyingCache;
+    private final long timeToRefreshMillis;
+    private final double beta;
+    private final boolean evictOnLoadMiss;
+    private final ConcurrentMap<Object, Long> inFlight = new ConcurrentHashMap<Object, Long>();
+    private final ThreadedWorkQueue<Object> workQueue;
+    private final AtomicLong refreshSuccessCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+
+    private volatile double loadNanos = INITIAL_LOAD_NANOS;
+
+    /**
+     * Creates a refresher for the given cache.
+     *
+     * @param underlyingCache     the cache whose loaders are used and into which refreshed elements are put
+     * @param timeToRefreshMillis the age after which elements are stale, or 0 to use their expiration time only
+     * @param beta                the XFetch beta, see {@link #DEFAULT_BETA}
+     * @param evictOnLoadMiss     whether keys that no loader returns a value for are removed from the cache
+     * @param numberOfThreads     the number of refresh threads
+     * @param maximumBacklog      the maximum number of keys waiting to be refreshed
+     * @param batchSize           the maximum number of keys per {@code loadAll} call
+     */
+    public StaleWhileRevalidateRefresher(Ehcache underlyingCache, long timeToRefreshMillis, double beta, boolean evictOnLoadMiss,
+                                         int numberOfThreads, int maximumBacklog, int batchSize) {
+        if (beta <= 0 || Double.isNaN(beta)) {
+            throw new IllegalArgumentException("Refresh beta must be positive: " + beta);
+        }
+        this.underlyingCache = underlyingCache;
+        this.timeToRefreshMillis = timeToRefreshMillis;
+        this.beta = beta;
+        this.evictOnLoadMiss = evictOnLoadMiss;
+        this.workQueue = new ThreadedWorkQueue<Object>(new BatchWorker<Object>() {
+            @Override
+            public void process(Collection<? extends Object> keys) {
+                refresh(keys);
+            }
+        }, numberOfThreads, new NamedThreadFactory(underlyingCache.getName() + " stale-while-revalidate", true), maximumBacklog,
+            batchSize);
+    }
+
+    /**
+     * Queues a background refresh of the element's key if it is stale, or if it is due for an early refresh.
+     *
+     * @param element the element about to be served, may be null
+     * @return true if a refresh of the key was queued by this call
+     */
+    public boolean possiblyRefresh(Element element) {
+        if (element == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (!isRefreshDue(element, now)) {
+            return false;
+        }
+        Object key = element.getObjectKey();
+        Long mark = inFlight.putIfAbsent(key, now);
+        if (mark != null && (now - mark < IN_FLIGHT_TIMEOUT_MILLIS || !inFlight.replace(key, mark, now))) {
+            return false;
+        }
+        for (Object dropped : workQueue.offerAndGetDropped(key)) {
+            // pushed off a full queue, it will not be refreshed so must not stay marked
+            inFlight.remove(dropped);
+        }
+        return true;
+    }
+
+    /**
+     * Feeds the duration of a synchronous load into the load time estimate used to schedule early refreshes.
+     *
+     * @param nanos the load duration, in nanoseconds
+     */
+    public void recordLoadTime(long nanos) {
+        loadNanos = loadNanos + LOAD_TIME_ALPHA * (nanos - loadNanos);
+    }
+
+    /**
+     * Number of keys refreshed by this refresher.
+     *
+     * @return the refreshed key count
+     */
+    public long getRefreshSuccessCount() {
+        return refreshSuccessCount.get();
+    }
+
+    /**
+     * Number of refresh batches that failed, leaving their keys stale.
+     *
+     * @return the failed batch count
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    /**
+     * Number of keys currently queued or being refreshed.
+     *
+     * @return the in-flight key count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * The work queue refreshes are processed by.
+     *
+     * @return the work queue
+     */
+    public ThreadedWorkQueue<Object> getWorkQueue() {
+        return workQueue;
+    }
+
+    /**
+     * Stops the refresh threads, pending refreshes are dropped.
+     */
+    public void shutdown() {
+        workQueue.shutdown();
+        inFlight.clear();
+    }
+
+    private boolean isRefreshDue(Element element, long now) {
+        long deadline = element.getExpirationTime();
+        if (timeToRefreshMillis > 0 && timeToRefreshMillis < Long.MAX_VALUE - element.getCreationTime()) {
+            deadline = Math.min(deadline, element.getCreationTime() + timeToRefreshMillis);
+        }
+        if (deadline == Long.MAX_VALUE) {
+            return false;
+        } else if (now >= deadline) {
+            return true;
+        }
+        // XFetch: refresh early when now - delta * beta * ln(rand()) >= deadline
+        double random = ThreadLocalRandom.current().nextDouble();
+        double earlyMillis = -(loadNanos / TimeUnit.MILLISECONDS.toNanos(1)) * beta * Math.log(random);
+        return now + earlyMillis >= deadline;
+    }
+
+    private void refresh(Collection<? extends Object> keys) {
+        Set<Object> keysToProcess = new HashSet<Object>(keys);
+        long start = System.nanoTime();
+        try {
+            for (CacheLoader loader : underlyingCache.getRegisteredCacheLoaders()) {
+                if (keysToProcess.isEmpty()) {
+                    break;
+                }
+                Map<? extends Object, ? extends Object> values = loader.loadAll(keysToProcess);
+                keysToProcess.removeAll(values.keySet());
+                for (Map.Entry<? extends Object, ? extends Object> entry : values.entrySet()) {
+                    underlyingCache.put(new Element(entry.getKey(), entry.getValue()));
+                    refreshSuccessCount.incrementAndGet();
+                }
+            }
+            if (evictOnLoadMiss && !keysToProcess.isEmpty()) {
+                underlyingCache.removeAll(keysToProcess);
+            }
+            recordLoadTime(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            refreshFailureCount.incrementAndGet();
+            LOG.warn("Stale-while-revalidate refresh of " + keys.size() + " keys failed on cache " + underlyingCache.getName(), e);
+        } finally {
+            for (Object key : keys) {
+                inFlight.remove(key);
+            }
+        }
+    }
+}
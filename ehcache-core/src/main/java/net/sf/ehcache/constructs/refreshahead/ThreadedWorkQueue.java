@@ -17,6 +17,7 @@ package net.sf.ehcache.constructs.refreshahead;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
@@ -112,12 +113,29 @@ public class ThreadedWorkQueue<W> {
      * @param workUnit
      */
     public void offer(W workUnit) {
+        offerAndGetDropped(workUnit);
+    }
+
+    /**
+     * Offer a work unit to queue, pushing prior work units off of the work queue if it is full.
+     *
+     * @param workUnit
+     * @return the work units dropped to make room, which will never be processed
+     */
+    public Collection<W> offerAndGetDropped(W workUnit) {
         offerCounter.incrementAndGet();
+        Collection<W> dropped = Collections.emptyList();
         while (!queue.offer(workUnit)) {
-            if (queue.poll() != null) {
+            W oldest = queue.poll();
+            if (oldest != null) {
                 droppedCounter.incrementAndGet();
+                if (dropped.isEmpty()) {
+                    dropped = new ArrayList<W>(1);
+                }
+                dropped.add(oldest);
             }
         }
+        return dropped;
     }
 
     /**
@@ -0,0 +1,405 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.util.NamedThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the events of a cache to a listener from dedicated threads.
+ * <p>
+ * Events are spread by key across one {@link EventRingBuffer} per dispatcher thread, so the events for a given key are
+ * delivered in the order they were raised in. {@link QueuedCacheEvent.Type#REMOVE_ALL} events are put in every queue and
+ * only delivered once all of them have reached it, keeping them ordered with respect to all other events.
+ * <p>
+ * Instances are created by {@link RegisteredEventListeners} for listeners registered with an
+ * {@link AsyncEventDispatchConfiguration}, and expose the dispatch statistics of that listener.
+ *
+ * @author ehcache
+ */
+public final class AsyncCacheEventDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncCacheEventDispatcher.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long DISPOSE_TIMEOUT_MILLIS = 30000;
+
+    private final Ehcache cache;
+    private final CacheEventListener listener;
+    private final CacheEventBatchListener batchListener;
+    private final EventOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Lane[] lanes;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a dispatcher and starts its threads.
+     *
+     * @param cache         the cache raising the events
+     * @param listener      the listener to deliver them to
+     * @param configuration the dispatch configuration
+     */
+    AsyncCacheEventDispatcher(Ehcache cache, CacheEventListener listener, AsyncEventDispatchConfiguration configuration) {
+        this.cache = cache;
+        this.listener = listener;
+        this.batchListener = listener instanceof CacheEventBatchListener ? (CacheEventBatchListener) listener : null;
+        this.overflowPolicy = configuration.getOverflowPolicy();
+        this.batchSize = configuration.getBatchSize();
+        this.lanes = new Lane[configuration.getDispatcherThreads()];
+        ThreadFactory threadFactory = new NamedThreadFactory("Cache [" + cache.getName() + "] event dispatcher", true);
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(configuration.getQueueSize());
+            lanes[i].thread = threadFactory.newThread(lanes[i]);
+        }
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+    }
+
+    /**
+     * Queues an element event.
+     *
+     * @param type    the event type
+     * @param element the element
+     */
+    void dispatch(QueuedCacheEvent.Type type, Element element) {
+        Object key = element == null ? null : element.getObjectKey();
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= hash >>> 16;
+        enqueue(lanes[(hash & Integer.MAX_VALUE) % lanes.length], new QueuedCacheEvent(type, element));
+    }
+
+    /**
+     * Queues a remove all event in every queue.
+     */
+    void dispatchRemoveAll() {
+        QueuedCacheEvent event = new QueuedCacheEvent(QueuedCacheEvent.Type.REMOVE_ALL, null, lanes.length);
+        for (Lane lane : lanes) {
+            enqueue(lane, event);
+        }
+    }
+
+    private void enqueue(Lane lane, QueuedCacheEvent event) {
+        if (shutdown) {
+            discard(event);
+            return;
+        }
+        while (!lane.buffer.offer(event)) {
+            switch (overflowPolicy) {
+                case DROP_NEWEST:
+                    if (!event.isBarrier()) {
+                        discard(event);
+                        return;
+                    }
+                    // barriers carry no payload and other queues wait on them, make room for them instead
+                    discardOldest(lane);
+                    break;
+                case DROP_OLDEST:
+                    discardOldest(lane);
+                    break;
+                case BLOCK:
+                    if (Thread.currentThread() == lane.thread) {
+                        // the listener itself is writing to the cache, waiting on our own queue would deadlock
+                        deliverInline(event);
+                        return;
+                    } else if (shutdown) {
+                        discard(event);
+                        return;
+                    }
+                    lane.wake();
+                    LockSupport.parkNanos(this, FULL_PARK_NANOS);
+                    break;
+                default:
+                    throw new AssertionError(overflowPolicy);
+            }
+        }
+        queuedCount.incrementAndGet();
+        lane.wake();
+    }
+
+    private void discardOldest(Lane lane) {
+        QueuedCacheEvent oldest = lane.buffer.poll();
+        if (oldest != null) {
+            discard(oldest);
+        }
+    }
+
+    /**
+     * Drops an event that will not be queued, making sure no queue keeps waiting on it if it is a barrier.
+     */
+    private void discard(QueuedCacheEvent event) {
+        droppedCount.incrementAndGet();
+        if (event.isBarrier() && event.arrive()) {
+            event.release();
+        }
+    }
+
+    private void deliverInline(QueuedCacheEvent event) {
+        if (!event.isBarrier()) {
+            deliver(Collections.singletonList(event));
+        } else if (event.arrive()) {
+            try {
+                deliver(Collections.singletonList(event));
+            } finally {
+                event.release();
+            }
+        }
+    }
+
+    private void deliver(List<QueuedCacheEvent> events) {
+        if (batchListener != null) {
+            try {
+                batchListener.notifyEvents(cache, Collections.unmodifiableList(new ArrayList<QueuedCacheEvent>(events)));
+                deliveredCount.addAndGet(events.size());
+            } catch (RuntimeException e) {
+                failedCount.addAndGet(events.size());
+                LOG.warn("Cache event listener " + listener + " failed to process " + events.size() + " events", e);
+            }
+        } else {
+            for (QueuedCacheEvent event : events) {
+                try {
+                    deliver(event);
+                    deliveredCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failedCount.incrementAndGet();
+                    LOG.warn("Cache event listener " + listener + " failed to process event " + event, e);
+                }
+            }
+        }
+    }
+
+    private void deliver(QueuedCacheEvent event) {
+        switch (event.getType()) {
+            case PUT:
+                listener.notifyElementPut(cache, event.getElement());
+                break;
+            case UPDATED:
+                listener.notifyElementUpdated(cache, event.getElement());
+                break;
+            case REMOVED:
+                listener.notifyElementRemoved(cache, event.getElement());
+                break;
+            case EXPIRED:
+                listener.notifyElementExpired(cache, event.getElement());
+                break;
+            case EVICTED:
+                listener.notifyElementEvicted(cache, event.getElement());
+                break;
+            case REMOVE_ALL:
+                listener.notifyRemoveAll(cache);
+                break;
+            default:
+                throw new AssertionError(event.getType());
+        }
+    }
+
+    /**
+     * Stops accepting events and waits for the queued ones to be delivered.
+     */
+    void dispose() {
+        shutdown = true;
+        long deadline = System.currentTimeMillis() + DISPOSE_TIMEOUT_MILLIS;
+        boolean interrupted = false;
+        for (Lane lane : lanes) {
+            lane.wake();
+            if (Thread.currentThread() == lane.thread) {
+                continue;
+            }
+            try {
+                lane.thread.join(Math.max(1L, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            if (lane.thread.isAlive()) {
+                LOG.warn("Cache event listener " + listener + " did not process its queued events in time, "
+                         + lane.buffer.size() + " events are lost");
+                lane.thread.interrupt();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The number of events accepted into the dispatch queues.
+     *
+     * @return the queued event count
+     */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * The number of events delivered to the listener.
+     *
+     * @return the delivered event count
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * The number of events dropped because a dispatch queue was full, or the dispatcher disposed.
+     *
+     * @return the dropped event count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * The number of events the listener threw an exception on.
+     *
+     * @return the failed event count
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * The number of events currently waiting in the dispatch queues.
+     *
+     * @return the backlog
+     */
+    public int getBacklog() {
+        int backlog = 0;
+        for (Lane lane : lanes) {
+            backlog += lane.buffer.size();
+        }
+        return backlog;
+    }
+
+    /**
+     * How far behind the listener is: the age of the oldest event currently being delivered, or 0 if no events are.
+     *
+     * @return the delivery lag in milliseconds
+     */
+    public long getLagMillis() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Lane lane : lanes) {
+            long oldest = lane.deliveringSince;
+            if (oldest != 0) {
+                lag = Math.max(lag, now - oldest);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lag);
+    }
+
+    /**
+     * A dispatch queue and the thread draining it.
+     */
+    private final class Lane implements Runnable {
+
+        private final EventRingBuffer<QueuedCacheEvent> buffer;
+        private volatile Thread thread;
+        private volatile boolean waiting;
+        private volatile long deliveringSince;
+
+        private Lane(int capacity) {
+            this.buffer = new EventRingBuffer<QueuedCacheEvent>(capacity);
+        }
+
+        private void wake() {
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        public void run() {
+            List<QueuedCacheEvent> batch = new ArrayList<QueuedCacheEvent>(Math.min(batchSize, buffer.capacity()));
+            try {
+                while (true) {
+                    QueuedCacheEvent event = buffer.poll();
+                    if (event == null) {
+                        if (!batch.isEmpty()) {
+                            flush(batch);
+                            continue;
+                        }
+                        if (shutdown && buffer.size() == 0) {
+                            return;
+                        }
+                        waiting = true;
+                        if (buffer.size() == 0 && !shutdown) {
+                            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                        }
+                        waiting = false;
+                    } else if (event.isBarrier()) {
+                        flush(batch);
+                        if (event.arrive()) {
+                            try {
+                                track(Collections.singletonList(event));
+                            } finally {
+                                event.release();
+                            }
+                        } else {
+                            while (!event.awaitRelease(IDLE_PARK_NANOS, TimeUnit.NANOSECONDS)) {
+                                if (shutdown) {
+                                    // give up ordering rather than hang on a barrier that will never be released
+                                    break;
+                                }
+                            }
+                        }
+                    } else {
+                        batch.add(event);
+                        if (batch.size() >= batchSize) {
+                            flush(batch);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void flush(List<QueuedCacheEvent> batch) {
+            if (!batch.isEmpty()) {
+                track(batch);
+                batch.clear();
+            }
+        }
+
+        private void track(List<QueuedCacheEvent> events) {
+            deliveringSince = events.get(0).getQueuedNanos();
+            try {
+                deliver(events);
+            } finally {
+                deliveringSince = 0;
+            }
+        }
+    }
+}
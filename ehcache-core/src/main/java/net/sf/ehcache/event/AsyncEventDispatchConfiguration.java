@@ -0,0 +1,163 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.event;
+
+/**
+ * Configures the asynchronous delivery of events to a cache event listener.
+ * <p>
+ * Events are queued, by key, into one of {@link #getDispatcherThreads()} bounded queues of {@link #getQueueSize()} events,
+ * each drained by its own thread. Events for the same key are thus delivered in order, while a slow listener no longer
+ * holds up the threads mutating the cache.
+ *
+ * @author ehcache
+ */
+public final class AsyncEventDispatchConfiguration {
+
+    /** Default number of dispatcher threads */
+    public static final int DEFAULT_DISPATCHER_THREADS = 1;
+
+    /** Default capacity of each dispatcher queue */
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    /** Default batch size */
+    public static final int DEFAULT_BATCH_SIZE = 1;
+
+    private volatile int dispatcherThreads = DEFAULT_DISPATCHER_THREADS;
+    private volatile int queueSize = DEFAULT_QUEUE_SIZE;
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    private volatile EventOverflowPolicy overflowPolicy = EventOverflowPolicy.BLOCK;
+
+    /**
+     * Sets the number of dispatcher threads, events are spread across them by key.
+     *
+     * @param dispatcherThreads the number of threads, strictly positive
+     */
+    public void setDispatcherThreads(int dispatcherThreads) {
+        if (dispatcherThreads < 1) {
+            throw new IllegalArgumentException("dispatcherThreads must be greater than zero : " + dispatcherThreads);
+        }
+        this.dispatcherThreads = dispatcherThreads;
+    }
+
+    /**
+     * @return this configuration instance
+     * @see #setDispatcherThreads(int)
+     */
+    public AsyncEventDispatchConfiguration dispatcherThreads(int dispatcherThreads) {
+        setDispatcherThreads(dispatcherThreads);
+        return this;
+    }
+
+    /**
+     * The number of dispatcher threads
+     *
+     * @return the number of dispatcher threads
+     */
+    public int getDispatcherThreads() {
+        return dispatcherThreads;
+    }
+
+    /**
+     * Sets the capacity of each dispatcher queue, rounded up to the next power of two.
+     *
+     * @param queueSize the queue capacity, strictly positive
+     */
+    public void setQueueSize(int queueSize) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queueSize must be greater than zero : " + queueSize);
+        }
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * @return this configuration instance
+     * @see #setQueueSize(int)
+     */
+    public AsyncEventDispatchConfiguration queueSize(int queueSize) {
+        setQueueSize(queueSize);
+        return this;
+    }
+
+    /**
+     * The capacity of each dispatcher queue
+     *
+     * @return the queue capacity
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sets the maximum number of events handed at once to a {@link CacheEventBatchListener}.
+     *
+     * @param batchSize the batch size, strictly positive
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than zero : " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return this configuration instance
+     * @see #setBatchSize(int)
+     */
+    public AsyncEventDispatchConfiguration batchSize(int batchSize) {
+        setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * The maximum number of events handed at once to a {@link CacheEventBatchListener}
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets what happens to events raised while a dispatcher queue is full.
+     *
+     * @param overflowPolicy the overflow policy
+     */
+    public void setOverflowPolicy(EventOverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("overflowPolicy must be non-null");
+        }
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return this configuration instance
+     * @see #setOverflowPolicy(EventOverflowPolicy)
+     */
+    public AsyncEventDispatchConfiguration overflowPolicy(EventOverflowPolicy overflowPolicy) {
+        setOverflowPolicy(overflowPolicy);
+        return this;
+    }
+
+    /**
+     * What happens to events raised while a dispatcher queue is full
+     *
+     * @return the overflow policy
+     */
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.event;
+
+import java.util.List;
+
+import net.sf.ehcache.Ehcache;
+
+/**
+ * Receives cache events in batches.
+ * <p>
+ * A {@link CacheEventListener} registered for asynchronous delivery that also implements this interface is handed the
+ * queued events in batches of up to {@link AsyncEventDispatchConfiguration#getBatchSize()} events, in place of the
+ * individual {@code notifyXXX} calls. Events for the same key are always delivered in the order they were raised in.
+ *
+ * @author ehcache
+ * @see RegisteredEventListeners#registerListener(CacheEventListener, NotificationScope, AsyncEventDispatchConfiguration)
+ */
+public interface CacheEventBatchListener {
+
+    /**
+     * Called with a batch of events raised by the cache.
+     *
+     * @param cache  the cache the events were raised by
+     * @param events the events, in the order they were raised in
+     */
+    void notifyEvents(Ehcache cache, List<QueuedCacheEvent> events);
+}
@@ -0,0 +1,153 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.event;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Selects the events delivered to a cache event listener.
+ * <p>
+ * A filter restricts the delivered events by {@link QueuedCacheEvent.Type type} and by key, and can project them down to
+ * their key. Filters are immutable, each method returns a new, narrower, filter:
+ * <pre>
+ * CacheEventFilter filter = CacheEventFilter.ALL.types(Type.REMOVED, Type.EXPIRED).keys(new PrefixFilter("user:")).keyOnly();
+ * </pre>
+ * Events a filter rejects are dropped before their element is resolved, and key-only filters receive elements holding only
+ * the key, so that elements are never materialized for listeners that have no use for them.
+ *
+ * @author ehcache
+ * @see RegisteredEventListeners#registerListener(CacheEventListener, NotificationScope, CacheEventFilter)
+ */
+public final class CacheEventFilter {
+
+    /**
+     * The filter accepting all events
+     */
+    public static final CacheEventFilter ALL = new CacheEventFilter(EnumSet.allOf(QueuedCacheEvent.Type.class), null, false);
+
+    private final Set<QueuedCacheEvent.Type> types;
+    private final KeyFilter keyFilter;
+    private final boolean keyOnly;
+
+    private CacheEventFilter(Set<QueuedCacheEvent.Type> types, KeyFilter keyFilter, boolean keyOnly) {
+        this.types = types;
+        this.keyFilter = keyFilter;
+        this.keyOnly = keyOnly;
+    }
+
+    /**
+     * Returns a filter only accepting the given event types, out of those this filter accepts.
+     *
+     * @param first the first accepted type
+     * @param rest  the other accepted types
+     * @return the new filter
+     */
+    public CacheEventFilter types(QueuedCacheEvent.Type first, QueuedCacheEvent.Type... rest) {
+        Set<QueuedCacheEvent.Type> accepted = EnumSet.of(first, rest);
+        accepted.retainAll(types);
+        return new CacheEventFilter(accepted, keyFilter, keyOnly);
+    }
+
+    /**
+     * Returns a filter only accepting the events whose key is accepted by both this filter and the given key filter.
+     *
+     * @param filter the key filter
+     * @return the new filter
+     */
+    public CacheEventFilter keys(final KeyFilter filter) {
+        if (filter == null) {
+            throw new NullPointerException("filter must be non-null");
+        }
+        if (keyFilter == null) {
+            return new CacheEventFilter(types, filter, keyOnly);
+        }
+        final KeyFilter current = keyFilter;
+        return new CacheEventFilter(types, new KeyFilter() {
+            public boolean accept(Object key) {
+                return current.accept(key) && filter.accept(key);
+            }
+        }, keyOnly);
+    }
+
+    /**
+     * Returns a filter delivering elements holding only the key of the event, and a {@code null} value.
+     *
+     * @return the new filter
+     */
+    public CacheEventFilter keyOnly() {
+        return new CacheEventFilter(types, keyFilter, true);
+    }
+
+    /**
+     * Does this filter accept events of the given type
+     *
+     * @param type the event type
+     * @return true if accepted
+     */
+    public boolean accepts(QueuedCacheEvent.Type type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Does this filter accept events on the given key
+     *
+     * @param key the key
+     * @return true if accepted
+     */
+    public boolean acceptsKey(Object key) {
+        return keyFilter == null || keyFilter.accept(key);
+    }
+
+    /**
+     * Does this filter deliver key only elements
+     *
+     * @return true if only keys are delivered
+     */
+    public boolean isKeyOnly() {
+        return keyOnly;
+    }
+
+    /**
+     * Does this filter need the key of an event, either to filter on it or to project the event to it
+     */
+    boolean filtersKeys() {
+        return keyFilter != null || keyOnly;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CacheEventFilter[types=" + types + ", keyFilter=" + keyFilter + ", keyOnly=" + keyOnly + "]";
+    }
+
+    /**
+     * Selects event keys
+     */
+    public interface KeyFilter {
+
+        /**
+         * Decides whether the events on a key are delivered.
+         *
+         * @param key the event key
+         * @return true to deliver the event
+         */
+        boolean accept(Object key);
+    }
+}
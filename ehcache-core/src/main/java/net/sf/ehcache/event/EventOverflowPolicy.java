@@ -0,0 +1,41 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.event;
+
+/**
+ * What an asynchronous event dispatcher does with an event when its queue is full.
+ *
+ * @author ehcache
+ * @see AsyncEventDispatchConfiguration
+ */
+public enum EventOverflowPolicy {
+
+    /**
+     * The mutating thread waits for the listener to catch up. No events are lost.
+     */
+    BLOCK,
+
+    /**
+     * The new event is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest queued event is dropped to make room for the new one.
+     */
+    DROP_OLDEST
+}
@@ -0,0 +1,125 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free, multi-producer multi-consumer ring buffer.
+ * <p>
+ * Each slot carries a sequence number telling producers and consumers whether it is free to write or ready to read, so
+ * offering and polling only ever contend on a single compare-and-set of the tail, respectively head, counter.
+ *
+ * @param <E> the element type
+ * @author ehcache
+ */
+final class EventRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity the minimum capacity, rounded up to the next power of two
+     */
+    EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.items = new AtomicReferenceArray<E>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element at the tail of the buffer.
+     *
+     * @param e the element
+     * @return false if the buffer is full
+     */
+    boolean offer(E e) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.set(index, e);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the element at the head of the buffer.
+     *
+     * @return the element, or {@code null} if the buffer is empty
+     */
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E e = items.get(index);
+                    items.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return e;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * The number of elements in the buffer, a moving target under concurrent access.
+     *
+     * @return the element count
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0L, Math.min(size, mask + 1L));
+    }
+
+    /**
+     * The buffer capacity
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
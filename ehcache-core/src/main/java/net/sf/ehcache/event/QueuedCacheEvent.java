@@ -0,0 +1,161 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.event;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.ehcache.Element;
+
+/**
+ * A cache event queued for asynchronous delivery.
+ *
+ * @author ehcache
+ * @see CacheEventBatchListener
+ */
+public final class QueuedCacheEvent {
+
+    /**
+     * The kind of cache event
+     */
+    public static enum Type {
+        /** An element was put, see {@link CacheEventListener#notifyElementPut} */
+        PUT,
+        /** An element was updated, see {@link CacheEventListener#notifyElementUpdated} */
+        UPDATED,
+        /** An element was removed, see {@link CacheEventListener#notifyElementRemoved} */
+        REMOVED,
+        /** An element expired, see {@link CacheEventListener#notifyElementExpired} */
+        EXPIRED,
+        /** An element was evicted, see {@link CacheEventListener#notifyElementEvicted} */
+        EVICTED,
+        /** The cache was cleared, see {@link CacheEventListener#notifyRemoveAll} */
+        REMOVE_ALL
+    }
+
+    private final Type type;
+    private final Element element;
+    private final long timestamp;
+    private final long queuedNanos;
+    private final AtomicInteger pendingQueues;
+    private final CountDownLatch released;
+
+    /**
+     * Creates a queued event.
+     *
+     * @param type    the event type
+     * @param element the element, {@code null} for {@link Type#REMOVE_ALL}
+     */
+    QueuedCacheEvent(Type type, Element element) {
+        this(type, element, 1);
+    }
+
+    /**
+     * Creates a queued event that has to reach the head of several queues before being delivered.
+     *
+     * @param type    the event type
+     * @param element the element, {@code null} for {@link Type#REMOVE_ALL}
+     * @param queues  the number of queues the event is put in
+     */
+    QueuedCacheEvent(Type type, Element element, int queues) {
+        this.type = type;
+        this.element = element;
+        this.timestamp = System.currentTimeMillis();
+        this.queuedNanos = System.nanoTime();
+        if (queues > 1) {
+            this.pendingQueues = new AtomicInteger(queues);
+            this.released = new CountDownLatch(1);
+        } else {
+            this.pendingQueues = null;
+            this.released = null;
+        }
+    }
+
+    /**
+     * The event type
+     *
+     * @return the event type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The element the event is about.
+     *
+     * @return the element, {@code null} for {@link Type#REMOVE_ALL} events
+     */
+    public Element getElement() {
+        return element;
+    }
+
+    /**
+     * The time, in milliseconds since the epoch, the event was raised at.
+     *
+     * @return the event timestamp
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    long getQueuedNanos() {
+        return queuedNanos;
+    }
+
+    /**
+     * Is this event put in several queues, each of which has to reach it before it is delivered.
+     */
+    boolean isBarrier() {
+        return pendingQueues != null;
+    }
+
+    /**
+     * Records one of the queues reaching this barrier event.
+     *
+     * @return true if this was the last queue to reach it, the caller must then deliver the event and {@link #release()} it
+     */
+    boolean arrive() {
+        return pendingQueues.decrementAndGet() == 0;
+    }
+
+    /**
+     * Waits for the barrier event to be delivered.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true if the event was released, false if the timeout elapsed first
+     */
+    boolean awaitRelease(long timeout, TimeUnit unit) throws InterruptedException {
+        return released.await(timeout, unit);
+    }
+
+    /**
+     * Releases the queues waiting on this barrier event.
+     */
+    void release() {
+        released.countDown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return type + (element == null ? "" : "[" + element.getObjectKey() + "]");
+    }
+}
@@ -148,15 +148,7 @@ public class RegisteredEventListeners {
     }
 
     void internalNotifyElementRemoved(Element element, ElementCreationCallback callback, boolean remoteEvent) {
-        if (hasCacheEventListeners()) {
-            for (ListenerWrapper listenerWrapper : cacheEventListeners) {
-                if (listenerWrapper.getScope().shouldDeliver(remoteEvent)
-                        && !isCircularNotification(remoteEvent, listenerWrapper.getListener())) {
-                    CacheEventListener listener = listenerWrapper.getListener();
-                    listener.notifyElementRemoved(cache, resolveElement(listener, element, callback));
-                }
-            }
-        }
+        notifyListeners(QueuedCacheEvent.Type.REMOVED, element, callback, remoteEvent);
     }
 
     /**
@@ -183,16 +175,7 @@ public class RegisteredEventListeners {
     }
 
     void internalNotifyElementPut(Element element, ElementCreationCallback callback, boolean remoteEvent) {
-        if (hasCacheEventListeners()) {
-            for (ListenerWrapper listenerWrapper : cacheEventListeners) {
-                if (listenerWrapper.getScope().shouldDeliver(remoteEvent)
-                        && !isCircularNotification(remoteEvent, listenerWrapper.getListener())) {
-                    CacheEventListener listener = listenerWrapper.getListener();
-
-                    listener.notifyElementPut(cache, resolveElement(listener, element, callback));
-                }
-            }
-        }
+        notifyListeners(QueuedCacheEvent.Type.PUT, element, callback, remoteEvent);
     }
 
     /**
@@ -219,16 +202,7 @@ public class RegisteredEventListeners {
     }
 
     void internalNotifyElementUpdated(Element element, ElementCreationCallback callback, boolean remoteEvent) {
-        if (hasCacheEventListeners()) {
-            for (ListenerWrapper listenerWrapper : cacheEventListeners) {
-                if (listenerWrapper.getScope().shouldDeliver(remoteEvent)
-                        && !isCircularNotification(remoteEvent, listenerWrapper.getListener())) {
-                    CacheEventListener listener = listenerWrapper.getListener();
-
-                    listener.notifyElementUpdated(cache, resolveElement(listener, element, callback));
-                }
-            }
-        }
+        notifyListeners(QueuedCacheEvent.Type.UPDATED, element, callback, remoteEvent);
     }
 
     /**
@@ -259,16 +233,7 @@ public class RegisteredEventListeners {
             expiryObserver.begin();
             expiryObserver.end(ExpiredOutcome.SUCCESS);
         }
-        if (hasCacheEventListeners()) {
-            for (ListenerWrapper listenerWrapper : cacheEventListeners) {
-                if (listenerWrapper.getScope().shouldDeliver(remoteEvent)
-                        && !isCircularNotification(remoteEvent, listenerWrapper.getListener())) {
-                    CacheEventListener listener = listenerWrapper.getListener();
-
-                    listener.notifyElementExpired(cache, resolveElement(listener, element, callback));
-                }
-            }
-        }
+        notifyListeners(QueuedCacheEvent.Type.EXPIRED, element, callback, remoteEvent);
     }
 
     /**
@@ -306,17 +271,93 @@ public class RegisteredEventListeners {
     }
 
     void internalNotifyElementEvicted(Element element, ElementCreationCallback callback, boolean remoteEvent) {
-      if (hasCacheEventListeners()) {
+        notifyListeners(QueuedCacheEvent.Type.EVICTED, element, callback, remoteEvent);
+     }
+
+    private void notifyListeners(QueuedCacheEvent.Type type, Element element, ElementCreationCallback callback, boolean remoteEvent) {
+        if (hasCacheEventListeners()) {
             for (ListenerWrapper listenerWrapper : cacheEventListeners) {
                 if (listenerWrapper.getScope().shouldDeliver(remoteEvent)
-                    && !isCircularNotification(remoteEvent, listenerWrapper.getListener())) {
+                        && !isCircularNotification(remoteEvent, listenerWrapper.getListener())) {
                     CacheEventListener listener = listenerWrapper.getListener();
-
-                    listener.notifyElementEvicted(cache, resolveElement(listener, element, callback));
+                    CacheEventFilter filter = listenerWrapper.getFilter();
+                    Element resolved;
+                    if (filter == null) {
+                        resolved = resolveElement(listener, element, callback);
+                    } else if (!filter.accepts(type)) {
+                        continue;
+                    } else if (!filter.filtersKeys()) {
+                        resolved = resolveElement(listener, element, callback);
+                    } else {
+                        resolved = resolveFilteredElement(filter, listener, element, callback);
+                        if (resolved == null) {
+                            continue;
+                        }
+                    }
+
+                    if (listenerWrapper.getDispatcher() == null) {
+                        notifyListener(listener, type, resolved);
+                    } else {
+                        listenerWrapper.getDispatcher().dispatch(type, resolved);
+                    }
                 }
             }
         }
-     }
+    }
+
+    private void notifyListener(CacheEventListener listener, QueuedCacheEvent.Type type, Element element) {
+        switch (type) {
+            case PUT:
+                listener.notifyElementPut(cache, element);
+                break;
+            case UPDATED:
+                listener.notifyElementUpdated(cache, element);
+                break;
+            case REMOVED:
+                listener.notifyElementRemoved(cache, element);
+                break;
+            case EXPIRED:
+                listener.notifyElementExpired(cache, element);
+                break;
+            case EVICTED:
+                listener.notifyElementEvicted(cache, element);
+                break;
+            default:
+                throw new AssertionError(type);
+        }
+    }
+
+    /**
+     * Resolves the element of an event for a listener filtering on keys, only creating it if the filter accepts the key
+     * and wants more than the key.
+     *
+     * @return the element to deliver, or {@code null} if the filter rejects the event
+     */
+    private Element resolveFilteredElement(CacheEventFilter filter, CacheEventListener listener, Element element,
+                                           ElementCreationCallback callback) {
+        Object key;
+        if (element != null) {
+            key = element.getObjectKey();
+        } else if (callback instanceof KeyedElementCreationCallback) {
+            key = ((KeyedElementCreationCallback) callback).getObjectKey();
+        } else if (callback != null) {
+            Element created = resolveElement(listener, null, callback);
+            if (created == null || !filter.acceptsKey(created.getObjectKey())) {
+                return null;
+            }
+            return filter.isKeyOnly() ? new Element(created.getObjectKey(), null) : created;
+        } else {
+            return null;
+        }
+
+        if (!filter.acceptsKey(key)) {
+            return null;
+        } else if (filter.isKeyOnly()) {
+            return new Element(key, null);
+        } else {
+            return resolveElement(listener, element, callback);
+        }
+    }
 
     private Element resolveElement(final CacheEventListener listener, final Element element, final ElementCreationCallback callback) {
         if (callback != null) {
@@ -337,8 +378,13 @@ public class RegisteredEventListeners {
         if (hasCacheEventListeners()) {
             for (ListenerWrapper listenerWrapper : cacheEventListeners) {
                 if (listenerWrapper.getScope().shouldDeliver(remoteEvent)
-                        && !isCircularNotification(remoteEvent, listenerWrapper.getListener())) {
-                    listenerWrapper.getListener().notifyRemoveAll(cache);
+                        && !isCircularNotification(remoteEvent, listenerWrapper.getListener())
+                        && (listenerWrapper.getFilter() == null || listenerWrapper.getFilter().accepts(QueuedCacheEvent.Type.REMOVE_ALL))) {
+                    if (listenerWrapper.getDispatcher() == null) {
+                        listenerWrapper.getListener().notifyRemoveAll(cache);
+                    } else {
+                        listenerWrapper.getDispatcher().dispatchRemoveAll();
+                    }
                 }
             }
         }
@@ -382,10 +428,72 @@ public class RegisteredEventListeners {
      * @since 2.0
      */
     public final boolean registerListener(CacheEventListener cacheEventListener, NotificationScope scope) {
+        return registerListener(cacheEventListener, scope, null, null);
+    }
+
+    /**
+     * Adds a listener to the notification service, delivering it only the events accepted by the given filter.
+     * <p>
+     * Events rejected by the filter are skipped before their element is resolved, so registering a listener interested in
+     * only a few event types or keys does not slow down cache operations. Filters can also project events down to their key,
+     * in which case listeners receive elements with a {@code null} value.
+     *
+     * @param cacheEventListener The listener to add
+     * @param scope              The notification scope
+     * @param filter             the events to deliver, {@code null} for all events
+     * @return true if the listener is being added and was not already added
+     */
+    public final boolean registerListener(CacheEventListener cacheEventListener, NotificationScope scope, CacheEventFilter filter) {
+        return registerListener(cacheEventListener, scope, filter, null);
+    }
+
+    /**
+     * Adds a listener to the notification service, optionally having events delivered to it asynchronously.
+     * <p>
+     * Given a dispatch configuration, events are queued as they are raised and delivered to the listener from dedicated
+     * threads, so that a slow listener does not slow down the threads mutating the cache. Events for the same key are
+     * delivered in order, and listeners also implementing {@link CacheEventBatchListener} are handed them in batches.
+     * Delivery statistics are available from {@link #getAsyncEventDispatcher(CacheEventListener)}.
+     *
+     * @param cacheEventListener The listener to add
+     * @param scope              The notification scope
+     * @param dispatchConfiguration the asynchronous dispatch configuration, {@code null} for synchronous delivery
+     * @return true if the listener is being added and was not already added
+     */
+    public final boolean registerListener(CacheEventListener cacheEventListener, NotificationScope scope,
+                                          AsyncEventDispatchConfiguration dispatchConfiguration) {
+        return registerListener(cacheEventListener, scope, null, dispatchConfiguration);
+    }
+
+    /**
+     * Adds a listener to the notification service, delivering it the events accepted by the given filter, optionally
+     * asynchronously.
+     *
+     * @param cacheEventListener The listener to add
+     * @param scope              The notification scope
+     * @param filter             the events to deliver, {@code null} for all events
+     * @param dispatchConfiguration the asynchronous dispatch configuration, {@code null} for synchronous delivery
+     * @return true if the listener is being added and was not already added
+     * @see #registerListener(CacheEventListener, NotificationScope, CacheEventFilter)
+     * @see #registerListener(CacheEventListener, NotificationScope, AsyncEventDispatchConfiguration)
+     */
+    public final boolean registerListener(CacheEventListener cacheEventListener, NotificationScope scope, CacheEventFilter filter,
+                                          AsyncEventDispatchConfiguration dispatchConfiguration) {
         if (cacheEventListener == null) {
             return false;
         }
-        boolean result = cacheEventListeners.add(new ListenerWrapper(cacheEventListener, scope));
+        boolean result;
+        if (dispatchConfiguration == null) {
+            result = cacheEventListeners.add(new ListenerWrapper(cacheEventListener, scope, filter, null));
+        } else if (cacheEventListeners.contains(new ListenerWrapper(cacheEventListener, scope, filter, null))) {
+            result = false;
+        } else {
+            AsyncCacheEventDispatcher dispatcher = new AsyncCacheEventDispatcher(cache, cacheEventListener, dispatchConfiguration);
+            result = cacheEventListeners.add(new ListenerWrapper(cacheEventListener, scope, filter, dispatcher));
+            if (!result) {
+                dispatcher.dispose();
+            }
+        }
         if (result && cacheEventListener instanceof CacheReplicator) {
             this.hasReplicator.set(true);
         }
@@ -425,6 +533,9 @@ public class RegisteredEventListeners {
             ListenerWrapper listenerWrapper = it.next();
             if (listenerWrapper.getListener().equals(cacheEventListener)) {
                 cacheEventListeners.remove(listenerWrapper);
+                if (listenerWrapper.getDispatcher() != null) {
+                    listenerWrapper.getDispatcher().dispose();
+                }
                 result = true;
             } else {
                 if (listenerWrapper.getListener() instanceof CacheReplicator) {
@@ -476,6 +587,21 @@ public class RegisteredEventListeners {
         return listenerSet;
     }
 
+    /**
+     * Returns the asynchronous dispatcher delivering events to the given listener, holding its delivery statistics.
+     *
+     * @param cacheEventListener a registered listener
+     * @return the dispatcher, or {@code null} if the listener is not registered or has its events delivered synchronously
+     */
+    public final AsyncCacheEventDispatcher getAsyncEventDispatcher(CacheEventListener cacheEventListener) {
+        for (ListenerWrapper listenerWrapper : cacheEventListeners) {
+            if (listenerWrapper.getListener().equals(cacheEventListener)) {
+                return listenerWrapper.getDispatcher();
+            }
+        }
+        return null;
+    }
+
     /**
      * Tell listeners to dispose themselves.
      * Because this method is only ever called from a synchronized cache method, it does not itself need to be
@@ -483,6 +609,9 @@ public class RegisteredEventListeners {
      */
     public final void dispose() {
         for (ListenerWrapper listenerWrapper : cacheEventListeners) {
+            if (listenerWrapper.getDispatcher() != null) {
+                listenerWrapper.getDispatcher().dispose();
+            }
             listenerWrapper.getListener().dispose();
         }
         cacheEventListeners.clear();
@@ -527,10 +656,15 @@ public class RegisteredEventListeners {
     private static final class ListenerWrapper {
         private final CacheEventListener listener;
         private final NotificationScope scope;
+        private final CacheEventFilter filter;
+        private final AsyncCacheEventDispatcher dispatcher;
 
-        private ListenerWrapper(CacheEventListener listener, NotificationScope scope) {
+        private ListenerWrapper(CacheEventListener listener, NotificationScope scope, CacheEventFilter filter,
+                                AsyncCacheEventDispatcher dispatcher) {
             this.listener = listener;
             this.scope = scope;
+            this.filter = filter;
+            this.dispatcher = dispatcher;
         }
 
         private CacheEventListener getListener() {
@@ -541,6 +675,14 @@ public class RegisteredEventListeners {
             return this.scope;
         }
 
+        private CacheEventFilter getFilter() {
+            return this.filter;
+        }
+
+        private AsyncCacheEventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
         /**
          * Hash code based on listener
          *
@@ -603,6 +745,21 @@ public class RegisteredEventListeners {
         Element createElement(ClassLoader loader);
     }
 
+    /**
+     * Element creation callback that can tell the key of the element without creating it, letting listeners filtering on
+     * keys skip element creation altogether.
+     *
+     * @see CacheEventFilter
+     */
+    public interface KeyedElementCreationCallback extends ElementCreationCallback {
+        /**
+         * The key of the element the callback creates
+         *
+         * @return the element key
+         */
+        Object getObjectKey();
+    }
+
     /**
      * Event callback types
      */
@@ -23,6 +23,7 @@ import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.hibernate.management.impl.ProviderMBeanRegistrationHelper;
 import net.sf.ehcache.hibernate.nonstop.NonstopAccessStrategyFactory;
 import net.sf.ehcache.hibernate.regions.EhcacheQueryResultsRegion;
+import net.sf.ehcache.hibernate.regions.EhcacheNearCacheTimestampsRegion;
 import net.sf.ehcache.hibernate.regions.EhcacheTimestampsRegion;
 import net.sf.ehcache.hibernate.regions.EhcacheEntityRegion;
 import net.sf.ehcache.hibernate.regions.EhcacheCollectionRegion;
@@ -142,6 +143,9 @@ abstract class AbstractEhcacheRegionFactory implements RegionFactory {
      * {@inheritDoc}
      */
     public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+        if (Boolean.parseBoolean(properties.getProperty(EhcacheNearCacheTimestampsRegion.NEAR_CACHE_PROPERTY))) {
+            return new EhcacheNearCacheTimestampsRegion(accessStrategyFactory, getCache(regionName), properties);
+        }
         return new EhcacheTimestampsRegion(accessStrategyFactory, getCache(regionName), properties);
     }
 
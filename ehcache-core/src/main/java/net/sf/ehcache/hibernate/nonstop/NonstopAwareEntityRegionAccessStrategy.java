@@ -16,7 +16,13 @@
 
 package net.sf.ehcache.hibernate.nonstop;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
+import net.sf.ehcache.hibernate.strategy.EhcacheBulkAccessStrategy;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.EntityRegion;
@@ -30,7 +36,7 @@ import org.hibernate.cache.access.SoftLock;
  * @author Abhishek Sanoujam
  *
  */
-public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAccessStrategy {
+public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAccessStrategy, EhcacheBulkAccessStrategy {
 
     private final EntityRegionAccessStrategy actualStrategy;
     private final HibernateNonstopCacheExceptionHandler hibernateNonstopExceptionHandler;
@@ -126,6 +132,32 @@ public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAcces
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Falls back to one {@code get} per key if the actual strategy does not support bulk lookups.
+     *
+     * @see EhcacheBulkAccessStrategy#getAll(Collection, long)
+     */
+    public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+        try {
+            if (actualStrategy instanceof EhcacheBulkAccessStrategy) {
+                return ((EhcacheBulkAccessStrategy) actualStrategy).getAll(keys, txTimestamp);
+            }
+            Map<Object, Object> values = new HashMap<Object, Object>();
+            for (Object key : keys) {
+                Object value = actualStrategy.get(key, txTimestamp);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+            return values;
+        } catch (NonStopCacheException nonStopCacheException) {
+            hibernateNonstopExceptionHandler.handleNonstopCacheException(nonStopCacheException);
+            return Collections.emptyMap();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -0,0 +1,157 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.hibernate.regions;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventFilter;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+import net.sf.ehcache.event.NotificationScope;
+import net.sf.ehcache.hibernate.strategy.EhcacheAccessStrategyFactory;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * A timestamps region keeping an in-heap replica of the update timestamps held in the underlying cache.
+ * <p>
+ * Query cache validation reads one timestamp per queried table, through this region the common case is served from a
+ * concurrent map instead of a lookup through the full cache stack. The replica is filled on read and invalidated by the
+ * events of the underlying cache, so timestamps written by Hibernate on pre-invalidation and invalidation (whether locally
+ * or on another node) are seen by the next read. Changes made on other nodes must reach this node as events, i.e. the
+ * underlying cache must be replicated, or clustered with events enabled.
+ *
+ * @author ehcache
+ */
+public class EhcacheNearCacheTimestampsRegion extends EhcacheTimestampsRegion {
+
+    /**
+     * Property name which set as "true" makes the region factory build near cached timestamps regions.
+     */
+    public static final String NEAR_CACHE_PROPERTY = "net.sf.ehcache.hibernate.timestamps_near_cache";
+
+    private static final Object NULL = new Object();
+
+    private final ConcurrentMap<Object, Object> timestamps = new ConcurrentHashMap<Object, Object>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Invalidator invalidator = new Invalidator();
+
+    /**
+     * Constructs an EhcacheNearCacheTimestampsRegion around the given underlying cache.
+     *
+     * @param accessStrategyFactory
+     */
+    public EhcacheNearCacheTimestampsRegion(EhcacheAccessStrategyFactory accessStrategyFactory, Ehcache underlyingCache,
+            Properties properties) {
+        super(accessStrategyFactory, underlyingCache, properties);
+        underlyingCache.getCacheEventNotificationService().registerListener(invalidator, NotificationScope.ALL,
+                CacheEventFilter.ALL.keyOnly());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get(Object key) throws CacheException {
+        if (key == null) {
+            return null;
+        }
+        Object cached = timestamps.get(key);
+        if (cached != null) {
+            return cached == NULL ? null : cached;
+        }
+
+        long observed = generation.get();
+        Object value = super.get(key);
+        Object replica = value == null ? NULL : value;
+        timestamps.put(key, replica);
+        if (generation.get() != observed) {
+            // an invalidation raced with the read, the value read may predate it
+            timestamps.remove(key, replica);
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() throws CacheException {
+        cache.getCacheEventNotificationService().unregisterListener(invalidator);
+        timestamps.clear();
+        super.destroy();
+    }
+
+    /**
+     * Returns true if the timestamp for the given key is currently held in heap.
+     *
+     * @param key the table name
+     * @return true if held in heap
+     */
+    boolean isReplicated(Object key) {
+        return timestamps.containsKey(key);
+    }
+
+    /**
+     * Invalidates the in-heap replica on every change to the underlying cache.
+     */
+    private final class Invalidator extends CacheEventListenerAdapter {
+
+        @Override
+        public void notifyElementPut(Ehcache ehcache, Element element) {
+            invalidate(element);
+        }
+
+        @Override
+        public void notifyElementUpdated(Ehcache ehcache, Element element) {
+            invalidate(element);
+        }
+
+        @Override
+        public void notifyElementRemoved(Ehcache ehcache, Element element) {
+            invalidate(element);
+        }
+
+        @Override
+        public void notifyElementExpired(Ehcache ehcache, Element element) {
+            invalidate(element);
+        }
+
+        @Override
+        public void notifyElementEvicted(Ehcache ehcache, Element element) {
+            invalidate(element);
+        }
+
+        @Override
+        public void notifyRemoveAll(Ehcache ehcache) {
+            generation.incrementAndGet();
+            timestamps.clear();
+        }
+
+        private void invalidate(Element element) {
+            generation.incrementAndGet();
+            if (element == null) {
+                timestamps.clear();
+            } else {
+                timestamps.remove(element.getObjectKey());
+            }
+        }
+    }
+}
@@ -15,13 +15,23 @@
  */
 package net.sf.ehcache.hibernate.regions;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.concurrent.CacheLockProvider;
 import net.sf.ehcache.concurrent.LockType;
+import net.sf.ehcache.concurrent.ReadWriteLockSync;
 import net.sf.ehcache.concurrent.StripedReadWriteLockSync;
+import net.sf.ehcache.concurrent.Sync;
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 import net.sf.ehcache.hibernate.nonstop.HibernateNonstopCacheExceptionHandler;
 import net.sf.ehcache.hibernate.strategy.EhcacheAccessStrategyFactory;
@@ -43,6 +53,12 @@ import org.hibernate.cfg.Settings;
  */
 public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements TransactionalDataRegion {
 
+    /**
+     * Property name which set as "true" makes read/write access strategies use compare-and-swap on the cache instead
+     * of locking the region.
+     */
+    public static final String LOCK_FREE_READ_WRITE_PROPERTY = "net.sf.ehcache.hibernate.lock_free_read_write";
+
     private static final int LOCAL_LOCK_PROVIDER_CONCURRENCY = 128;
 
     /**
@@ -56,6 +72,7 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
     protected final CacheDataDescription metadata;
 
     private final CacheLockProvider lockProvider;
+    private final boolean lockFreeReadWrite;
 
     /**
      * Construct an transactional Hibernate cache region around the given Ehcache instance.
@@ -72,6 +89,7 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
         } else {
             this.lockProvider = new StripedReadWriteLockSync(LOCAL_LOCK_PROVIDER_CONCURRENCY);
         }
+        this.lockFreeReadWrite = Boolean.parseBoolean(properties.getProperty(LOCK_FREE_READ_WRITE_PROPERTY));
     }
 
     /**
@@ -118,6 +136,31 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
         }
     }
 
+    /**
+     * Get the values mapped to the given keys, in a single cache access.
+     * <p>
+     * Keys with no value mapped are absent from the returned map.
+     */
+    public final Map<Object, Object> getAll(Collection<?> keys) {
+        try {
+            Map<Object, Element> elements = cache.getAll(keys);
+            Map<Object, Object> values = new HashMap<Object, Object>(elements.size() * 2);
+            for (Map.Entry<Object, Element> entry : elements.entrySet()) {
+                if (entry.getValue() != null) {
+                    values.put(entry.getKey(), entry.getValue().getObjectValue());
+                }
+            }
+            return values;
+        } catch (net.sf.ehcache.CacheException e) {
+            if (e instanceof NonStopCacheException) {
+                HibernateNonstopCacheExceptionHandler.getInstance().handleNonstopCacheException((NonStopCacheException) e);
+                return Collections.emptyMap();
+            } else {
+                throw new CacheException(e);
+            }
+        }
+    }
+
     /**
      * Map the given value to the given key, replacing any existing mapping for this key
      * this unpins the key in the cache should it be currently pinned
@@ -152,6 +195,55 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
         }
     }
 
+    /**
+     * Map the given value to the given key if no mapping exists for this key, optionally pinning the key in the cache.
+     * <p>
+     * Returns <code>true</code> if the value got mapped, or if the cache timed out and nonstop exceptions are not propagated.
+     */
+    public final boolean putIfAbsent(Object key, Object value, boolean eternal) throws CacheException {
+        try {
+            Element element = new Element(key, value);
+            element.setEternal(eternal);
+            return cache.putIfAbsent(element) == null;
+        } catch (IllegalArgumentException e) {
+            throw new CacheException(e);
+        } catch (IllegalStateException e) {
+            throw new CacheException(e);
+        } catch (net.sf.ehcache.CacheException e) {
+            if (e instanceof NonStopCacheException) {
+                HibernateNonstopCacheExceptionHandler.getInstance().handleNonstopCacheException((NonStopCacheException) e);
+                return true;
+            } else {
+                throw new CacheException(e);
+            }
+        }
+    }
+
+    /**
+     * Replace the value mapped to the given key with the given value if it is currently mapped to the expected value,
+     * optionally pinning the key in the cache.
+     * <p>
+     * Returns <code>true</code> if the value got replaced, or if the cache timed out and nonstop exceptions are not propagated.
+     */
+    public final boolean replace(Object key, Object expected, Object value, boolean eternal) throws CacheException {
+        try {
+            Element element = new Element(key, value);
+            element.setEternal(eternal);
+            return cache.replace(new Element(key, expected), element);
+        } catch (IllegalArgumentException e) {
+            throw new CacheException(e);
+        } catch (IllegalStateException e) {
+            throw new CacheException(e);
+        } catch (net.sf.ehcache.CacheException e) {
+            if (e instanceof NonStopCacheException) {
+                HibernateNonstopCacheExceptionHandler.getInstance().handleNonstopCacheException((NonStopCacheException) e);
+                return true;
+            } else {
+                throw new CacheException(e);
+            }
+        }
+    }
+
     /**
      * Remove the mapping for this key (if any exists).
      */
@@ -248,6 +340,66 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
         }
     }
 
+    /**
+     * Attempts to read lock the mappings for all the given keys.
+     * <p>
+     * Locks are always taken in the same order, so that concurrent bulk readers cannot deadlock with writers.
+     */
+    public final void readLockAll(Collection<?> keys) {
+        List<Sync> syncs = syncsForKeys(keys);
+        int locked = 0;
+        try {
+            for (Sync sync : syncs) {
+                sync.lock(LockType.READ);
+                locked++;
+            }
+        } catch (net.sf.ehcache.CacheException e) {
+            for (Sync sync : syncs.subList(0, locked)) {
+                sync.unlock(LockType.READ);
+            }
+            if (e instanceof NonStopCacheException) {
+                HibernateNonstopCacheExceptionHandler.getInstance().handleNonstopCacheException((NonStopCacheException) e);
+            } else {
+                throw new CacheException(e);
+            }
+        }
+    }
+
+    /**
+     * Attempts to read unlock the mappings for all the given keys.
+     */
+    public final void readUnlockAll(Collection<?> keys) {
+        try {
+            for (Sync sync : syncsForKeys(keys)) {
+                sync.unlock(LockType.READ);
+            }
+        } catch (net.sf.ehcache.CacheException e) {
+            if (e instanceof NonStopCacheException) {
+                HibernateNonstopCacheExceptionHandler.getInstance().handleNonstopCacheException((NonStopCacheException) e);
+            } else {
+                throw new CacheException(e);
+            }
+        }
+    }
+
+    private List<Sync> syncsForKeys(Collection<?> keys) {
+        Set<Sync> needed = Collections.newSetFromMap(new IdentityHashMap<Sync, Boolean>());
+        for (Object key : keys) {
+            needed.add(lockProvider.getSyncForKey(key));
+        }
+        List<Sync> ordered = new ArrayList<Sync>(needed.size());
+        if (lockProvider instanceof StripedReadWriteLockSync) {
+            for (ReadWriteLockSync sync : ((StripedReadWriteLockSync) lockProvider).getAllSyncs()) {
+                if (needed.contains(sync)) {
+                    ordered.add(sync);
+                }
+            }
+        } else {
+            ordered.addAll(needed);
+        }
+        return ordered;
+    }
+
     /**
      * Returns <code>true</code> if the locks used by the locking methods of this region are the independent of the cache.
      * <p>
@@ -257,4 +409,14 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
     public final boolean locksAreIndependentOfCache() {
         return lockProvider instanceof StripedReadWriteLockSync;
     }
+
+    /**
+     * Returns <code>true</code> if read/write access strategies on this region should use compare-and-swap operations on
+     * the cache rather than the region's locks.
+     *
+     * @see #LOCK_FREE_READ_WRITE_PROPERTY
+     */
+    public final boolean isLockFreeReadWrite() {
+        return lockFreeReadWrite;
+    }
 }
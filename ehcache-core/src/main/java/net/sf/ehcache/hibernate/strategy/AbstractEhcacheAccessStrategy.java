@@ -15,6 +15,9 @@
  */
 package net.sf.ehcache.hibernate.strategy;
 
+import java.util.Collection;
+import java.util.Map;
+
 import net.sf.ehcache.hibernate.regions.EhcacheTransactionalDataRegion;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.access.SoftLock;
@@ -27,7 +30,7 @@ import org.hibernate.cfg.Settings;
  *
  * @author Chris Dennis
  */
-abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataRegion> {
+abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataRegion> implements EhcacheBulkAccessStrategy {
 
   /**
    * The wrapped Hibernate cache region.
@@ -46,6 +49,15 @@ abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataR
     this.settings = settings;
   }
 
+  /**
+   * Returns the values mapped to the given keys, fetched in a single cache access.
+   *
+   * @see EhcacheBulkAccessStrategy#getAll(Collection, long)
+   */
+  public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+    return region.getAll(keys);
+  }
+
   /**
    * This method is a placeholder for method signatures supplied by interfaces pulled in further down the class
    * hierarchy.
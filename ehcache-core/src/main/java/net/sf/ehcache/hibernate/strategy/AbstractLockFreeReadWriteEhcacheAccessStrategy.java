@@ -0,0 +1,446 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.hibernate.strategy;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.ehcache.hibernate.regions.EhcacheTransactionalDataRegion;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.access.SoftLock;
+import org.hibernate.cfg.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Superclass for the Ehcache specific read/write AccessStrategy implementations which do not lock the region.
+ * <p>
+ * Cached items and soft-locks are immutable, each state change maps a new instance using a compare-and-swap on the
+ * cache ({@link EhcacheTransactionalDataRegion#putIfAbsent(Object, Object, boolean) putIfAbsent} or
+ * {@link EhcacheTransactionalDataRegion#replace(Object, Object, Object, boolean) replace}), retrying when a concurrent
+ * change won. Reads are a plain cache get.
+ *
+ * @param <T> the type of the enclosed cache region
+ *
+ * @author ehcache
+ */
+abstract class AbstractLockFreeReadWriteEhcacheAccessStrategy<T extends EhcacheTransactionalDataRegion>
+        extends AbstractEhcacheAccessStrategy<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractLockFreeReadWriteEhcacheAccessStrategy.class);
+
+    private final UUID uuid = UUID.randomUUID();
+    private final AtomicLong nextLockId = new AtomicLong();
+    private final AtomicLong nextStamp = new AtomicLong();
+
+    private final Comparator versionComparator;
+
+    /**
+     * Creates a lock-free read/write cache access strategy around the given cache region.
+     */
+    public AbstractLockFreeReadWriteEhcacheAccessStrategy(T region, Settings settings) {
+        super(region, settings);
+        this.versionComparator = region.getCacheDataDescription().getVersionComparator();
+    }
+
+    /**
+     * Returns <code>null</code> if the item is not readable.  Locked items are not readable, nor are items created
+     * after the start of this transaction.
+     *
+     * @see org.hibernate.cache.access.EntityRegionAccessStrategy#get(java.lang.Object, long)
+     * @see org.hibernate.cache.access.CollectionRegionAccessStrategy#get(java.lang.Object, long)
+     */
+    public final Object get(Object key, long txTimestamp) throws CacheException {
+        Lockable item = (Lockable) region.get(key);
+        if (item != null && item.isReadable(txTimestamp)) {
+            return item.getValue();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the readable values mapped to the given keys, fetched in a single cache access.
+     *
+     * @see EhcacheBulkAccessStrategy#getAll(Collection, long)
+     */
+    @Override
+    public final Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+        Map<Object, Object> items = region.getAll(keys);
+        Map<Object, Object> values = new HashMap<Object, Object>(items.size() * 2);
+        for (Map.Entry<Object, Object> entry : items.entrySet()) {
+            Lockable item = (Lockable) entry.getValue();
+            if (item.isReadable(txTimestamp)) {
+                values.put(entry.getKey(), item.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
+     * key.
+     *
+     * @see org.hibernate.cache.access.EntityRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+     * @see org.hibernate.cache.access.CollectionRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+     */
+    @Override
+    public final boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+            throws CacheException {
+        while (true) {
+            Lockable item = (Lockable) region.get(key);
+            if (item != null && !item.isWriteable(txTimestamp, version, versionComparator)) {
+                return false;
+            }
+            if (compareAndSet(key, item, newItem(value, version))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Soft-lock a cache item.
+     *
+     * @see org.hibernate.cache.access.EntityRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+     * @see org.hibernate.cache.access.CollectionRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+     */
+    public final SoftLock lockItem(Object key, Object version) throws CacheException {
+        long lockId = nextLockId.getAndIncrement();
+        while (true) {
+            Lockable item = (Lockable) region.get(key);
+            long timeout = region.nextTimestamp() + region.getTimeout();
+            Lock lock = (item == null) ? new Lock(timeout, uuid, lockId, version, uuid, nextStamp())
+                    : item.lock(timeout, uuid, lockId, uuid, nextStamp());
+            if (compareAndSet(key, item, lock)) {
+                return lock;
+            }
+        }
+    }
+
+    /**
+     * Soft-unlock a cache item.
+     *
+     * @see org.hibernate.cache.access.EntityRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.access.SoftLock)
+     * @see org.hibernate.cache.access.CollectionRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.access.SoftLock)
+     */
+    public final void unlockItem(Object key, SoftLock lock) throws CacheException {
+        while (true) {
+            Lockable item = (Lockable) region.get(key);
+            if (item == null || !item.isUnlockable(lock)) {
+                handleMissingLock(key, item);
+                return;
+            }
+            if (decrementLock(key, (Lock) item)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Creates a new unlocked item, timestamped now.
+     */
+    protected Item newItem(Object value, Object version) {
+        return new Item(value, version, region.nextTimestamp(), uuid, nextStamp());
+    }
+
+    /**
+     * Maps the given item to the key if the key is still mapped to the expected item (or unmapped if <code>expected</code>
+     * is <code>null</code>), pinning it in the cache while it is locked.
+     *
+     * @return <code>true</code> if the item got mapped
+     */
+    protected boolean compareAndSet(Object key, Lockable expected, Lockable item) {
+        boolean eternal = item instanceof Lock && ((Lock) item).isLocked();
+        if (expected == null) {
+            return region.putIfAbsent(key, item, eternal);
+        } else {
+            return region.replace(key, expected, item, eternal);
+        }
+    }
+
+    /**
+     * Unlock the given lock mapped to this key.
+     *
+     * @return <code>false</code> if the lock mapped to this key changed concurrently
+     */
+    protected boolean decrementLock(Object key, Lock lock) {
+        return compareAndSet(key, lock, lock.unlock(region.nextTimestamp(), uuid, nextStamp()));
+    }
+
+    /**
+     * Handle the timeout of a previous lock mapped to this key
+     */
+    protected void handleMissingLock(Object key, Lockable lock) {
+        LOG.error("Cache " + region.getName() + " Key " + key + " Lockable : " + lock + "\n"
+                + "A soft-locked cache entry was removed already. Out of balance lock/unlock sequences ?");
+        long ts = region.nextTimestamp() + region.getTimeout();
+        // create new lock that times out immediately
+        Lock newLock = new Lock(ts, uuid, nextLockId.getAndIncrement(), null, uuid, nextStamp()).unlock(ts, uuid, nextStamp());
+        region.put(key, newLock);
+    }
+
+    private long nextStamp() {
+        return nextStamp.getAndIncrement();
+    }
+
+    /**
+     * Interface type implemented by all wrapper objects in the cache.
+     * <p>
+     * Implementations are immutable and compare equal only to copies of themselves, so that the cache's value
+     * comparison can be used to detect concurrent changes.
+     */
+    protected abstract static class Lockable implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final UUID stampUuid;
+        private final long stamp;
+
+        /**
+         * Creates a lockable uniquely identified by the given strategy UUID and stamp.
+         */
+        Lockable(UUID stampUuid, long stamp) {
+            this.stampUuid = stampUuid;
+            this.stamp = stamp;
+        }
+
+        /**
+         * Returns <code>true</code> if the enclosed value can be read by a transaction started at the given time.
+         */
+        public abstract boolean isReadable(long txTimestamp);
+
+        /**
+         * Returns <code>true</code> if the enclosed value can be replaced with one of the given version by a
+         * transaction started at the given time.
+         */
+        public abstract boolean isWriteable(long txTimestamp, Object version, Comparator versionComparator);
+
+        /**
+         * Returns the enclosed value.
+         */
+        public abstract Object getValue();
+
+        /**
+         * Returns <code>true</code> if the given lock can be unlocked using the given SoftLock instance as a handle.
+         */
+        public abstract boolean isUnlockable(SoftLock lock);
+
+        /**
+         * Returns a locked version of this entry, stamped with the UUID and lockId given, with the lock timeout occuring
+         * at the specified time.  The returned Lock object can be used to unlock the entry in the future.
+         */
+        public abstract Lock lock(long timeout, UUID uuid, long lockId, UUID newStampUuid, long newStamp);
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (o instanceof Lockable) {
+                return stamp == ((Lockable) o).stamp && stampUuid.equals(((Lockable) o).stampUuid);
+            } else {
+                return false;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int hashCode() {
+            return stampUuid.hashCode() ^ (int) (stamp ^ (stamp >>> Integer.SIZE));
+        }
+    }
+
+    /**
+     * Wrapper type representing unlocked items.
+     */
+    protected static final class Item extends Lockable {
+
+        private static final long serialVersionUID = 1L;
+        private final Object value;
+        private final Object version;
+        private final long timestamp;
+
+        /**
+         * Creates an unlocked item wrapping the given value with a version and creation timestamp.
+         */
+        Item(Object value, Object version, long timestamp, UUID stampUuid, long stamp) {
+            super(stampUuid, stamp);
+            this.value = value;
+            this.version = version;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isReadable(long txTimestamp) {
+            return txTimestamp > timestamp;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+            return version != null && versionComparator.compare(version, newVersion) < 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnlockable(SoftLock lock) {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Lock lock(long timeout, UUID uuid, long lockId, UUID newStampUuid, long newStamp) {
+            return new Lock(timeout, uuid, lockId, version, newStampUuid, newStamp);
+        }
+    }
+
+    /**
+     * Wrapper type representing locked items.
+     */
+    protected static final class Lock extends Lockable implements SoftLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final UUID sourceUuid;
+        private final long lockId;
+        private final Object version;
+
+        private final long timeout;
+        private final boolean concurrent;
+        private final int multiplicity;
+        private final long unlockTimestamp;
+
+        /**
+         * Creates a locked item with the given identifiers and object version.
+         */
+        Lock(long timeout, UUID sourceUuid, long lockId, Object version, UUID stampUuid, long stamp) {
+            this(sourceUuid, lockId, version, timeout, false, 1, 0L, stampUuid, stamp);
+        }
+
+        private Lock(UUID sourceUuid, long lockId, Object version, long timeout, boolean concurrent, int multiplicity,
+                     long unlockTimestamp, UUID stampUuid, long stamp) {
+            super(stampUuid, stamp);
+            this.sourceUuid = sourceUuid;
+            this.lockId = lockId;
+            this.version = version;
+            this.timeout = timeout;
+            this.concurrent = concurrent;
+            this.multiplicity = multiplicity;
+            this.unlockTimestamp = unlockTimestamp;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isReadable(long txTimestamp) {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+            if (txTimestamp > timeout) {
+                // if timedout then allow write
+                return true;
+            }
+            if (multiplicity > 0) {
+                // if still locked then disallow write
+                return false;
+            }
+            return version == null ? txTimestamp > unlockTimestamp : versionComparator.compare(version, newVersion) < 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object getValue() {
+            return null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnlockable(SoftLock lock) {
+            if (lock instanceof Lock) {
+                return lockId == ((Lock) lock).lockId && sourceUuid.equals(((Lock) lock).sourceUuid);
+            } else {
+                return false;
+            }
+        }
+
+        /**
+         * Returns true if this Lock has been concurrently locked by more than one transaction.
+         */
+        public boolean wasLockedConcurrently() {
+            return concurrent;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Lock lock(long newTimeout, UUID uuid, long newLockId, UUID newStampUuid, long newStamp) {
+            return new Lock(sourceUuid, lockId, version, newTimeout, true, multiplicity + 1, unlockTimestamp, newStampUuid, newStamp);
+        }
+
+        /**
+         * Returns an unlocked version of this Lock, timestamping the unlock event.
+         */
+        public Lock unlock(long timestamp, UUID newStampUuid, long newStamp) {
+            int newMultiplicity = multiplicity - 1;
+            return new Lock(sourceUuid, lockId, version, timeout, concurrent, newMultiplicity,
+                    newMultiplicity == 0 ? timestamp : unlockTimestamp, newStampUuid, newStamp);
+        }
+
+        /**
+         * Tells whether the Lock is currently held
+         * @return true if locked, false otherwise
+         */
+        public boolean isLocked() {
+            return multiplicity != 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Lock Source-UUID:" + sourceUuid + " Lock-ID:" + lockId;
+        }
+    }
+}
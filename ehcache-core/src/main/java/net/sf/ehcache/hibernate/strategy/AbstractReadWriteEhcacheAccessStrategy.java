@@ -16,7 +16,10 @@
 package net.sf.ehcache.hibernate.strategy;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -75,6 +78,34 @@ abstract class AbstractReadWriteEhcacheAccessStrategy<T extends EhcacheTransacti
         }
     }
 
+    /**
+     * Returns the readable values mapped to the given keys, fetched in a single cache access.
+     *
+     * @see EhcacheBulkAccessStrategy#getAll(Collection, long)
+     */
+    @Override
+    public final Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+        Map<Object, Object> items;
+        if (region.locksAreIndependentOfCache()) {
+            region.readLockAll(keys);
+            try {
+                items = region.getAll(keys);
+            } finally {
+                region.readUnlockAll(keys);
+            }
+        } else {
+            items = region.getAll(keys);
+        }
+        Map<Object, Object> values = new HashMap<Object, Object>(items.size() * 2);
+        for (Map.Entry<Object, Object> entry : items.entrySet()) {
+            Lockable item = (Lockable) entry.getValue();
+            if (item.isReadable(txTimestamp)) {
+                values.put(entry.getKey(), item.getValue());
+            }
+        }
+        return values;
+    }
+
     /**
      * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
      * key.
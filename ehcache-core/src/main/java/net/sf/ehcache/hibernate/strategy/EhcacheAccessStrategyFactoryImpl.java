@@ -45,6 +45,9 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
             }
             return new ReadOnlyEhcacheEntityRegionAccessStrategy(entityRegion, entityRegion.getSettings());
         } else if (AccessType.READ_WRITE.equals(accessType)) {
+            if (entityRegion.isLockFreeReadWrite()) {
+                return new LockFreeReadWriteEhcacheEntityRegionAccessStrategy(entityRegion, entityRegion.getSettings());
+            }
             return new ReadWriteEhcacheEntityRegionAccessStrategy(entityRegion, entityRegion.getSettings());
         } else if (AccessType.NONSTRICT_READ_WRITE.equals(accessType)) {
             return new NonStrictReadWriteEhcacheEntityRegionAccessStrategy(entityRegion, entityRegion.getSettings());
@@ -66,6 +69,9 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
             }
             return new ReadOnlyEhcacheCollectionRegionAccessStrategy(collectionRegion, collectionRegion.getSettings());
         } else if (AccessType.READ_WRITE.equals(accessType)) {
+            if (collectionRegion.isLockFreeReadWrite()) {
+                return new LockFreeReadWriteEhcacheCollectionRegionAccessStrategy(collectionRegion, collectionRegion.getSettings());
+            }
             return new ReadWriteEhcacheCollectionRegionAccessStrategy(collectionRegion, collectionRegion.getSettings());
         } else if (AccessType.NONSTRICT_READ_WRITE.equals(accessType)) {
             return new NonStrictReadWriteEhcacheCollectionRegionAccessStrategy(collectionRegion, collectionRegion.getSettings());
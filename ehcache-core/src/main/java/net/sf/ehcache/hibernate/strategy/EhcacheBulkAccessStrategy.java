@@ -0,0 +1,42 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.hibernate.strategy;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Access strategy able to look up many keys in a single pass over the underlying cache.
+ * <p>
+ * All the access strategies created by {@link EhcacheAccessStrategyFactory} implementations implement this interface, so
+ * batch loaders can cast a region's access strategy to it instead of issuing one {@code get} per key.
+ *
+ * @author ehcache
+ */
+public interface EhcacheBulkAccessStrategy {
+
+    /**
+     * Attempt to retrieve the objects mapped to the given keys, as {@code get(key, txTimestamp)} would for each of them.
+     *
+     * @param keys the keys of the items to fetch
+     * @param txTimestamp a timestamp prior to the transaction start time
+     * @return the cached objects, keyed by key; keys with no readable object mapped are absent
+     * @throws CacheException propagated from the underlying region
+     */
+    Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException;
+}
@@ -0,0 +1,96 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.hibernate.strategy;
+
+import net.sf.ehcache.hibernate.regions.EhcacheEntityRegion;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.EntityRegion;
+import org.hibernate.cache.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Ehcache specific read/write entity region access strategy which does not lock the region
+ *
+ * @author ehcache
+ */
+public class LockFreeReadWriteEhcacheEntityRegionAccessStrategy
+        extends AbstractLockFreeReadWriteEhcacheAccessStrategy<EhcacheEntityRegion> implements EntityRegionAccessStrategy {
+
+    /**
+     * Create a lock-free read/write access strategy accessing the given entity region.
+     */
+    public LockFreeReadWriteEhcacheEntityRegionAccessStrategy(EhcacheEntityRegion region, Settings settings) {
+        super(region, settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public EntityRegion getRegion() {
+        return region;
+    }
+
+    /**
+     * A no-op since this is an asynchronous cache access strategy.
+     */
+    public boolean insert(Object key, Object value, Object version) throws CacheException {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Inserts will only succeed if there is no existing value mapped to this key.
+     */
+    public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+        return compareAndSet(key, null, newItem(value, version));
+    }
+
+    /**
+     * A no-op since this is an asynchronous cache access strategy.
+     */
+    public boolean update(Object key, Object value, Object currentVersion, Object previousVersion) throws CacheException {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Updates will only succeed if this entry was locked by this transaction and exclusively this transaction for the
+     * duration of this transaction.  It is important to also note that updates will fail if the soft-lock expired during
+     * the course of this transaction.
+     */
+    public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+            throws CacheException {
+        while (true) {
+            Lockable item = (Lockable) region.get(key);
+            if (item == null || !item.isUnlockable(lock)) {
+                handleMissingLock(key, item);
+                return false;
+            }
+            Lock lockItem = (Lock) item;
+            if (lockItem.wasLockedConcurrently()) {
+                if (decrementLock(key, lockItem)) {
+                    return false;
+                }
+            } else if (compareAndSet(key, lockItem, newItem(value, currentVersion))) {
+                return true;
+            }
+        }
+    }
+}
@@ -15,6 +15,10 @@
  */
 package net.sf.ehcache.hibernate.strategy;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.hibernate.regions.EhcacheEntityRegion;
@@ -72,6 +76,25 @@ public class TransactionalEhcacheEntityRegionAccessStrategy extends AbstractEhca
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+        try {
+            Map<Object, Element> elements = ehcache.getAll(keys);
+            Map<Object, Object> values = new HashMap<Object, Object>(elements.size() * 2);
+            for (Map.Entry<Object, Element> entry : elements.entrySet()) {
+                if (entry.getValue() != null) {
+                    values.put(entry.getKey(), entry.getValue().getObjectValue());
+                }
+            }
+            return values;
+        } catch (net.sf.ehcache.CacheException e) {
+            throw new CacheException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -26,6 +26,12 @@ import net.sf.ehcache.util.ManagementAttribute;
  * @author <a href="mailto:byoukste@terracottatech.com">byoukste</a>
  */
 public interface CacheManagerSampler {
+
+    /**
+     * Pages of query results can not reach past this many results, deeper pages would have the search retrieve too many results.
+     */
+    int MAX_QUERY_RESULT_WINDOW = 100000;
+
     /**
      * Gets the actual name of the cache manager.
      */
@@ -331,4 +337,17 @@ public interface CacheManagerSampler {
      * @return query result grid
      */
     Object[][] executeQuery(String queryString);
+
+    /**
+     * Execute a BMSQL query against the CacheManager and return one page of the result grid.
+     * <p>
+     * Only the results up to the end of the requested page are retrieved, and only the rows of the page are
+     * converted, so the cost of a page is bounded by {@code offset + limit} whatever the size of the searched caches.
+     *
+     * @param queryString
+     * @param offset index of the first result of the page
+     * @param limit maximum number of results in the page, {@code offset + limit} can not exceed {@link #MAX_QUERY_RESULT_WINDOW}
+     * @return query result grid, the first row holds the column headers followed by at most {@code limit} result rows
+     */
+    Object[][] executeQuery(String queryString, int offset, int limit);
 }
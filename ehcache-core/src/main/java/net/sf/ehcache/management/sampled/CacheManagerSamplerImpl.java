@@ -526,17 +526,17 @@ public class CacheManagerSamplerImpl implements CacheManagerSampler {
     }
 
     /*
-     * Ensure limit is not greater than 1000 to avoid OOME's.
+     * Ensure limit is not greater than the given limit to avoid OOME's.
      *
      * Have to manually clone a new query due to weird lifecycle of querys wherein they can be frozen
      * yet you can't invoke getters if it's NOT frozen.
      */
-    private Query limitResults(Query q) {
+    private Query limitResults(Query q, int limit) {
         StoreQuery sq = (StoreQuery)q;
         int maxResults = sq.maxResults();
 
-        if (maxResults == -1 || maxResults > MAX_QUERY_RESULT_LIMIT) {
-            Query newQuery = sq.getCache().createQuery().maxResults(MAX_QUERY_RESULT_LIMIT);
+        if (maxResults == -1 || maxResults > limit) {
+            Query newQuery = sq.getCache().createQuery().maxResults(limit);
 
             if (sq.requestsKeys()) {
                 newQuery.includeKeys();
@@ -608,7 +608,38 @@ public class CacheManagerSamplerImpl implements CacheManagerSampler {
     * @throws SearchException
     */
     Object[][] executeQuery(String queryString, QueryManagerBuilder qmb) throws SearchException {
-      boolean searchable = false;
+        return executeQuery(queryString, qmb, 0, MAX_QUERY_RESULT_LIMIT);
+    }
+
+    @Override
+    public Object[][] executeQuery(String queryString, int offset, int limit) throws SearchException {
+        QueryManagerBuilder qmb = QueryManagerBuilder.newQueryManagerBuilder();
+        return executeQuery(queryString, qmb, offset, limit);
+    }
+
+    /**
+    * Execute a BMSQL query against the CacheManager and return a page of the result grid.
+    *
+    * @param queryString
+    * @param qmb the QueryManagerBuilder to use for this query
+    * @param offset index of the first result of the page
+    * @param limit maximum number of results in the page
+    * @return
+    * @throws SearchException
+    */
+    Object[][] executeQuery(String queryString, QueryManagerBuilder qmb, int offset, int limit) throws SearchException {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset: " + offset);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit: " + limit);
+        }
+        if ((long) offset + limit > MAX_QUERY_RESULT_WINDOW) {
+            throw new SearchException("Query pages can not reach past result " + MAX_QUERY_RESULT_WINDOW
+                    + " : offset " + offset + ", limit " + limit);
+        }
+
+        boolean searchable = false;
       for (String cacheName : getCacheNames()) {
             Ehcache cache = cacheManager.getEhcache(cacheName);
             if (cache != null && cache.getCacheConfiguration().getSearchable() != null) {
@@ -621,7 +652,7 @@ public class CacheManagerSamplerImpl implements CacheManagerSampler {
             throw new SearchException("There are no searchable caches");
         }
 
-        Query q = limitResults(qmb.build().createQuery(queryString).end());
+        Query q = limitResults(qmb.build().createQuery(queryString).end(), offset + limit);
         StoreQuery sq = (StoreQuery)q;
 
         Set<Attribute<?>> attrs = new HashSet<Attribute<?>>(sq.requestedAttributes());
@@ -641,12 +672,12 @@ public class CacheManagerSamplerImpl implements CacheManagerSampler {
 
         String[] selectTargets = sq.getTargets();
         Results results = q.execute();
-        List<Result> all = results.all();
-        List<Object[]> result = new ArrayList<Object[]>(results.size());
+        List<Result> page = results.range(offset, limit);
+        List<Object[]> result = new ArrayList<Object[]>(page.size() + 1);
         List<Object> row = new ArrayList<Object>();
         Map<String, String> typeMap = new HashMap<String, String>();
 
-        for (Result r: all) {
+        for (Result r: page) {
             int aggregateIndex = 0;
 
             for (String target : selectTargets) {
@@ -697,7 +728,7 @@ public class CacheManagerSamplerImpl implements CacheManagerSampler {
 
         results.discard();
 
-        return result.toArray(new Object[all.size()][]);
+        return result.toArray(new Object[result.size()][]);
     }
 
     /**
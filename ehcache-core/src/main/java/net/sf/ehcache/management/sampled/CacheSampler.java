@@ -490,6 +490,191 @@ public interface CacheSampler extends LegacyCacheStatistics {
      */
     long getAverageSearchTime();
 
+    /**
+     * Gets the 50th percentile cache get latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 50th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCacheGetLatencyP50Nanos();
+
+    /**
+     * Gets the 99th percentile cache get latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCacheGetLatencyP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile cache get latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99.9th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCacheGetLatencyP999Nanos();
+
+    /**
+     * Gets the 50th percentile cache put latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 50th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCachePutLatencyP50Nanos();
+
+    /**
+     * Gets the 99th percentile cache put latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCachePutLatencyP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile cache put latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99.9th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCachePutLatencyP999Nanos();
+
+    /**
+     * Gets the 50th percentile cache search latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 50th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCacheSearchLatencyP50Nanos();
+
+    /**
+     * Gets the 99th percentile cache search latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCacheSearchLatencyP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile cache search latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99.9th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getCacheSearchLatencyP999Nanos();
+
+    /**
+     * Gets the 50th percentile local disk fault latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 50th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getLocalDiskFaultLatencyP50Nanos();
+
+    /**
+     * Gets the 99th percentile local disk fault latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getLocalDiskFaultLatencyP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile local disk fault latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99.9th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getLocalDiskFaultLatencyP999Nanos();
+
+    /**
+     * Gets the 50th percentile write-behind writer latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 50th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getWriteBehindLatencyP50Nanos();
+
+    /**
+     * Gets the 99th percentile write-behind writer latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getWriteBehindLatencyP99Nanos();
+
+    /**
+     * Gets the 99.9th percentile write-behind writer latency over the recent rolling window.
+     * <p>
+     * Latencies are only recorded while the cache's statistics level is {@code extended}.
+     *
+     * @return 99.9th percentile latency (nanos.), or null if no operation was recorded
+     */
+    Long getWriteBehindLatencyP999Nanos();
+
+    /**
+     * Gets the hottest keys of the cache with their estimated recent operation counts, hottest first.
+     * <p>
+     * Hot keys are only tracked while the cache's statistics level is {@code extended}.
+     *
+     * @return map of key (as a string) to estimated operation count
+     */
+    Map<String, Long> getHotKeys();
+
+    /**
+     * Gets the get hit ratios of the hottest keys of the cache, hottest first.
+     *
+     * @return map of key (as a string) to hit ratio
+     */
+    Map<String, Double> getHotKeyHitRatios();
+
+    /**
+     * Gets the hottest segments of the cache's segmented stores with their estimated recent operation counts, hottest first.
+     * <p>
+     * Hot segments are only tracked while the cache's statistics level is {@code extended}.
+     *
+     * @return map of segment (as {@code store[index]}) to estimated operation count
+     */
+    Map<String, Long> getHotSegments();
+
+    /**
+     * Gets the get hit ratios of the hottest segments of the cache's segmented stores, hottest first.
+     *
+     * @return map of segment (as {@code store[index]}) to hit ratio
+     */
+    Map<String, Double> getHotSegmentHitRatios();
+
+    /**
+     * Gets the estimated number of distinct keys referenced by gets and puts on the cache.
+     * <p>
+     * Keys are only counted while the cache's statistics level is {@code extended}.
+     *
+     * @return the distinct key estimate
+     */
+    long getDistinctKeyEstimate();
+
+    /**
+     * Gets the estimated miss ratio an LRU cache would have achieved on recent gets, by its size in entries.
+     * <p>
+     * References are only sampled while the cache's statistics level is {@code extended}.
+     *
+     * @return map of hypothetical entry count to miss ratio
+     */
+    Map<Long, Double> getMissRatioCurve();
+
     /**
      * Gets the cache hit rate.
      *
@@ -20,6 +20,7 @@ import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheOperationOutcomes;
 import net.sf.ehcache.CacheOperationOutcomes.ClusterEventOutcomes;
 import net.sf.ehcache.CacheOperationOutcomes.NonStopOperationOutcomes;
+import net.sf.ehcache.CacheOperationOutcomes.WriteBehindOutcome;
 import net.sf.ehcache.CacheStoreHelper;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.config.CacheConfiguration;
@@ -29,6 +30,11 @@ import net.sf.ehcache.config.PinningConfiguration;
 import net.sf.ehcache.config.SearchAttribute;
 import net.sf.ehcache.config.TerracottaConfiguration.Consistency;
 import net.sf.ehcache.search.Attribute;
+import net.sf.ehcache.statistics.HotKeyTracker;
+import net.sf.ehcache.statistics.HotKeyTracker.HotKey;
+import net.sf.ehcache.statistics.HotKeyTracker.HotSegment;
+import net.sf.ehcache.statistics.extended.ExtendedStatistics.Result;
+import net.sf.ehcache.statistics.extended.HistogramSnapshot;
 import net.sf.ehcache.store.Store;
 import net.sf.ehcache.store.TerracottaStore;
 import net.sf.ehcache.util.CacheTransactionHelper;
@@ -41,7 +47,9 @@ import org.slf4j.LoggerFactory;
 import org.terracotta.statistics.archive.Timestamped;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -57,6 +65,8 @@ public class CacheSamplerImpl implements CacheSampler, CacheConfigurationListene
 
     private static final int PERCENTAGE_DIVISOR = 100;
 
+    private static final int HOT_ENTRIES_REPORTED = 10;
+
     private static final Logger LOG = LoggerFactory.getLogger(CacheSamplerImpl.class);
 
     private final Ehcache cache;
@@ -1523,6 +1533,215 @@ public class CacheSamplerImpl implements CacheSampler, CacheConfigurationListene
         return getCacheSearchRate();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCacheGetLatencyP50Nanos() {
+        return latencyPercentile(cache.getStatistics().cacheGetOperation(), 50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCacheGetLatencyP99Nanos() {
+        return latencyPercentile(cache.getStatistics().cacheGetOperation(), 99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCacheGetLatencyP999Nanos() {
+        return latencyPercentile(cache.getStatistics().cacheGetOperation(), 99.9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCachePutLatencyP50Nanos() {
+        return latencyPercentile(cache.getStatistics().cachePutOperation(), 50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCachePutLatencyP99Nanos() {
+        return latencyPercentile(cache.getStatistics().cachePutOperation(), 99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCachePutLatencyP999Nanos() {
+        return latencyPercentile(cache.getStatistics().cachePutOperation(), 99.9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCacheSearchLatencyP50Nanos() {
+        return latencyPercentile(cache.getStatistics().cacheSearchOperation(), 50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCacheSearchLatencyP99Nanos() {
+        return latencyPercentile(cache.getStatistics().cacheSearchOperation(), 99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getCacheSearchLatencyP999Nanos() {
+        return latencyPercentile(cache.getStatistics().cacheSearchOperation(), 99.9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getLocalDiskFaultLatencyP50Nanos() {
+        return latencyPercentile(cache.getStatistics().localDiskHitOperation(), 50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getLocalDiskFaultLatencyP99Nanos() {
+        return latencyPercentile(cache.getStatistics().localDiskHitOperation(), 99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getLocalDiskFaultLatencyP999Nanos() {
+        return latencyPercentile(cache.getStatistics().localDiskHitOperation(), 99.9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getWriteBehindLatencyP50Nanos() {
+        return latencyPercentile(writeBehindOperation(), 50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getWriteBehindLatencyP99Nanos() {
+        return latencyPercentile(writeBehindOperation(), 99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getWriteBehindLatencyP999Nanos() {
+        return latencyPercentile(writeBehindOperation(), 99.9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getHotKeys() {
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        HotKeyTracker tracker = HotKeyTracker.forCache(cache);
+        if (tracker != null) {
+            for (HotKey hotKey : tracker.getHottestKeys(HOT_ENTRIES_REPORTED)) {
+                result.put(String.valueOf(hotKey.getKey()), hotKey.getEstimatedCount());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getHotKeyHitRatios() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        HotKeyTracker tracker = HotKeyTracker.forCache(cache);
+        if (tracker != null) {
+            for (HotKey hotKey : tracker.getHottestKeys(HOT_ENTRIES_REPORTED)) {
+                result.put(String.valueOf(hotKey.getKey()), hotKey.getHitRatio());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getHotSegments() {
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        HotKeyTracker tracker = HotKeyTracker.forCache(cache);
+        if (tracker != null) {
+            for (HotSegment hotSegment : tracker.getHottestSegments(HOT_ENTRIES_REPORTED)) {
+                result.put(hotSegment.toString(), hotSegment.getEstimatedCount());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Double> getHotSegmentHitRatios() {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        HotKeyTracker tracker = HotKeyTracker.forCache(cache);
+        if (tracker != null) {
+            for (HotSegment hotSegment : tracker.getHottestSegments(HOT_ENTRIES_REPORTED)) {
+                result.put(hotSegment.toString(), hotSegment.getHitRatio());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getDistinctKeyEstimate() {
+        return cache.getStatistics().getExtended().workingSet().distinctKeys();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Long, Double> getMissRatioCurve() {
+        return cache.getStatistics().getExtended().workingSet().missRatioCurve();
+    }
+
+    private Result writeBehindOperation() {
+        return cache.getStatistics().getExtended().writeBehind().compound(EnumSet.allOf(WriteBehindOutcome.class));
+    }
+
+    private static Long latencyPercentile(Result result, double percentile) {
+        try {
+            HistogramSnapshot snapshot = result.latency().histogram().snapshot();
+            return snapshot.count() == 0 ? null : Long.valueOf(snapshot.percentile(percentile));
+        } catch (RuntimeException e) {
+            throw Utils.newPlainException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1294,6 +1294,153 @@ public class SampledCache extends BaseEmitterBean implements SampledCacheMBean,
         return sampledCacheDelegate.getAverageSearchTime();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCacheGetLatencyP50Nanos() {
+        return sampledCacheDelegate.getCacheGetLatencyP50Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCacheGetLatencyP99Nanos() {
+        return sampledCacheDelegate.getCacheGetLatencyP99Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCacheGetLatencyP999Nanos() {
+        return sampledCacheDelegate.getCacheGetLatencyP999Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCachePutLatencyP50Nanos() {
+        return sampledCacheDelegate.getCachePutLatencyP50Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCachePutLatencyP99Nanos() {
+        return sampledCacheDelegate.getCachePutLatencyP99Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCachePutLatencyP999Nanos() {
+        return sampledCacheDelegate.getCachePutLatencyP999Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCacheSearchLatencyP50Nanos() {
+        return sampledCacheDelegate.getCacheSearchLatencyP50Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCacheSearchLatencyP99Nanos() {
+        return sampledCacheDelegate.getCacheSearchLatencyP99Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCacheSearchLatencyP999Nanos() {
+        return sampledCacheDelegate.getCacheSearchLatencyP999Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getLocalDiskFaultLatencyP50Nanos() {
+        return sampledCacheDelegate.getLocalDiskFaultLatencyP50Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getLocalDiskFaultLatencyP99Nanos() {
+        return sampledCacheDelegate.getLocalDiskFaultLatencyP99Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getLocalDiskFaultLatencyP999Nanos() {
+        return sampledCacheDelegate.getLocalDiskFaultLatencyP999Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getWriteBehindLatencyP50Nanos() {
+        return sampledCacheDelegate.getWriteBehindLatencyP50Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getWriteBehindLatencyP99Nanos() {
+        return sampledCacheDelegate.getWriteBehindLatencyP99Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getWriteBehindLatencyP999Nanos() {
+        return sampledCacheDelegate.getWriteBehindLatencyP999Nanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<String, Long> getHotKeys() {
+        return sampledCacheDelegate.getHotKeys();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<String, Double> getHotKeyHitRatios() {
+        return sampledCacheDelegate.getHotKeyHitRatios();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<String, Long> getHotSegments() {
+        return sampledCacheDelegate.getHotSegments();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<String, Double> getHotSegmentHitRatios() {
+        return sampledCacheDelegate.getHotSegmentHitRatios();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getDistinctKeyEstimate() {
+        return sampledCacheDelegate.getDistinctKeyEstimate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<Long, Double> getMissRatioCurve() {
+        return sampledCacheDelegate.getMissRatioCurve();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -454,4 +454,9 @@ public class SampledCacheManager extends BaseEmitterBean implements SampledCache
     public Object[][] executeQuery(String queryString) {
         return sampledCacheManagerDelegate.executeQuery(queryString);
     }
+
+    @Override
+    public Object[][] executeQuery(String queryString, int offset, int limit) {
+        return sampledCacheManagerDelegate.executeQuery(queryString, offset, limit);
+    }
 }
@@ -0,0 +1,74 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.search.query;
+
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.ehcache.CacheException;
+import net.sf.ehcache.search.Query;
+
+/**
+ * A search statement parsed once by a {@link QueryManager} and used to create many queries with different parameter values.
+ * <p>
+ * Statements mark parameters in place of literal values either with {@code ?} (positional parameters, numbered from 1 in
+ * statement order) or with {@code :name} (named parameters). A statement uses one style or the other, not both.
+ * Prepared queries are immutable and can be shared between threads.
+ *
+ * @author ehcache
+ */
+public interface PreparedQuery {
+
+    /**
+     * Gets the statement this query was prepared from.
+     *
+     * @return the statement
+     */
+    String getStatement();
+
+    /**
+     * Gets the number of positional parameters of the statement.
+     *
+     * @return the positional parameter count
+     */
+    int getParameterCount();
+
+    /**
+     * Gets the names of the named parameters of the statement.
+     *
+     * @return the parameter names
+     */
+    Set<String> getParameterNames();
+
+    /**
+     * Creates a {@link net.sf.ehcache.search.Query Query} with the positional parameters bound to the given values.
+     *
+     * @param parameters the parameter values, in statement order
+     * @return a {@link net.sf.ehcache.search.Query Query} object tied to the cache specified in the statement
+     * @throws CacheException if the values do not match the statement parameters
+     */
+    Query createQuery(Object... parameters) throws CacheException;
+
+    /**
+     * Creates a {@link net.sf.ehcache.search.Query Query} with the named parameters bound to the given values.
+     *
+     * @param parameters the parameter values, by name
+     * @return a {@link net.sf.ehcache.search.Query Query} object tied to the cache specified in the statement
+     * @throws CacheException if the values do not match the statement parameters
+     */
+    Query createQuery(Map<String, ?> parameters) throws CacheException;
+}
@@ -39,4 +39,16 @@ public interface QueryManager {
      * @throws CacheException if the cache could not be found or if a parse error occurs
      */
     Query createQuery(String statement) throws CacheException;
+
+    /**
+     * Parses a {@link java.lang.String String} statement expressing a parameterized Ehcache Search query and returns
+     * a {@link PreparedQuery} from which queries can be created without parsing the statement again.
+     * <p>
+     * Implementations may cache parsed statements, so preparing the same statement repeatedly is cheap.
+     *
+     * @param statement a String expressing an Ehcache Search query, with {@code ?} or {@code :name} parameters in place of values
+     * @return a {@link PreparedQuery} tied to the cache specified in the statement
+     * @throws CacheException if the cache could not be found or if a parse error occurs
+     */
+    PreparedQuery prepareQuery(String statement) throws CacheException;
 }
@@ -0,0 +1,507 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.statistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.util.concurrent.ConcurrentHashMap;
+import net.sf.ehcache.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the heavy hitters among the keys of a cache, and among the segments of its segmented stores.
+ * <p>
+ * Only a random sample of the get and put operations is recorded, and only while the cache's statistics level is
+ * {@link StatisticsLevel#EXTENDED}. Sampled key frequencies are estimated with a count-min sketch and the keys with the
+ * highest estimates are kept as a bounded set of candidates. All counts are periodically halved so that they reflect
+ * recent traffic. Memory use is bounded by the sketch size, the candidate capacity and the number of segments.
+ *
+ * @author ehcache
+ */
+public class HotKeyTracker {
+
+    /** Default number of keys tracked. */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /** Default sampling rate: one operation in this many is recorded. */
+    public static final int DEFAULT_SAMPLE_RATE = 16;
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+    private static final int AGING_PERIOD = 1 << 16;
+    private static final int SECOND_HASH_SEED = 0x9e3779b9;
+
+    private static final Comparator<HotKey> HOT_KEY_ORDER = new Comparator<HotKey>() {
+        @Override
+        public int compare(HotKey o1, HotKey o2) {
+            return Long.signum(o2.getEstimatedCount() - o1.getEstimatedCount());
+        }
+    };
+
+    private static final Comparator<HotSegment> HOT_SEGMENT_ORDER = new Comparator<HotSegment>() {
+        @Override
+        public int compare(HotSegment o1, HotSegment o2) {
+            return Long.signum(o2.getEstimatedCount() - o1.getEstimatedCount());
+        }
+    };
+
+    private final StatisticsLevelSwitch levelSwitch;
+    private final int capacity;
+    private final int sampleRate;
+    private final ConcurrentMap<Object, Candidate> candidates = new ConcurrentHashMap<Object, Candidate>();
+    private final List<SegmentCounts> segments = new CopyOnWriteArrayList<SegmentCounts>();
+    private final AtomicLong samples = new AtomicLong();
+
+    private volatile AtomicLongArray sketch;
+    private volatile long threshold;
+
+    /**
+     * Creates a tracker with the default capacity and sampling rate.
+     *
+     * @param levelSwitch the switch enabling the tracker, may be null in which case the tracker is always enabled
+     */
+    public HotKeyTracker(StatisticsLevelSwitch levelSwitch) {
+        this(levelSwitch, DEFAULT_CAPACITY, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param levelSwitch the switch enabling the tracker, may be null in which case the tracker is always enabled
+     * @param capacity the number of keys tracked
+     * @param sampleRate one operation in {@code sampleRate} is recorded
+     */
+    public HotKeyTracker(StatisticsLevelSwitch levelSwitch, int capacity, int sampleRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive : " + capacity);
+        }
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("sampleRate must be positive : " + sampleRate);
+        }
+        this.levelSwitch = levelSwitch;
+        this.capacity = capacity;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Returns the tracker of the given cache, or null if it has none.
+     *
+     * @param cache the cache
+     * @return the cache's hot key tracker, or null
+     */
+    public static HotKeyTracker forCache(Ehcache cache) {
+        return cache instanceof Cache ? ((Cache) cache).getHotKeyTracker() : null;
+    }
+
+    /**
+     * Registers a segmented store whose segments should be tracked.
+     *
+     * @param store the store name, e.g. {@code local-heap}
+     * @param locator maps keys to the store's segments
+     */
+    public void registerSegments(String store, SegmentLocator locator) {
+        segments.add(new SegmentCounts(store, locator));
+    }
+
+    /**
+     * Is the tracker currently recording.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return levelSwitch == null || levelSwitch.isEnabled(StatisticsLevel.EXTENDED);
+    }
+
+    /**
+     * Records a get of the given key.
+     *
+     * @param key the key, null keys are ignored
+     * @param hit true if the get hit
+     */
+    public void recordGet(Object key, boolean hit) {
+        if (key != null && sampled()) {
+            record(key, true, hit);
+        }
+    }
+
+    /**
+     * Records a put of the given key.
+     *
+     * @param key the key, null keys are ignored
+     */
+    public void recordPut(Object key) {
+        if (key != null && sampled()) {
+            record(key, false, false);
+        }
+    }
+
+    /**
+     * Returns the hottest keys, hottest first.
+     *
+     * @param n the maximum number of keys returned
+     * @return the hottest keys
+     */
+    public List<HotKey> getHottestKeys(int n) {
+        List<HotKey> keys = new ArrayList<HotKey>(candidates.size());
+        for (Map.Entry<Object, Candidate> e : candidates.entrySet()) {
+            Candidate c = e.getValue();
+            keys.add(new HotKey(e.getKey(), c.count * sampleRate, ratio(c.hits.get(), c.gets.get())));
+        }
+        Collections.sort(keys, HOT_KEY_ORDER);
+        return keys.size() > n ? new ArrayList<HotKey>(keys.subList(0, n)) : keys;
+    }
+
+    /**
+     * Returns the hottest segments across all registered stores, hottest first.
+     *
+     * @param n the maximum number of segments returned
+     * @return the hottest segments
+     */
+    public List<HotSegment> getHottestSegments(int n) {
+        List<HotSegment> hottest = new ArrayList<HotSegment>();
+        for (SegmentCounts s : segments) {
+            for (int i = 0; i < s.accesses.length(); i++) {
+                long accesses = s.accesses.get(i);
+                if (accesses > 0) {
+                    hottest.add(new HotSegment(s.store, i, accesses * sampleRate, ratio(s.hits.get(i), s.gets.get(i))));
+                }
+            }
+        }
+        Collections.sort(hottest, HOT_SEGMENT_ORDER);
+        return hottest.size() > n ? new ArrayList<HotSegment>(hottest.subList(0, n)) : hottest;
+    }
+
+    /**
+     * Discards everything recorded so far.
+     */
+    public synchronized void clear() {
+        candidates.clear();
+        threshold = 0;
+        sketch = null;
+        for (SegmentCounts s : segments) {
+            s.clear();
+        }
+    }
+
+    private boolean sampled() {
+        return isEnabled() && (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+    }
+
+    private void record(Object key, boolean get, boolean hit) {
+        long estimate = increment(key);
+        Candidate candidate = candidates.get(key);
+        if (candidate == null && (candidates.size() < capacity || estimate > threshold)) {
+            candidate = admit(key, estimate);
+        }
+        if (candidate != null) {
+            candidate.count = Math.max(candidate.count, estimate);
+            if (get) {
+                candidate.gets.incrementAndGet();
+                if (hit) {
+                    candidate.hits.incrementAndGet();
+                }
+            }
+        }
+        for (SegmentCounts s : segments) {
+            s.record(key, get, hit);
+        }
+        if (samples.incrementAndGet() % AGING_PERIOD == 0) {
+            age();
+        }
+    }
+
+    private long increment(Object key) {
+        AtomicLongArray counts = sketch();
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1 ^ SECOND_HASH_SEED);
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0; i < SKETCH_DEPTH; i++) {
+            int index = i * SKETCH_WIDTH + ((h1 + i * h2) & (SKETCH_WIDTH - 1));
+            estimate = Math.min(estimate, counts.incrementAndGet(index));
+        }
+        return estimate;
+    }
+
+    private AtomicLongArray sketch() {
+        AtomicLongArray counts = sketch;
+        if (counts == null) {
+            synchronized (this) {
+                counts = sketch;
+                if (counts == null) {
+                    counts = new AtomicLongArray(SKETCH_DEPTH * SKETCH_WIDTH);
+                    sketch = counts;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private synchronized Candidate admit(Object key, long estimate) {
+        Candidate existing = candidates.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (candidates.size() >= capacity) {
+            Map.Entry<Object, Candidate> coldest = coldest();
+            if (coldest.getValue().count >= estimate) {
+                threshold = coldest.getValue().count;
+                return null;
+            }
+            candidates.remove(coldest.getKey());
+        }
+        Candidate candidate = new Candidate(estimate);
+        candidates.put(key, candidate);
+        threshold = candidates.size() < capacity ? 0 : coldest().getValue().count;
+        return candidate;
+    }
+
+    private Map.Entry<Object, Candidate> coldest() {
+        Map.Entry<Object, Candidate> coldest = null;
+        for (Map.Entry<Object, Candidate> e : candidates.entrySet()) {
+            if (coldest == null || e.getValue().count < coldest.getValue().count) {
+                coldest = e;
+            }
+        }
+        return coldest;
+    }
+
+    private synchronized void age() {
+        AtomicLongArray counts = sketch;
+        if (counts != null) {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, counts.get(i) >>> 1);
+            }
+        }
+        for (Candidate c : candidates.values()) {
+            c.count >>>= 1;
+            c.gets.set(c.gets.get() >>> 1);
+            c.hits.set(c.hits.get() >>> 1);
+        }
+        threshold >>>= 1;
+        for (SegmentCounts s : segments) {
+            s.halve();
+        }
+    }
+
+    private static double ratio(long hits, long gets) {
+        return gets == 0 ? Double.NaN : Math.min(1.0, (double) hits / gets);
+    }
+
+    private static int spread(int hash) {
+        int h = hash;
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Maps keys to the segments of a segmented store.
+     */
+    public interface SegmentLocator {
+
+        /**
+         * The number of segments of the store.
+         *
+         * @return the segment count
+         */
+        int getSegmentCount();
+
+        /**
+         * The index of the segment the given key maps to.
+         *
+         * @param key the key
+         * @return the segment index
+         */
+        int segmentIndexFor(Object key);
+    }
+
+    /**
+     * A hot key and its estimated traffic.
+     */
+    public static final class HotKey {
+
+        private final Object key;
+        private final long estimatedCount;
+        private final double hitRatio;
+
+        HotKey(Object key, long estimatedCount, double hitRatio) {
+            this.key = key;
+            this.estimatedCount = estimatedCount;
+            this.hitRatio = hitRatio;
+        }
+
+        /**
+         * The key.
+         *
+         * @return the key
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        /**
+         * Estimated number of recent operations on the key.
+         *
+         * @return the estimated operation count
+         */
+        public long getEstimatedCount() {
+            return estimatedCount;
+        }
+
+        /**
+         * Hit ratio of the gets of this key, NaN if no get was sampled.
+         *
+         * @return the hit ratio
+         */
+        public double getHitRatio() {
+            return hitRatio;
+        }
+    }
+
+    /**
+     * A hot segment and its estimated traffic.
+     */
+    public static final class HotSegment {
+
+        private final String store;
+        private final int index;
+        private final long estimatedCount;
+        private final double hitRatio;
+
+        HotSegment(String store, int index, long estimatedCount, double hitRatio) {
+            this.store = store;
+            this.index = index;
+            this.estimatedCount = estimatedCount;
+            this.hitRatio = hitRatio;
+        }
+
+        /**
+         * The name of the store owning the segment.
+         *
+         * @return the store name
+         */
+        public String getStore() {
+            return store;
+        }
+
+        /**
+         * The index of the segment in its store.
+         *
+         * @return the segment index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Estimated number of recent operations on keys of the segment.
+         *
+         * @return the estimated operation count
+         */
+        public long getEstimatedCount() {
+            return estimatedCount;
+        }
+
+        /**
+         * Hit ratio of the cache gets of keys of the segment, NaN if no get was sampled.
+         *
+         * @return the hit ratio
+         */
+        public double getHitRatio() {
+            return hitRatio;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return store + "[" + index + "]";
+        }
+    }
+
+    /**
+     * Counts of a tracked key.
+     */
+    private static final class Candidate {
+        private final AtomicLong gets = new AtomicLong();
+        private final AtomicLong hits = new AtomicLong();
+        private volatile long count;
+
+        Candidate(long count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * Per segment counts of a registered store.
+     */
+    private static final class SegmentCounts {
+        private final String store;
+        private final SegmentLocator locator;
+        private final AtomicLongArray accesses;
+        private final AtomicLongArray gets;
+        private final AtomicLongArray hits;
+
+        SegmentCounts(String store, SegmentLocator locator) {
+            this.store = store;
+            this.locator = locator;
+            int count = locator.getSegmentCount();
+            this.accesses = new AtomicLongArray(count);
+            this.gets = new AtomicLongArray(count);
+            this.hits = new AtomicLongArray(count);
+        }
+
+        void record(Object key, boolean get, boolean hit) {
+            int index = locator.segmentIndexFor(key);
+            accesses.incrementAndGet(index);
+            if (get) {
+                gets.incrementAndGet(index);
+                if (hit) {
+                    hits.incrementAndGet(index);
+                }
+            }
+        }
+
+        void halve() {
+            for (int i = 0; i < accesses.length(); i++) {
+                accesses.set(i, accesses.get(i) >>> 1);
+                gets.set(i, gets.get(i) >>> 1);
+                hits.set(i, hits.get(i) >>> 1);
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < accesses.length(); i++) {
+                accesses.set(i, 0);
+                gets.set(i, 0);
+                hits.set(i, 0);
+            }
+        }
+    }
+}
@@ -58,6 +58,12 @@ public final class StatisticBuilder {
         /** The type. */
         private final Class<T> type;
 
+        /** The level switch. */
+        private StatisticsLevelSwitch levelSwitch;
+
+        /** The level required for recording. */
+        private StatisticsLevel required = StatisticsLevel.CORE;
+
         /**
          * Instantiates a new operation statistic builder.
          *
@@ -67,6 +73,28 @@ public final class StatisticBuilder {
             this.type = type;
         }
 
+        /**
+         * Switched by.
+         *
+         * @param levelSwitch the level switch controlling the built observer, may be null
+         * @return the operation statistic builder
+         */
+        public OperationStatisticBuilder<T> switchedBy(StatisticsLevelSwitch levelSwitch) {
+            this.levelSwitch = levelSwitch;
+            return this;
+        }
+
+        /**
+         * Minimum level.
+         *
+         * @param level the minimum level at which the built observer records
+         * @return the operation statistic builder
+         */
+        public OperationStatisticBuilder<T> minimumLevel(StatisticsLevel level) {
+            this.required = level;
+            return this;
+        }
+
         /**
          * Builds the.
          *
@@ -76,7 +104,12 @@ public final class StatisticBuilder {
             if (context == null || name == null) {
                 throw new IllegalStateException();
             } else {
-                return StatisticsManager.createOperationStatistic(context, name, tags, type);
+                OperationObserver<T> statistic = StatisticsManager.createOperationStatistic(context, name, tags, type);
+                if (levelSwitch == null) {
+                    return statistic;
+                } else {
+                    return levelSwitch.wrap(statistic, required);
+                }
             }
         }
     }
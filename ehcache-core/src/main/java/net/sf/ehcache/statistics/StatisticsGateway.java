@@ -24,6 +24,7 @@ import net.sf.ehcache.config.ManagementRESTServiceConfiguration;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Result;
 import net.sf.ehcache.statistics.extended.ExtendedStatisticsImpl;
+import net.sf.ehcache.statistics.extended.WorkingSetTracker;
 import net.sf.ehcache.store.StoreOperationOutcomes;
 import net.sf.ehcache.store.StoreOperationOutcomes.GetOutcome;
 import net.sf.ehcache.store.StoreOperationOutcomes.PutOutcome;
@@ -85,7 +86,9 @@ public class StatisticsGateway implements FlatStatistics {
         this.extended = new ExtendedStatisticsImpl(statsManager, executor, DEFAULT_TIME_TO_DISABLE_MINS, TimeUnit.MINUTES,
                 getProperSampleHistorySize(mRest), 
                 getProperSampleIntervalSeconds(mRest), 
-                getProperSampleSearchIntervalSeconds(mRest));
+                getProperSampleSearchIntervalSeconds(mRest),
+                StatisticsLevelSwitch.forCache(ehcache),
+                WorkingSetTracker.forCache(ehcache));
 
         this.core = new CoreStatisticsImpl(extended);
     }
@@ -0,0 +1,51 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.statistics;
+
+/**
+ * The level of statistics gathered by a cache.
+ * <p>
+ * Levels are ordered: each level records everything the levels below it record.
+ *
+ * @author ehcache
+ */
+public enum StatisticsLevel {
+
+    /**
+     * No operation statistics are recorded. Operation observers are bound to no-op implementations.
+     */
+    OFF,
+
+    /**
+     * Operation outcome counts are recorded for the cache and each of its tiers. This is the default.
+     */
+    CORE,
+
+    /**
+     * Core statistics plus the more expensive derived statistics (e.g. latency histograms).
+     */
+    EXTENDED;
+
+    /**
+     * Returns true if this level records the statistics of the given level.
+     *
+     * @param required the level required
+     * @return true if this level includes {@code required}
+     */
+    public boolean includes(StatisticsLevel required) {
+        return compareTo(required) >= 0;
+    }
+}
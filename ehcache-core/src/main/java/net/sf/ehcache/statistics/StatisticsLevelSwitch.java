@@ -0,0 +1,138 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.statistics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+
+import org.terracotta.statistics.observer.OperationObserver;
+
+/**
+ * Controls the {@link StatisticsLevel} of all the operation observers of a cache and its tiers.
+ * <p>
+ * A cache level may be explicitly configured, otherwise the level inherited from the cache manager applies. Changing
+ * either at runtime rebinds every observer created through this switch.
+ *
+ * @author ehcache
+ */
+public class StatisticsLevelSwitch {
+
+    private final List<SwitchableOperationObserver<?>> observers = new CopyOnWriteArrayList<SwitchableOperationObserver<?>>();
+
+    private volatile StatisticsLevel configuredLevel;
+    private volatile StatisticsLevel inheritedLevel = StatisticsLevel.CORE;
+    private volatile StatisticsLevel level = StatisticsLevel.CORE;
+
+    /**
+     * Returns the switch bound to the given cache's configuration, or null if there is none.
+     *
+     * @param cache the cache
+     * @return the cache's statistics level switch, or null
+     */
+    public static StatisticsLevelSwitch forCache(Ehcache cache) {
+        if (cache == null) {
+            return null;
+        }
+        CacheConfiguration configuration = cache.getCacheConfiguration();
+        return configuration == null ? null : configuration.getStatisticsLevelSwitch();
+    }
+
+    /**
+     * Returns the observer actually recording for the given observer, unwrapping it if it was created by a switch.
+     * <p>
+     * Use this before handing an observer to {@code StatisticsManager.getOperationStatisticFor}.
+     *
+     * @param <T> the operation outcome type
+     * @param observer an observer
+     * @return the underlying statistic
+     */
+    public static <T extends Enum<T>> OperationObserver<T> unwrap(OperationObserver<T> observer) {
+        if (observer instanceof SwitchableOperationObserver<?>) {
+            return ((SwitchableOperationObserver<T>) observer).getStatistic();
+        } else {
+            return observer;
+        }
+    }
+
+    /**
+     * Returns the effective statistics level.
+     *
+     * @return the effective level
+     */
+    public StatisticsLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns true if statistics of the given level are currently recorded.
+     *
+     * @param required the level required
+     * @return true if enabled
+     */
+    public boolean isEnabled(StatisticsLevel required) {
+        return level.includes(required);
+    }
+
+    /**
+     * Sets the explicitly configured level, {@code null} meaning the inherited level applies.
+     *
+     * @param configuredLevel the configured level
+     */
+    public synchronized void setConfiguredLevel(StatisticsLevel configuredLevel) {
+        this.configuredLevel = configuredLevel;
+        update();
+    }
+
+    /**
+     * Sets the level inherited from the cache manager.
+     *
+     * @param inheritedLevel the inherited level
+     */
+    public synchronized void setInheritedLevel(StatisticsLevel inheritedLevel) {
+        if (inheritedLevel == null) {
+            throw new NullPointerException("inheritedLevel");
+        }
+        this.inheritedLevel = inheritedLevel;
+        update();
+    }
+
+    /**
+     * Wraps the given statistic so that it is only recorded while this switch is at or above {@code required}.
+     *
+     * @param <T> the operation outcome type
+     * @param statistic the real statistic
+     * @param required the minimum level at which to record
+     * @return the switchable observer
+     */
+    public synchronized <T extends Enum<T>> OperationObserver<T> wrap(OperationObserver<T> statistic, StatisticsLevel required) {
+        SwitchableOperationObserver<T> observer = new SwitchableOperationObserver<T>(statistic, required, level);
+        observers.add(observer);
+        return observer;
+    }
+
+    private void update() {
+        StatisticsLevel newLevel = configuredLevel == null ? inheritedLevel : configuredLevel;
+        if (newLevel != level) {
+            level = newLevel;
+            for (SwitchableOperationObserver<?> observer : observers) {
+                observer.levelChanged(newLevel);
+            }
+        }
+    }
+}
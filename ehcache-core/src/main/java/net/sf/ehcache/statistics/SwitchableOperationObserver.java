@@ -0,0 +1,102 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.statistics;
+
+import org.terracotta.statistics.observer.OperationObserver;
+
+/**
+ * An operation observer that either forwards to the real operation statistic or to a no-op observer, depending on
+ * the current {@link StatisticsLevel} of its {@link StatisticsLevelSwitch}.
+ * <p>
+ * While disabled the delegate is a shared stateless singleton, so call sites stay monomorphic and the JIT can inline
+ * the empty calls away.
+ *
+ * @param <T> the operation outcome type
+ * @author ehcache
+ */
+final class SwitchableOperationObserver<T extends Enum<T>> implements OperationObserver<T> {
+
+    private static final OperationObserver<?> NO_OP = new OperationObserver() {
+        @Override
+        public void begin() {
+            // no-op
+        }
+
+        @Override
+        public void end(Enum result) {
+            // no-op
+        }
+
+        @Override
+        public void end(Enum result, long... parameters) {
+            // no-op
+        }
+    };
+
+    private final OperationObserver<T> statistic;
+    private final StatisticsLevel required;
+    private volatile OperationObserver<T> delegate;
+
+    /**
+     * Creates a switchable observer.
+     *
+     * @param statistic the real statistic
+     * @param required the minimum level at which the statistic is recorded
+     * @param current the current level
+     */
+    SwitchableOperationObserver(OperationObserver<T> statistic, StatisticsLevel required, StatisticsLevel current) {
+        this.statistic = statistic;
+        this.required = required;
+        levelChanged(current);
+    }
+
+    /**
+     * Returns the real statistic.
+     *
+     * @return the real statistic
+     */
+    OperationObserver<T> getStatistic() {
+        return statistic;
+    }
+
+    /**
+     * Rebinds this observer for the given level.
+     *
+     * @param level the new level
+     */
+    void levelChanged(StatisticsLevel level) {
+        if (level.includes(required)) {
+            delegate = statistic;
+        } else {
+            delegate = (OperationObserver<T>) NO_OP;
+        }
+    }
+
+    @Override
+    public void begin() {
+        delegate.begin();
+    }
+
+    @Override
+    public void end(T result) {
+        delegate.end(result);
+    }
+
+    @Override
+    public void end(T result, long... parameters) {
+        delegate.end(result, parameters);
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Operation;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Result;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Statistic;
@@ -52,6 +53,8 @@ class CompoundOperationImpl<T extends Enum<T>> implements Operation<T> {
 
     private final ScheduledExecutorService executor;
 
+    private final StatisticsLevelSwitch levelSwitch;
+
     private volatile long averageNanos;
     private volatile int historySize;
     private volatile long historyNanos;
@@ -69,11 +72,13 @@ class CompoundOperationImpl<T extends Enum<T>> implements Operation<T> {
      * @param historySize the history size
      * @param historyPeriod the history period
      * @param historyUnit the history unit
+     * @param levelSwitch the statistics level switch, may be null
      */
     public CompoundOperationImpl(OperationStatistic<T> source, Class<T> type, long averagePeriod, TimeUnit averageUnit,
-            ScheduledExecutorService executor, int historySize, long historyPeriod, TimeUnit historyUnit) {
+            ScheduledExecutorService executor, int historySize, long historyPeriod, TimeUnit historyUnit, StatisticsLevelSwitch levelSwitch) {
         this.type = type;
         this.source = source;
+        this.levelSwitch = levelSwitch;
 
         this.averageNanos = averageUnit.toNanos(averagePeriod);
         this.executor = executor;
@@ -82,7 +87,7 @@ class CompoundOperationImpl<T extends Enum<T>> implements Operation<T> {
 
         this.operations = new EnumMap(type);
         for (T result : type.getEnumConstants()) {
-            operations.put(result, new OperationImpl(source, EnumSet.of(result), averageNanos, executor, historySize, historyNanos));
+            operations.put(result, new OperationImpl(source, EnumSet.of(result), averageNanos, executor, historySize, historyNanos, levelSwitch));
         }
     }
 
@@ -119,7 +124,7 @@ class CompoundOperationImpl<T extends Enum<T>> implements Operation<T> {
             Set<T> key = EnumSet.copyOf(results);
             OperationImpl<T> existing = compounds.get(key);
             if (existing == null) {
-                OperationImpl<T> created = new OperationImpl(source, key, averageNanos, executor, historySize, historyNanos);
+                OperationImpl<T> created = new OperationImpl(source, key, averageNanos, executor, historySize, historyNanos, levelSwitch);
                 OperationImpl<T> racer = compounds.putIfAbsent(key, created);
                 if (racer == null) {
                     return created;
@@ -26,6 +26,7 @@ import org.terracotta.statistics.archive.Timestamped;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -178,6 +179,13 @@ public interface ExtendedStatistics {
      */
     Operation<CacheOperationOutcomes.SearchOutcome> search();
 
+    /**
+     * The write-behind writer operation statistic.
+     *
+     * @return the operation
+     */
+    Operation<CacheOperationOutcomes.WriteBehindOutcome> writeBehind();
+
     /**
      * Xa commit.
      *
@@ -281,6 +289,13 @@ public interface ExtendedStatistics {
      */
     Statistic<Double> nonstopTimeoutRatio();
 
+    /**
+     * The working set of the cache.
+     *
+     * @return the working set estimates
+     */
+    WorkingSet workingSet();
+
     /**
      * Operations.
      *
@@ -448,6 +463,70 @@ public interface ExtendedStatistics {
          * @return Average observed latency. NULL if no operation was observed.
          */
         Statistic<Double> average();
+
+        /**
+         * Histogram of the observed latencies.
+         * <p>
+         * Latencies are only recorded while the cache's statistics level is {@code EXTENDED}.
+         *
+         * @return the latency histogram
+         */
+        Histogram histogram();
+    }
+
+    /**
+     * The Histogram interface. Provides latency percentiles over a rolling window.
+     */
+    public interface Histogram {
+
+        /**
+         * Active.
+         *
+         * @return true, if latencies are currently being recorded
+         */
+        boolean active();
+
+        /**
+         * Snapshot of the latencies (in nanoseconds) recorded over the rolling window.
+         *
+         * @return the snapshot
+         */
+        HistogramSnapshot snapshot();
+    }
+
+    /**
+     * The WorkingSet interface. Provides distinct key and miss ratio curve estimates for sizing cache tiers.
+     */
+    public interface WorkingSet {
+
+        /**
+         * Active.
+         *
+         * @return true, if references are currently being recorded
+         */
+        boolean active();
+
+        /**
+         * Estimated number of distinct keys referenced.
+         *
+         * @return the distinct key estimate
+         */
+        long distinctKeys();
+
+        /**
+         * Estimated hit ratio an LRU cache holding the given number of entries would have achieved on recent gets.
+         *
+         * @param entries the hypothetical cache size
+         * @return the hit ratio, or {@code NaN} if no gets were recorded
+         */
+        double hitRatio(long entries);
+
+        /**
+         * Estimated miss ratio by hypothetical cache size, at power of two sizes up to the largest observed reuse distance.
+         *
+         * @return the miss ratio curve, empty if no gets were recorded
+         */
+        SortedMap<Long, Double> missRatioCurve();
     }
 
     /**
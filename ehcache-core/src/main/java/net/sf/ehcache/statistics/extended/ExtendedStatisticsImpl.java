@@ -26,6 +26,7 @@ import net.sf.ehcache.CacheOperationOutcomes.PutOutcome;
 import net.sf.ehcache.CacheOperationOutcomes.RemoveOutcome;
 import net.sf.ehcache.CacheOperationOutcomes.SearchOutcome;
 import net.sf.ehcache.statistics.StatisticsGateway;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.store.StoreOperationOutcomes;
 import net.sf.ehcache.transaction.xa.XaCommitOutcome;
 import net.sf.ehcache.transaction.xa.XaRecoveryOutcome;
@@ -96,6 +97,12 @@ public class ExtendedStatisticsImpl implements ExtendedStatistics {
     /** The executor. */
     private final ScheduledExecutorService executor;
 
+    /** The statistics level switch of the cache, may be null. */
+    private final StatisticsLevelSwitch levelSwitch;
+
+    /** The working set estimates of the cache. */
+    private final WorkingSet workingSet;
+
     /** The disable task. */
     private final Runnable disableTask = new Runnable() {
         @Override
@@ -163,8 +170,26 @@ public class ExtendedStatisticsImpl implements ExtendedStatistics {
      */
     public ExtendedStatisticsImpl(StatisticsManager manager, ScheduledExecutorService executor, long timeToDisable, TimeUnit unit,
             int defaultHistorySize, long defaultIntervalSeconds, long defaultSearchIntervalSeconds) {
+        this(manager, executor, timeToDisable, unit, defaultHistorySize, defaultIntervalSeconds, defaultSearchIntervalSeconds, null, null);
+    }
+
+    /**
+     * Instantiates a new extended statistics impl.
+     *
+     * @param manager the manager
+     * @param executor the executor
+     * @param timeToDisable the time to disable
+     * @param unit the unit
+     * @param levelSwitch the statistics level switch gating the latency histograms, may be null
+     * @param workingSet the working set estimates of the cache, may be null
+     */
+    public ExtendedStatisticsImpl(StatisticsManager manager, ScheduledExecutorService executor, long timeToDisable, TimeUnit unit,
+            int defaultHistorySize, long defaultIntervalSeconds, long defaultSearchIntervalSeconds, StatisticsLevelSwitch levelSwitch,
+            WorkingSet workingSet) {
         this.manager = manager;
         this.executor = executor;
+        this.levelSwitch = levelSwitch;
+        this.workingSet = workingSet == null ? NullWorkingSet.INSTANCE : workingSet;
         this.timeToDisable = timeToDisable;
         this.timeToDisableUnit = unit;
         this.defaultHistorySize = defaultHistorySize;
@@ -209,7 +234,7 @@ public class ExtendedStatisticsImpl implements ExtendedStatistics {
             } else {
                 standardOperations.put(t, new CompoundOperationImpl(statistic, t.type(), StatisticsGateway.DEFAULT_WINDOW_SIZE_SECS,
                         SECONDS, executor, defaultHistorySize, t.isSearch() ? defaultSearchIntervalSeconds : defaultIntervalSeconds,
-                        SECONDS));
+                        SECONDS, levelSwitch));
             }
         }
     }
@@ -383,6 +408,16 @@ public class ExtendedStatisticsImpl implements ExtendedStatistics {
         return (Operation<CacheOperationOutcomes.SearchOutcome>) getStandardOperation(StandardOperationStatistic.SEARCH);
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see net.sf.ehcache.statistics.extended.ExtendedStatistics#writeBehind()
+     */
+    @Override
+    public Operation<CacheOperationOutcomes.WriteBehindOutcome> writeBehind() {
+        return (Operation<CacheOperationOutcomes.WriteBehindOutcome>) getStandardOperation(StandardOperationStatistic.WRITE_BEHIND);
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -609,7 +644,7 @@ public class ExtendedStatisticsImpl implements ExtendedStatistics {
             for (OperationStatistic<T> source : sources) {
                 CompoundOperationImpl<T> operation = (CompoundOperationImpl<T>) customOperations.get(source);
                 if (operation == null) {
-                    operation = new CompoundOperationImpl<T>(source, source.type(), 1, SECONDS, executor, 0, 1, SECONDS);
+                    operation = new CompoundOperationImpl<T>(source, source.type(), 1, SECONDS, executor, 0, 1, SECONDS, levelSwitch);
                     CompoundOperationImpl<T> racer = (CompoundOperationImpl<T>) customOperations.putIfAbsent(source, operation);
                     if (racer != null) {
                         operation = racer;
@@ -726,7 +761,7 @@ public class ExtendedStatisticsImpl implements ExtendedStatistics {
             } else {
                 Operation<?> newOperation = new CompoundOperationImpl(discovered, statistic.type(),
                         StatisticsGateway.DEFAULT_WINDOW_SIZE_SECS, SECONDS, executor, defaultHistorySize,
-                        statistic.isSearch() ? defaultSearchIntervalSeconds : defaultIntervalSeconds, SECONDS);
+                        statistic.isSearch() ? defaultSearchIntervalSeconds : defaultIntervalSeconds, SECONDS, levelSwitch);
                 if (standardOperations.replace(statistic, operation, newOperation)) {
                     return newOperation;
                 } else {
@@ -909,6 +944,11 @@ public class ExtendedStatisticsImpl implements ExtendedStatistics {
         return nonStopTimeoutRatio;
     }
 
+    @Override
+    public WorkingSet workingSet() {
+        return workingSet;
+    }
+
     public void dispose() {
         ScheduledFuture p = disableStatus;
         if (p != null) {
@@ -0,0 +1,185 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.statistics.extended;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of a log-bucketed latency histogram.
+ * <p>
+ * Values are bucketed by power of two, with each power of two split into {@value #SUB_BUCKETS} linear sub-buckets, so any
+ * value reported by a snapshot is within 12.5% of the recorded value. Snapshots taken from different histograms (for
+ * example from different caches or different nodes) can be combined with {@link #merge(HistogramSnapshot)}.
+ *
+ * @author ehcache
+ */
+public final class HistogramSnapshot {
+
+    /** The empty snapshot. */
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[0]);
+
+    /** Number of linear sub-buckets per power of two. */
+    static final int SUB_BUCKETS = 8;
+
+    /** Largest trackable value (roughly 18 minutes in nanoseconds), larger values are recorded as this value. */
+    static final long MAX_VALUE = (1L << 40) - 1;
+
+    /** Number of buckets needed to cover {@code [0, MAX_VALUE]}. */
+    static final int BUCKET_COUNT = bucketFor(MAX_VALUE) + 1;
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final double PERCENT = 100.0;
+
+    private final long[] counts;
+    private final long count;
+
+    /**
+     * Creates a snapshot over the given bucket counts.
+     *
+     * @param counts the bucket counts, ownership of the array passes to the snapshot
+     */
+    HistogramSnapshot(long[] counts) {
+        this.counts = counts;
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        this.count = total;
+    }
+
+    /**
+     * The number of values recorded in this snapshot.
+     *
+     * @return the value count
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile a percentile in the range {@code [0, 100]}, e.g. {@code 99.9}
+     * @return the percentile value, or 0 if the snapshot is empty
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > PERCENT || Double.isNaN(percentile)) {
+            throw new IllegalArgumentException("Percentile must be in the range [0, 100] : " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil((percentile / PERCENT) * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return maximum();
+    }
+
+    /**
+     * The smallest value recorded in this snapshot (to bucket precision).
+     *
+     * @return the minimum value, or 0 if the snapshot is empty
+     */
+    public long minimum() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                return lowestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The largest value recorded in this snapshot (to bucket precision).
+     *
+     * @return the maximum value, or 0 if the snapshot is empty
+     */
+    public long maximum() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a new snapshot holding the values of both this and the given snapshot.
+     *
+     * @param other the snapshot to merge with
+     * @return the merged snapshot
+     */
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+        if (other.count == 0) {
+            return this;
+        } else if (count == 0) {
+            return other;
+        }
+        long[] merged = Arrays.copyOf(counts, Math.max(counts.length, other.counts.length));
+        for (int i = 0; i < other.counts.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new HistogramSnapshot(merged);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "HistogramSnapshot[count=" + count + ", p50=" + percentile(50) + ", p99=" + percentile(99) + ", p99.9="
+                + percentile(99.9) + ", max=" + maximum() + "]";
+    }
+
+    /**
+     * Returns the index of the bucket recording the given value.
+     *
+     * @param value a value, negative values are recorded as zero
+     * @return the bucket index
+     */
+    static int bucketFor(long value) {
+        long v = Math.min(Math.max(value, 0L), MAX_VALUE);
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(v) - SUB_BUCKET_BITS;
+        int mantissa = (int) (v >>> exponent) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent << SUB_BUCKET_BITS) + mantissa;
+    }
+
+    static long lowestEquivalentValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) >>> SUB_BUCKET_BITS;
+        int mantissa = (bucket - SUB_BUCKETS) & (SUB_BUCKETS - 1);
+        return ((long) (SUB_BUCKETS + mantissa)) << exponent;
+    }
+
+    static long highestEquivalentValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) >>> SUB_BUCKET_BITS;
+        return lowestEquivalentValue(bucket) + (1L << exponent) - 1;
+    }
+}
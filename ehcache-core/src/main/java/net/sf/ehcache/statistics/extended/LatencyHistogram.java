@@ -0,0 +1,144 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.statistics.extended;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import net.sf.ehcache.statistics.StatisticsLevel;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
+
+import org.terracotta.statistics.Time;
+import org.terracotta.statistics.observer.ChainedEventObserver;
+
+/**
+ * A lock-free, log-bucketed histogram of the latencies fed to it by a {@code LatencySampling} statistic.
+ * <p>
+ * The histogram covers a rolling window split into a ring of slots. Recording increments one bucket of the current slot,
+ * a slot is reset by the first thread to record into it once it has fallen out of the window. A few values recorded
+ * concurrently with that reset may be lost, which is acceptable for statistics purposes.
+ *
+ * @author ehcache
+ */
+class LatencyHistogram implements ChainedEventObserver {
+
+    /** Number of slots the rolling window is split into. */
+    static final int SLOTS = 6;
+
+    private final StatisticsLevelSwitch levelSwitch;
+
+    private volatile Ring ring;
+
+    /**
+     * Creates a histogram over the given rolling window.
+     *
+     * @param windowNanos the window length
+     * @param levelSwitch switch gating recording on the {@link StatisticsLevel#EXTENDED} level, may be {@code null}
+     */
+    LatencyHistogram(long windowNanos, StatisticsLevelSwitch levelSwitch) {
+        this.levelSwitch = levelSwitch;
+        this.ring = new Ring(windowNanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void event(long time, long... parameters) {
+        if (levelSwitch == null || levelSwitch.isEnabled(StatisticsLevel.EXTENDED)) {
+            ring.record(time, parameters[0]);
+        }
+    }
+
+    /**
+     * Snapshot of the values recorded over the rolling window.
+     *
+     * @return the snapshot
+     */
+    HistogramSnapshot snapshot() {
+        return ring.snapshot(Time.time());
+    }
+
+    /**
+     * Sets the rolling window length, discarding the values recorded so far.
+     *
+     * @param windowNanos the window length
+     */
+    void setWindow(long windowNanos) {
+        ring = new Ring(windowNanos);
+    }
+
+    /**
+     * Is recording enabled by the statistics level.
+     *
+     * @return true if values are currently recorded
+     */
+    boolean recording() {
+        return levelSwitch == null || levelSwitch.isEnabled(StatisticsLevel.EXTENDED);
+    }
+
+    /**
+     * The ring of slots making up the window.
+     */
+    private static final class Ring {
+
+        private final long slotNanos;
+        private final AtomicLong[] epochs = new AtomicLong[SLOTS];
+        private final AtomicLongArray[] slots = new AtomicLongArray[SLOTS];
+
+        Ring(long windowNanos) {
+            this.slotNanos = Math.max(1L, windowNanos / SLOTS);
+            for (int i = 0; i < SLOTS; i++) {
+                epochs[i] = new AtomicLong(Long.MIN_VALUE);
+                slots[i] = new AtomicLongArray(HistogramSnapshot.BUCKET_COUNT);
+            }
+        }
+
+        void record(long time, long value) {
+            long epoch = time / slotNanos;
+            int index = (int) (((epoch % SLOTS) + SLOTS) % SLOTS);
+            AtomicLong slotEpoch = epochs[index];
+            long current = slotEpoch.get();
+            if (current != epoch) {
+                if (current > epoch) {
+                    // a stale timestamp, the slot has already moved on
+                    return;
+                } else if (slotEpoch.compareAndSet(current, epoch)) {
+                    AtomicLongArray slot = slots[index];
+                    for (int i = 0; i < slot.length(); i++) {
+                        slot.set(i, 0);
+                    }
+                }
+            }
+            slots[index].incrementAndGet(HistogramSnapshot.bucketFor(value));
+        }
+
+        HistogramSnapshot snapshot(long time) {
+            long oldest = time / slotNanos - SLOTS;
+            long[] counts = new long[HistogramSnapshot.BUCKET_COUNT];
+            for (int s = 0; s < SLOTS; s++) {
+                if (epochs[s].get() > oldest) {
+                    AtomicLongArray slot = slots[s];
+                    for (int i = 0; i < counts.length; i++) {
+                        counts[i] += slot.get(i);
+                    }
+                }
+            }
+            return new HistogramSnapshot(counts);
+        }
+    }
+}
@@ -21,6 +21,8 @@ import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
+import net.sf.ehcache.statistics.extended.ExtendedStatistics.Histogram;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Latency;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Statistic;
 
@@ -45,8 +47,11 @@ class LatencyImpl<T extends Enum<T>> implements Latency {
     private final StatisticImpl<Long> minimumStatistic;
     private final StatisticImpl<Long> maximumStatistic;
     private final StatisticImpl<Double> averageStatistic;
+    private final StatisticsLevelSwitch levelSwitch;
 
     private boolean active = false;
+    private long histogramWindowNanos;
+    private HistogramImpl histogram;
     private long touchTimestamp = -1;
 
     /**
@@ -58,9 +63,10 @@ class LatencyImpl<T extends Enum<T>> implements Latency {
      * @param executor the executor
      * @param historySize the history size
      * @param historyNanos the history nanos
+     * @param levelSwitch the statistics level switch gating the histogram, may be null
      */
     public LatencyImpl(SourceStatistic<ChainedOperationObserver<T>> statistic, Set<T> targets, long averageNanos,
-            ScheduledExecutorService executor, int historySize, long historyNanos) {
+            ScheduledExecutorService executor, int historySize, long historyNanos, StatisticsLevelSwitch levelSwitch) {
         this.average = new EventParameterSimpleMovingAverage(averageNanos, TimeUnit.NANOSECONDS);
         this.minimumStatistic = new StatisticImpl<Long>(average.minimumStatistic(), executor, historySize, historyNanos);
         this.maximumStatistic = new StatisticImpl<Long>(average.maximumStatistic(), executor, historySize, historyNanos);
@@ -68,6 +74,8 @@ class LatencyImpl<T extends Enum<T>> implements Latency {
         this.latencySampler = new LatencySampling(targets, 1.0);
         latencySampler.addDerivedStatistic(average);
         this.source = statistic;
+        this.levelSwitch = levelSwitch;
+        this.histogramWindowNanos = histogramWindow(historySize, historyNanos);
     }
 
     /**
@@ -106,6 +114,19 @@ class LatencyImpl<T extends Enum<T>> implements Latency {
         return averageStatistic;
     }
 
+    /**
+     * Get the histogram, creating it on first access.
+     */
+    @Override
+    public synchronized Histogram histogram() {
+        if (histogram == null) {
+            LatencyHistogram recorder = new LatencyHistogram(histogramWindowNanos, levelSwitch);
+            latencySampler.addDerivedStatistic(recorder);
+            histogram = new HistogramImpl(recorder);
+        }
+        return histogram;
+    }
+
     private synchronized void touch() {
         touchTimestamp = Time.absoluteTime();
         start();
@@ -147,10 +168,59 @@ class LatencyImpl<T extends Enum<T>> implements Latency {
      * @param historySize the history size
      * @param historyNanos the history nanos
      */
-    void setHistory(int historySize, long historyNanos) {
+    synchronized void setHistory(int historySize, long historyNanos) {
         minimumStatistic.setHistory(historySize, historyNanos);
         maximumStatistic.setHistory(historySize, historyNanos);
         averageStatistic.setHistory(historySize, historyNanos);
+        histogramWindowNanos = histogramWindow(historySize, historyNanos);
+        if (histogram != null) {
+            histogram.recorder.setWindow(histogramWindowNanos);
+        }
+    }
+
+    /**
+     * The histogram covers the same span as the sampled history.
+     */
+    private static long histogramWindow(int historySize, long historyNanos) {
+        return Math.max(1, historySize) * historyNanos;
+    }
+
+    /**
+     * The Class HistogramImpl.
+     */
+    class HistogramImpl implements Histogram {
+
+        private final LatencyHistogram recorder;
+
+        /**
+         * Instantiates a new histogram impl.
+         *
+         * @param recorder the recording histogram
+         */
+        HistogramImpl(LatencyHistogram recorder) {
+            this.recorder = recorder;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see net.sf.ehcache.statistics.extended.ExtendedStatistics.Histogram#active()
+         */
+        @Override
+        public boolean active() {
+            return active && recorder.recording();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see net.sf.ehcache.statistics.extended.ExtendedStatistics.Histogram#snapshot()
+         */
+        @Override
+        public HistogramSnapshot snapshot() {
+            touch();
+            return recorder.snapshot();
+        }
     }
 
     /**
@@ -21,12 +21,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
+import net.sf.ehcache.statistics.extended.ExtendedStatistics.Histogram;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Latency;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Operation;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Result;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Statistic;
+import net.sf.ehcache.statistics.extended.ExtendedStatistics.WorkingSet;
 
 import org.terracotta.statistics.archive.Timestamped;
 
@@ -248,6 +252,96 @@ final class NullLatency implements Latency {
     public Statistic<Double> average() {
         return NullStatistic.instance(Double.NaN);
     }
+
+    /**
+     * histogram
+     */
+    @Override
+    public Histogram histogram() {
+        return NullHistogram.INSTANCE;
+    }
+}
+
+/**
+ * Noop histogram class
+ *
+ * @author ehcache
+ */
+final class NullHistogram implements Histogram {
+
+    /** The instance. */
+    static final Histogram INSTANCE = new NullHistogram();
+
+    /**
+     * Private constructor
+     */
+    private NullHistogram() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean active() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HistogramSnapshot snapshot() {
+        return HistogramSnapshot.EMPTY;
+    }
+}
+
+/**
+ * Noop working set class
+ *
+ * @author ehcache
+ */
+final class NullWorkingSet implements WorkingSet {
+
+    /** The instance. */
+    static final WorkingSet INSTANCE = new NullWorkingSet();
+
+    /**
+     * Private constructor
+     */
+    private NullWorkingSet() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean active() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long distinctKeys() {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double hitRatio(long entries) {
+        return Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SortedMap<Long, Double> missRatioCurve() {
+        return new TreeMap<Long, Double>();
+    }
 }
 
 /**
@@ -19,6 +19,7 @@ package net.sf.ehcache.statistics.extended;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Latency;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Result;
 import net.sf.ehcache.statistics.extended.ExtendedStatistics.Statistic;
@@ -54,12 +55,13 @@ class OperationImpl<T extends Enum<T>> implements Result {
      * @param executor the executor
      * @param historySize the history size
      * @param historyNanos the history nanos
+     * @param levelSwitch the statistics level switch, may be null
      */
     public OperationImpl(OperationStatistic<T> source, Set<T> targets, long averageNanos,
-            ScheduledExecutorService executor, int historySize, long historyNanos) {
+            ScheduledExecutorService executor, int historySize, long historyNanos, StatisticsLevelSwitch levelSwitch) {
         this.source = source;
         this.count = new SemiExpiringStatistic<Long>(source.statistic(targets), executor, historySize, historyNanos);
-        this.latency = new LatencyImpl(source, targets, averageNanos, executor, historySize, historyNanos);
+        this.latency = new LatencyImpl(source, targets, averageNanos, executor, historySize, historyNanos, levelSwitch);
         this.rate = new RateImpl(source, targets, averageNanos, executor, historySize, historyNanos);
     }
 
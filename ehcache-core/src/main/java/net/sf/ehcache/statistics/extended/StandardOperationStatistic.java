@@ -93,6 +93,9 @@ enum StandardOperationStatistic {
         }
     },
 
+    /** The write-behind writer invocations. */
+    WRITE_BEHIND(CacheOperationOutcomes.WriteBehindOutcome.class, "write", "write-behind"),
+
     /** The evicted. */
     EVICTION(false, cache().add(children().exclude(Ehcache.class).add(descendants())), CacheOperationOutcomes.EvictionOutcome.class, "eviction"),
 
@@ -0,0 +1,406 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.statistics.extended;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.statistics.StatisticsLevel;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
+import net.sf.ehcache.statistics.extended.ExtendedStatistics.WorkingSet;
+
+/**
+ * Estimates the working set of a cache: the number of distinct keys it sees, and the hit ratio an LRU cache of a given size
+ * would have achieved on its reference stream (its miss ratio curve).
+ * <p>
+ * The distinct key count is a HyperLogLog estimate over all key references. The miss ratio curve is computed with
+ * spatially hashed sampling (SHARDS): only references to keys whose hash falls below a threshold are tracked, their reuse
+ * distances are measured exactly among the sampled keys and scaled up by the sampling rate. The threshold is lowered
+ * whenever more than a fixed number of keys are sampled, so memory use is bounded whatever the key space. Gets and puts
+ * both count as references, but only gets contribute to the hit ratio.
+ * <p>
+ * Keys are identified by their hash code, and nothing is recorded unless the cache's statistics level is
+ * {@link StatisticsLevel#EXTENDED}. Sampled references are dropped rather than waited for when another thread is recording,
+ * which slightly overestimates reuse distances under heavy contention.
+ *
+ * @author ehcache
+ */
+public class WorkingSetTracker implements WorkingSet {
+
+    /** Default bound on the number of sampled keys. */
+    public static final int DEFAULT_MAX_SAMPLED_KEYS = 4096;
+
+    private static final int REGISTER_BITS = 12;
+    private static final int TAG_BITS = 24;
+    private static final int REGISTERS = 1 << REGISTER_BITS;
+    private static final int TAG_RANGE = 1 << TAG_BITS;
+    private static final int AGING_PERIOD = 1 << 16;
+    private static final int CLOCK_PER_KEY = 4;
+    private static final double HLL_ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    private static final double LINEAR_COUNTING_LIMIT = 2.5 * REGISTERS;
+
+    private static final Comparator<SampledKey> LARGEST_TAG_FIRST = new Comparator<SampledKey>() {
+        @Override
+        public int compare(SampledKey o1, SampledKey o2) {
+            return o2.tag < o1.tag ? -1 : (o2.tag == o1.tag ? 0 : 1);
+        }
+    };
+
+    private final StatisticsLevelSwitch levelSwitch;
+    private final int maxSampledKeys;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile AtomicIntegerArray registers;
+    private volatile int threshold = TAG_RANGE;
+
+    // guarded by lock
+    private final Map<Integer, SampledKey> sampledKeys = new HashMap<Integer, SampledKey>();
+    private final PriorityQueue<SampledKey> byTag = new PriorityQueue<SampledKey>(16, LARGEST_TAG_FIRST);
+    private final long[] recency;
+    private final double[] reuseDistances = new double[HistogramSnapshot.BUCKET_COUNT];
+    private double coldGets;
+    private int clock;
+    private int sampledGets;
+
+    /**
+     * Creates a tracker with the default sampled key bound.
+     *
+     * @param levelSwitch the switch enabling the tracker, may be null in which case the tracker is always enabled
+     */
+    public WorkingSetTracker(StatisticsLevelSwitch levelSwitch) {
+        this(levelSwitch, DEFAULT_MAX_SAMPLED_KEYS);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param levelSwitch the switch enabling the tracker, may be null in which case the tracker is always enabled
+     * @param maxSampledKeys the maximum number of keys sampled at any time
+     */
+    public WorkingSetTracker(StatisticsLevelSwitch levelSwitch, int maxSampledKeys) {
+        if (maxSampledKeys <= 0) {
+            throw new IllegalArgumentException("maxSampledKeys must be positive : " + maxSampledKeys);
+        }
+        this.levelSwitch = levelSwitch;
+        this.maxSampledKeys = maxSampledKeys;
+        this.recency = new long[maxSampledKeys * CLOCK_PER_KEY + 1];
+    }
+
+    /**
+     * Returns the tracker of the given cache, or null if it has none.
+     *
+     * @param cache the cache
+     * @return the cache's working set tracker, or null
+     */
+    public static WorkingSetTracker forCache(Ehcache cache) {
+        return cache instanceof Cache ? ((Cache) cache).getWorkingSetTracker() : null;
+    }
+
+    /**
+     * Records a get of the given key.
+     *
+     * @param key the key, null keys are ignored
+     */
+    public void recordGet(Object key) {
+        record(key, true);
+    }
+
+    /**
+     * Records a put of the given key.
+     *
+     * @param key the key, null keys are ignored
+     */
+    public void recordPut(Object key) {
+        record(key, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean active() {
+        return levelSwitch == null || levelSwitch.isEnabled(StatisticsLevel.EXTENDED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long distinctKeys() {
+        AtomicIntegerArray counts = registers;
+        if (counts == null) {
+            return 0;
+        }
+        double sum = 0;
+        int zeroes = 0;
+        for (int i = 0; i < REGISTERS; i++) {
+            int rank = counts.get(i);
+            if (rank == 0) {
+                zeroes++;
+            }
+            sum += 1.0 / (1L << rank);
+        }
+        double estimate = HLL_ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= LINEAR_COUNTING_LIMIT && zeroes > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeroes);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double hitRatio(long entries) {
+        lock.lock();
+        try {
+            double total = coldGets;
+            double hits = 0;
+            for (int i = 0; i < reuseDistances.length; i++) {
+                double weight = reuseDistances[i];
+                if (weight == 0) {
+                    continue;
+                }
+                total += weight;
+                long lowest = HistogramSnapshot.lowestEquivalentValue(i);
+                long highest = HistogramSnapshot.highestEquivalentValue(i);
+                if (highest < entries) {
+                    hits += weight;
+                } else if (lowest < entries) {
+                    hits += weight * (entries - lowest) / (highest - lowest + 1);
+                }
+            }
+            return total == 0 ? Double.NaN : hits / total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SortedMap<Long, Double> missRatioCurve() {
+        long largest;
+        lock.lock();
+        try {
+            largest = -1;
+            for (int i = reuseDistances.length - 1; i >= 0 && largest < 0; i--) {
+                if (reuseDistances[i] != 0) {
+                    largest = HistogramSnapshot.highestEquivalentValue(i);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        SortedMap<Long, Double> curve = new TreeMap<Long, Double>();
+        if (largest >= 0) {
+            for (long entries = 1; ; entries <<= 1) {
+                curve.put(entries, 1.0 - hitRatio(entries));
+                if (entries > largest) {
+                    break;
+                }
+            }
+        }
+        return curve;
+    }
+
+    /**
+     * Discards everything recorded so far.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            registers = null;
+            threshold = TAG_RANGE;
+            sampledKeys.clear();
+            byTag.clear();
+            clearReferences();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Object key, boolean get) {
+        if (key == null || !active()) {
+            return;
+        }
+        long hash = mix(key.hashCode());
+        countDistinct(hash);
+        int tag = (int) (hash >>> (Long.SIZE - TAG_BITS));
+        if (tag < threshold && lock.tryLock()) {
+            try {
+                if (tag < threshold) {
+                    reference(key.hashCode(), tag, get);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void countDistinct(long hash) {
+        AtomicIntegerArray counts = registers;
+        if (counts == null) {
+            synchronized (this) {
+                counts = registers;
+                if (counts == null) {
+                    counts = new AtomicIntegerArray(REGISTERS);
+                    registers = counts;
+                }
+            }
+        }
+        int index = (int) (hash >>> (Long.SIZE - REGISTER_BITS));
+        int rank = Long.numberOfLeadingZeros((hash << REGISTER_BITS) | (1L << (REGISTER_BITS - 1))) + 1;
+        int current = counts.get(index);
+        while (rank > current && !counts.compareAndSet(index, current, rank)) {
+            current = counts.get(index);
+        }
+    }
+
+    private void reference(int hash, int tag, boolean get) {
+        if (clock + 1 >= recency.length) {
+            compact();
+        }
+        int now = ++clock;
+        double scale = (double) TAG_RANGE / threshold;
+        SampledKey sampled = sampledKeys.get(hash);
+        if (sampled == null) {
+            if (get) {
+                coldGets += scale;
+            }
+            sampled = new SampledKey(hash, tag, now);
+            sampledKeys.put(hash, sampled);
+            byTag.add(sampled);
+            update(now, 1);
+            if (sampledKeys.size() > maxSampledKeys) {
+                lowerThreshold();
+            }
+        } else {
+            if (get) {
+                long distance = sum(now - 1) - sum(sampled.time);
+                reuseDistances[HistogramSnapshot.bucketFor(Math.round(distance * scale))] += scale;
+            }
+            update(sampled.time, -1);
+            sampled.time = now;
+            update(now, 1);
+        }
+        if (get && ++sampledGets == AGING_PERIOD) {
+            sampledGets = 0;
+            coldGets /= 2;
+            for (int i = 0; i < reuseDistances.length; i++) {
+                reuseDistances[i] /= 2;
+            }
+        }
+    }
+
+    private void lowerThreshold() {
+        int newThreshold = byTag.peek().tag;
+        while (!byTag.isEmpty() && byTag.peek().tag >= newThreshold) {
+            SampledKey evicted = byTag.poll();
+            sampledKeys.remove(evicted.hash);
+            update(evicted.time, -1);
+        }
+        threshold = newThreshold;
+    }
+
+    private void compact() {
+        List<SampledKey> keys = new ArrayList<SampledKey>(sampledKeys.values());
+        Collections.sort(keys, new Comparator<SampledKey>() {
+            @Override
+            public int compare(SampledKey o1, SampledKey o2) {
+                return o1.time - o2.time;
+            }
+        });
+        for (int i = 0; i < recency.length; i++) {
+            recency[i] = 0;
+        }
+        clock = 0;
+        for (SampledKey key : keys) {
+            key.time = ++clock;
+            update(key.time, 1);
+        }
+    }
+
+    private void clearReferences() {
+        for (int i = 0; i < recency.length; i++) {
+            recency[i] = 0;
+        }
+        for (int i = 0; i < reuseDistances.length; i++) {
+            reuseDistances[i] = 0;
+        }
+        coldGets = 0;
+        clock = 0;
+        sampledGets = 0;
+    }
+
+    /**
+     * Adds to the Fenwick tree of key last reference times.
+     */
+    private void update(int time, int delta) {
+        for (int i = time; i < recency.length; i += i & -i) {
+            recency[i] += delta;
+        }
+    }
+
+    /**
+     * Number of sampled keys last referenced at or before the given time.
+     */
+    private long sum(int time) {
+        long sum = 0;
+        for (int i = time; i > 0; i -= i & -i) {
+            sum += recency[i];
+        }
+        return sum;
+    }
+
+    private static long mix(int hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * A sampled key with the logical time of its last reference.
+     */
+    private static final class SampledKey {
+
+        private final int hash;
+        private final int tag;
+        private int time;
+
+        SampledKey(int hash, int tag, int time) {
+            this.hash = hash;
+            this.tag = tag;
+            this.time = time;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package net.sf.ehcache.store;
 
 import net.sf.ehcache.Element;
 import net.sf.ehcache.store.compound.ReadWriteCopyStrategy;
+import net.sf.ehcache.store.compound.ReadWriteDeepCopyStrategy;
 
 /**
  * Utility class for handling element copy based on the copy on read and write configurations.
@@ -29,6 +30,7 @@ public class CopyStrategyHandler {
     private final boolean copyOnRead;
     private final boolean copyOnWrite;
     private final ReadWriteCopyStrategy<Element> copyStrategy;
+    private final boolean singleCopy;
     private final ClassLoader loader;
 
 
@@ -43,6 +45,8 @@ public class CopyStrategyHandler {
         this.copyOnRead = copyOnRead;
         this.copyOnWrite = copyOnWrite;
         this.copyStrategy = copyStrategy;
+        // deep copies are plain values, one copy is enough when only one side copies
+        this.singleCopy = copyStrategy instanceof ReadWriteDeepCopyStrategy;
         this.loader = loader;
         if (isCopyActive() && this.copyStrategy == null) {
             throw new IllegalArgumentException("Copy strategy cannot be null with copyOnRead or copyOnWrite true");
@@ -63,6 +67,9 @@ public class CopyStrategyHandler {
         if (copyOnRead && copyOnWrite) {
             return copyStrategy.copyForRead(element, loader);
         } else if (copyOnRead) {
+            if (singleCopy) {
+                return copyStrategy.copyForRead(element, loader);
+            }
             return copyStrategy.copyForRead(copyStrategy.copyForWrite(element, loader), loader);
         } else {
             return element;
@@ -83,6 +90,9 @@ public class CopyStrategyHandler {
         if (copyOnRead && copyOnWrite) {
             return copyStrategy.copyForWrite(element, loader);
         } else if (copyOnWrite) {
+            if (singleCopy) {
+                return copyStrategy.copyForWrite(element, loader);
+            }
             return copyStrategy.copyForRead(copyStrategy.copyForWrite(element, loader), loader);
         } else {
             return element;
@@ -40,6 +40,9 @@ import net.sf.ehcache.pool.impl.UnboundedPool;
 import net.sf.ehcache.search.Attribute;
 import net.sf.ehcache.search.attribute.AttributeExtractor;
 import net.sf.ehcache.search.impl.SearchManager;
+import net.sf.ehcache.statistics.HotKeyTracker;
+import net.sf.ehcache.statistics.StatisticsLevel;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.store.StoreOperationOutcomes.GetOutcome;
 import net.sf.ehcache.store.StoreOperationOutcomes.PutOutcome;
 import net.sf.ehcache.store.StoreOperationOutcomes.RemoveOutcome;
@@ -98,7 +101,7 @@ public class MemoryStore extends AbstractStore implements CacheConfigurationList
     /**
      * Eviction outcome observer
      */
-    protected final OperationObserver<EvictionOutcome> evictionObserver = operation(EvictionOutcome.class).named("eviction").of(this).build();
+    protected final OperationObserver<EvictionOutcome> evictionObserver;
 
     /**
      * The cache this store is associated with.
@@ -111,9 +114,9 @@ public class MemoryStore extends AbstractStore implements CacheConfigurationList
     private final SelectableConcurrentHashMap map;
     private final PoolAccessor poolAccessor;
 
-    private final OperationObserver<GetOutcome> getObserver = operation(GetOutcome.class).named("get").of(this).tag("local-heap").build();
-    private final OperationObserver<PutOutcome> putObserver = operation(PutOutcome.class).named("put").of(this).tag("local-heap").build();
-    private final OperationObserver<RemoveOutcome> removeObserver = operation(RemoveOutcome.class).named("remove").of(this).tag("local-heap").build();
+    private final OperationObserver<GetOutcome> getObserver;
+    private final OperationObserver<PutOutcome> putObserver;
+    private final OperationObserver<RemoveOutcome> removeObserver;
 
     private final boolean storePinned;
     private final CopyStrategyHandler copyStrategyHandler;
@@ -150,6 +153,13 @@ public class MemoryStore extends AbstractStore implements CacheConfigurationList
         super(searchManager, cache.getName());
         status = Status.STATUS_UNINITIALISED;
         this.cache = cache;
+        StatisticsLevelSwitch levelSwitch = StatisticsLevelSwitch.forCache(cache);
+        this.evictionObserver = operation(EvictionOutcome.class).named("eviction").of(this).switchedBy(levelSwitch).build();
+        // the pool participant derives its hit rate from the get statistic, so bounded pools always record it
+        this.getObserver = operation(GetOutcome.class).named("get").of(this).tag("local-heap").switchedBy(levelSwitch)
+            .minimumLevel(pool instanceof UnboundedPool ? StatisticsLevel.CORE : StatisticsLevel.OFF).build();
+        this.putObserver = operation(PutOutcome.class).named("put").of(this).tag("local-heap").switchedBy(levelSwitch).build();
+        this.removeObserver = operation(RemoveOutcome.class).named("remove").of(this).tag("local-heap").switchedBy(levelSwitch).build();
         this.maximumSize = (int) cache.getCacheConfiguration().getMaxEntriesLocalHeap();
         this.policy = determineEvictionPolicy(cache);
         if (pool instanceof UnboundedPool) {
@@ -174,6 +184,21 @@ public class MemoryStore extends AbstractStore implements CacheConfigurationList
             this.map = factory.newBackingMap(poolAccessor, CONCURRENCY_LEVEL, maximumCapacity, eventListener);
         }
 
+        HotKeyTracker hotKeyTracker = HotKeyTracker.forCache(cache);
+        if (hotKeyTracker != null) {
+            hotKeyTracker.registerSegments("local-heap", new HotKeyTracker.SegmentLocator() {
+                @Override
+                public int getSegmentCount() {
+                    return map.locks().length;
+                }
+
+                @Override
+                public int segmentIndexFor(Object key) {
+                    return map.segmentIndexFor(key);
+                }
+            });
+        }
+
         this.status = Status.STATUS_ALIVE;
 
         if (LOG.isDebugEnabled()) {
@@ -1062,7 +1087,7 @@ public class MemoryStore extends AbstractStore implements CacheConfigurationList
         private final EventRateSimpleMovingAverage missRate = new EventRateSimpleMovingAverage(1, TimeUnit.SECONDS);
 
         private Participant() {
-            OperationStatistic<GetOutcome> getStatistic = StatisticsManager.getOperationStatisticFor(getObserver);
+            OperationStatistic<GetOutcome> getStatistic = StatisticsManager.getOperationStatisticFor(StatisticsLevelSwitch.unwrap(getObserver));
             getStatistic.addDerivedStatistic(new OperationResultFilter<GetOutcome>(EnumSet.of(GetOutcome.HIT), hitRate));
             getStatistic.addDerivedStatistic(new OperationResultFilter<GetOutcome>(EnumSet.of(GetOutcome.MISS), missRate));
         }
@@ -26,6 +26,7 @@ import net.sf.ehcache.pool.Size;
 import net.sf.ehcache.pool.SizeOfEngine;
 import net.sf.ehcache.pool.SizeOfEngineLoader;
 import net.sf.ehcache.pool.sizeof.annotations.IgnoreSizeOf;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.store.CachingTier;
 import net.sf.ehcache.store.FifoPolicy;
 import net.sf.ehcache.store.LfuPolicy;
@@ -64,9 +65,9 @@ public class OnHeapCachingTier<K, V> implements CachingTier<K, V> {
     @ContextChild
     private final HeapCacheBackEnd<K, Object> backEnd;
 
-    private final OperationObserver<GetOutcome> getObserver = operation(GetOutcome.class).named("get").of(this).tag("local-heap").build();
-    private final OperationObserver<PutOutcome> putObserver = operation(PutOutcome.class).named("put").of(this).tag("local-heap").build();
-    private final OperationObserver<RemoveOutcome> removeObserver = operation(RemoveOutcome.class).named("remove").of(this).tag("local-heap").build();
+    private final OperationObserver<GetOutcome> getObserver;
+    private final OperationObserver<PutOutcome> putObserver;
+    private final OperationObserver<RemoveOutcome> removeObserver;
 
 
     private volatile List<Listener<K, V>> listeners = new CopyOnWriteArrayList<Listener<K, V>>();
@@ -77,7 +78,20 @@ public class OnHeapCachingTier<K, V> implements CachingTier<K, V> {
      * @param backEnd the HeapCacheBackEnd that will back this CachingTier
      */
     public OnHeapCachingTier(final HeapCacheBackEnd<K, Object> backEnd) {
+        this(backEnd, null);
+    }
+
+    /**
+     * A Constructor
+     *
+     * @param backEnd the HeapCacheBackEnd that will back this CachingTier
+     * @param levelSwitch the statistics level switch of the cache, may be null
+     */
+    public OnHeapCachingTier(final HeapCacheBackEnd<K, Object> backEnd, final StatisticsLevelSwitch levelSwitch) {
         this.backEnd = backEnd;
+        this.getObserver = operation(GetOutcome.class).named("get").of(this).tag("local-heap").switchedBy(levelSwitch).build();
+        this.putObserver = operation(PutOutcome.class).named("put").of(this).tag("local-heap").switchedBy(levelSwitch).build();
+        this.removeObserver = operation(RemoveOutcome.class).named("remove").of(this).tag("local-heap").switchedBy(levelSwitch).build();
         this.backEnd.registerEvictionCallback(new HeapCacheBackEnd.EvictionCallback<K, Object>() {
             @Override
             public void evicted(final K key, final Object value) {
@@ -124,7 +138,7 @@ public class OnHeapCachingTier<K, V> implements CachingTier<K, V> {
         }
 
         return new OnHeapCachingTier<Object, Element>(
-            memCacheBackEnd);
+            memCacheBackEnd, StatisticsLevelSwitch.forCache(cache));
     }
 
     /**
@@ -319,6 +319,16 @@ public class SelectableConcurrentHashMap {
         return segments;
     }
 
+    /**
+     * Returns the index of the segment (as found in {@link #locks()}) the given key maps to.
+     *
+     * @param key the key
+     * @return the segment index
+     */
+    public int segmentIndexFor(Object key) {
+        return (hash(key.hashCode()) >>> segmentShift) & segmentMask;
+    }
+
     public Element get(Object key) {
         int hash = hash(key.hashCode());
         return segmentFor(hash).get(key, hash);
@@ -0,0 +1,411 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.store.compound;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import net.sf.ehcache.CacheException;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.util.PreferredLoaderObjectInputStream;
+import net.sf.ehcache.util.WeakIdentityConcurrentMap;
+
+/**
+ * A copy strategy that deep copies values field by field instead of serializing them.
+ * <p>
+ * A copy plan is built, and cached, the first time a class is met:
+ * <ul>
+ * <li>immutable types (strings, boxed primitives, enums, {@code BigInteger}, {@code BigDecimal}, {@code java.time} types...)
+ * are shared rather than copied</li>
+ * <li>arrays, dates and the common {@code java.util} lists, sets and maps are copied directly</li>
+ * <li>other serializable classes with a no-arg constructor and no custom serialization methods are instantiated through that
+ * constructor and their non-transient fields copied one by one</li>
+ * <li>everything else is copied by serialization, as {@link ReadWriteSerializationCopyStrategy} would</li>
+ * </ul>
+ * Shared references and cycles within a value are preserved. As with serialization, transient fields are not copied: they
+ * keep the value given to them by the no-arg constructor.
+ * <p>
+ * Stored values are deep copies rather than byte arrays, so this strategy avoids serialization on both reads and writes.
+ * It can be configured as the {@code copyStrategy} class of a copy on read or copy on write cache; when only one of the two
+ * is enabled, values are copied once rather than twice.
+ *
+ * @author ehcache
+ */
+public class ReadWriteDeepCopyStrategy implements ReadWriteCopyStrategy<Element> {
+
+    private static final long serialVersionUID = -2718093260484739815L;
+
+    private static final String NOT_SERIALIZABLE_MESSAGE =
+            "When configured copyOnRead or copyOnWrite, a Store will only accept Serializable values";
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>();
+
+    static {
+        Class<?>[] immutables = {String.class, Boolean.class, Byte.class, Character.class, Short.class, Integer.class,
+            Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class, Class.class, UUID.class, Locale.class,
+            URI.class, Pattern.class};
+        for (Class<?> type : immutables) {
+            IMMUTABLE_TYPES.add(type);
+        }
+    }
+
+    private static final CopyPlan IMMUTABLE = new CopyPlan() {
+        @Override
+        Object copy(Object original, CopyContext context) {
+            return original;
+        }
+    };
+
+    private static final CopyPlan SERIALIZATION = new CopyPlan() {
+        @Override
+        Object copy(Object original, CopyContext context) throws Exception {
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(bout);
+            try {
+                oos.writeObject(original);
+            } finally {
+                oos.close();
+            }
+            ObjectInputStream ois = new PreferredLoaderObjectInputStream(new ByteArrayInputStream(bout.toByteArray()), context.loader);
+            try {
+                return context.register(original, ois.readObject());
+            } finally {
+                ois.close();
+            }
+        }
+    };
+
+    private static final CopyPlan PRIMITIVE_ARRAY = new CopyPlan() {
+        @Override
+        Object copy(Object original, CopyContext context) {
+            int length = Array.getLength(original);
+            Object copy = Array.newInstance(original.getClass().getComponentType(), length);
+            System.arraycopy(original, 0, copy, 0, length);
+            return context.register(original, copy);
+        }
+    };
+
+    private static final CopyPlan OBJECT_ARRAY = new CopyPlan() {
+        @Override
+        Object copy(Object original, CopyContext context) throws Exception {
+            Object[] source = (Object[]) original;
+            Object[] copy = (Object[]) Array.newInstance(original.getClass().getComponentType(), source.length);
+            context.register(original, copy);
+            for (int i = 0; i < source.length; i++) {
+                copy[i] = context.copy(source[i]);
+            }
+            return copy;
+        }
+    };
+
+    private static final CopyPlan DATE = new CopyPlan() {
+        @Override
+        Object copy(Object original, CopyContext context) {
+            return context.register(original, ((Date) original).clone());
+        }
+    };
+
+    private static final CopyPlan COLLECTION = new CopyPlan() {
+        @Override
+        Object copy(Object original, CopyContext context) throws Exception {
+            Collection<Object> source = (Collection<Object>) original;
+            Collection<Object> copy;
+            if (original instanceof TreeSet) {
+                copy = new TreeSet<Object>(((TreeSet<Object>) original).comparator());
+            } else if (original instanceof ArrayList) {
+                copy = new ArrayList<Object>(source.size());
+            } else {
+                copy = (Collection<Object>) original.getClass().newInstance();
+            }
+            context.register(original, copy);
+            for (Object o : source) {
+                copy.add(context.copy(o));
+            }
+            return copy;
+        }
+    };
+
+    private static final CopyPlan MAP = new CopyPlan() {
+        @Override
+        Object copy(Object original, CopyContext context) throws Exception {
+            Map<Object, Object> source = (Map<Object, Object>) original;
+            Map<Object, Object> copy;
+            if (original instanceof TreeMap) {
+                copy = new TreeMap<Object, Object>(((TreeMap<Object, Object>) original).comparator());
+            } else {
+                copy = (Map<Object, Object>) original.getClass().newInstance();
+            }
+            context.register(original, copy);
+            for (Map.Entry<Object, Object> e : source.entrySet()) {
+                copy.put(context.copy(e.getKey()), context.copy(e.getValue()));
+            }
+            return copy;
+        }
+    };
+
+    private static final Set<Class<?>> COLLECTION_TYPES = new HashSet<Class<?>>();
+    private static final Set<Class<?>> MAP_TYPES = new HashSet<Class<?>>();
+
+    static {
+        Class<?>[] collections = {ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, TreeSet.class};
+        for (Class<?> type : collections) {
+            COLLECTION_TYPES.add(type);
+        }
+        Class<?>[] maps = {HashMap.class, TreeMap.class, ConcurrentHashMap.class};
+        for (Class<?> type : maps) {
+            MAP_TYPES.add(type);
+        }
+    }
+
+    private final ReadWriteSerializationCopyStrategy elementDuplicator = new ReadWriteSerializationCopyStrategy();
+
+    // plans hold the fields and constructors of their class: softly held so they do not pin the class and its loader
+    private transient volatile WeakIdentityConcurrentMap<Class<?>, SoftReference<CopyPlan>> plans;
+
+    /**
+     * Deep copies some object and returns an internal storage-ready copy
+     *
+     * @param value the value to copy
+     * @return the storage-ready copy
+     */
+    public Element copyForWrite(Element value, ClassLoader loader) {
+        if (value == null) {
+            return null;
+        }
+        return elementDuplicator.duplicateElementWithNewValue(value, copy(value.getObjectValue(), loader));
+    }
+
+    /**
+     * Reconstruct an object from its storage-ready copy.
+     *
+     * @param storedValue the storage-ready copy
+     * @return the original object
+     */
+    public Element copyForRead(Element storedValue, ClassLoader loader) {
+        if (storedValue == null) {
+            return null;
+        }
+        return elementDuplicator.duplicateElementWithNewValue(storedValue, copy(storedValue.getObjectValue(), loader));
+    }
+
+    /**
+     * Deep copies a value.
+     *
+     * @param value  the value to copy
+     * @param loader the classloader used should the value need to be deserialized
+     * @return the copy
+     */
+    Object copy(Object value, ClassLoader loader) {
+        if (value == null) {
+            return null;
+        }
+        CopyPlan plan = planFor(value.getClass());
+        if (plan == IMMUTABLE) {
+            return value;
+        }
+        try {
+            return plan.copy(value, new CopyContext(loader));
+        } catch (CacheException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CacheException(NOT_SERIALIZABLE_MESSAGE, e);
+        }
+    }
+
+    private CopyPlan planFor(Class<?> type) {
+        WeakIdentityConcurrentMap<Class<?>, SoftReference<CopyPlan>> cache = plans;
+        if (cache == null) {
+            cache = new WeakIdentityConcurrentMap<Class<?>, SoftReference<CopyPlan>>();
+            plans = cache;
+        }
+        SoftReference<CopyPlan> ref = cache.get(type);
+        CopyPlan plan = ref != null ? ref.get() : null;
+        if (plan == null) {
+            plan = createPlan(type);
+            cache.put(type, new SoftReference<CopyPlan>(plan));
+        }
+        return plan;
+    }
+
+    private CopyPlan createPlan(Class<?> type) {
+        if (IMMUTABLE_TYPES.contains(type) || Enum.class.isAssignableFrom(type) || isJavaTimeType(type)) {
+            return IMMUTABLE;
+        } else if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? PRIMITIVE_ARRAY : OBJECT_ARRAY;
+        } else if (type == Date.class || type == java.sql.Date.class || type == java.sql.Timestamp.class) {
+            return DATE;
+        } else if (COLLECTION_TYPES.contains(type)) {
+            return COLLECTION;
+        } else if (MAP_TYPES.contains(type)) {
+            return MAP;
+        }
+        try {
+            CopyPlan plan = FieldCopyPlan.create(type);
+            return plan == null ? SERIALIZATION : plan;
+        } catch (RuntimeException e) {
+            // the type cannot be reflected upon (e.g. closed module), serialization will have to do
+            return SERIALIZATION;
+        }
+    }
+
+    private static boolean isJavaTimeType(Class<?> type) {
+        return type.getName().startsWith("java.time.") && Modifier.isFinal(type.getModifiers());
+    }
+
+    /**
+     * How to deep copy instances of one class.
+     */
+    private abstract static class CopyPlan {
+
+        abstract Object copy(Object original, CopyContext context) throws Exception;
+    }
+
+    /**
+     * Copies the fields of a plain serializable class one by one.
+     */
+    private static final class FieldCopyPlan extends CopyPlan {
+
+        private final Constructor<?> constructor;
+        private final Field[] fields;
+
+        private FieldCopyPlan(Constructor<?> constructor, Field[] fields) {
+            this.constructor = constructor;
+            this.fields = fields;
+        }
+
+        static FieldCopyPlan create(Class<?> type) {
+            if (!Serializable.class.isAssignableFrom(type) || Externalizable.class.isAssignableFrom(type)
+                || type.isSynthetic() || Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            List<Field> fields = new ArrayList<Field>();
+            for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                if (isPlatformType(c) || hasSerializationMethods(c)) {
+                    return null;
+                }
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            Constructor<?> constructor;
+            try {
+                constructor = type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+            constructor.setAccessible(true);
+            return new FieldCopyPlan(constructor, fields.toArray(new Field[fields.size()]));
+        }
+
+        @Override
+        Object copy(Object original, CopyContext context) throws Exception {
+            Object copy = constructor.newInstance();
+            context.register(original, copy);
+            for (Field field : fields) {
+                if (field.getType().isPrimitive()) {
+                    field.set(copy, field.get(original));
+                } else {
+                    field.set(copy, context.copy(field.get(original)));
+                }
+            }
+            return copy;
+        }
+
+        private static boolean isPlatformType(Class<?> c) {
+            String name = c.getName();
+            return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("com.sun.");
+        }
+
+        private static boolean hasSerializationMethods(Class<?> c) {
+            for (Method method : c.getDeclaredMethods()) {
+                String name = method.getName();
+                int parameters = method.getParameterTypes().length;
+                if ((parameters == 1 && ("writeObject".equals(name) || "readObject".equals(name)))
+                    || (parameters == 0 && ("writeReplace".equals(name) || "readResolve".equals(name) || "readObjectNoData".equals(name)))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * State of a single deep copy, mapping the originals already copied to their copies.
+     */
+    private final class CopyContext {
+
+        private final ClassLoader loader;
+        private final Map<Object, Object> copies = new IdentityHashMap<Object, Object>();
+
+        private CopyContext(ClassLoader loader) {
+            this.loader = loader;
+        }
+
+        Object copy(Object original) throws Exception {
+            if (original == null) {
+                return null;
+            }
+            CopyPlan plan = planFor(original.getClass());
+            if (plan == IMMUTABLE) {
+                return original;
+            }
+            Object copy = copies.get(original);
+            if (copy == null) {
+                copy = plan.copy(original, this);
+            }
+            return copy;
+        }
+
+        Object register(Object original, Object copy) {
+            copies.put(original, copy);
+            return copy;
+        }
+    }
+}
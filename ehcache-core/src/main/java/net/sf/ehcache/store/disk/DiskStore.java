@@ -34,6 +34,9 @@ import net.sf.ehcache.pool.Pool;
 import net.sf.ehcache.pool.PoolAccessor;
 import net.sf.ehcache.pool.PoolParticipant;
 import net.sf.ehcache.pool.impl.UnboundedPool;
+import net.sf.ehcache.statistics.HotKeyTracker;
+import net.sf.ehcache.statistics.StatisticsLevel;
+import net.sf.ehcache.statistics.StatisticsLevelSwitch;
 import net.sf.ehcache.store.AbstractStore;
 import net.sf.ehcache.store.AuthoritativeTier;
 import net.sf.ehcache.store.CacheStore;
@@ -103,10 +106,10 @@ public final class DiskStore extends AbstractStore implements StripedReadWriteLo
     private final Segment[] segments;
     private final int segmentShift;
     private final AtomicReference<Status> status = new AtomicReference<Status>(Status.STATUS_UNINITIALISED);
-    private final OperationObserver<GetOutcome> getObserver = operation(GetOutcome.class).of(this).named("get").tag("local-disk").build();
-    private final OperationObserver<PutOutcome> putObserver = operation(PutOutcome.class).of(this).named("put").tag("local-disk").build();
-    private final OperationObserver<RemoveOutcome> removeObserver = operation(RemoveOutcome.class).of(this).named("remove").tag("local-disk").build();
-    private final OperationObserver<EvictionOutcome> evictionObserver = operation(EvictionOutcome.class).named("eviction").of(this).build();
+    private final OperationObserver<GetOutcome> getObserver;
+    private final OperationObserver<PutOutcome> putObserver;
+    private final OperationObserver<RemoveOutcome> removeObserver;
+    private final OperationObserver<EvictionOutcome> evictionObserver;
     private final PoolAccessor onHeapPoolAccessor;
     private final PoolAccessor onDiskPoolAccessor;
 
@@ -117,9 +120,18 @@ public final class DiskStore extends AbstractStore implements StripedReadWriteLo
         this.segments = new Segment[DEFAULT_SEGMENT_COUNT];
         this.segmentShift = Integer.numberOfLeadingZeros(segments.length - 1);
 
+        StatisticsLevelSwitch levelSwitch = StatisticsLevelSwitch.forCache(cache);
+        // the pool participants derive their hit rates from the get statistic, so bounded pools always record it
+        boolean unboundedPools = onHeapPool instanceof UnboundedPool && onDiskPool instanceof UnboundedPool;
+        this.getObserver = operation(GetOutcome.class).of(this).named("get").tag("local-disk").switchedBy(levelSwitch)
+            .minimumLevel(unboundedPools ? StatisticsLevel.CORE : StatisticsLevel.OFF).build();
+        this.putObserver = operation(PutOutcome.class).of(this).named("put").tag("local-disk").switchedBy(levelSwitch).build();
+        this.removeObserver = operation(RemoveOutcome.class).of(this).named("remove").tag("local-disk").switchedBy(levelSwitch).build();
+        this.evictionObserver = operation(EvictionOutcome.class).named("eviction").of(this).switchedBy(levelSwitch).build();
+
         EventRateSimpleMovingAverage hitRate = new EventRateSimpleMovingAverage(1, TimeUnit.SECONDS);
         EventRateSimpleMovingAverage missRate = new EventRateSimpleMovingAverage(1, TimeUnit.SECONDS);
-        OperationStatistic<GetOutcome> getStatistic = StatisticsManager.getOperationStatisticFor(getObserver);
+        OperationStatistic<GetOutcome> getStatistic = StatisticsManager.getOperationStatisticFor(StatisticsLevelSwitch.unwrap(getObserver));
         getStatistic.addDerivedStatistic(new OperationResultFilter<GetOutcome>(EnumSet.of(GetOutcome.HIT), hitRate));
         getStatistic.addDerivedStatistic(new OperationResultFilter<GetOutcome>(EnumSet.of(GetOutcome.MISS), missRate));
 
@@ -134,6 +146,21 @@ public final class DiskStore extends AbstractStore implements StripedReadWriteLo
                     cache.getCacheEventNotificationService(), evictionObserver);
         }
 
+        HotKeyTracker hotKeyTracker = HotKeyTracker.forCache(cache);
+        if (hotKeyTracker != null) {
+            hotKeyTracker.registerSegments("local-disk", new HotKeyTracker.SegmentLocator() {
+                @Override
+                public int getSegmentCount() {
+                    return segments.length;
+                }
+
+                @Override
+                public int segmentIndexFor(Object key) {
+                    return hash(key.hashCode()) >>> segmentShift;
+                }
+            });
+        }
+
         this.disk = disk;
         this.disk.bind(this);
         this.status.set(Status.STATUS_ALIVE);
@@ -16,19 +16,30 @@
 
 package net.sf.ehcache.terracotta;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import net.sf.ehcache.DiskStorePathManager;
 import net.sf.ehcache.util.PreferredLoaderObjectInputStream;
@@ -38,6 +49,14 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A file will rotate on every write, so to never loose older values in case of a JVM crash
+ * <p>
+ * Keys are spread by hash code over blocks, each block holding its keys serialized and deflated, behind a header recording
+ * every block's key count, length and a fingerprint of its keys' hash codes. A block whose fingerprint and key count are
+ * unchanged since the previous snapshot is copied from it as is rather than serialized again, so a snapshot costs little
+ * more than a pass over the key set when few keys changed. As the fingerprint only covers hash codes, replacing a key by
+ * another one with the same hash code can go unnoticed until the block changes otherwise: snapshots are a bootstrap hint.
+ * Blocks can be decoded independently, see {@link #readBlocks()}.
+ * Snapshots written in the former single {@link ObjectOutputStream} format can still be read.
  *
  * @author Alex Snaps
  */
@@ -49,6 +68,14 @@ class RotatingSnapshotFile {
     private static final String SUFFIX_PROGRESS = SUFFIX_OK + ".temp";
     private static final String SUFFIX_MOVE = SUFFIX_OK + ".old";
 
+    private static final int MAGIC = 0x4B534E50;
+    private static final int HEADER_SIZE = 8;
+    private static final int BLOCK_ENTRY_SIZE = 16;
+    private static final int MAX_BLOCKS = 1 << 16;
+    private static final int BLOCK_COUNT_SLACK = 4;
+    private static final int KEYS_PER_BLOCK = Math.max(1,
+        Integer.getInteger("net.sf.ehcache.terracotta.RotatingSnapshotFile.keysPerBlock", 1024));
+
     private volatile boolean shutdownOnThreadInterrupted;
     private final String cacheName;
 
@@ -84,6 +111,8 @@ class RotatingSnapshotFile {
     void writeAll(final Iterable localKeys) throws IOException {
         writeLock.lock();
         long writtenKeys = 0;
+        int rewrittenBlocks = 0;
+        int blockCount = 0;
         try {
             File inProgress = newSnapshotFile();
 
@@ -92,24 +121,57 @@ class RotatingSnapshotFile {
                 throw new AssertionError("The file '" + inProgress.getAbsolutePath() + "' exists already!");
             }
 
-            final FileOutputStream fileOutputStream = new FileOutputStream(inProgress);
-            final ObjectOutputStream oos = new ObjectOutputStream(fileOutputStream);
+            final BlockIndex previous = readIndex(currentSnapshotFile());
+            blockCount = blockCountFor(localKeys, previous);
+            final List<Object>[] blocks = new List[blockCount];
+            final BlockIndex index = new BlockIndex(blockCount);
+            for (Object localKey : localKeys) {
+                if (shutdownOnThreadInterrupted && Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                final int hash = localKey.hashCode();
+                final int block = blockFor(hash, blockCount);
+                if (blocks[block] == null) {
+                    blocks[block] = new ArrayList<Object>();
+                }
+                blocks[block].add(localKey);
+                index.fingerprints[block] += fingerprintOf(hash);
+                ++writtenKeys;
+            }
 
+            final RandomAccessFile out = new RandomAccessFile(inProgress, "rw");
+            final RandomAccessFile in = previous != null && previous.blockCount == blockCount
+                ? new RandomAccessFile(currentSnapshotFile(), "r") : null;
             try {
-                for (Object localKey : localKeys) {
+                out.seek(index.headerSize());
+                for (int i = 0; i < blockCount; i++) {
                     if (shutdownOnThreadInterrupted && Thread.currentThread().isInterrupted()) {
                         return;
                     }
-                    oos.writeObject(localKey);
-                    ++writtenKeys;
+                    index.keyCounts[i] = blocks[i] == null ? 0 : blocks[i].size();
+                    final byte[] bytes;
+                    if (in != null && previous.fingerprints[i] == index.fingerprints[i] && previous.keyCounts[i] == index.keyCounts[i]) {
+                        bytes = previous.readBlock(in, i);
+                    } else {
+                        bytes = serialize(blocks[i]);
+                        ++rewrittenBlocks;
+                    }
+                    blocks[i] = null;
+                    out.write(bytes);
+                    index.lengths[i] = bytes.length;
                 }
+                out.seek(0);
+                out.write(index.toHeader());
             } finally {
-                fileOutputStream.close();
+                out.close();
+                if (in != null) {
+                    in.close();
+                }
             }
 
             swapForOldWithNewSnapshot(inProgress);
         } finally {
-            LOG.info("Did a snapshot of " + writtenKeys + " local keys");
+            LOG.info("Did a snapshot of " + writtenKeys + " local keys, rewriting " + rewrittenBlocks + " of " + blockCount + " blocks");
             writeLock.unlock();
         }
     }
@@ -122,6 +184,21 @@ class RotatingSnapshotFile {
      * @throws IOException If the underlying FileInputStream does throw
      */
     <T> Set<T> readAll() throws IOException {
+        final Set<T> values = new HashSet<T>();
+        for (KeyBlock block : readBlocks()) {
+            values.addAll((Set<T>)block.decode());
+        }
+        return Collections.unmodifiableSet(values);
+    }
+
+    /**
+     * Reads the blocks of keys from the file on disk, doing cleanup if required of previously unterminated file written to.
+     * Keys are only deserialized when a block is decoded, which can happen concurrently for different blocks.
+     *
+     * @return the blocks of the latest uncorrupted file on disk, each holding keys no other block holds
+     * @throws IOException If the underlying FileInputStream does throw
+     */
+    List<KeyBlock> readBlocks() throws IOException {
 
         cleanUp();
 
@@ -130,38 +207,150 @@ class RotatingSnapshotFile {
 
             final File currentSnapshot = currentSnapshotFile();
             if (!currentSnapshot.exists()) {
-                return Collections.emptySet();
+                return Collections.emptyList();
             }
 
-            final Set<T> values = new HashSet<T>();
-            FileInputStream fis = new FileInputStream(currentSnapshot);
+            final BlockIndex index = readIndex(currentSnapshot);
+            if (index == null) {
+                final Set<Object> values = readLegacy(currentSnapshot);
+                return Collections.singletonList(new KeyBlock(values));
+            }
+
+            final List<KeyBlock> blocks = new ArrayList<KeyBlock>();
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(currentSnapshot)));
             try {
-                ObjectInputStream ois = new PreferredLoaderObjectInputStream(fis, classLoader);
-                boolean eof = false;
-                while (!eof) {
-                    try {
-                        values.add((T)ois.readObject());
-                    } catch (Exception e) {
-                        if (e instanceof EOFException) {
-                            eof = true;
-                        }
-                        // Ignore all other errors, and keep on trying to load keys
+                in.skipBytes(index.headerSize());
+                for (int i = 0; i < index.blockCount; i++) {
+                    final byte[] bytes = new byte[index.lengths[i]];
+                    in.readFully(bytes);
+                    if (index.keyCounts[i] > 0) {
+                        blocks.add(new KeyBlock(bytes, index.keyCounts[i], classLoader));
                     }
                 }
+            } catch (IOException e) {
+                LOG.error("Couldn't read all blocks of snapshot {}", currentSnapshot.getAbsolutePath(), e);
+            } finally {
+                in.close();
+            }
+            return blocks;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private Set<Object> readLegacy(final File currentSnapshot) throws IOException {
+        final Set<Object> values = new HashSet<Object>();
+        FileInputStream fis = new FileInputStream(currentSnapshot);
+        try {
+            ObjectInputStream ois = new PreferredLoaderObjectInputStream(fis, classLoader);
+            boolean eof = false;
+            while (!eof) {
                 try {
-                    ois.close();
-                } catch (IOException e) {
-                    LOG.error("Error closing ObjectInputStream", e);
-                    closeAndDeleteAssociatedFileOnFailure(fis, currentSnapshot);
+                    values.add(ois.readObject());
+                } catch (Exception e) {
+                    if (e instanceof EOFException) {
+                        eof = true;
+                    }
+                    // Ignore all other errors, and keep on trying to load keys
                 }
-
+            }
+            try {
+                ois.close();
             } catch (IOException e) {
+                LOG.error("Error closing ObjectInputStream", e);
                 closeAndDeleteAssociatedFileOnFailure(fis, currentSnapshot);
             }
-            return Collections.unmodifiableSet(values);
+
+        } catch (IOException e) {
+            closeAndDeleteAssociatedFileOnFailure(fis, currentSnapshot);
+        }
+        return values;
+    }
+
+    /**
+     * Reads the block index of the given snapshot
+     *
+     * @return the index, or null if there is no snapshot, or if it isn't a readable snapshot in the block format
+     */
+    private static BlockIndex readIndex(final File snapshot) {
+        if (!snapshot.exists()) {
+            return null;
+        }
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshot)));
+            try {
+                if (in.readInt() != MAGIC) {
+                    return null;
+                }
+                final int blockCount = in.readInt();
+                if (blockCount <= 0 || blockCount > MAX_BLOCKS) {
+                    return null;
+                }
+                final BlockIndex index = new BlockIndex(blockCount);
+                long expectedLength = index.headerSize();
+                for (int i = 0; i < blockCount; i++) {
+                    index.fingerprints[i] = in.readLong();
+                    index.keyCounts[i] = in.readInt();
+                    index.lengths[i] = in.readInt();
+                    expectedLength += index.lengths[i];
+                }
+                return expectedLength == snapshot.length() ? index : null;
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            LOG.debug("Couldn't read block index of snapshot {}", snapshot.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    private static int blockCountFor(final Iterable localKeys, final BlockIndex previous) {
+        if (!(localKeys instanceof Collection)) {
+            return previous != null ? previous.blockCount : 1;
+        }
+        final long size = ((Collection)localKeys).size();
+        // stick to the previous layout while it is roughly right, as changing it means rewriting every block
+        if (previous != null && size <= (long)previous.blockCount * KEYS_PER_BLOCK * BLOCK_COUNT_SLACK
+            && (previous.blockCount == 1 || size * BLOCK_COUNT_SLACK >= (long)previous.blockCount * KEYS_PER_BLOCK)) {
+            return previous.blockCount;
+        }
+        int blockCount = 1;
+        while (blockCount < MAX_BLOCKS && (long)blockCount * KEYS_PER_BLOCK < size) {
+            blockCount <<= 1;
+        }
+        return blockCount;
+    }
+
+    private static int blockFor(final int hash, final int blockCount) {
+        final int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (blockCount - 1);
+    }
+
+    private static long fingerprintOf(final int hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static byte[] serialize(final List<Object> keys) throws IOException {
+        if (keys == null) {
+            return new byte[0];
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            final ObjectOutputStream oos = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater));
+            for (Object key : keys) {
+                oos.writeObject(key);
+            }
+            oos.close();
         } finally {
-            readLock.unlock();
+            deflater.end();
         }
+        return bytes.toByteArray();
     }
 
     private void cleanUp() {
@@ -276,4 +465,122 @@ class RotatingSnapshotFile {
             writeLock.unlock();
         }
     }
+
+    /**
+     * Header of a snapshot in the block format: the key count, length and fingerprint of every block
+     */
+    private static final class BlockIndex {
+
+        private final int blockCount;
+        private final long[] fingerprints;
+        private final int[] keyCounts;
+        private final int[] lengths;
+        private long[] offsets;
+
+        BlockIndex(final int blockCount) {
+            this.blockCount = blockCount;
+            this.fingerprints = new long[blockCount];
+            this.keyCounts = new int[blockCount];
+            this.lengths = new int[blockCount];
+        }
+
+        int headerSize() {
+            return HEADER_SIZE + blockCount * BLOCK_ENTRY_SIZE;
+        }
+
+        byte[] toHeader() throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(headerSize());
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                out.writeLong(fingerprints[i]);
+                out.writeInt(keyCounts[i]);
+                out.writeInt(lengths[i]);
+            }
+            out.close();
+            return bytes.toByteArray();
+        }
+
+        byte[] readBlock(final RandomAccessFile snapshot, final int block) throws IOException {
+            if (offsets == null) {
+                offsets = new long[blockCount];
+                long offset = headerSize();
+                for (int i = 0; i < blockCount; i++) {
+                    offsets[i] = offset;
+                    offset += lengths[i];
+                }
+            }
+            final byte[] bytes = new byte[lengths[block]];
+            snapshot.seek(offsets[block]);
+            snapshot.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * A block of keys read from a snapshot
+     */
+    static final class KeyBlock {
+
+        private final byte[] bytes;
+        private final int keyCount;
+        private final ClassLoader classLoader;
+        private final Set<Object> keys;
+
+        private KeyBlock(final byte[] bytes, final int keyCount, final ClassLoader classLoader) {
+            this.bytes = bytes;
+            this.keyCount = keyCount;
+            this.classLoader = classLoader;
+            this.keys = null;
+        }
+
+        private KeyBlock(final Set<Object> keys) {
+            this.bytes = null;
+            this.keyCount = keys.size();
+            this.classLoader = null;
+            this.keys = keys;
+        }
+
+        /**
+         * The number of keys recorded in this block, duplicates included
+         *
+         * @return the key count
+         */
+        int keyCount() {
+            return keyCount;
+        }
+
+        /**
+         * Deserializes the keys of this block, skipping the ones that can't be
+         *
+         * @return the keys
+         */
+        Set<Object> decode() {
+            if (keys != null) {
+                return keys;
+            }
+            final Set<Object> values = new HashSet<Object>();
+            try {
+                final ObjectInputStream ois = new PreferredLoaderObjectInputStream(
+                    new InflaterInputStream(new ByteArrayInputStream(bytes)), classLoader);
+                try {
+                    for (int i = 0; i < keyCount; i++) {
+                        try {
+                            values.add(ois.readObject());
+                        } catch (EOFException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            // Ignore all other errors, and keep on trying to load keys
+                        }
+                    }
+                } finally {
+                    ois.close();
+                }
+            } catch (IOException e) {
+                LOG.error("Couldn't decode all keys of a snapshot block", e);
+            }
+            return values;
+        }
+    }
 }
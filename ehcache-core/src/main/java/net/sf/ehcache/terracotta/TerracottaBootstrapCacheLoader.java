@@ -17,7 +17,14 @@
 package net.sf.ehcache.terracotta;
 
 import java.io.IOException;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.ehcache.CacheException;
 import net.sf.ehcache.CacheManager;
@@ -27,6 +34,7 @@ import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Status;
 import net.sf.ehcache.distribution.RemoteCacheException;
 import net.sf.ehcache.store.MemoryLimitedCacheLoader;
+import net.sf.ehcache.util.NamedThreadFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +42,11 @@ import org.slf4j.LoggerFactory;
 /**
  * A {@link net.sf.ehcache.bootstrap.BootstrapCacheLoader} that will load Elements into a Terracotta clustered cache, based on a previously
  * snapshotted key set. It is also responsible to create snapshot files to disk
+ * <p>
+ * The blocks of the snapshot are loaded in parallel, each one with batched {@link Ehcache#getAll(java.util.Collection)} calls.
+ * The number of loading threads and the batch size can be tuned with the
+ * {@code net.sf.ehcache.terracotta.TerracottaBootstrapCacheLoader.threadPoolSize} and
+ * {@code net.sf.ehcache.terracotta.TerracottaBootstrapCacheLoader.batchSize} system properties.
  *
  * @author Alex Snaps
  */
@@ -50,6 +63,10 @@ public class TerracottaBootstrapCacheLoader extends MemoryLimitedCacheLoader imp
     public static final boolean DEFAULT_DEDICATED_THREAD = false;
 
     private static final Logger LOG = LoggerFactory.getLogger(TerracottaBootstrapCacheLoader.class);
+    private static final int POOL_SIZE = Math.max(1,
+        Integer.getInteger("net.sf.ehcache.terracotta.TerracottaBootstrapCacheLoader.threadPoolSize", 4));
+    private static final int BATCH_SIZE = Math.max(1,
+        Integer.getInteger("net.sf.ehcache.terracotta.TerracottaBootstrapCacheLoader.batchSize", 1000));
 
     private final boolean aSynchronous;
     private final boolean doKeySnapshot;
@@ -158,17 +175,14 @@ public class TerracottaBootstrapCacheLoader extends MemoryLimitedCacheLoader imp
 
         final RotatingSnapshotFile snapshotFile = new RotatingSnapshotFile(pathManager, cache.getName(), manager.getConfiguration().getClassLoader());
         try {
-            final Set<Object> keys = snapshotFile.readAll();
-            int loaded = 0;
-            for (Object key : keys) {
-                if (isInMemoryLimitReached(cache, loaded)) {
-                    break;
-                }
-                cache.get(key);
-                loaded++;
+            final List<RotatingSnapshotFile.KeyBlock> blocks = snapshotFile.readBlocks();
+            int onDisk = 0;
+            for (RotatingSnapshotFile.KeyBlock block : blocks) {
+                onDisk += block.keyCount();
             }
+            final int loaded = loadBlocks(cache, blocks);
             LOG.info("Finished loading {} keys (of {} on disk) from previous snapshot for Cache '{}'",
-                    new Object[] {Integer.valueOf(loaded), keys.size(), cache.getName()});
+                    new Object[] {Integer.valueOf(loaded), Integer.valueOf(onDisk), cache.getName()});
         } catch (IOException e) {
             LOG.error("Couldn't load keySet for Cache '{}'", cache.getName(), e);
         }
@@ -178,6 +192,67 @@ public class TerracottaBootstrapCacheLoader extends MemoryLimitedCacheLoader imp
         }
     }
 
+    private int loadBlocks(final Ehcache cache, final List<RotatingSnapshotFile.KeyBlock> blocks) {
+        if (blocks.isEmpty()) {
+            return 0;
+        }
+        final AtomicInteger loaded = new AtomicInteger();
+        final AtomicBoolean limitReached = new AtomicBoolean();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(POOL_SIZE, blocks.size()),
+            new NamedThreadFactory("Bootstrap loader for cache " + cache.getName(), true));
+        try {
+            final List<Future<?>> loads = new ArrayList<Future<?>>(blocks.size());
+            for (final RotatingSnapshotFile.KeyBlock block : blocks) {
+                loads.add(executor.submit(new Runnable() {
+                    public void run() {
+                        loadBlock(cache, block, loaded, limitReached);
+                    }
+                }));
+            }
+            for (Future<?> load : loads) {
+                try {
+                    load.get();
+                } catch (ExecutionException e) {
+                    LOG.warn("Error loading keys from previous snapshot for Cache '{}'", cache.getName(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded.get();
+    }
+
+    private void loadBlock(final Ehcache cache, final RotatingSnapshotFile.KeyBlock block, final AtomicInteger loaded,
+                           final AtomicBoolean limitReached) {
+        List<Object> batch = new ArrayList<Object>(Math.min(BATCH_SIZE, block.keyCount()));
+        for (Object key : block.decode()) {
+            batch.add(key);
+            if (batch.size() == BATCH_SIZE) {
+                if (!loadBatch(cache, batch, loaded, limitReached)) {
+                    return;
+                }
+                batch = new ArrayList<Object>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            loadBatch(cache, batch, loaded, limitReached);
+        }
+    }
+
+    private boolean loadBatch(final Ehcache cache, final List<Object> batch, final AtomicInteger loaded,
+                              final AtomicBoolean limitReached) {
+        // the limit is checked between batches, so it can be overshot by the batches in flight
+        if (limitReached.get() || isInMemoryLimitReached(cache, loaded.get())) {
+            limitReached.set(true);
+            return false;
+        }
+        cache.getAll(batch);
+        loaded.addAndGet(batch.size());
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -59,6 +59,7 @@ public class LocalTransactionStore extends AbstractTransactionStore {
     private final Ehcache cache;
     private final String cacheName;
     private final ElementValueComparator comparator;
+    private final boolean multiVersionReads;
 
 
     /**
@@ -71,6 +72,27 @@ public class LocalTransactionStore extends AbstractTransactionStore {
      */
     public LocalTransactionStore(TransactionController transactionController, TransactionIDFactory transactionIdFactory,
             SoftLockManager softLockManager, Ehcache cache, Store store, ElementValueComparator comparator) {
+        this(transactionController, transactionIdFactory, softLockManager, cache, store, comparator, false);
+    }
+
+    /**
+     * Create a new LocalTransactionStore instance, optionally serving reads from the versions held in soft locks.
+     * <p>
+     * A soft locked key keeps both its last committed and its pending version. With multi-version reads, transactional
+     * reads pick the visible version straight from the soft lock ID instead of going through the soft lock manager and the
+     * soft lock's freeze lock: the pending version in the writing transaction, the committed one everywhere else.
+     * As the versions of a transaction become visible as soon as its commit is decided, reads never block and commits are
+     * published atomically across keys.
+     *
+     * @param transactionController the TransactionController
+     * @param softLockManager the SoftLockManager
+     * @param cache the cache
+     * @param store the underlying store
+     * @param comparator the element value comparator
+     * @param multiVersionReads true to serve reads from the versions held in soft locks
+     */
+    public LocalTransactionStore(TransactionController transactionController, TransactionIDFactory transactionIdFactory,
+            SoftLockManager softLockManager, Ehcache cache, Store store, ElementValueComparator comparator, boolean multiVersionReads) {
         super(store);
         this.transactionController = transactionController;
         this.transactionIdFactory = transactionIdFactory;
@@ -78,6 +100,7 @@ public class LocalTransactionStore extends AbstractTransactionStore {
         this.cache = cache;
         this.comparator = comparator;
         this.cacheName = cache.getName();
+        this.multiVersionReads = multiVersionReads;
         transactionController.getRecoveryManager().register(this);
     }
 
@@ -87,6 +110,14 @@ public class LocalTransactionStore extends AbstractTransactionStore {
         transactionController.getRecoveryManager().unregister(this);
     }
 
+    /**
+     * Are reads served from the versions held in soft locks
+     * @return true if multi-version reads are enabled
+     */
+    public boolean isMultiVersionReads() {
+        return multiVersionReads;
+    }
+
     /**
      * Get the cache using this store
      * @return the cache using this store
@@ -123,6 +154,35 @@ public class LocalTransactionStore extends AbstractTransactionStore {
         return element;
     }
 
+    /**
+     * Resolves the version of a store element visible to the current transaction, without touching any soft lock.
+     * <p>
+     * A transaction's decision is only cleared once none of its soft locks are left in the store, so a decision read
+     * while the soft lock is still in place is the decision at that point in time. Once a reader has seen a committed
+     * version of one key, it can then not see the old version of another key of the same transaction.
+     * @param key the key of the element
+     * @param element the element found in the underlying store
+     * @return the visible version, or null if the key is not visible
+     */
+    private Element visibleVersion(Object key, Element element) {
+        TransactionID currentTransactionId = getCurrentTransactionContext().getTransactionId();
+        while (element != null && element.getObjectValue() instanceof SoftLockID) {
+            SoftLockID softLockId = (SoftLockID) element.getObjectValue();
+            TransactionID owner = softLockId.getTransactionID();
+            if (owner.equals(currentTransactionId)) {
+                return softLockId.getNewElement();
+            }
+            boolean committed = transactionIdFactory.isDecisionCommit(owner);
+            Element current = underlyingStore.getQuiet(key);
+            if (current != null && softLockId.equals(current.getObjectValue())) {
+                return committed ? softLockId.getNewElement() : softLockId.getOldElement();
+            }
+            LOG.debug("multi-version read: cache [{}] key [{}] soft lock released while reading, retrying...", cacheName, key);
+            element = current;
+        }
+        return element;
+    }
+
     private boolean cleanupExpiredSoftLock(Element oldElement, SoftLockID softLockId) {
         SoftLock softLock = softLockManager.findSoftLockById(softLockId);
         if (softLock == null || !softLock.isExpired()) {
@@ -304,6 +364,12 @@ public class LocalTransactionStore extends AbstractTransactionStore {
             return null;
         }
 
+        if (multiVersionReads) {
+            assertNotTimedOut();
+            Element element = underlyingStore.getQuiet(key);
+            return visibleVersion(key, element);
+        }
+
         while (true) {
             assertNotTimedOut();
 
@@ -345,6 +411,12 @@ public class LocalTransactionStore extends AbstractTransactionStore {
             return null;
         }
 
+        if (multiVersionReads) {
+            assertNotTimedOut();
+            Element element = underlyingStore.get(key);
+            return visibleVersion(key, element);
+        }
+
         while (true) {
             assertNotTimedOut();
 
@@ -541,6 +613,10 @@ public class LocalTransactionStore extends AbstractTransactionStore {
     public boolean containsKey(Object key) {
         assertNotTimedOut();
 
+        if (multiVersionReads) {
+            return key != null && getQuiet(key) != null;
+        }
+
         return getKeys().contains(key);
     }
 
@@ -40,6 +40,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -318,34 +319,7 @@ public class EhcacheXAResourceImpl implements EhcacheXAResource {
                 throw new EhcacheXAException("XID already was rolling back: " + xid, XAException.XAER_RMERR);
             }
 
-            for (SoftLock softLock : softLocks) {
-                LOG.debug("fetching underlying element with key '{}'", softLock.getKey());
-                Element e = underlyingStore.getQuiet(softLock.getKey());
-                if (e == null) {
-                    // the element can be null if it was manually unpinned, see DEV-8308
-                    LOG.debug("soft lock ID with key '{}' is not present in underlying store, ignoring it", softLock.getKey());
-                    continue;
-                }
-                if (!(e.getObjectValue() instanceof SoftLockID)) {
-                    // potential consequence of the above condition
-                    LOG.debug("soft lock ID with key '{}' replaced with value in underlying store, ignoring it", softLock.getKey());
-                    continue;
-                }
-                SoftLockID softLockId = (SoftLockID)e.getObjectValue();
-                if (!softLockId.getTransactionID().equals(xidTransactionID)) {
-                    LOG.debug("soft lock ID with key '{}' of foreign tx in underlying store, ignoring it", softLock.getKey());
-                    continue;
-                }
-                Element frozenElement = softLockId.getNewElement();
-
-                if (frozenElement != null) {
-                    LOG.debug("replacing soft locked underlying element with key '{}' with new value", softLock.getKey());
-                    underlyingStore.put(frozenElement);
-                } else {
-                    LOG.debug("removing soft locked underlying element with key '{}'", softLock.getKey());
-                    underlyingStore.remove(softLock.getKey());
-                }
-            }
+            publishVersions(softLocks, xidTransactionID, true);
 
             LOG.debug("unlocking {} soft lock(s) for [{}]", softLocks.size(), xid);
             for (SoftLock softLock : softLocks) {
@@ -445,31 +419,7 @@ public class EhcacheXAResourceImpl implements EhcacheXAResource {
                 throw new EhcacheXAException("XID already was committing: " + xid, XAException.XAER_RMERR);
             }
 
-            for (SoftLock softLock : softLocks) {
-                Element e = underlyingStore.getQuiet(softLock.getKey());
-                if (e == null) {
-                    // the element can be null if it was manually unpinned, see DEV-8308
-                    LOG.debug("soft lock ID with key '{}' is not present in underlying store, ignoring it", softLock.getKey());
-                    continue;
-                }
-                if (!(e.getObjectValue() instanceof SoftLockID)) {
-                    // potential consequence of the above condition
-                    LOG.debug("soft lock ID with key '{}' replaced with value in underlying store, ignoring it", softLock.getKey());
-                    continue;
-                }
-                SoftLockID softLockId = (SoftLockID)e.getObjectValue();
-                if (!softLockId.getTransactionID().equals(xidTransactionID)) {
-                    LOG.debug("soft lock ID with key '{}' of foreign tx in underlying store, ignoring it", softLock.getKey());
-                    continue;
-                }
-                Element frozenElement = softLockId.getOldElement();
-
-                if (frozenElement != null) {
-                    underlyingStore.put(frozenElement);
-                } else {
-                    underlyingStore.remove(softLock.getKey());
-                }
-            }
+            publishVersions(softLocks, xidTransactionID, false);
 
             for (SoftLock softLock : softLocks) {
                 softLock.unfreeze();
@@ -486,6 +436,58 @@ public class EhcacheXAResourceImpl implements EhcacheXAResource {
         }
     }
 
+    /**
+     * Replace the soft locked elements of a transaction with their new (on commit) or old (on rollback) version.
+     * The underlying store is read and updated with bulk operations so that a clustered store can batch them.
+     */
+    private void publishVersions(Set<SoftLock> softLocks, XidTransactionID xidTransactionID, boolean commit) {
+        if (softLocks.isEmpty()) {
+            return;
+        }
+        List<Object> keys = new ArrayList<Object>(softLocks.size());
+        for (SoftLock softLock : softLocks) {
+            keys.add(softLock.getKey());
+        }
+
+        LOG.debug("fetching {} underlying element(s)", keys.size());
+        Map<Object, Element> elements = underlyingStore.getAllQuiet(keys);
+        List<Element> toPut = new ArrayList<Element>(keys.size());
+        List<Object> toRemove = new ArrayList<Object>();
+        for (Object key : keys) {
+            Element e = elements.get(key);
+            if (e == null) {
+                // the element can be null if it was manually unpinned, see DEV-8308
+                LOG.debug("soft lock ID with key '{}' is not present in underlying store, ignoring it", key);
+                continue;
+            }
+            if (!(e.getObjectValue() instanceof SoftLockID)) {
+                // potential consequence of the above condition
+                LOG.debug("soft lock ID with key '{}' replaced with value in underlying store, ignoring it", key);
+                continue;
+            }
+            SoftLockID softLockId = (SoftLockID)e.getObjectValue();
+            if (!softLockId.getTransactionID().equals(xidTransactionID)) {
+                LOG.debug("soft lock ID with key '{}' of foreign tx in underlying store, ignoring it", key);
+                continue;
+            }
+            Element frozenElement = commit ? softLockId.getNewElement() : softLockId.getOldElement();
+
+            if (frozenElement != null) {
+                toPut.add(frozenElement);
+            } else {
+                toRemove.add(key);
+            }
+        }
+
+        LOG.debug("replacing {} and removing {} soft locked underlying element(s)", toPut.size(), toRemove.size());
+        if (!toPut.isEmpty()) {
+            underlyingStore.putAll(toPut);
+        }
+        if (!toRemove.isEmpty()) {
+            underlyingStore.removeAll(toRemove);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -32,6 +32,12 @@ import java.util.concurrent.ExecutionException;
  *
  * This class ties an Xid to an Executor service. This is necessary so that
  * locking for 2pc by the same thread.
+ * <p>
+ * Only a prepared transaction holds soft locks, so only a prepare needs a reserved thread: all other requests for
+ * a transaction without a reserved thread (one phase commits, rollbacks before prepare, recovery) run directly on the
+ * calling thread. When the transaction manager is known to prepare and complete a transaction on the same thread,
+ * setting the {@value #SAME_THREAD_TWO_PHASE_COMMIT_SYS_PROPERTY_NAME} system property to true makes prepares run on the
+ * calling thread as well, in which case the transaction must then be completed by that same thread.
  *
  * {@link XARequestProcessor xaRequestProcessor}.
  *
@@ -39,11 +45,18 @@ import java.util.concurrent.ExecutionException;
  */
 public class XARequestProcessor {
 
+    /**
+     * System property making two phase commits run on the calling thread
+     */
+    public static final String SAME_THREAD_TWO_PHASE_COMMIT_SYS_PROPERTY_NAME = "net.sf.ehcache.transaction.xa.sameThreadTwoPhaseCommit";
+
     private static volatile XAThreadPool xaProcessorPool;
 
     private final ConcurrentMap<Xid, XAThreadPool.MultiRunner> executorMap =
             new ConcurrentHashMap<Xid, XAThreadPool.MultiRunner>();
+    private final ConcurrentMap<Xid, Thread> callerThreadMap = new ConcurrentHashMap<Xid, Thread>();
     private final EhcacheXAResourceImpl resourceImpl;
+    private final boolean sameThreadTwoPhaseCommit;
 
     /**
      * Constructor
@@ -51,7 +64,18 @@ public class XARequestProcessor {
      * @param resourceImpl The EhcacheXAResourceImpl instance this processor will perform against
      */
     public XARequestProcessor(EhcacheXAResourceImpl resourceImpl) {
+        this(resourceImpl, Boolean.getBoolean(SAME_THREAD_TWO_PHASE_COMMIT_SYS_PROPERTY_NAME));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param resourceImpl The EhcacheXAResourceImpl instance this processor will perform against
+     * @param sameThreadTwoPhaseCommit true if prepared transactions are always completed by the thread which prepared them
+     */
+    public XARequestProcessor(EhcacheXAResourceImpl resourceImpl, boolean sameThreadTwoPhaseCommit) {
         this.resourceImpl = resourceImpl;
+        this.sameThreadTwoPhaseCommit = sameThreadTwoPhaseCommit;
         if (xaProcessorPool == null) {
             xaProcessorPool = new XAThreadPool();
         }
@@ -74,17 +98,11 @@ public class XARequestProcessor {
      * @throws XAException the XAException thrown by the XAResource
      */
     public int process(XARequest request) throws XAException {
-        XAThreadPool.MultiRunner multiRunner = getOrCreateThread(request.getXid());
-
         XAResponse xaResponse;
-        try {
-            xaResponse = (XAResponse) multiRunner.execute(new XARequestCallable(resourceImpl, request, request.getXid()));
-        } catch (InterruptedException e) {
-            cleanupThread(request.getXid());
-            throw new EhcacheXAException(e.getMessage(), XAException.XAER_RMERR, e);
-        } catch (ExecutionException e) {
-            cleanupThread(request.getXid());
-            throw new EhcacheXAException(e.getMessage(), XAException.XAER_RMERR, e);
+        if (runsOnCallerThread(request)) {
+            xaResponse = processOnCallerThread(request);
+        } else {
+            xaResponse = processOnReservedThread(request);
         }
         if (xaResponse.getXaException() != null) {
             cleanupThread(request.getXid());
@@ -103,6 +121,49 @@ public class XARequestProcessor {
         return xaResponse.getFlags();
     }
 
+    private boolean runsOnCallerThread(XARequest request) throws XAException {
+        Thread owner = callerThreadMap.get(request.getXid());
+        if (owner != null) {
+            if (owner != Thread.currentThread()) {
+                throw new EhcacheXAException("XA " + request.getRequestType().toString().toLowerCase() + " request on [" +
+                        request.getXid() + "] must be issued by the thread which prepared it, as " +
+                        SAME_THREAD_TWO_PHASE_COMMIT_SYS_PROPERTY_NAME + " is set", XAException.XAER_PROTO);
+            }
+            return true;
+        }
+        if (executorMap.containsKey(request.getXid())) {
+            return false;
+        }
+        if (request.getRequestType().equals(XARequest.RequestType.PREPARE)) {
+            if (!sameThreadTwoPhaseCommit) {
+                return false;
+            }
+            callerThreadMap.put(request.getXid(), Thread.currentThread());
+        }
+        return true;
+    }
+
+    private XAResponse processOnCallerThread(XARequest request) {
+        try {
+            return new XARequestCallable(resourceImpl, request, request.getXid(), false).call();
+        } catch (Exception e) {
+            return new XAResponse(XAResource.TMNOFLAGS, new EhcacheXAException(e.getMessage(), XAException.XAER_RMERR, e));
+        }
+    }
+
+    private XAResponse processOnReservedThread(XARequest request) throws XAException {
+        XAThreadPool.MultiRunner multiRunner = getOrCreateThread(request.getXid());
+        try {
+            return (XAResponse) multiRunner.execute(new XARequestCallable(resourceImpl, request, request.getXid(), true));
+        } catch (InterruptedException e) {
+            cleanupThread(request.getXid());
+            throw new EhcacheXAException(e.getMessage(), XAException.XAER_RMERR, e);
+        } catch (ExecutionException e) {
+            cleanupThread(request.getXid());
+            throw new EhcacheXAException(e.getMessage(), XAException.XAER_RMERR, e);
+        }
+    }
+
     /**
      * Gets the executor service for a Transaction, either by creating a new one if none exists, or returning the
      * existing one
@@ -123,8 +184,11 @@ public class XARequestProcessor {
      * @param xid The Xid of the Transaction
      */
     private void cleanupThread(Xid xid) {
+        callerThreadMap.remove(xid);
         XAThreadPool.MultiRunner service = executorMap.remove(xid);
-        service.release();
+        if (service != null) {
+            service.release();
+        }
     }
 
     /**
@@ -136,24 +200,29 @@ public class XARequestProcessor {
         private final EhcacheXAResourceImpl resourceImpl;
         private final XARequest request;
         private final Xid xid;
+        private final boolean renameThread;
 
         /**
          * Constructor
          * @param resourceImpl the EhcacheXAResourceImpl this Request will be used for
          * @param request the actual Request
          * @param xid
+         * @param renameThread true to name the executing thread after the Xid
          */
-        public XARequestCallable(EhcacheXAResourceImpl resourceImpl, XARequest request, Xid xid) {
+        public XARequestCallable(EhcacheXAResourceImpl resourceImpl, XARequest request, Xid xid, boolean renameThread) {
             this.resourceImpl = resourceImpl;
             this.request = request;
             this.xid = xid;
+            this.renameThread = renameThread;
         }
 
         /**
          *
          */
         public XAResponse call() throws Exception {
-            Thread.currentThread().setName("XA-Request processor Thread Xid [ " + xid + " ]");
+            if (renameThread) {
+                Thread.currentThread().setName("XA-Request processor Thread Xid [ " + xid + " ]");
+            }
 
             int returnFlag = XAResource.TMNOFLAGS;
             XAException xaException = null;
@@ -15,22 +15,32 @@
  */
 package net.sf.ehcache.transaction.xa.processor;
 
-import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import net.sf.ehcache.util.NamedThreadFactory;
 
 /**
  * Fast and minimalistic thread pool from which threads can be reserved and used many times until they
  * are manually released.
+ * <p>
+ * Work is handed to and back from a reserved thread by parking and unparking the two threads involved, so each
+ * execution costs a single thread switch each way. Released threads return to the pool and are kept for a minute
+ * before being discarded.
  *
  * @author Ludovic Orban
  */
 public class XAThreadPool {
 
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final ExecutorService executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(), new NamedThreadFactory("XA-Request processor"));
 
     /**
      * Reserve a thread from the pool
@@ -53,12 +63,13 @@ public class XAThreadPool {
      * Pooled thread wrapper which allows reuse of the same thread
      */
     public static final class MultiRunner implements Runnable {
-        private final CyclicBarrier startBarrier = new CyclicBarrier(2);
-        private final CyclicBarrier endBarrier = new CyclicBarrier(2);
+        private volatile Thread worker;
+        private volatile Thread caller;
         private volatile Callable callable;
+        private volatile boolean done;
         private volatile boolean released;
         private volatile Object result;
-        private volatile Exception exception;
+        private volatile Throwable exception;
 
         private MultiRunner() {
         }
@@ -78,59 +89,62 @@ public class XAThreadPool {
                 throw new NullPointerException("callable cannot be null");
             }
 
-            try {
-                this.callable = callable;
-                this.exception = null;
-                startBarrier.await();
+            this.caller = Thread.currentThread();
+            this.result = null;
+            this.exception = null;
+            this.done = false;
+            this.callable = callable;
+            LockSupport.unpark(worker);
 
-                endBarrier.await();
-                if (exception != null) {
-                    throw new ExecutionException("XA execution error", exception);
+            while (!done) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    // the worker completes the current callable, then exits as the runner can no longer be trusted
+                    released = true;
+                    LockSupport.unpark(worker);
+                    throw new InterruptedException();
                 }
-                return result;
-            } catch (BrokenBarrierException e) {
-                throw new ExecutionException("error executing " + callable, e);
             }
+            if (exception != null) {
+                throw new ExecutionException("XA execution error", exception);
+            }
+            return result;
         }
 
         /**
          * Release the wrapped thread back the the containing thread pool
          */
         public void release() {
-            try {
-                callable = null;
-                released = true;
-                startBarrier.await();
-            } catch (InterruptedException e) {
-                // ignore
-            } catch (BrokenBarrierException e) {
-                // ignore
-            }
+            released = true;
+            LockSupport.unpark(worker);
         }
 
         /**
          * {@inheritDoc}
          */
         public void run() {
+            worker = Thread.currentThread();
             try {
                 while (true) {
-                    startBarrier.await();
-
-                    if (callable != null) {
+                    Callable current = callable;
+                    if (current != null) {
+                        callable = null;
                         try {
-                            result = callable.call();
-                        } catch (Exception e) {
-                            exception = e;
+                            result = current.call();
+                        } catch (Throwable t) {
+                            exception = t;
                         }
-                        endBarrier.await();
-                    } else {
+                        done = true;
+                        LockSupport.unpark(caller);
+                    } else if (released) {
                         return;
+                    } else {
+                        LockSupport.park(this);
                     }
                 }
-            } catch (InterruptedException e) {
-                released = true;
-            } catch (BrokenBarrierException e) {
+            } finally {
                 released = true;
+                worker = null;
             }
         }
     }
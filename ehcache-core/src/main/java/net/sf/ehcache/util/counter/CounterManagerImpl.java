@@ -19,15 +19,26 @@ package net.sf.ehcache.util.counter;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimerTask;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.ehcache.util.FailSafeTimer;
+import net.sf.ehcache.util.NamedThreadFactory;
 import net.sf.ehcache.util.counter.sampled.SampledCounter;
 import net.sf.ehcache.util.counter.sampled.SampledCounterImpl;
 
 /**
  * An implementation of a {@link CounterManager}.
+ * <p>
+ * Sampled counters are rolled over either by a {@link FailSafeTimer} or, preferably, by a {@link ScheduledExecutorService}.
+ * Counter managers created with the no-arg constructor all share a single daemon scheduler thread, which is shut down
+ * once the last of them is shut down.
  *
  * @author <a href="mailto:asanoujam@terracottatech.com">Abhishek Sanoujam</a>
  * @since 1.7
@@ -36,18 +47,48 @@ import net.sf.ehcache.util.counter.sampled.SampledCounterImpl;
 public class CounterManagerImpl implements CounterManager {
 
     private final FailSafeTimer timer;
+    private final ScheduledExecutorService executor;
+    private final boolean sharedExecutor;
     private boolean shutdown;
     private final List<Counter> counters = new ArrayList<Counter>();
+    private final Map<Counter, ScheduledFuture<?>> samplers = new IdentityHashMap<Counter, ScheduledFuture<?>>();
+
+    /**
+     * Constructor that schedules sampled counters on the scheduler shared by all counter managers
+     */
+    public CounterManagerImpl() {
+        this.timer = null;
+        this.executor = SharedScheduler.acquire();
+        this.sharedExecutor = true;
+    }
+
+    /**
+     * Constructor that accepts a scheduled executor that will be used for scheduling sampled
+     * counter if any is created
+     */
+    public CounterManagerImpl(ScheduledExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.timer = null;
+        this.executor = executor;
+        this.sharedExecutor = false;
+    }
 
     /**
      * Constructor that accepts a timer that will be used for scheduling sampled
      * counter if any is created
+     *
+     * @deprecated use {@link #CounterManagerImpl(ScheduledExecutorService)} or {@link #CounterManagerImpl()} instead
      */
+    @Deprecated
     public CounterManagerImpl(FailSafeTimer timer) {
         if (timer == null) {
             throw new IllegalArgumentException("Timer cannot be null");
         }
         this.timer = timer;
+        this.executor = null;
+        this.sharedExecutor = false;
     }
 
     /**
@@ -58,15 +99,22 @@ public class CounterManagerImpl implements CounterManager {
             return;
         }
         try {
-            // do not cancel the timer as others might also be using it
+            // do not cancel the timer or executor as others might also be using it
             // instead shutdown the counters of this counterManager
             for (Counter counter : counters) {
                 if (counter instanceof SampledCounter) {
                     ((SampledCounter) counter).shutdown();
                 }
             }
+            for (ScheduledFuture<?> sampler : samplers.values()) {
+                sampler.cancel(false);
+            }
+            samplers.clear();
         } finally {
             shutdown = true;
+            if (sharedExecutor) {
+                SharedScheduler.release();
+            }
         }
     }
 
@@ -91,18 +139,23 @@ public class CounterManagerImpl implements CounterManager {
     public synchronized void addCounter(Counter counter) {
         if (counter instanceof SampledCounterImpl) {
             final SampledCounterImpl sampledCounter = (SampledCounterImpl) counter;
-            TimerTask timerTask = new TimerTask() {
-                @Override
-                public void run() {
-                    AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                        public Object run() {
-                            sampledCounter.getTimerTask().run();
-                            return null;
-                        }
-                    });
-                }
-            };
-            timer.schedule(timerTask, sampledCounter.getIntervalMillis(), sampledCounter.getIntervalMillis());
+            if (executor != null) {
+                Runnable sampler = new Runnable() {
+                    public void run() {
+                        recordSample(sampledCounter);
+                    }
+                };
+                samplers.put(counter, executor.scheduleAtFixedRate(sampler, sampledCounter.getIntervalMillis(),
+                        sampledCounter.getIntervalMillis(), TimeUnit.MILLISECONDS));
+            } else {
+                TimerTask timerTask = new TimerTask() {
+                    @Override
+                    public void run() {
+                        recordSample(sampledCounter);
+                    }
+                };
+                timer.schedule(timerTask, sampledCounter.getIntervalMillis(), sampledCounter.getIntervalMillis());
+            }
         }
         counters.add(counter);
     }
@@ -114,6 +167,48 @@ public class CounterManagerImpl implements CounterManager {
             SampledCounter sc = (SampledCounter) counter;
             sc.shutdown();
         }
+        ScheduledFuture<?> sampler;
+        synchronized (this) {
+            sampler = samplers.remove(counter);
+        }
+        if (sampler != null) {
+            sampler.cancel(false);
+        }
+    }
+
+    private static void recordSample(final SampledCounterImpl sampledCounter) {
+        AccessController.doPrivileged(new PrivilegedAction<Object>() {
+            public Object run() {
+                sampledCounter.getTimerTask().run();
+                return null;
+            }
+        });
     }
 
+    /**
+     * The scheduler shared by the counter managers created with the no-arg constructor, started by the first of them and
+     * shut down with the last.
+     */
+    private static final class SharedScheduler {
+        private static ScheduledExecutorService instance;
+        private static int users;
+
+        private SharedScheduler() {
+            // static holder
+        }
+
+        static synchronized ScheduledExecutorService acquire() {
+            if (users++ == 0) {
+                instance = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("Sampled Counter Scheduler", true));
+            }
+            return instance;
+        }
+
+        static synchronized void release() {
+            if (--users == 0) {
+                instance.shutdown();
+                instance = null;
+            }
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.util.counter;
+
+import java.io.Serializable;
+
+import net.sf.ehcache.util.concurrent.LongAdder;
+
+/**
+ * A counter implementation backed by a {@link LongAdder}.
+ * <p>
+ * Updates from different threads are spread over separate cells, so this counter does not suffer from cross-core
+ * contention when incremented from many threads. Reading the counter, including the value returned by the update
+ * methods, sums the cells: it does not contend with writers, but it is not an atomic snapshot, and concurrent updates
+ * racing with {@link #getAndSet(long)} or {@link #setValue(long)} may be lost.
+ *
+ * @author ehcache
+ */
+public class StripedCounterImpl implements Counter, Serializable {
+
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Default Constructor
+     */
+    public StripedCounterImpl() {
+        this(0L);
+    }
+
+    /**
+     * Constructor with initial value
+     *
+     * @param initialValue
+     */
+    public StripedCounterImpl(long initialValue) {
+        value.add(initialValue);
+    }
+
+    /**
+     * Adds to this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    public long increment() {
+        value.increment();
+        return value.sum();
+    }
+
+    /**
+     * Subtracts from this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    public long decrement() {
+        value.decrement();
+        return value.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getAndSet(long newValue) {
+        long old = value.sumThenReset();
+        value.add(newValue);
+        return old;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getValue() {
+        return value.sum();
+    }
+
+    /**
+     * Adds to this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    public long increment(long amount) {
+        value.add(amount);
+        return value.sum();
+    }
+
+    /**
+     * Subtracts from this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    public long decrement(long amount) {
+        value.add(-amount);
+        return value.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setValue(long newValue) {
+        value.reset();
+        value.add(newValue);
+    }
+
+}
@@ -0,0 +1,138 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.sf.ehcache.util.counter.sampled;
+
+import net.sf.ehcache.util.concurrent.LongAdder;
+
+/**
+ * A {@link SampledCounter} whose value is held in a {@link LongAdder}, so that it can be updated from many threads without
+ * cross-core contention.
+ * <p>
+ * As with {@link net.sf.ehcache.util.counter.StripedCounterImpl} the values returned by the update methods may include
+ * concurrent updates, and updates racing with a sample that resets the counter may be attributed to either sample or lost.
+ *
+ * @author ehcache
+ */
+public class StripedSampledCounterImpl extends SampledCounterImpl {
+
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Constructor accepting a {@link SampledCounterConfig}
+     *
+     * @param config
+     */
+    public StripedSampledCounterImpl(SampledCounterConfig config) {
+        this(config.getIntervalSecs(), config.getHistorySize(), config.isResetOnSample(), config.getInitialValue(), true);
+    }
+
+    /**
+     * Constructor accepting raw config values.
+     *
+     * @param intervalInSeconds sampling interval in seconds
+     * @param historySize size of history sample
+     * @param resetOnSample true to reset value on sample
+     * @param initValue initial value
+     * @param sampleNow true to record sample immediately
+     */
+    public StripedSampledCounterImpl(long intervalInSeconds, int historySize, boolean resetOnSample, long initValue, boolean sampleNow) {
+        super(intervalInSeconds, historySize, resetOnSample, 0L, false);
+        value.add(initValue);
+        if (sampleNow) {
+            recordSample();
+        }
+    }
+
+    /**
+     * Adds to this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    @Override
+    public long increment() {
+        value.increment();
+        return value.sum();
+    }
+
+    /**
+     * Subtracts from this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    @Override
+    public long decrement() {
+        value.decrement();
+        return value.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getAndSet(long newValue) {
+        long old = value.sumThenReset();
+        value.add(newValue);
+        return old;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getValue() {
+        return value.sum();
+    }
+
+    /**
+     * Adds to this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    @Override
+    public long increment(long amount) {
+        value.add(amount);
+        return value.sum();
+    }
+
+    /**
+     * Subtracts from this counter.
+     *
+     * @return the value after the update, which may include concurrent updates from other threads
+     */
+    @Override
+    public long decrement(long amount) {
+        value.add(-amount);
+        return value.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setValue(long newValue) {
+        value.reset();
+        value.add(newValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getAndReset() {
+        return value.sumThenReset();
+    }
+}
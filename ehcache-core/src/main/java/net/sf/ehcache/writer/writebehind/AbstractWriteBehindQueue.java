@@ -30,6 +30,7 @@ import java.util.logging.Logger;
 
 import net.sf.ehcache.CacheEntry;
 import net.sf.ehcache.CacheException;
+import net.sf.ehcache.CacheOperationOutcomes.WriteBehindOutcome;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.CacheWriterConfiguration;
@@ -38,6 +39,8 @@ import net.sf.ehcache.writer.writebehind.operations.DeleteOperation;
 import net.sf.ehcache.writer.writebehind.operations.SingleOperation;
 import net.sf.ehcache.writer.writebehind.operations.WriteOperation;
 
+import org.terracotta.statistics.observer.OperationObserver;
+
 /**
  * Abstract implementation of a WriteBehindQueue.
  *
@@ -49,6 +52,20 @@ public abstract class AbstractWriteBehindQueue implements WriteBehind {
 
   private static final int MS_IN_SEC = 1000;
 
+  private static final OperationObserver<WriteBehindOutcome> NULL_OBSERVER = new OperationObserver<WriteBehindOutcome>() {
+      public void begin() {
+          // no-op
+      }
+
+      public void end(WriteBehindOutcome result) {
+          // no-op
+      }
+
+      public void end(WriteBehindOutcome result, long... parameters) {
+          // no-op
+      }
+  };
+
   private final String cacheName;
   private final long minWriteDelayMs;
   private final long maxWriteDelayMs;
@@ -72,6 +89,7 @@ public abstract class AbstractWriteBehindQueue implements WriteBehind {
   private final AtomicBoolean busyProcessing = new AtomicBoolean(false);
 
   private volatile OperationsFilter filter;
+  private volatile OperationObserver<WriteBehindOutcome> writeObserver = NULL_OBSERVER;
 
   private CacheWriter cacheWriter;
   private boolean stopping;
@@ -155,6 +173,15 @@ public abstract class AbstractWriteBehindQueue implements WriteBehind {
       this.filter = filter;
   }
 
+  /**
+   * Sets the observer notified of each invocation of the cache writer.
+   *
+   * @param observer the write observer
+   */
+  void setWriteObserver(OperationObserver<WriteBehindOutcome> observer) {
+      this.writeObserver = observer;
+  }
+
   private long getLastProcessing() {
       return lastProcessing.get();
   }
@@ -372,10 +399,13 @@ public abstract class AbstractWriteBehindQueue implements WriteBehind {
       for (List<? extends SingleOperation> batch : batches) {
           int executionsLeft = retryAttempts + 1;
           while (executionsLeft-- > 0) {
+              writeObserver.begin();
               try {
                   batch.get(0).createBatchOperation(batch).performBatchOperation(cacheWriter);
+                  writeObserver.end(WriteBehindOutcome.SUCCESS);
                   break;
               } catch (final RuntimeException e) {
+                  writeObserver.end(WriteBehindOutcome.EXCEPTION);
                   if (executionsLeft <= 0) {
                       for (SingleOperation singleOperation : batch) {
                           singleOperation.throwAway(cacheWriter, e);
@@ -460,10 +490,13 @@ public abstract class AbstractWriteBehindQueue implements WriteBehind {
 
           int executionsLeft = retryAttempts + 1;
           while (executionsLeft-- > 0) {
+              writeObserver.begin();
               try {
                   item.performSingleOperation(cacheWriter);
+                  writeObserver.end(WriteBehindOutcome.SUCCESS);
                   break;
               } catch (final RuntimeException e) {
+                  writeObserver.end(WriteBehindOutcome.EXCEPTION);
                   if (executionsLeft <= 0) {
                       try {
                           item.throwAway(cacheWriter, e);
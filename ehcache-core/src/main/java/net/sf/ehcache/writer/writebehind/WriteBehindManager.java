@@ -25,6 +25,7 @@ import net.sf.ehcache.store.TerracottaStore;
 import net.sf.ehcache.writer.CacheWriter;
 import net.sf.ehcache.writer.CacheWriterManager;
 import org.terracotta.statistics.Statistic;
+import org.terracotta.statistics.StatisticsManager;
 
 /**
  * Implements a {@code WriterManager} that writes elements to a queue first and in the background sends the to the {@code CacheWriter}.
@@ -49,6 +50,7 @@ public class WriteBehindManager implements CacheWriterManager {
         } else {
             writeBehind = new WriteBehindQueueManager(cache.getCacheConfiguration());
         }
+        StatisticsManager.associate(this).withChild(writeBehind);
     }
 
     /**
@@ -22,11 +22,16 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import net.sf.ehcache.CacheEntry;
 import net.sf.ehcache.CacheException;
+import net.sf.ehcache.CacheOperationOutcomes.WriteBehindOutcome;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.CacheWriterConfiguration;
 import net.sf.ehcache.writer.CacheWriter;
 
+import org.terracotta.statistics.observer.OperationObserver;
+
+import static net.sf.ehcache.statistics.StatisticBuilder.operation;
+
 /**
  * @author Alex Snaps
  */
@@ -38,6 +43,8 @@ public class WriteBehindQueueManager implements WriteBehind {
 
     private final List<WriteBehind> queues = new ArrayList<WriteBehind>();
 
+    private final OperationObserver<WriteBehindOutcome> writeObserver;
+
     /**
      * Create the write behind queue manager with queues created via the passed in {@link WriteBehindQueueFactory}
      *
@@ -47,8 +54,14 @@ public class WriteBehindQueueManager implements WriteBehind {
     protected WriteBehindQueueManager(CacheConfiguration config, WriteBehindQueueFactory queueFactory) {
       CacheWriterConfiguration cacheWriterConfiguration = config.getCacheWriterConfiguration();
       int writeBehindConcurrency = cacheWriterConfiguration.getWriteBehindConcurrency();
+      this.writeObserver = operation(WriteBehindOutcome.class).named("write").of(this).tag("write-behind")
+          .switchedBy(config.getStatisticsLevelSwitch()).build();
       for (int i = 0; i < writeBehindConcurrency; i++) {
-        this.queues.add(queueFactory.createQueue(i, config));
+        WriteBehind queue = queueFactory.createQueue(i, config);
+        if (queue instanceof AbstractWriteBehindQueue) {
+          ((AbstractWriteBehindQueue) queue).setWriteObserver(writeObserver);
+        }
+        this.queues.add(queue);
       }
     }
 
@@ -32,8 +32,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheException;
@@ -541,6 +547,123 @@ public final class BlockingCacheTest {
         }
     }
 
+    @Test
+    public void testSingleFlightTimeout() throws BrokenBarrierException, InterruptedException {
+        CacheManager manager = createCacheManager("testSingleFlightTimeout");
+        try {
+            final BlockingCache blockingCache = new BlockingCache(manager.getEhcache("testSingleFlightTimeout"),
+                    BlockingMode.SINGLE_FLIGHT);
+            final CyclicBarrier barrier = new CyclicBarrier(2);
+            final CountDownLatch release = new CountDownLatch(1);
+            final String KEY = "BLOCKING_KEY";
+            blockingCache.setTimeoutMillis(500);
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    assertNull(blockingCache.get(KEY));
+                    try {
+                        barrier.await();
+                        release.await();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    blockingCache.put(new Element(KEY, "VALUE"));
+                }
+            });
+            thread.start();
+            barrier.await();
+            try {
+                blockingCache.get(KEY);
+                fail("BlockingCache.get should have not returned!");
+            } catch (LockTimeoutException e) {
+                // Expected
+            }
+            // other keys are not blocked by the in-flight load
+            assertNull(blockingCache.get("OTHER_KEY"));
+            blockingCache.put(new Element("OTHER_KEY", "VALUE"));
+            assertEquals("VALUE", blockingCache.get("OTHER_KEY").getObjectValue());
+
+            release.countDown();
+            thread.join();
+            assertEquals("VALUE", blockingCache.get(KEY).getObjectValue());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testSingleFlightLoadsOncePerKey() throws Exception {
+        CacheManager manager = createCacheManager(new CacheConfiguration().name("testSingleFlightLoadsOncePerKey")
+                .maxEntriesLocalHeap(100));
+        try {
+            final AtomicInteger loads = new AtomicInteger();
+            final CountDownLatch loading = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final SelfPopulatingCache cache = new SelfPopulatingCache(manager.getEhcache("testSingleFlightLoadsOncePerKey"),
+                    BlockingMode.SINGLE_FLIGHT, new CacheEntryFactory() {
+                        public Object createEntry(Object key) throws Exception {
+                            loads.incrementAndGet();
+                            loading.countDown();
+                            release.await();
+                            return "value-" + key;
+                        }
+                    });
+            assertEquals(BlockingMode.SINGLE_FLIGHT, cache.getBlockingMode());
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Element>> results = new ArrayList<Future<Element>>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(new Callable<Element>() {
+                        public Element call() {
+                            return cache.get("key");
+                        }
+                    }));
+                }
+                loading.await();
+                release.countDown();
+                for (Future<Element> result : results) {
+                    assertEquals("value-key", result.get(10, TimeUnit.SECONDS).getObjectValue());
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(1, loads.get());
+            assertEquals("value-key", cache.get("key").getObjectValue());
+            assertEquals(1, loads.get());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testSingleFlightFailedLoadIsRetried() {
+        CacheManager manager = createCacheManager(new CacheConfiguration().name("testSingleFlightFailedLoadIsRetried")
+                .maxEntriesLocalHeap(100));
+        try {
+            final AtomicInteger loads = new AtomicInteger();
+            SelfPopulatingCache cache = new SelfPopulatingCache(manager.getEhcache("testSingleFlightFailedLoadIsRetried"),
+                    BlockingMode.SINGLE_FLIGHT, new CacheEntryFactory() {
+                        public Object createEntry(Object key) throws Exception {
+                            if (loads.incrementAndGet() == 1) {
+                                throw new Exception("first load fails");
+                            }
+                            return "value";
+                        }
+                    });
+            cache.setTimeoutMillis(1000);
+            try {
+                cache.get("key");
+                fail();
+            } catch (CacheException e) {
+                // expected
+            }
+            assertEquals("value", cache.get("key").getObjectValue());
+            assertEquals(2, loads.get());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
     /**
      * Checks we cannot use a cache after shutdown
      */
@@ -27,7 +27,11 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheException;
@@ -742,6 +746,81 @@ public class SelfPopulatingCacheTest extends CacheTest {
         assertFalse("getLastUpdateTime() should not be the same (" + lastUpdateTime2 + ")", lastUpdateTime2 == e2.getLastUpdateTime());
     }
 
+    /**
+     * Tests a parallel, batched refresh through a bulk factory.
+     */
+    @Test
+    public void testBatchedRefreshWithBulkFactory() throws Exception {
+        final AtomicInteger bulkCalls = new AtomicInteger();
+        final AtomicInteger singleCalls = new AtomicInteger();
+        selfPopulatingCache = new SelfPopulatingCache(cache, new BulkCacheEntryFactory() {
+            public Object createEntry(Object key) throws Exception {
+                singleCalls.incrementAndGet();
+                return "old";
+            }
+
+            public Map<Object, Object> createEntries(Collection<Object> keys) throws Exception {
+                bulkCalls.incrementAndGet();
+                Map<Object, Object> values = new HashMap<Object, Object>();
+                for (Object key : keys) {
+                    values.put(key, "new");
+                }
+                return values;
+            }
+        });
+        for (int i = 0; i < 25; i++) {
+            selfPopulatingCache.get(i);
+        }
+        assertEquals(25, singleCalls.get());
+
+        RefreshStatistics statistics = selfPopulatingCache.refresh(3, 10, false);
+        assertEquals(3, bulkCalls.get());
+        assertEquals(25, singleCalls.get());
+        assertEquals(25, statistics.getKeyCount());
+        assertEquals(3, statistics.getBatchCount());
+        assertEquals(3, statistics.getCompletedBatchCount());
+        assertEquals(25, statistics.getRefreshedKeyCount());
+        assertEquals(0, statistics.getFailedKeyCount());
+        assertTrue(statistics.isComplete());
+        assertSame(statistics, selfPopulatingCache.getLastBatchedRefreshStatistics());
+        for (int i = 0; i < 25; i++) {
+            assertEquals("new", selfPopulatingCache.get(i).getObjectValue());
+        }
+    }
+
+    /**
+     * Tests a batched refresh keeps going, and keeps stale values, when some keys fail.
+     */
+    @Test
+    public void testBatchedRefreshFailures() throws Exception {
+        final AtomicBoolean failing = new AtomicBoolean();
+        selfPopulatingCache = new SelfPopulatingCache(cache, new CacheEntryFactory() {
+            public Object createEntry(Object key) throws Exception {
+                if (failing.get() && ((Integer) key) % 5 == 0) {
+                    throw new Exception("failed " + key);
+                }
+                return failing.get() ? "new" : "old";
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            selfPopulatingCache.get(i);
+        }
+        failing.set(true);
+        try {
+            selfPopulatingCache.refresh(2, 4, true);
+            fail();
+        } catch (CacheException e) {
+            // expected
+        }
+        RefreshStatistics statistics = selfPopulatingCache.getLastBatchedRefreshStatistics();
+        assertEquals(5, statistics.getCompletedBatchCount());
+        assertEquals(16, statistics.getRefreshedKeyCount());
+        assertEquals(4, statistics.getFailedKeyCount());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i % 5 == 0 ? "old" : "new", selfPopulatingCache.get(i).getObjectValue());
+        }
+    }
+
     /**
      * Much like CountingCacheEntryFactory, but the value in the Element is
      * incremented on every update, in line with the 'count'
@@ -17,6 +17,8 @@
 package net.sf.ehcache.constructs.readthrough;
 
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.Assert;
 import net.sf.ehcache.Cache;
@@ -24,13 +26,18 @@ import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
 import net.sf.ehcache.constructs.refreshahead.StringifyCacheLoaderFactory;
 import net.sf.ehcache.loader.CacheLoader;
+import net.sf.ehcache.util.RetryAssert;
 
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.terracotta.test.categories.CheckShorts;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+
 @Category(CheckShorts.class)
 public class ReadThroughCacheTest {
 
@@ -101,4 +108,41 @@ public class ReadThroughCacheTest {
         manager.removeAllCaches();
         manager.shutdown();
     }
+
+    @Test
+    public void testStaleWhileRevalidate() throws Exception {
+        CacheManager manager = new CacheManager(new Configuration().name("staleWhileRevalidate"));
+        try {
+            manager.addCache(new Cache(new CacheConfiguration().name("swr").maxEntriesLocalHeap(100).timeToLiveSeconds(60)));
+            Ehcache cache = manager.getEhcache("swr");
+            cache.registerCacheLoader(stringifyCacheLoader);
+            final ReadThroughCache decorator = new ReadThroughCache(cache, new ReadThroughCacheConfiguration()
+                .staleWhileRevalidate(true).timeToRefreshSeconds(1).build());
+
+            // a miss loads synchronously
+            Element loaded = decorator.get(1);
+            Assert.assertEquals("1", loaded.getObjectValue());
+
+            sleepy(1200);
+
+            // stale elements are served without waiting for the (one second long) load
+            long start = System.nanoTime();
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(loaded.getCreationTime(), decorator.get(1).getCreationTime());
+            }
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+
+            final long staleCreationTime = loaded.getCreationTime();
+            RetryAssert.assertBy(5, TimeUnit.SECONDS, new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    return decorator.get(1).getCreationTime();
+                }
+            }, not(equalTo(staleCreationTime)));
+            // all the stale reads were served by a single refresh
+            Assert.assertEquals(1, decorator.getRefreshSuccessCount());
+        } finally {
+            manager.shutdown();
+        }
+    }
 }
@@ -11,10 +11,16 @@ import net.sf.ehcache.statistics.extended.ExtendedStatistics;
 
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.terracotta.test.categories.CheckShorts;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static net.sf.ehcache.util.RetryAssert.assertBy;
@@ -25,6 +31,10 @@ import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @Category(CheckShorts.class)
 public class RefreshAheadCacheTest {
@@ -176,4 +186,93 @@ public class RefreshAheadCacheTest {
             cacheManager.shutdown();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStaleWhileRevalidate() {
+
+        CacheManager manager = new CacheManager(new Configuration().name("staleWhileRevalidate"));
+
+        try {
+            manager.addCache(new Cache(new CacheConfiguration().name("test").timeToLiveSeconds(60).overflowToDisk(false)
+                    .maxElementsInMemory(100)));
+            Ehcache cache = manager.getEhcache("test");
+
+            RefreshAheadCacheConfiguration refreshConfig = new RefreshAheadCacheConfiguration().timeToRefreshSeconds(1)
+                    .maximumRefreshBacklogItems(100).staleWhileRevalidate(true).build();
+            final RefreshAheadCache decorator = new RefreshAheadCache(cache, refreshConfig);
+            cache.registerCacheLoader(stringifyCacheLoader);
+
+            // no support cache in this mode
+            assertEquals(1, manager.getCacheNames().length);
+
+            final Integer key1 = 1;
+            decorator.put(new Element(key1, "1"));
+            Element got = decorator.get(key1);
+            long creationTime = got.getCreationTime();
+
+            sleepFor(1200, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < 10; i++) {
+                assertNotNull(decorator.get(key1));
+            }
+            assertBy(5, TimeUnit.SECONDS, new Callable<Element>() {
+                @Override
+                public Element call() throws Exception {
+                    return decorator.get(key1);
+                }
+            }, not(sameInstance(got)));
+            got = decorator.get(key1);
+            assertFalse(creationTime == got.getCreationTime());
+            assertEquals(1, decorator.getRefreshSuccessCount());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testKeysDroppedFromFullBacklogCanBeRefreshedAgain() throws Exception {
+
+        CacheManager manager = new CacheManager(new Configuration().name("staleWhileRevalidateBacklog"));
+        StaleWhileRevalidateRefresher refresher = null;
+
+        try {
+            manager.addCache(new Cache(new CacheConfiguration().name("test").maxElementsInMemory(100)));
+            Ehcache cache = manager.getEhcache("test");
+            final CountDownLatch loading = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            CacheLoader blockingLoader = mock(CacheLoader.class);
+            when(blockingLoader.loadAll(any(Collection.class))).thenAnswer(new Answer<Map>() {
+                @Override
+                public Map answer(InvocationOnMock invocation) throws Throwable {
+                    loading.countDown();
+                    release.await();
+                    return Collections.emptyMap();
+                }
+            });
+            cache.registerCacheLoader(blockingLoader);
+
+            // one refresh thread and room for a single queued key
+            refresher = new StaleWhileRevalidateRefresher(cache, 1, StaleWhileRevalidateRefresher.DEFAULT_BETA, false, 1, 1, 1);
+            Element busy = new Element("busy", "0");
+            Element first = new Element("first", "1");
+            Element second = new Element("second", "2");
+            sleepFor(10, TimeUnit.MILLISECONDS);
+
+            assertTrue(refresher.possiblyRefresh(busy));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            assertTrue(refresher.possiblyRefresh(first));
+            // pushes first off the queue
+            assertTrue(refresher.possiblyRefresh(second));
+            assertEquals(1, refresher.getWorkQueue().getDroppedCount());
+            assertEquals(2, refresher.getInFlightCount());
+
+            // first was never refreshed, so it must not be held back as in flight
+            assertTrue(refresher.possiblyRefresh(first));
+            release.countDown();
+        } finally {
+            if (refresher != null) {
+                refresher.shutdown();
+            }
+            manager.shutdown();
+        }
+    }
+}
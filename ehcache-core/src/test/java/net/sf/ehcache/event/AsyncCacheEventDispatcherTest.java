@@ -0,0 +1,380 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.event;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.CacheConfiguration.CacheEventListenerFactoryConfiguration;
+import net.sf.ehcache.config.Configuration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author ehcache
+ */
+public class AsyncCacheEventDispatcherTest {
+
+    private CacheManager manager;
+    private Cache cache;
+
+    @Before
+    public void setUp() {
+        manager = new CacheManager(new Configuration().name("asyncEventDispatcher"));
+        cache = new Cache(new CacheConfiguration().name("events").maxEntriesLocalHeap(10000));
+        manager.addCache(cache);
+    }
+
+    @After
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    public void testRingBuffer() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<Integer>(3);
+        assertThat(buffer.capacity(), is(4));
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i), is(true));
+        }
+        assertThat(buffer.offer(4), is(false));
+        assertThat(buffer.size(), is(4));
+        assertThat(buffer.poll(), is(0));
+        assertThat(buffer.offer(4), is(true));
+        for (int i = 1; i <= 4; i++) {
+            assertThat(buffer.poll(), is(i));
+        }
+        assertThat(buffer.poll(), nullValue());
+        assertThat(buffer.size(), is(0));
+    }
+
+    @Test
+    public void testEventsAreDeliveredAsynchronouslyInKeyOrder() throws InterruptedException {
+        RecordingListener listener = new RecordingListener(null);
+        cache.getCacheEventNotificationService().registerListener(listener, NotificationScope.ALL,
+            new AsyncEventDispatchConfiguration().dispatcherThreads(4));
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(new Element(i % 10, i));
+        }
+        cache.remove(3);
+
+        AsyncCacheEventDispatcher dispatcher = cache.getCacheEventNotificationService().getAsyncEventDispatcher(listener);
+        listener.await(1001);
+        assertThat(listener.threads.contains(Thread.currentThread()), is(false));
+        for (int key = 0; key < 10; key++) {
+            List<Object> values = listener.valuesFor(key);
+            assertThat(values.size(), is(key == 3 ? 101 : 100));
+            for (int i = 0; i < 100; i++) {
+                assertThat(values.get(i), is((Object) (i * 10 + key)));
+            }
+        }
+        assertThat(listener.valuesFor(3).get(100), is((Object) "removed"));
+        assertThat(dispatcher.getQueuedCount(), is(1001L));
+        awaitDelivered(dispatcher, 1001L);
+        assertThat(dispatcher.getDroppedCount(), is(0L));
+        assertThat(dispatcher.getBacklog(), is(0));
+    }
+
+    @Test
+    public void testBatchListenerReceivesBatches() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        BatchRecordingListener listener = new BatchRecordingListener(gate);
+        cache.getCacheEventNotificationService().registerListener(listener, NotificationScope.ALL,
+            new AsyncEventDispatchConfiguration().batchSize(10));
+
+        for (int i = 0; i < 50; i++) {
+            cache.put(new Element(i, i));
+        }
+        gate.countDown();
+        listener.await(50);
+
+        assertThat(listener.batchSizes.size(), lessThanOrEqualTo(50));
+        for (int size : listener.batchSizes) {
+            assertThat(size, lessThanOrEqualTo(10));
+        }
+        assertThat(listener.batchSizes.size(), greaterThan(1));
+        assertThat(listener.events.get(0).getType(), is(QueuedCacheEvent.Type.PUT));
+        assertThat(listener.events.get(49).getElement().getObjectKey(), is((Object) 49));
+    }
+
+    @Test
+    public void testOverflowDropsEvents() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingListener listener = new RecordingListener(gate);
+        cache.getCacheEventNotificationService().registerListener(listener, NotificationScope.ALL,
+            new AsyncEventDispatchConfiguration().queueSize(8).overflowPolicy(EventOverflowPolicy.DROP_NEWEST));
+        AsyncCacheEventDispatcher dispatcher = cache.getCacheEventNotificationService().getAsyncEventDispatcher(listener);
+
+        cache.put(new Element("first", 0));
+        while (dispatcher.getBacklog() > 0) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Element(i, i));
+        }
+        assertThat(dispatcher.getDroppedCount(), is(100L - 8L));
+        assertThat(dispatcher.getBacklog(), is(8));
+        Thread.sleep(20);
+        assertThat(dispatcher.getLagMillis(), greaterThan(0L));
+
+        gate.countDown();
+        listener.await(9);
+        awaitDelivered(dispatcher, 9L);
+        assertThat(dispatcher.getLagMillis(), is(0L));
+        assertThat(listener.valuesFor(7), is(Collections.<Object>singletonList(7)));
+        assertThat(listener.valuesFor(8).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testDropOldestKeepsNewestEvents() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingListener listener = new RecordingListener(gate);
+        cache.getCacheEventNotificationService().registerListener(listener, NotificationScope.ALL,
+            new AsyncEventDispatchConfiguration().queueSize(8).overflowPolicy(EventOverflowPolicy.DROP_OLDEST));
+        AsyncCacheEventDispatcher dispatcher = cache.getCacheEventNotificationService().getAsyncEventDispatcher(listener);
+
+        cache.put(new Element("first", 0));
+        while (dispatcher.getBacklog() > 0) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Element(i, i));
+        }
+        gate.countDown();
+        listener.await(9);
+        assertThat(dispatcher.getDroppedCount(), is(100L - 8L));
+        assertThat(listener.valuesFor(99), is(Collections.<Object>singletonList(99)));
+        assertThat(listener.valuesFor(91).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testRemoveAllIsOrderedAcrossQueues() throws InterruptedException {
+        RecordingListener listener = new RecordingListener(null);
+        cache.getCacheEventNotificationService().registerListener(listener, NotificationScope.ALL,
+            new AsyncEventDispatchConfiguration().dispatcherThreads(4));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Element(i, i));
+        }
+        cache.removeAll();
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Element(i, i));
+        }
+        listener.await(201);
+
+        int removeAll = listener.order.indexOf("removeAll");
+        assertThat(removeAll, is(100));
+        assertThat(listener.order.lastIndexOf("removeAll"), is(removeAll));
+    }
+
+    @Test
+    public void testRemoveAllIsNotDroppedFromFullQueues() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingListener listener = new RecordingListener(gate);
+        cache.getCacheEventNotificationService().registerListener(listener, NotificationScope.ALL,
+            new AsyncEventDispatchConfiguration().dispatcherThreads(2).queueSize(8)
+                .overflowPolicy(EventOverflowPolicy.DROP_NEWEST));
+        AsyncCacheEventDispatcher dispatcher = cache.getCacheEventNotificationService().getAsyncEventDispatcher(listener);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Element(i, i));
+        }
+        assertThat(dispatcher.getDroppedCount(), greaterThan(0L));
+        cache.removeAll();
+        gate.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!listener.order.contains("removeAll") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(listener.order.contains("removeAll"), is(true));
+        while (dispatcher.getBacklog() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        int delivered = listener.order.size();
+        for (int i = 0; i < 10; i++) {
+            cache.put(new Element("after" + i, i));
+        }
+        listener.await(delivered + 10);
+        assertThat(listener.order.indexOf("removeAll"), is(listener.order.lastIndexOf("removeAll")));
+
+        long start = System.nanoTime();
+        cache.getCacheEventNotificationService().dispose();
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), lessThanOrEqualTo(5L));
+    }
+
+    @Test
+    public void testDisposeDeliversQueuedEvents() {
+        CacheEventListenerFactoryConfiguration factoryConfiguration = new CacheEventListenerFactoryConfiguration()
+            .className(NullCacheEventListenerFactory.class.getName()).asynchronous(true).dispatcherThreads(2)
+            .dispatchQueueSize(16).dispatchBatchSize(4).overflowPolicy("drop_oldest");
+        AsyncEventDispatchConfiguration dispatchConfiguration = factoryConfiguration.getAsyncDispatchConfiguration();
+        assertThat(dispatchConfiguration.getDispatcherThreads(), is(2));
+        assertThat(dispatchConfiguration.getQueueSize(), is(16));
+        assertThat(dispatchConfiguration.getBatchSize(), is(4));
+        assertThat(dispatchConfiguration.getOverflowPolicy(), is(EventOverflowPolicy.DROP_OLDEST));
+        assertThat(factoryConfiguration.clone().getAsyncDispatchConfiguration().getQueueSize(), is(16));
+        assertThat(new CacheEventListenerFactoryConfiguration().getAsyncDispatchConfiguration(), nullValue());
+
+        Cache configured = new Cache(new CacheConfiguration().name("configured").maxEntriesLocalHeap(100)
+            .cacheEventListenerFactory(factoryConfiguration));
+        manager.addCache(configured);
+        CacheEventListener listener = configured.getCacheEventNotificationService().getCacheEventListeners().iterator().next();
+        AsyncCacheEventDispatcher dispatcher = configured.getCacheEventNotificationService().getAsyncEventDispatcher(listener);
+        assertThat(dispatcher, notNullValue());
+
+        for (int i = 0; i < 10; i++) {
+            configured.put(new Element(i, i));
+        }
+        configured.dispose();
+        assertThat(dispatcher.getDeliveredCount(), is(10L));
+        assertThat(dispatcher.getBacklog(), is(0));
+    }
+
+    private static void awaitDelivered(AsyncCacheEventDispatcher dispatcher, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (dispatcher.getDeliveredCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(dispatcher.getDeliveredCount(), is(count));
+    }
+
+    /**
+     * Records the events it is notified of, optionally holding delivery until a gate opens
+     */
+    static class RecordingListener extends CacheEventListenerAdapter {
+
+        private final CountDownLatch gate;
+        private final List<Object> order = Collections.synchronizedList(new ArrayList<Object>());
+        private final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+        private final List<Element> elements = Collections.synchronizedList(new ArrayList<Element>());
+
+        RecordingListener(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void notifyElementPut(Ehcache cache, Element element) {
+            record(element, element.getObjectValue());
+        }
+
+        @Override
+        public void notifyElementUpdated(Ehcache cache, Element element) {
+            record(element, element.getObjectValue());
+        }
+
+        @Override
+        public void notifyElementRemoved(Ehcache cache, Element element) {
+            record(new Element(element.getObjectKey(), "removed"), "removed");
+        }
+
+        @Override
+        public void notifyRemoveAll(Ehcache cache) {
+            record(null, "removeAll");
+        }
+
+        private void record(Element element, Object what) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            threads.add(Thread.currentThread());
+            order.add(what);
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+
+        List<Object> valuesFor(Object key) {
+            List<Object> values = new ArrayList<Object>();
+            synchronized (elements) {
+                for (Element element : elements) {
+                    if (element.getObjectKey().equals(key)) {
+                        values.add(element.getObjectValue());
+                    }
+                }
+            }
+            return values;
+        }
+
+        void await(int events) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (order.size() < events && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(order.size(), is(events));
+        }
+    }
+
+    /**
+     * Records the batches of events it is handed
+     */
+    static class BatchRecordingListener extends CacheEventListenerAdapter implements CacheEventBatchListener {
+
+        private final CountDownLatch gate;
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+        private final List<QueuedCacheEvent> events = Collections.synchronizedList(new ArrayList<QueuedCacheEvent>());
+
+        BatchRecordingListener(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void notifyElementPut(Ehcache cache, Element element) {
+            throw new AssertionError("Batch listeners are notified in batches");
+        }
+
+        public void notifyEvents(Ehcache cache, List<QueuedCacheEvent> batch) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            batchSizes.add(batch.size());
+            events.addAll(batch);
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(events.size(), is(count));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.event;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.event.QueuedCacheEvent.Type;
+import net.sf.ehcache.event.RegisteredEventListeners.ElementCreationCallback;
+import net.sf.ehcache.event.RegisteredEventListeners.KeyedElementCreationCallback;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author ehcache
+ */
+public class CacheEventFilterTest {
+
+    private static final CacheEventFilter.KeyFilter USERS = new CacheEventFilter.KeyFilter() {
+        public boolean accept(Object key) {
+            return key.toString().startsWith("user:");
+        }
+    };
+
+    private CacheManager manager;
+    private Cache cache;
+    private RegisteredEventListeners listeners;
+
+    @Before
+    public void setUp() {
+        manager = new CacheManager(new Configuration().name("cacheEventFilter"));
+        cache = new Cache(new CacheConfiguration().name("events").maxEntriesLocalHeap(1000));
+        manager.addCache(cache);
+        listeners = cache.getCacheEventNotificationService();
+    }
+
+    @After
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    public void testFilterComposition() {
+        CacheEventFilter filter = CacheEventFilter.ALL.types(Type.REMOVED, Type.EXPIRED);
+        assertThat(filter.accepts(Type.REMOVED), is(true));
+        assertThat(filter.accepts(Type.PUT), is(false));
+        assertThat(filter.types(Type.PUT, Type.REMOVED).accepts(Type.PUT), is(false));
+        assertThat(filter.acceptsKey("anything"), is(true));
+
+        CacheEventFilter keyed = filter.keys(USERS).keys(new CacheEventFilter.KeyFilter() {
+            public boolean accept(Object key) {
+                return !key.toString().endsWith("admin");
+            }
+        });
+        assertThat(keyed.acceptsKey("user:1"), is(true));
+        assertThat(keyed.acceptsKey("user:admin"), is(false));
+        assertThat(keyed.acceptsKey("order:1"), is(false));
+        assertThat(keyed.isKeyOnly(), is(false));
+        assertThat(keyed.keyOnly().isKeyOnly(), is(true));
+        assertThat(CacheEventFilter.ALL.accepts(Type.REMOVE_ALL), is(true));
+    }
+
+    @Test
+    public void testFilteredListenerOnlySeesAcceptedEvents() {
+        CountingCacheEventListener listener = new CountingCacheEventListener();
+        listeners.registerListener(listener, NotificationScope.ALL, CacheEventFilter.ALL.types(Type.REMOVED).keys(USERS));
+
+        cache.put(new Element("user:1", "a"));
+        cache.put(new Element("order:1", "b"));
+        cache.remove("user:1");
+        cache.remove("order:1");
+        cache.removeAll();
+
+        assertThat(listener.getCacheElementsPut().size(), is(0));
+        assertThat(listener.getCacheElementsRemoved().size(), is(1));
+        assertThat(listener.getCacheElementsRemoved().get(0).getElement().getObjectKey(), is((Object) "user:1"));
+        assertThat(listener.getCacheElementsRemoved().get(0).getElement().getObjectValue(), is((Object) "a"));
+        assertThat(listener.getCacheRemoveAlls().size(), is(0));
+    }
+
+    @Test
+    public void testKeyOnlyListenerSkipsElementCreation() {
+        CountingCacheEventListener listener = new CountingCacheEventListener();
+        listeners.registerListener(listener, NotificationScope.ALL, CacheEventFilter.ALL.keys(USERS).keyOnly());
+
+        KeyedCountingCallback accepted = new KeyedCountingCallback("user:1");
+        KeyedCountingCallback rejected = new KeyedCountingCallback("order:1");
+        listeners.notifyElementPut(accepted, false);
+        listeners.notifyElementPut(rejected, false);
+
+        assertThat(accepted.created.get(), is(0));
+        assertThat(rejected.created.get(), is(0));
+        assertThat(listener.getCacheElementsPut().size(), is(1));
+        assertThat(listener.getCacheElementsPut().get(0).getElement().getObjectKey(), is((Object) "user:1"));
+        assertThat(listener.getCacheElementsPut().get(0).getElement().getObjectValue(), nullValue());
+    }
+
+    @Test
+    public void testTypeFilterSkipsElementCreation() {
+        CountingCacheEventListener listener = new CountingCacheEventListener();
+        listeners.registerListener(listener, NotificationScope.ALL, CacheEventFilter.ALL.types(Type.EVICTED));
+
+        CountingCallback put = new CountingCallback("user:1");
+        listeners.notifyElementPut(put, false);
+        assertThat(put.created.get(), is(0));
+
+        CountingCallback evicted = new CountingCallback("user:1");
+        listeners.notifyElementEvicted(evicted, false);
+        assertThat(evicted.created.get(), is(1));
+        assertThat(listener.getCacheElementsEvicted().size(), is(1));
+        assertThat(listener.getCacheElementsEvicted().get(0).getElement().getObjectValue(), is((Object) "value"));
+    }
+
+    @Test
+    public void testKeyFilterWithoutKeyedCallbackCreatesElementOnce() {
+        CountingCacheEventListener listener = new CountingCacheEventListener();
+        listeners.registerListener(listener, NotificationScope.ALL, CacheEventFilter.ALL.keys(USERS));
+
+        CountingCallback callback = new CountingCallback("order:1");
+        listeners.notifyElementPut(callback, false);
+        assertThat(callback.created.get(), is(1));
+        assertThat(listener.getCacheElementsPut().size(), is(0));
+    }
+
+    /**
+     * Counts the elements it creates
+     */
+    private static class CountingCallback implements ElementCreationCallback {
+
+        final Object key;
+        final AtomicInteger created = new AtomicInteger();
+
+        CountingCallback(Object key) {
+            this.key = key;
+        }
+
+        public Element createElement(ClassLoader loader) {
+            created.incrementAndGet();
+            return new Element(key, "value");
+        }
+    }
+
+    /**
+     * Counts the elements it creates, telling their key without creating them
+     */
+    private static final class KeyedCountingCallback extends CountingCallback implements KeyedElementCreationCallback {
+
+        KeyedCountingCallback(Object key) {
+            super(key);
+        }
+
+        public Object getObjectKey() {
+            return key;
+        }
+    }
+}
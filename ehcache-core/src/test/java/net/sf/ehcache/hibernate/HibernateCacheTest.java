@@ -5,12 +5,15 @@
 package net.sf.ehcache.hibernate;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Status;
 import net.sf.ehcache.hibernate.domain.Event;
 import net.sf.ehcache.hibernate.domain.EventManager;
@@ -18,6 +21,7 @@ import net.sf.ehcache.hibernate.domain.Item;
 import net.sf.ehcache.hibernate.domain.Person;
 import net.sf.ehcache.hibernate.domain.PhoneNumber;
 import net.sf.ehcache.hibernate.domain.VersionedItem;
+import net.sf.ehcache.hibernate.strategy.EhcacheBulkAccessStrategy;
 
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
@@ -25,6 +29,7 @@ import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.cache.access.SoftLock;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.SessionFactoryImplementor;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
 import org.hibernate.stat.Statistics;
@@ -267,4 +272,33 @@ public class HibernateCacheTest {
         assertEquals("Cache Hit Count", 0L, queryStats.getCacheHitCount());
         assertEquals("Cache Put Count", 1L, queryStats.getCachePutCount());
     }
+
+    @Test
+    public void testBulkGet() {
+        Session s = getSessionFactory().openSession();
+        Transaction t = s.beginTransaction();
+        for (int n = 0; n < 3; n++) {
+            Item i = new Item();
+            i.setName("bulk-" + n);
+            i.setDescription("bulk item " + n);
+            s.persist(i);
+        }
+        t.commit();
+        s.close();
+
+        Ehcache cache = CacheManager.getCacheManager("tc").getEhcache(Item.class.getName());
+        List keys = new ArrayList(cache.getKeys());
+        assertEquals(3, keys.size());
+        keys.add("missing");
+
+        EhcacheBulkAccessStrategy strategy = (EhcacheBulkAccessStrategy) ((SessionFactoryImplementor) getSessionFactory())
+                .getEntityPersister(Item.class.getName()).getCacheAccessStrategy();
+        Map<Object, Object> values = strategy.getAll(keys, Long.MAX_VALUE);
+        assertEquals(3, values.size());
+        for (Object key : keys.subList(0, 3)) {
+            assertEquals(strategy.getAll(Collections.singleton(key), Long.MAX_VALUE).get(key), values.get(key));
+        }
+        // items are not readable by transactions started before they got cached
+        assertTrue(strategy.getAll(keys, 0L).isEmpty());
+    }
 }
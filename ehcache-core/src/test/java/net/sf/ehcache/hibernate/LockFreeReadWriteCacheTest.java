@@ -0,0 +1,146 @@
+package net.sf.ehcache.hibernate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.hibernate.domain.Item;
+import net.sf.ehcache.hibernate.regions.EhcacheTransactionalDataRegion;
+import net.sf.ehcache.hibernate.strategy.EhcacheBulkAccessStrategy;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.terracotta.test.categories.CheckShorts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ehcache
+ */
+@Category(CheckShorts.class)
+public class LockFreeReadWriteCacheTest {
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeClass
+    public static void setUp() {
+        System.setProperty("derby.system.home", "target/derby");
+        Configuration config = new Configuration().configure("/hibernate-config/hibernate.cfg.xml");
+        config.setProperty("hibernate.hbm2ddl.auto", "create");
+        config.setProperty(EhcacheTransactionalDataRegion.LOCK_FREE_READ_WRITE_PROPERTY, "true");
+        sessionFactory = config.buildSessionFactory();
+        sessionFactory.getStatistics().setStatisticsEnabled(true);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Before
+    public void clearCache() {
+        getRegionCache(Item.class.getName()).removeAll();
+    }
+
+    @Test
+    public void testItemLifecycle() {
+        Session s = sessionFactory.openSession();
+        Transaction t = s.beginTransaction();
+        Item i = new Item();
+        i.setName("widget");
+        i.setDescription("A really top-quality, full-featured widget.");
+        s.persist(i);
+        t.commit();
+        s.close();
+
+        SecondLevelCacheStatistics slcs = sessionFactory.getStatistics().getSecondLevelCacheStatistics(Item.class.getName());
+        assertEquals(1, slcs.getPutCount());
+        Ehcache cache = getRegionCache(Item.class.getName());
+        assertEquals(1, cache.getSize());
+        Element element = cache.get(cache.getKeys().get(0));
+        assertNotNull(element);
+        assertTrue(element.getObjectValue().getClass().getName().startsWith(
+                "net.sf.ehcache.hibernate.strategy.AbstractLockFreeReadWriteEhcacheAccessStrategy$"));
+
+        s = sessionFactory.openSession();
+        t = s.beginTransaction();
+        i = (Item) s.get(Item.class, i.getId());
+        assertEquals(1, slcs.getHitCount());
+        i.setDescription("A bog standard item");
+        t.commit();
+        s.close();
+
+        assertEquals(2, slcs.getPutCount());
+
+        s = sessionFactory.openSession();
+        t = s.beginTransaction();
+        i = (Item) s.get(Item.class, i.getId());
+        assertEquals(2, slcs.getHitCount());
+        assertEquals("A bog standard item", i.getDescription());
+        s.delete(i);
+        t.commit();
+        s.close();
+
+        s = sessionFactory.openSession();
+        t = s.beginTransaction();
+        assertNull(s.get(Item.class, i.getId()));
+        assertEquals(2, slcs.getHitCount());
+        t.commit();
+        s.close();
+    }
+
+    private static Ehcache getRegionCache(String name) {
+        for (CacheManager manager : CacheManager.ALL_CACHE_MANAGERS) {
+            Ehcache cache = manager.getEhcache(name);
+            if (cache != null) {
+                return cache;
+            }
+        }
+        throw new AssertionError("no cache named " + name);
+    }
+
+    @Test
+    public void testBulkGet() {
+        Session s = sessionFactory.openSession();
+        Transaction t = s.beginTransaction();
+        for (int n = 0; n < 3; n++) {
+            Item i = new Item();
+            i.setName("bulk-" + n);
+            i.setDescription("bulk item " + n);
+            s.persist(i);
+        }
+        t.commit();
+        s.close();
+
+        Ehcache cache = getRegionCache(Item.class.getName());
+        List keys = new ArrayList(cache.getKeys());
+        assertEquals(3, keys.size());
+        keys.add("missing");
+
+        EhcacheBulkAccessStrategy strategy = (EhcacheBulkAccessStrategy) ((SessionFactoryImplementor) sessionFactory)
+                .getEntityPersister(Item.class.getName()).getCacheAccessStrategy();
+        Map<Object, Object> values = strategy.getAll(keys, Long.MAX_VALUE);
+        assertEquals(3, values.size());
+        for (Object key : keys.subList(0, 3)) {
+            assertEquals(strategy.getAll(Collections.singleton(key), Long.MAX_VALUE).get(key), values.get(key));
+        }
+        // items are not readable by transactions started before they got cached
+        assertTrue(strategy.getAll(keys, 0L).isEmpty());
+    }
+}
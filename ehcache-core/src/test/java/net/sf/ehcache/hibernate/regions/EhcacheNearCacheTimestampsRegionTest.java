@@ -0,0 +1,96 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.hibernate.regions;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Properties;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.hibernate.strategy.EhcacheAccessStrategyFactoryImpl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author ehcache
+ */
+public class EhcacheNearCacheTimestampsRegionTest {
+
+    private CacheManager manager;
+    private Cache cache;
+    private EhcacheNearCacheTimestampsRegion region;
+
+    @Before
+    public void setUp() {
+        manager = new CacheManager(new Configuration().name("near-cache-timestamps"));
+        cache = new Cache(new CacheConfiguration().name("timestamps").maxEntriesLocalHeap(100).eternal(true));
+        manager.addCache(cache);
+        region = new EhcacheNearCacheTimestampsRegion(new EhcacheAccessStrategyFactoryImpl(), cache, new Properties());
+    }
+
+    @After
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    public void testReadsAreServedFromHeap() {
+        region.put("ITEM", 10L);
+        assertThat(region.isReplicated("ITEM"), is(false));
+        assertThat(region.get("ITEM"), is((Object) 10L));
+        assertThat(region.isReplicated("ITEM"), is(true));
+        assertThat(region.get("ITEM"), is((Object) 10L));
+
+        assertThat(region.get("CATEGORY"), nullValue());
+        assertThat(region.isReplicated("CATEGORY"), is(true));
+    }
+
+    @Test
+    public void testChangesToTheUnderlyingCacheInvalidate() {
+        region.put("ITEM", 10L);
+        region.get("ITEM");
+        assertThat(region.get("CATEGORY"), nullValue());
+
+        cache.put(new Element("ITEM", 20L));
+        assertThat(region.isReplicated("ITEM"), is(false));
+        assertThat(region.get("ITEM"), is((Object) 20L));
+
+        cache.put(new Element("CATEGORY", 30L));
+        assertThat(region.get("CATEGORY"), is((Object) 30L));
+
+        cache.remove("ITEM");
+        assertThat(region.get("ITEM"), nullValue());
+
+        region.evictAll();
+        assertThat(region.isReplicated("CATEGORY"), is(false));
+        assertThat(region.get("CATEGORY"), nullValue());
+    }
+
+    @Test
+    public void testDestroyUnregistersTheInvalidator() {
+        int listeners = cache.getCacheEventNotificationService().getCacheEventListeners().size();
+        region.destroy();
+        assertThat(cache.getCacheEventNotificationService().getCacheEventListeners().size(), is(listeners - 1));
+    }
+}
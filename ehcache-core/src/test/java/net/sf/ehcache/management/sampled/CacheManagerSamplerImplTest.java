@@ -1,14 +1,27 @@
 package net.sf.ehcache.management.sampled;
 
+import java.util.Collection;
+
 import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheException;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.config.Searchable;
+import net.sf.ehcache.search.Direction;
+import net.sf.ehcache.search.Query;
 import net.sf.ehcache.search.SearchException;
+import net.sf.ehcache.search.query.PreparedQuery;
+import net.sf.ehcache.search.query.QueryManager;
 import net.sf.ehcache.search.query.QueryManagerBuilder;
 import net.sf.ehcache.search.query.TestQueryManagerBuilder;
+import net.sf.ehcache.store.StoreQuery;
 import org.junit.Test;
 
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -41,4 +54,85 @@ public class CacheManagerSamplerImplTest {
     QueryManagerBuilder qmb = TestQueryManagerBuilder.getQueryManagerBuilder();
     cacheManagerSampler.executeQuery("bogus query", qmb);
   }
+
+  @Test
+  public void testExecuteQueryPages() throws Exception {
+    CacheManager cacheManager = new CacheManager(new Configuration().name("executeQueryPages"));
+    try {
+      Cache cache = new Cache(new CacheConfiguration().name("numbers").maxEntriesLocalHeap(100).searchable(new Searchable()));
+      cacheManager.addCache(cache);
+      for (int i = 0; i < 25; i++) {
+        cache.put(new Element(i, "value" + i));
+      }
+
+      CacheManagerSamplerImpl cacheManagerSampler = new CacheManagerSamplerImpl(cacheManager);
+      QueryManagerBuilder qmb = TestQueryManagerBuilder.getQueryManagerBuilder(OrderedKeysQueryManager.class);
+
+      Object[][] page = cacheManagerSampler.executeQuery("ordered keys", qmb, 10, 10);
+      assertThat(page.length, is(11));
+      assertThat(((String) page[0][0]).startsWith("key:"), is(true));
+      assertThat(page[1][0], is((Object) "10"));
+      assertThat(page[10][0], is((Object) "19"));
+
+      page = cacheManagerSampler.executeQuery("ordered keys", qmb, 20, 10);
+      assertThat(page.length, is(6));
+      assertThat(page[5][0], is((Object) "24"));
+
+      page = cacheManagerSampler.executeQuery("ordered keys", qmb, 30, 10);
+      assertThat(page.length, is(1));
+    } finally {
+      cacheManager.shutdown();
+    }
+  }
+
+  @Test(expected = SearchException.class)
+  public void testExecuteQueryPagesAreBounded() throws Exception {
+    CacheManager cacheManager = new CacheManager(new Configuration().name("executeQueryPagesBounded"));
+    try {
+      CacheManagerSamplerImpl cacheManagerSampler = new CacheManagerSamplerImpl(cacheManager);
+      cacheManagerSampler.executeQuery("ordered keys", TestQueryManagerBuilder.getQueryManagerBuilder(OrderedKeysQueryManager.class),
+          Integer.MAX_VALUE - 10, 100);
+    } finally {
+      cacheManager.shutdown();
+    }
+  }
+
+  @Test
+  public void testExecuteQueryLastPageOfResultWindow() throws Exception {
+    CacheManager cacheManager = new CacheManager(new Configuration().name("executeQueryLastPage"));
+    try {
+      Cache cache = new Cache(new CacheConfiguration().name("numbers").maxEntriesLocalHeap(100).searchable(new Searchable()));
+      cacheManager.addCache(cache);
+      cache.put(new Element(1, "value1"));
+
+      CacheManagerSamplerImpl cacheManagerSampler = new CacheManagerSamplerImpl(cacheManager);
+      Object[][] page = cacheManagerSampler.executeQuery("ordered keys",
+          TestQueryManagerBuilder.getQueryManagerBuilder(OrderedKeysQueryManager.class),
+          CacheManagerSampler.MAX_QUERY_RESULT_WINDOW - 10, 10);
+      assertThat(page.length, is(1));
+    } finally {
+      cacheManager.shutdown();
+    }
+  }
+
+  public static class OrderedKeysQueryManager implements QueryManager {
+
+    private final Ehcache cache;
+
+    public OrderedKeysQueryManager(Collection<Ehcache> caches) {
+      this.cache = caches.iterator().next();
+    }
+
+    @Override
+    public Query createQuery(String statement) throws CacheException {
+      Query query = cache.createQuery().includeKeys().addOrderBy(Query.KEY, Direction.ASCENDING);
+      ((StoreQuery) query).targets(new String[] {"key"});
+      return query;
+    }
+
+    @Override
+    public PreparedQuery prepareQuery(String statement) throws CacheException {
+      throw new UnsupportedOperationException();
+    }
+  }
 }
@@ -11,10 +11,19 @@ public class TestQueryManagerBuilder {
         return new QueryManagerBuilder(QM.class);
     }
 
+    public static QueryManagerBuilder getQueryManagerBuilder(Class<? extends QueryManager> implementationClass) {
+        return new QueryManagerBuilder(implementationClass);
+    }
+
     public static class QM implements QueryManager {
         @Override
         public Query createQuery(String statement) throws CacheException {
             return null;
         }
+
+        @Override
+        public PreparedQuery prepareQuery(String statement) throws CacheException {
+            return null;
+        }
     }
 }
@@ -0,0 +1,112 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.statistics;
+
+import java.util.List;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.statistics.HotKeyTracker.HotKey;
+import net.sf.ehcache.statistics.HotKeyTracker.HotSegment;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author ehcache
+ */
+public class HotKeyTrackerTest {
+
+    @Test
+    public void testHottestKeysAreReportedFirst() {
+        HotKeyTracker tracker = new HotKeyTracker(null, 8, 1);
+        for (int i = 0; i < 1000; i++) {
+            tracker.recordGet("hot", true);
+            if (i % 2 == 0) {
+                tracker.recordGet("warm", false);
+            }
+            tracker.recordPut("cold-" + i);
+        }
+
+        List<HotKey> hottest = tracker.getHottestKeys(2);
+        assertThat(hottest.size(), is(2));
+        assertThat(hottest.get(0).getKey(), is((Object) "hot"));
+        assertThat(hottest.get(0).getHitRatio(), is(1.0));
+        assertThat(hottest.get(1).getKey(), is((Object) "warm"));
+        assertThat(hottest.get(1).getHitRatio(), is(0.0));
+        assertThat(hottest.get(0).getEstimatedCount(), greaterThan(hottest.get(1).getEstimatedCount()));
+
+        tracker.clear();
+        assertThat(tracker.getHottestKeys(2).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testHottestSegmentsAreReported() {
+        HotKeyTracker tracker = new HotKeyTracker(null, 8, 1);
+        tracker.registerSegments("test", new HotKeyTracker.SegmentLocator() {
+            @Override
+            public int getSegmentCount() {
+                return 4;
+            }
+
+            @Override
+            public int segmentIndexFor(Object key) {
+                return ((Integer) key) % 4;
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            tracker.recordGet(2, true);
+            tracker.recordGet(i, false);
+        }
+
+        List<HotSegment> hottest = tracker.getHottestSegments(1);
+        assertThat(hottest.size(), is(1));
+        assertThat(hottest.get(0).getStore(), is("test"));
+        assertThat(hottest.get(0).getIndex(), is(2));
+        assertThat(hottest.get(0).toString(), is("test[2]"));
+    }
+
+    @Test
+    public void testCacheTracksOnlyAtExtendedLevel() {
+        CacheManager manager = new CacheManager(new Configuration().name("hot-keys"));
+        try {
+            Cache cache = new Cache(new CacheConfiguration().name("foo").maxEntriesLocalHeap(1000));
+            manager.addCache(cache);
+            HotKeyTracker tracker = HotKeyTracker.forCache(cache);
+            cache.put(new Element("key", "value"));
+            for (int i = 0; i < 2000; i++) {
+                cache.get("key");
+            }
+            assertThat(tracker.isEnabled(), is(false));
+            assertThat(tracker.getHottestKeys(1).isEmpty(), is(true));
+
+            cache.getCacheConfiguration().setStatisticsLevel(StatisticsLevel.EXTENDED);
+            for (int i = 0; i < 2000; i++) {
+                cache.get("key");
+            }
+            List<HotKey> hottest = tracker.getHottestKeys(1);
+            assertThat(hottest.get(0).getKey(), is((Object) "key"));
+            assertThat(tracker.getHottestSegments(1).get(0).getStore(), is("local-heap"));
+        } finally {
+            manager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.statistics;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.statistics.extended.ExtendedStatistics.Histogram;
+import net.sf.ehcache.statistics.extended.HistogramSnapshot;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author ehcache
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testHistogramRecordsAtExtendedLevel() {
+        CacheManager manager = new CacheManager(new Configuration().name("histogram-extended"));
+        try {
+            Cache cache = new Cache(new CacheConfiguration().name("foo").maxEntriesLocalHeap(1000)
+                    .statisticsLevel(StatisticsLevel.EXTENDED));
+            manager.addCache(cache);
+
+            Histogram histogram = cache.getStatistics().cacheGetOperation().latency().histogram();
+            assertThat(histogram.snapshot().count(), is(0L));
+
+            cache.put(new Element("key", "value"));
+            for (int i = 0; i < 100; i++) {
+                cache.get("key");
+            }
+
+            HistogramSnapshot snapshot = histogram.snapshot();
+            assertThat(histogram.active(), is(true));
+            assertThat(snapshot.count(), is(100L));
+            assertThat(snapshot.percentile(50), greaterThan(0L));
+            assertThat(snapshot.percentile(50), lessThanOrEqualTo(snapshot.percentile(99)));
+            assertThat(snapshot.percentile(99), lessThanOrEqualTo(snapshot.percentile(99.9)));
+            assertThat(snapshot.percentile(99.9), lessThanOrEqualTo(snapshot.maximum()));
+            assertThat(snapshot.minimum(), lessThanOrEqualTo(snapshot.percentile(50)));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testHistogramDoesNotRecordBelowExtendedLevel() {
+        CacheManager manager = new CacheManager(new Configuration().name("histogram-core"));
+        try {
+            Cache cache = new Cache(new CacheConfiguration().name("foo").maxEntriesLocalHeap(1000));
+            manager.addCache(cache);
+
+            Histogram histogram = cache.getStatistics().cachePutOperation().latency().histogram();
+            histogram.snapshot();
+            cache.put(new Element("key", "value"));
+
+            assertThat(histogram.active(), is(false));
+            assertThat(histogram.snapshot().count(), is(0L));
+
+            cache.getCacheConfiguration().setStatisticsLevel(StatisticsLevel.EXTENDED);
+            cache.put(new Element("key", "value"));
+            assertThat(histogram.snapshot().count(), is(1L));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testSnapshotsMerge() {
+        CacheManager manager = new CacheManager(new Configuration().name("histogram-merge")
+                .statisticsLevel(StatisticsLevel.EXTENDED));
+        try {
+            Cache foo = new Cache(new CacheConfiguration().name("foo").maxEntriesLocalHeap(1000));
+            Cache bar = new Cache(new CacheConfiguration().name("bar").maxEntriesLocalHeap(1000));
+            manager.addCache(foo);
+            manager.addCache(bar);
+
+            Histogram fooHistogram = foo.getStatistics().cacheGetOperation().latency().histogram();
+            Histogram barHistogram = bar.getStatistics().cacheGetOperation().latency().histogram();
+            fooHistogram.snapshot();
+            barHistogram.snapshot();
+
+            for (int i = 0; i < 10; i++) {
+                foo.get("miss");
+            }
+            for (int i = 0; i < 20; i++) {
+                bar.get("miss");
+            }
+
+            HistogramSnapshot fooSnapshot = fooHistogram.snapshot();
+            HistogramSnapshot barSnapshot = barHistogram.snapshot();
+            HistogramSnapshot merged = fooSnapshot.merge(barSnapshot);
+            assertThat(merged.count(), is(30L));
+            assertThat(merged.maximum(), is(Math.max(fooSnapshot.maximum(), barSnapshot.maximum())));
+            assertThat(merged.minimum(), is(Math.min(fooSnapshot.minimum(), barSnapshot.minimum())));
+            assertThat(merged.merge(HistogramSnapshot.EMPTY).count(), is(30L));
+            assertThat(HistogramSnapshot.EMPTY.percentile(99), is(0L));
+            assertThat(merged.percentile(100), greaterThanOrEqualTo(merged.percentile(0)));
+        } finally {
+            manager.shutdown();
+        }
+    }
+}
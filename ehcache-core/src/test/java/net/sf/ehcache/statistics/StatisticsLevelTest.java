@@ -0,0 +1,107 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.statistics;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for the configurable statistics level.
+ *
+ * @author ehcache
+ */
+public class StatisticsLevelTest {
+
+    @Test
+    public void testOffCacheRecordsNothing() {
+        CacheManager manager = new CacheManager(new Configuration().name("level-manager"));
+        try {
+            Cache foo = new Cache(new CacheConfiguration().name("foo").maxEntriesLocalHeap(1000).statisticsLevel(StatisticsLevel.OFF));
+            manager.addCache(foo);
+
+            foo.put(new Element("foo", "foo"));
+            foo.get("foo");
+            foo.get("bar");
+
+            assertThat(foo.getStatistics().cachePutCount(), is(0L));
+            assertThat(foo.getStatistics().cacheHitCount(), is(0L));
+            assertThat(foo.getStatistics().cacheMissCount(), is(0L));
+            assertThat(foo.getStatistics().localHeapHitCount(), is(0L));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testLevelCanBeSwitchedAtRuntime() {
+        CacheManager manager = new CacheManager(new Configuration().name("level-manager"));
+        try {
+            Cache foo = new Cache(new CacheConfiguration().name("foo").maxEntriesLocalHeap(1000));
+            manager.addCache(foo);
+
+            foo.put(new Element("foo", "foo"));
+            assertThat(foo.getStatistics().cachePutCount(), is(1L));
+
+            foo.getCacheConfiguration().setStatisticsLevel(StatisticsLevel.OFF);
+            foo.put(new Element("bar", "bar"));
+            foo.get("foo");
+            assertThat(foo.getStatistics().cachePutCount(), is(1L));
+            assertThat(foo.getStatistics().cacheHitCount(), is(0L));
+
+            foo.getCacheConfiguration().setStatisticsLevel(StatisticsLevel.CORE);
+            foo.get("foo");
+            assertThat(foo.getStatistics().cacheHitCount(), is(1L));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void testCacheFollowsCacheManagerLevel() {
+        Configuration configuration = new Configuration().name("level-manager").statisticsLevel(StatisticsLevel.OFF);
+        CacheManager manager = new CacheManager(configuration);
+        try {
+            Cache inheriting = new Cache(new CacheConfiguration().name("inheriting").maxEntriesLocalHeap(1000));
+            Cache explicit = new Cache(new CacheConfiguration().name("explicit").maxEntriesLocalHeap(1000)
+                .statisticsLevel(StatisticsLevel.CORE));
+            manager.addCache(inheriting);
+            manager.addCache(explicit);
+
+            inheriting.put(new Element("foo", "foo"));
+            explicit.put(new Element("foo", "foo"));
+            assertThat(inheriting.getStatistics().cachePutCount(), is(0L));
+            assertThat(explicit.getStatistics().cachePutCount(), is(1L));
+
+            manager.getConfiguration().statisticsLevel(StatisticsLevel.CORE);
+            inheriting.put(new Element("bar", "bar"));
+            assertThat(inheriting.getStatistics().cachePutCount(), is(1L));
+
+            manager.getConfiguration().statisticsLevel(StatisticsLevel.OFF);
+            explicit.put(new Element("bar", "bar"));
+            assertThat(explicit.getStatistics().cachePutCount(), is(2L));
+        } finally {
+            manager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.statistics;
+
+import java.util.SortedMap;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.statistics.extended.ExtendedStatistics.WorkingSet;
+import net.sf.ehcache.statistics.extended.WorkingSetTracker;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author ehcache
+ */
+public class WorkingSetTrackerTest {
+
+    @Test
+    public void testCyclicAccessMissRatioCurve() {
+        WorkingSetTracker tracker = new WorkingSetTracker(null);
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                tracker.recordGet(i);
+            }
+        }
+
+        // a cyclic scan only hits in an LRU cache big enough to hold the whole cycle
+        assertThat(tracker.hitRatio(64), is(0.0));
+        assertThat(tracker.hitRatio(128), is(49.0 / 50));
+        SortedMap<Long, Double> curve = tracker.missRatioCurve();
+        assertThat(curve.get(64L), is(1.0));
+        assertThat(curve.get(curve.lastKey()), lessThan(0.05));
+        assertThat(Math.abs(tracker.distinctKeys() - 100), lessThan(3L));
+    }
+
+    @Test
+    public void testSampledEstimatesOnLargeKeySpace() {
+        WorkingSetTracker tracker = new WorkingSetTracker(null, 512);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20000; i++) {
+                tracker.recordGet("key-" + i);
+            }
+        }
+
+        assertThat(tracker.hitRatio(10000), lessThan(0.1));
+        assertThat(tracker.hitRatio(40000), greaterThan(0.7));
+        assertThat((double) tracker.distinctKeys(), greaterThan(19000.0));
+        assertThat((double) tracker.distinctKeys(), lessThan(21000.0));
+
+        tracker.clear();
+        assertThat(tracker.distinctKeys(), is(0L));
+        assertThat(tracker.missRatioCurve().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testCacheWorkingSetOnlyAtExtendedLevel() {
+        CacheManager manager = new CacheManager(new Configuration().name("working-set"));
+        try {
+            Cache cache = new Cache(new CacheConfiguration().name("foo").maxEntriesLocalHeap(1000));
+            manager.addCache(cache);
+            WorkingSet workingSet = cache.getStatistics().getExtended().workingSet();
+            cache.put(new Element("key", "value"));
+            cache.get("key");
+            assertThat(workingSet.active(), is(false));
+            assertThat(workingSet.distinctKeys(), is(0L));
+
+            cache.getCacheConfiguration().setStatisticsLevel(StatisticsLevel.EXTENDED);
+            for (int i = 0; i < 10; i++) {
+                cache.put(new Element(i, i));
+            }
+            for (int i = 0; i < 10; i++) {
+                cache.get(i);
+            }
+            assertThat(Math.abs(workingSet.distinctKeys() - 10), lessThan(2L));
+            assertThat(workingSet.hitRatio(16), is(1.0));
+            assertThat(workingSet.hitRatio(4), is(0.0));
+        } finally {
+            manager.shutdown();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package net.sf.ehcache.store;
 
 import net.sf.ehcache.Element;
 import net.sf.ehcache.store.compound.ReadWriteCopyStrategy;
+import net.sf.ehcache.store.compound.ReadWriteDeepCopyStrategy;
 
 import org.junit.After;
 import org.junit.Before;
@@ -132,6 +133,17 @@ public class CopyStrategyHandlerTest {
         verify(copyStrategy).copyForRead(serial, loader);
     }
 
+    @Test
+    public void given_copy_on_read_with_deep_copy_strategy_when_copyElementForReadIfNeeded_with_Element_then_copies_once() {
+        ReadWriteDeepCopyStrategy deepCopyStrategy = mock(ReadWriteDeepCopyStrategy.class);
+        Element element = new Element("key", "value");
+        when(deepCopyStrategy.copyForRead(element, loader)).thenReturn(new Element("key", "value"));
+        CopyStrategyHandler copyStrategyHandler = new CopyStrategyHandler(true, false, deepCopyStrategy, loader);
+        assertThat(copyStrategyHandler.copyElementForReadIfNeeded(element), allOf(not(sameInstance(element)), is(element)));
+        verify(deepCopyStrategy).copyForRead(element, loader);
+        verifyNoMoreInteractions(deepCopyStrategy);
+    }
+
     @Test
     public void given_copy_on_read_when_copyElementForReadIfNeeded_with_null_then_returns_null() {
         CopyStrategyHandler copyStrategyHandler = new CopyStrategyHandler(true, false, copyStrategy, loader);
@@ -189,6 +201,17 @@ public class CopyStrategyHandlerTest {
         verify(copyStrategy).copyForRead(serial, loader);
     }
 
+    @Test
+    public void given_copy_on_write_with_deep_copy_strategy_when_copyElementForWriteIfNeeded_with_Element_then_copies_once() {
+        ReadWriteDeepCopyStrategy deepCopyStrategy = mock(ReadWriteDeepCopyStrategy.class);
+        Element element = new Element("key", "value");
+        when(deepCopyStrategy.copyForWrite(element, loader)).thenReturn(new Element("key", "value"));
+        CopyStrategyHandler copyStrategyHandler = new CopyStrategyHandler(false, true, deepCopyStrategy, loader);
+        assertThat(copyStrategyHandler.copyElementForWriteIfNeeded(element), allOf(not(sameInstance(element)), equalTo(element)));
+        verify(deepCopyStrategy).copyForWrite(element, loader);
+        verifyNoMoreInteractions(deepCopyStrategy);
+    }
+
     @Test
     public void given_copy_on_write_when_copyElementForWriteIfNeeded_with_null_then_returns_null() {
         CopyStrategyHandler copyStrategyHandler = new CopyStrategyHandler(false, true, copyStrategy, loader);
@@ -0,0 +1,207 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.store.compound;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheException;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.config.CopyStrategyConfiguration;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author ehcache
+ */
+public class ReadWriteDeepCopyStrategyTest {
+
+    private final ClassLoader loader = getClass().getClassLoader();
+    private final ReadWriteDeepCopyStrategy copyStrategy = new ReadWriteDeepCopyStrategy();
+
+    @Test
+    public void testNullsAndImmutables() {
+        Assert.assertNull(copyStrategy.copyForWrite(null, loader));
+        Assert.assertNull(copyStrategy.copyForRead(new Element(1, null), loader).getObjectValue());
+
+        String value = new String("one");
+        Assert.assertSame(value, copyStrategy.copyForWrite(new Element(1, value), loader).getObjectValue());
+        BigDecimal decimal = new BigDecimal("1.5");
+        Assert.assertSame(decimal, copyStrategy.copyForRead(new Element(1, decimal), loader).getObjectValue());
+        Assert.assertSame(TimeUnit.SECONDS, copyStrategy.copyForRead(new Element(1, TimeUnit.SECONDS), loader).getObjectValue());
+    }
+
+    @Test
+    public void testDeepCopy() {
+        Foo foo = new Foo(1);
+        foo.extra.add("extra");
+        foo.created = new Date(1000);
+        foo.counts = new int[] {1, 2, 3};
+        foo.scratch = "scratch";
+
+        Element stored = copyStrategy.copyForWrite(new Element(1, foo), loader);
+        Foo copy = (Foo) stored.getObjectValue();
+        Assert.assertNotSame(foo, copy);
+        Assert.assertEquals(1, copy.val);
+        Assert.assertEquals(Collections.singletonList("extra"), copy.extra);
+        Assert.assertNotSame(foo.extra, copy.extra);
+        Assert.assertEquals(foo.created, copy.created);
+        Assert.assertNotSame(foo.created, copy.created);
+        Assert.assertArrayEquals(foo.counts, copy.counts);
+        Assert.assertNotSame(foo.counts, copy.counts);
+        // transient fields are not copied, just as with serialization
+        Assert.assertNull(copy.scratch);
+
+        foo.extra.add("more");
+        foo.counts[0] = 42;
+        Foo read = (Foo) copyStrategy.copyForRead(stored, loader).getObjectValue();
+        read.created.setTime(0);
+        Assert.assertEquals(Collections.singletonList("extra"), read.extra);
+        Assert.assertEquals(1, read.counts[0]);
+        Assert.assertEquals(1000, copy.created.getTime());
+    }
+
+    @Test
+    public void testSharedReferencesAndCycles() {
+        Foo shared = new Foo(2);
+        Foo foo = new Foo(1);
+        foo.next = foo;
+        foo.extra.add(shared);
+        foo.extra.add(shared);
+
+        Foo copy = (Foo) copyStrategy.copyForWrite(new Element(1, foo), loader).getObjectValue();
+        Assert.assertSame(copy, copy.next);
+        Assert.assertSame(copy.extra.get(0), copy.extra.get(1));
+        Assert.assertNotSame(shared, copy.extra.get(0));
+    }
+
+    @Test
+    public void testCollectionsAndMaps() {
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("list", new ArrayList<Object>(Arrays.asList(new Foo(1), new Foo(2))));
+        TreeSet<String> set = new TreeSet<String>(Collections.reverseOrder());
+        set.addAll(Arrays.asList("a", "b", "c"));
+        map.put("set", set);
+        map.put("array", new Object[] {new Foo(3), "three"});
+
+        Map<String, Object> copy = (Map<String, Object>) copyStrategy.copyForWrite(new Element(1, map), loader).getObjectValue();
+        Assert.assertNotSame(map, copy);
+        Assert.assertEquals(map.get("list"), copy.get("list"));
+        Assert.assertNotSame(((List<?>) map.get("list")).get(0), ((List<?>) copy.get("list")).get(0));
+        Assert.assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<Object>((TreeSet<?>) copy.get("set")));
+        Assert.assertTrue(Arrays.deepEquals((Object[]) map.get("array"), (Object[]) copy.get("array")));
+    }
+
+    @Test
+    public void testSerializationHooksAreHonoured() {
+        Hooked hooked = new Hooked();
+        Hooked copy = (Hooked) copyStrategy.copyForWrite(new Element(1, hooked), loader).getObjectValue();
+        Assert.assertNotSame(hooked, copy);
+        Assert.assertTrue(copy.deserialized);
+    }
+
+    @Test(expected = CacheException.class)
+    public void testNonSerializableValuesAreRejected() {
+        copyStrategy.copyForWrite(new Element(1, new Object()), loader);
+    }
+
+    @Test
+    public void testConfiguredOnCache() {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration().name("deep").maxEntriesLocalHeap(100)
+            .copyOnRead(true).copyOnWrite(true);
+        CopyStrategyConfiguration copyStrategyConfiguration = new CopyStrategyConfiguration();
+        copyStrategyConfiguration.setClass(ReadWriteDeepCopyStrategy.class.getName());
+        cacheConfiguration.addCopyStrategy(copyStrategyConfiguration);
+
+        CacheManager manager = new CacheManager(new Configuration().name("deepCopyManager"));
+        try {
+            Cache cache = new Cache(cacheConfiguration);
+            manager.addCache(cache);
+
+            Foo foo = new Foo(1);
+            cache.put(new Element("foo", foo));
+            foo.extra.add("mutated");
+
+            Foo read = (Foo) cache.get("foo").getObjectValue();
+            Assert.assertTrue(read.extra.isEmpty());
+            read.extra.add("mutated");
+            Assert.assertTrue(((Foo) cache.get("foo").getObjectValue()).extra.isEmpty());
+            Assert.assertTrue(cache.replace(new Element("foo", new Foo(1)), new Element("foo", new Foo(2))));
+            Assert.assertEquals(2, ((Foo) cache.get("foo").getObjectValue()).val);
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    /**
+     * A plain serializable value
+     */
+    public static class Foo implements Serializable {
+
+        private int val;
+        private List<Object> extra = new ArrayList<Object>();
+        private Date created;
+        private int[] counts;
+        private Foo next;
+        private transient String scratch;
+
+        Foo() {
+        }
+
+        Foo(int val) {
+            this.val = val;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Foo && ((Foo) obj).val == val;
+        }
+
+        @Override
+        public int hashCode() {
+            return val;
+        }
+    }
+
+    /**
+     * A value relying on a custom readObject
+     */
+    public static class Hooked implements Serializable {
+
+        private transient boolean deserialized;
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            deserialized = true;
+        }
+    }
+}
@@ -6,12 +6,18 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
@@ -22,6 +28,7 @@ import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.number.OrderingComparison.greaterThan;
 import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThan;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -180,6 +187,103 @@ public class RotatingSnapshotFileTest {
         assertThat(file.tempSnapshotFile().exists(), is(false));
     }
 
+    @Test
+    public void testIncrementalSnapshotsTrackChanges() throws IOException {
+        RotatingSnapshotFile snapshotFile = new RotatingSnapshotFile(new DiskStorePathManager(directory.getRoot().getAbsolutePath()), "incremental", loader);
+        Set<Object> keys = new HashSet<Object>();
+        for (int i = 0; i < 10000; i++) {
+            keys.add("key-" + i);
+        }
+        snapshotFile.writeAll(keys);
+        assertThat(snapshotFile.readAll(), equalTo(keys));
+        assertThat(snapshotFile.readBlocks().size(), greaterThan(1));
+
+        for (int round = 0; round < 5; round++) {
+            keys.remove("key-" + round);
+            keys.add("new-key-" + round);
+            snapshotFile.writeAll(keys);
+            assertThat(snapshotFile.readAll(), equalTo(keys));
+        }
+
+        keys.clear();
+        keys.add("lonely");
+        snapshotFile.writeAll(keys);
+        assertThat(snapshotFile.readAll(), equalTo(keys));
+        assertThat(snapshotFile.tempSnapshotFile().exists(), is(false));
+        assertThat(snapshotFile.newSnapshotFile().exists(), is(false));
+    }
+
+    @Test
+    public void testUnchangedBlocksAreNotSerializedAgain() throws IOException {
+        RotatingSnapshotFile snapshotFile = new RotatingSnapshotFile(new DiskStorePathManager(directory.getRoot().getAbsolutePath()), "unchanged", loader);
+        Set<Object> keys = new HashSet<Object>();
+        for (int i = 0; i < 10000; i++) {
+            keys.add(new CountingKey(i));
+        }
+        snapshotFile.writeAll(keys);
+        assertThat(CountingKey.SERIALIZED.get(), is(10000));
+
+        CountingKey.SERIALIZED.set(0);
+        keys.remove(new CountingKey(42));
+        snapshotFile.writeAll(keys);
+        assertThat(CountingKey.SERIALIZED.get(), lessThan(2000));
+        assertThat(snapshotFile.readAll(), not(hasItem((Object)new CountingKey(42))));
+        assertThat(snapshotFile.readAll(), hasSize(9999));
+    }
+
+    @Test
+    public void testReadsLegacySnapshot() throws IOException {
+        RotatingSnapshotFile snapshotFile = new RotatingSnapshotFile(new DiskStorePathManager(directory.getRoot().getAbsolutePath()), "legacy", loader);
+        Set<Object> keys = new HashSet<Object>();
+        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(snapshotFile.currentSnapshotFile()));
+        try {
+            for (int i = 0; i < 100; i++) {
+                keys.add("key-" + i);
+                oos.writeObject("key-" + i);
+            }
+        } finally {
+            oos.close();
+        }
+        assertThat(snapshotFile.readAll(), equalTo(keys));
+
+        keys.add("key-100");
+        snapshotFile.writeAll(keys);
+        assertThat(snapshotFile.readAll(), equalTo(keys));
+    }
+
+    @Test
+    public void testBlockSnapshotIsSmallerThanLegacyOne() throws IOException {
+        RotatingSnapshotFile snapshotFile = new RotatingSnapshotFile(new DiskStorePathManager(directory.getRoot().getAbsolutePath()), "compact", loader);
+        Set<Object> keys = new HashSet<Object>();
+        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(snapshotFile.currentSnapshotFile()));
+        try {
+            for (int i = 0; i < 10000; i++) {
+                keys.add("SomeKey that contains something " + i);
+                oos.writeObject("SomeKey that contains something " + i);
+            }
+        } finally {
+            oos.close();
+        }
+        long legacyLength = snapshotFile.currentSnapshotFile().length();
+        snapshotFile.writeAll(keys);
+        assertThat(snapshotFile.currentSnapshotFile().length(), lessThan(legacyLength));
+    }
+
+    @Test
+    public void testSkipsKeysThatFailToDeserialize() throws IOException {
+        RotatingSnapshotFile snapshotFile = new RotatingSnapshotFile(new DiskStorePathManager(directory.getRoot().getAbsolutePath()), "unreadable", loader);
+        Set<Object> keys = new HashSet<Object>();
+        Set<Object> readableKeys = new HashSet<Object>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(new UnreadableOddKey(i));
+            if (i % 2 == 0) {
+                readableKeys.add(new UnreadableOddKey(i));
+            }
+        }
+        snapshotFile.writeAll(keys);
+        assertThat(snapshotFile.readAll(), equalTo(readableKeys));
+    }
+
     private Set<Object> populateWithValues(RotatingSnapshotFile snapshotFile, int amount) throws IOException {
         Set<Object> keys = new HashSet<Object>();
         for (int i = 0; i < amount; i++) {
@@ -189,4 +293,62 @@ public class RotatingSnapshotFileTest {
         snapshotFile.writeAll(keys);
         return keys;
     }
+
+    /**
+     * A key counting how many times keys got serialized
+     */
+    private static final class CountingKey implements Serializable {
+
+        private static final AtomicInteger SERIALIZED = new AtomicInteger();
+
+        private final int id;
+
+        CountingKey(final int id) {
+            this.id = id;
+        }
+
+        private void writeObject(final ObjectOutputStream out) throws IOException {
+            SERIALIZED.incrementAndGet();
+            out.defaultWriteObject();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CountingKey && ((CountingKey)obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+
+    /**
+     * A key that fails to deserialize when its id is odd, once its data has been read
+     */
+    private static final class UnreadableOddKey implements Serializable {
+
+        private final int id;
+
+        UnreadableOddKey(final int id) {
+            this.id = id;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            if (id % 2 != 0) {
+                throw new InvalidObjectException("odd key " + id);
+            }
+            return this;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof UnreadableOddKey && ((UnreadableOddKey)obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
 }
@@ -1,15 +1,22 @@
 package net.sf.ehcache.terracotta;
 
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheException;
@@ -22,6 +29,7 @@ import net.sf.ehcache.config.Configuration;
 import net.sf.ehcache.config.TerracottaConfiguration;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 
 /**
@@ -49,6 +57,7 @@ public class TerracottaBootstrapCacheLoaderTest {
         final Ehcache cache = mockCacheToBootStrap();
         cacheLoader.load(cache);
         verify(cache, never()).get(Matchers.anyObject());
+        verify(cache, never()).getAll(Matchers.anyCollection());
     }
 
     @Test
@@ -70,13 +79,48 @@ public class TerracottaBootstrapCacheLoaderTest {
         file.writeAll(localKeys);
         final Ehcache cache = mockCacheToBootStrap();
         cacheLoader.load(cache);
-        verify(cache, times(new HashSet<Integer>(localKeys).size())).get(Matchers.any(Object.class));
-        for (Integer localKey : localKeys) {
-            verify(cache, times(1)).get((Object) localKey);
+        verify(cache, never()).get(Matchers.any(Object.class));
+        final List<Object> loadedKeys = loadedKeys(cache);
+        assertEquals(new HashSet<Integer>(localKeys).size(), loadedKeys.size());
+        assertEquals(new HashSet<Object>(localKeys), new HashSet<Object>(loadedKeys));
+        file.currentSnapshotFile().delete();
+    }
+
+    @Test
+    public void testBootstrapsInBatchesAcrossBlocks() throws Exception {
+
+        DiskStorePathManager pathManager = getDiskStorePathManager(cacheLoader);
+        RotatingSnapshotFile file = new RotatingSnapshotFile(pathManager, MOCKED_CACHE_NAME, getClass().getClassLoader());
+
+        final Set<Integer> localKeys = new HashSet<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            localKeys.add(i);
         }
+        file.writeAll(localKeys);
+        assertThat(file.readBlocks().size(), greaterThanOrEqualTo(2));
+        final Ehcache cache = mockCacheToBootStrap();
+        cacheLoader.load(cache);
+        final ArgumentCaptor<Collection> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(cache, atLeastOnce()).getAll(batches.capture());
+        for (Collection batch : batches.getAllValues()) {
+            assertThat(batch.size(), lessThanOrEqualTo(1000));
+        }
+        final List<Object> loadedKeys = loadedKeys(cache);
+        assertEquals(localKeys.size(), loadedKeys.size());
+        assertEquals(localKeys, new HashSet<Object>(loadedKeys));
         file.currentSnapshotFile().delete();
     }
 
+    private List<Object> loadedKeys(final Ehcache cache) {
+        final ArgumentCaptor<Collection> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(cache, atLeastOnce()).getAll(batches.capture());
+        final List<Object> loadedKeys = new ArrayList<Object>();
+        for (Collection batch : batches.getAllValues()) {
+            loadedKeys.addAll(batch);
+        }
+        return loadedKeys;
+    }
+
     private Ehcache mockCacheToBootStrap() {
         final Ehcache cache = mock(Ehcache.class);
         CacheConfiguration cacheConfiguration = mock(CacheConfiguration.class);
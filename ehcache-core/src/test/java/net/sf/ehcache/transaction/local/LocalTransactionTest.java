@@ -1038,6 +1038,52 @@ public class LocalTransactionTest extends TestCase {
         transactionController.commit();
     }
 
+    public void testMultiVersionReads() throws Exception {
+        final Cache txCache = cacheManager.getCache("txCacheMultiVersion");
+        assertTrue(txCache.getCacheConfiguration().isMultiVersionReads());
+
+        transactionController.begin();
+        txCache.removeAll();
+        txCache.put(new Element(1, "one"));
+        transactionController.commit();
+
+        transactionController.begin();
+        txCache.put(new Element(1, "one#tx1"));
+        txCache.put(new Element(2, "two#tx1"));
+        assertEquals("one#tx1", txCache.get(1).getObjectValue());
+        assertEquals("two#tx1", txCache.getQuiet(2).getObjectValue());
+        assertTrue(txCache.isKeyInCache(2));
+
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        TxThread tx2 = new TxThread() {
+            @Override
+            public void exec() throws Exception {
+                transactionController.begin();
+
+                // TX1's writes are not visible yet, the committed version is
+                assertEquals("one", txCache.get(1).getObjectValue());
+                assertEquals("one", txCache.getQuiet(1).getObjectValue());
+                assertNull(txCache.get(2));
+                assertFalse(txCache.isKeyInCache(2));
+
+                barrier.await(); // unblock TX1
+                barrier.await(); // wait until TX1 committed
+
+                // both of TX1's writes are visible now
+                assertEquals("one#tx1", txCache.get(1).getObjectValue());
+                assertEquals("two#tx1", txCache.get(2).getObjectValue());
+
+                transactionController.commit();
+            }
+        };
+        tx2.start();
+        barrier.await(); // wait until TX2 read
+        transactionController.commit();
+        barrier.await(); // unblock TX2
+        tx2.join();
+        tx2.assertNotFailed();
+    }
+
     private static class TxThread extends Thread {
         private volatile boolean failed;
 
@@ -0,0 +1,155 @@
+package net.sf.ehcache.transaction.xa;
+
+import net.sf.ehcache.transaction.xa.processor.XARequest;
+import net.sf.ehcache.transaction.xa.processor.XARequest.RequestType;
+import net.sf.ehcache.transaction.xa.processor.XARequestProcessor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author ehcache
+ */
+public class XARequestProcessorTest {
+
+    private final List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+    private final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+    private EhcacheXAResourceImpl resource;
+
+    @Before
+    public void setUp() throws Exception {
+        resource = mock(EhcacheXAResourceImpl.class);
+        Answer<Object> recordThread = new Answer<Object>() {
+            public Object answer(InvocationOnMock invocation) {
+                threads.add(Thread.currentThread());
+                return invocation.getMethod().getReturnType() == int.class ? XAResource.XA_OK : null;
+            }
+        };
+        doAnswer(recordThread).when(resource).prepareInternal(any(Xid.class));
+        doAnswer(recordThread).when(resource).commitInternal(any(Xid.class), anyBoolean());
+        doAnswer(recordThread).when(resource).rollbackInternal(any(Xid.class));
+        doAnswer(recordThread).when(resource).forgetInternal(any(Xid.class));
+    }
+
+    @After
+    public void tearDown() {
+        otherThread.shutdownNow();
+        System.clearProperty(XARequestProcessor.SAME_THREAD_TWO_PHASE_COMMIT_SYS_PROPERTY_NAME);
+        XARequestProcessor.shutdown();
+    }
+
+    @Test
+    public void testRequestsWithoutPrepareRunOnCallerThread() throws Exception {
+        XARequestProcessor processor = new XARequestProcessor(resource, false);
+
+        processor.process(new XARequest(RequestType.COMMIT, mock(Xid.class), true));
+        processor.process(new XARequest(RequestType.ROLLBACK, mock(Xid.class)));
+        processor.process(new XARequest(RequestType.FORGET, mock(Xid.class)));
+
+        assertEquals(3, threads.size());
+        for (Thread thread : threads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    @Test
+    public void testPreparedTransactionIsCompletedOnReservedThread() throws Exception {
+        final XARequestProcessor processor = new XARequestProcessor(resource, false);
+        final Xid xid = mock(Xid.class);
+
+        processor.process(new XARequest(RequestType.PREPARE, xid));
+        // the transaction manager may complete the transaction from any thread
+        otherThread.submit(new Callable<Integer>() {
+            public Integer call() throws Exception {
+                return processor.process(new XARequest(RequestType.COMMIT, xid, false));
+            }
+        }).get();
+
+        assertEquals(2, threads.size());
+        assertNotSame(Thread.currentThread(), threads.get(0));
+        assertSame(threads.get(0), threads.get(1));
+    }
+
+    @Test
+    public void testSameThreadTwoPhaseCommitRunsOnCallerThread() throws Exception {
+        System.setProperty(XARequestProcessor.SAME_THREAD_TWO_PHASE_COMMIT_SYS_PROPERTY_NAME, "true");
+        XARequestProcessor processor = new XARequestProcessor(resource);
+        Xid xid = mock(Xid.class);
+
+        processor.process(new XARequest(RequestType.PREPARE, xid));
+        processor.process(new XARequest(RequestType.COMMIT, xid, false));
+
+        assertEquals(2, threads.size());
+        assertSame(Thread.currentThread(), threads.get(0));
+        assertSame(Thread.currentThread(), threads.get(1));
+    }
+
+    @Test
+    public void testSameThreadTwoPhaseCommitDisabledByDefault() throws Exception {
+        XARequestProcessor processor = new XARequestProcessor(resource);
+        Xid xid = mock(Xid.class);
+
+        processor.process(new XARequest(RequestType.PREPARE, xid));
+        processor.process(new XARequest(RequestType.ROLLBACK, xid));
+
+        assertEquals(2, threads.size());
+        assertNotSame(Thread.currentThread(), threads.get(0));
+        assertSame(threads.get(0), threads.get(1));
+    }
+
+    @Test
+    public void testSameThreadTwoPhaseCommitRejectsOtherThreads() throws Exception {
+        final XARequestProcessor processor = new XARequestProcessor(resource, true);
+        final Xid xid = mock(Xid.class);
+
+        processor.process(new XARequest(RequestType.PREPARE, xid));
+        assertProtocolError(otherThread.submit(new Callable<Integer>() {
+            public Integer call() throws Exception {
+                return processor.process(new XARequest(RequestType.COMMIT, xid, false));
+            }
+        }));
+        assertProtocolError(otherThread.submit(new Callable<Integer>() {
+            public Integer call() throws Exception {
+                return processor.process(new XARequest(RequestType.ROLLBACK, xid));
+            }
+        }));
+
+        // the rejected requests did not reach the resource, nor release the transaction from its thread
+        assertEquals(1, threads.size());
+        processor.process(new XARequest(RequestType.COMMIT, xid, false));
+        assertEquals(2, threads.size());
+        assertSame(Thread.currentThread(), threads.get(1));
+    }
+
+    private static void assertProtocolError(Future<Integer> future) throws InterruptedException {
+        try {
+            future.get();
+            fail("expected XAException");
+        } catch (ExecutionException e) {
+            assertEquals(XAException.XAER_PROTO, ((XAException) e.getCause()).errorCode);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import net.sf.ehcache.transaction.xa.processor.XAThreadPool;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -67,4 +68,38 @@ public class XAThreadPoolTest extends TestCase {
             assertEquals(COUNTER, entry.getValue().get());
         }
     }
+
+    public void testExceptionsAreReturnedToCaller() throws Exception {
+        XAThreadPool xaThreadPool = new XAThreadPool();
+        try {
+            XAThreadPool.MultiRunner runner = xaThreadPool.getMultiRunner();
+            final Thread caller = Thread.currentThread();
+
+            Callable failing = new Callable() {
+                public Object call() throws Exception {
+                    throw new IllegalStateException("failed");
+                }
+            };
+            Callable threadReturning = new Callable() {
+                public Object call() throws Exception {
+                    return Thread.currentThread();
+                }
+            };
+
+            Thread worker = (Thread) runner.execute(threadReturning);
+            assertNotSame(caller, worker);
+            try {
+                runner.execute(failing);
+                fail("expected ExecutionException");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+
+            // the runner remains usable, on the same thread, after a failure
+            assertSame(worker, runner.execute(threadReturning));
+            runner.release();
+        } finally {
+            xaThreadPool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,123 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.util.counter.sampled;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import net.sf.ehcache.util.RetryAssert;
+import net.sf.ehcache.util.counter.Counter;
+import net.sf.ehcache.util.counter.CounterManager;
+import net.sf.ehcache.util.counter.CounterManagerImpl;
+import net.sf.ehcache.util.counter.StripedCounterImpl;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author ehcache
+ */
+public class StripedSampledCounterTest {
+
+    @Test
+    public void testConcurrentIncrementsAreNotLost() throws InterruptedException {
+        final Counter counter = new StripedCounterImpl(5);
+        final CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        counter.increment();
+                    }
+                    done.countDown();
+                }
+            }.start();
+        }
+        done.await();
+        assertThat(counter.getValue(), is(40005L));
+        assertThat(counter.getAndSet(3), is(40005L));
+        assertThat(counter.decrement(2), is(1L));
+    }
+
+    @Test
+    public void testSampleResetsCounter() {
+        StripedSampledCounterImpl counter = new StripedSampledCounterImpl(new StripedSampledCounterConfig(1, 10, true, 7));
+        assertThat(counter.getMostRecentSample().getCounterValue(), is(7L));
+        counter.increment(3);
+        counter.recordSample();
+        assertThat(counter.getMostRecentSample().getCounterValue(), is(3L));
+        assertThat(counter.getValue(), is(0L));
+        assertThat(counter.getAllSampleValues().length, is(2));
+    }
+
+    @Test
+    public void testCounterManagerSamplesOnExecutor() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            CounterManager manager = new CounterManagerImpl(executor);
+            final SampledCounter counter = (SampledCounter) manager.createCounter(new StripedSampledCounterConfig(1, 10, false, 0));
+            counter.increment(42);
+            RetryAssert.assertBy(5, SECONDS, new Callable<Integer>() {
+                public Integer call() {
+                    return counter.getAllSampleValues().length;
+                }
+            }, greaterThanOrEqualTo(2));
+            assertThat(counter.getMostRecentSample().getCounterValue(), is(42L));
+            manager.shutdown();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSharedSchedulerStopsWithLastCounterManager() {
+        CounterManager first = new CounterManagerImpl();
+        CounterManager second = new CounterManagerImpl();
+        first.shutdown();
+
+        final SampledCounter counter = (SampledCounter) second.createCounter(new StripedSampledCounterConfig(1, 10, false, 0));
+        counter.increment(7);
+        RetryAssert.assertBy(5, SECONDS, new Callable<Integer>() {
+            public Integer call() {
+                return counter.getAllSampleValues().length;
+            }
+        }, greaterThanOrEqualTo(2));
+        assertThat(countSchedulerThreads(), is(1));
+
+        second.shutdown();
+        RetryAssert.assertBy(5, SECONDS, new Callable<Integer>() {
+            public Integer call() {
+                return countSchedulerThreads();
+            }
+        }, is(0));
+    }
+
+    private static int countSchedulerThreads() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("Sampled Counter Scheduler") && thread.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
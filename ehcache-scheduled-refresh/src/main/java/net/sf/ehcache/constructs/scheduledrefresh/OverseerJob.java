@@ -19,10 +19,12 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
 
 import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
@@ -96,7 +98,12 @@ public class OverseerJob implements Job {
             // if we are the only ones running...
 
             LOG.info("Starting Scheduled refresh: " + context.getJobDetail().getKey()+" "+statsNote(keepingStats));
-            processKeys(context, config, cache, generator);
+            JobDataMap persistent = context.getJobDetail().getJobDataMap();
+            long runStart = System.currentTimeMillis();
+            long previousRunStart = persistent.containsKey(ScheduledRefreshCacheExtension.PROP_PREVIOUS_RUN_START)
+                ? persistent.getLong(ScheduledRefreshCacheExtension.PROP_PREVIOUS_RUN_START) : 0L;
+            processKeys(context, config, cache, generator, previousRunStart, extension);
+            persistent.put(ScheduledRefreshCacheExtension.PROP_PREVIOUS_RUN_START, runStart);
             if (config.isUseBulkload()) {
                try {
                   waitForOutstandingJobCount(context, config, scheduler, 0);
@@ -141,9 +148,22 @@ public class OverseerJob implements Job {
    }
 
    private void processKeys(JobExecutionContext context, ScheduledRefreshConfiguration config, final Ehcache cache,
-                            ScheduledRefreshKeyGenerator<Serializable> generator) throws JobExecutionException {
+                            ScheduledRefreshKeyGenerator<Serializable> generator, long previousRunStart,
+                            ScheduledRefreshCacheExtension extension) throws JobExecutionException {
+      ScheduledRefreshPolicy policy = config.getRefreshPolicy();
+      // the first run has no previous run to compare accesses against, it refreshes everything
+      boolean filtering = policy != ScheduledRefreshPolicy.ALL && previousRunStart > 0;
+      long nearExpiryMillis = TimeUnit.SECONDS.toMillis(config.getNearExpirySeconds());
+      int skipped = 0;
       ArrayList<Serializable> batch = new ArrayList<Serializable>(config.getBatchSize());
       for (Serializable key : generator.generateKeys(cache)) {
+         if (filtering) {
+            Element element = cache.getQuiet(key);
+            if (element == null || !policy.selects(element, previousRunStart, System.currentTimeMillis(), nearExpiryMillis)) {
+               skipped++;
+               continue;
+            }
+         }
          batch.add(key);
          if (batch.size() >= config.getBatchSize()) {
             try {
@@ -164,6 +184,13 @@ public class OverseerJob implements Job {
             throw new JobExecutionException(e);
          }
       }
+      if (skipped > 0) {
+         LOG.info("Scheduled refresh " + context.getJobDetail().getKey() + " skipped " + skipped + " keys under the "
+             + policy + " policy");
+         if (extension != null) {
+            extension.incrementSkippedCount(skipped);
+         }
+      }
    }
 
    private void process(JobExecutionContext context, Ehcache underlyingCache, ScheduledRefreshConfiguration config,
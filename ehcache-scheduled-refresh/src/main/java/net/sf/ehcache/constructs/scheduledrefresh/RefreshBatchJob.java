@@ -19,7 +19,9 @@ package net.sf.ehcache.constructs.scheduledrefresh;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.loader.CacheLoader;
+import net.sf.ehcache.store.ElementValueComparator;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
@@ -27,10 +29,13 @@ import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -119,6 +124,16 @@ public class RefreshBatchJob implements Job {
             LOG.warn("Bulk Load requested for cache that does not support bulk load.");
          }
 
+         ElementValueComparator comparator = null;
+         if (config.isSkipUnchangedValues()) {
+            CacheConfiguration cacheConfig = underlyingCache.getCacheConfiguration();
+            comparator = cacheConfig.getElementValueComparatorConfiguration().createElementComparatorInstance(cacheConfig,
+                cacheConfig.getClassLoader());
+         }
+         int unchanged = 0;
+         ScheduledRefreshPolicy policy = config.getRefreshPolicy();
+         long nearExpiryMillis = TimeUnit.SECONDS.toMillis(config.getNearExpirySeconds());
+
          // iterate through the loaders
          for (CacheLoader loader : underlyingCache.getRegisteredCacheLoaders()) {
             // if we are out of keys, punt
@@ -130,10 +145,24 @@ public class RefreshBatchJob implements Job {
             Map<? extends Object, ? extends Object> values = loader.loadAll(keysToProcess);
             // subtract the ones that were loaded
             keysToProcess.removeAll(values.keySet());
+            List<Element> changed = new ArrayList<Element>(values.size());
             for (Map.Entry<? extends Object, ? extends Object> entry : values.entrySet()) {
                Element newElement = new Element(entry.getKey(), entry.getValue());
-               underlyingCache.put(newElement);
+               Element current = comparator == null ? null : underlyingCache.getQuiet(entry.getKey());
+               // an unchanged element about to expire is still put back, to renew its time to live
+               if (current != null && comparator.equals(current, newElement)
+                   && !policy.renews(current, System.currentTimeMillis(), nearExpiryMillis)) {
+                  unchanged++;
+               } else {
+                  changed.add(newElement);
+               }
             }
+            if (!changed.isEmpty()) {
+               underlyingCache.putAll(changed);
+            }
+         }
+         if (keepingStats && unchanged > 0) {
+            extension.incrementUnchangedCount(unchanged);
          }
          // assume we got here ok, now evict any that don't evict
          if (config.isEvictOnLoadMiss() && !keysToProcess.isEmpty()) {
@@ -82,6 +82,11 @@ public class ScheduledRefreshCacheExtension implements CacheExtension {
     */
    static final String PROP_KEYS_TO_PROCESS = "keyObjects";
 
+   /**
+    * Job Property key under which the overseer job keeps the start time of its previous run
+    */
+   static final String PROP_PREVIOUS_RUN_START = "previousRunStart";
+
    private static final String OVERSEER_JOB_NAME = "Overseer";
    private Ehcache underlyingCache;
    private ScheduledRefreshConfiguration config;
@@ -92,6 +97,8 @@ public class ScheduledRefreshCacheExtension implements CacheExtension {
    private AtomicLong refreshCount = new AtomicLong();
    private AtomicLong jobCount = new AtomicLong();
    private AtomicLong keysProcessedCount = new AtomicLong();
+   private AtomicLong keysSkippedCount = new AtomicLong();
+   private AtomicLong keysUnchangedCount = new AtomicLong();
 
    /**
     * Constructor. Create an extension with the specified config object against
@@ -337,6 +344,24 @@ public class ScheduledRefreshCacheExtension implements CacheExtension {
       keysProcessedCount.addAndGet(many);
    }
 
+   /**
+    * Increment the count of keys not selected by the refresh policy.
+    *
+    * @param many the many
+    */
+   void incrementSkippedCount(int many) {
+      keysSkippedCount.addAndGet(many);
+   }
+
+   /**
+    * Increment the count of refreshed keys whose value was unchanged.
+    *
+    * @param many the many
+    */
+   void incrementUnchangedCount(int many) {
+      keysUnchangedCount.addAndGet(many);
+   }
+
    /**
     * Gets refresh count.
     *
@@ -367,6 +392,26 @@ public class ScheduledRefreshCacheExtension implements CacheExtension {
       return keysProcessedCount.get();
    }
 
+   /**
+    * Gets the count of generated keys the refresh policy did not select.
+    *
+    * @return the keys skipped count
+    */
+   @org.terracotta.statistics.Statistic(name = "keysskipped", tags = "scheduledrefresh")
+   public long getKeysSkippedCount() {
+      return keysSkippedCount.get();
+   }
+
+   /**
+    * Gets the count of refreshed keys not put back because their value was unchanged.
+    *
+    * @return the keys unchanged count
+    */
+   @org.terracotta.statistics.Statistic(name = "keysunchanged", tags = "scheduledrefresh")
+   public long getKeysUnchangedCount() {
+      return keysUnchangedCount.get();
+   }
+
    /**
     * Find refreshed counter statistic. Number of times schedule refresh has been
     * started on this node.
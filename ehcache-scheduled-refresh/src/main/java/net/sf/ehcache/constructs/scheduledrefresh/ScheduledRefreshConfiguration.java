@@ -92,6 +92,21 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
        * Properties key for the job store factory.
        */
       parallelJobCount,
+
+      /**
+       * Properties key for the refresh policy.
+       */
+      refreshPolicy,
+
+      /**
+       * Properties key for the near expiry window of the refresh policy.
+       */
+      nearExpirySeconds,
+
+      /**
+       * Properties key for skipping the put of values equal to the cached ones.
+       */
+      skipUnchangedValues,
    }
 
    /**
@@ -124,6 +139,21 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
     */
    public static final int DEFAULT_POLL_TIME_MS = (int) TimeUnit.MILLISECONDS.convert(2, TimeUnit.SECONDS);
 
+   /**
+    * Default refresh policy.
+    */
+   public static final ScheduledRefreshPolicy DEFAULT_REFRESH_POLICY = ScheduledRefreshPolicy.ALL;
+
+   /**
+    * Default near expiry window.
+    */
+   public static final int DEFAULT_NEAR_EXPIRY_SECONDS = (int) TimeUnit.SECONDS.convert(5, TimeUnit.MINUTES);
+
+   /**
+    * Default setting for skipping unchanged values.
+    */
+   public static final boolean DEFAULT_SKIP_UNCHANGED_VALUES = false;
+
    /**
     * The Constant DEFAULT_KEY_GENERATOR_CLASS.
     */
@@ -194,6 +224,21 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
     */
    private boolean evictOnLoadMiss = DEFAULT_NULL_EVICTS;
 
+   /**
+    * The refresh policy.
+    */
+   private ScheduledRefreshPolicy refreshPolicy = DEFAULT_REFRESH_POLICY;
+
+   /**
+    * The near expiry window.
+    */
+   private int nearExpirySeconds = DEFAULT_NEAR_EXPIRY_SECONDS;
+
+   /**
+    * Skip unchanged values.
+    */
+   private boolean skipUnchangedValues = DEFAULT_SKIP_UNCHANGED_VALUES;
+
    /**
     * The valid.
     */
@@ -267,6 +312,15 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
                   case keyGenerator:
                      setKeyGeneratorClass(stringValue);
                      break;
+                  case refreshPolicy:
+                     setRefreshPolicy(ScheduledRefreshPolicy.valueOf(stringValue));
+                     break;
+                  case nearExpirySeconds:
+                     setNearExpirySeconds(Integer.parseInt(stringValue));
+                     break;
+                  case skipUnchangedValues:
+                     setSkipUnchangedValues(Boolean.parseBoolean(stringValue));
+                     break;
                   default:
                      throw new IllegalStateException("Unhandled property key: " + pk);
                }
@@ -295,6 +349,9 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
       p.setProperty(PropKey.pollTimeMs.name(), Integer.toString(getPollTimeMs()));
       p.setProperty(PropKey.keyGenerator.name(), getKeyGeneratorClass());
       p.setProperty(PropKey.tcConfigUrl.name(), getTerracottaConfigUrl());
+      p.setProperty(PropKey.refreshPolicy.name(), getRefreshPolicy().name());
+      p.setProperty(PropKey.nearExpirySeconds.name(), Integer.toString(getNearExpirySeconds()));
+      p.setProperty(PropKey.skipUnchangedValues.name(), Boolean.toString(isSkipUnchangedValues()));
       for (String property : excessProperties.stringPropertyNames()) {
          String stringValue = excessProperties.getProperty(property).trim();
          p.put(property, stringValue);
@@ -342,6 +399,13 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
          throw new IllegalArgumentException("pollTimeMS must be < "+oneMinuteMS+" ["+pollTimeMs+"]");
       }
 
+      if (refreshPolicy == null) {
+         throw new IllegalArgumentException("refreshPolicy cannot be unspecified");
+      }
+      if(nearExpirySeconds<0) {
+         throw new IllegalArgumentException("nearExpirySeconds must be >= 0 ["+nearExpirySeconds+"]");
+      }
+
       if (jobStoreFactoryClassName == null) {
          jobStoreFactoryClassName = DEFAULT_JOB_STORE_FACTORY_CLASS;
       }
@@ -693,7 +757,8 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
           + ", cronExpression='" + cronExpression + '\'' + ", quartzThreadCount=" + quartzThreadCount
           + ", parallelJobCount=" + parallelJobCount
           + ", keyGeneratorClass='" + keyGeneratorClass + '\'' + ", uniqueNamePart='" + scheduledRefreshName + '\''
-          + ", pollTimeMs=" + pollTimeMs + ", loadMissEvicts=" + evictOnLoadMiss + ", valid=" + valid + '}';
+          + ", pollTimeMs=" + pollTimeMs + ", loadMissEvicts=" + evictOnLoadMiss + ", refreshPolicy=" + refreshPolicy
+          + ", nearExpirySeconds=" + nearExpirySeconds + ", skipUnchangedValues=" + skipUnchangedValues + ", valid=" + valid + '}';
    }
 
    /*
@@ -776,4 +841,100 @@ public class ScheduledRefreshConfiguration implements Serializable, Cloneable {
       return parallelJobCount;
    }
 
+   /**
+    * Gets the policy selecting which generated keys are refreshed.
+    *
+    * @return the refresh policy
+    */
+   public ScheduledRefreshPolicy getRefreshPolicy() {
+      return refreshPolicy;
+   }
+
+   /**
+    * Sets the policy selecting which generated keys are refreshed.
+    *
+    * @param refreshPolicy the refresh policy
+    */
+   public void setRefreshPolicy(ScheduledRefreshPolicy refreshPolicy) {
+      checkFrozen();
+      this.refreshPolicy = refreshPolicy;
+      valid = false;
+   }
+
+   /**
+    * Fluently sets the policy selecting which generated keys are refreshed.
+    *
+    * @param refreshPolicy the refresh policy
+    * @return the scheduled refresh configuration
+    */
+   public ScheduledRefreshConfiguration refreshPolicy(ScheduledRefreshPolicy refreshPolicy) {
+      setRefreshPolicy(refreshPolicy);
+      return this;
+   }
+
+   /**
+    * Gets the window, in seconds before expiry, within which the near expiry policies refresh a key.
+    *
+    * @return the near expiry window in seconds
+    */
+   public int getNearExpirySeconds() {
+      return nearExpirySeconds;
+   }
+
+   /**
+    * Sets the window, in seconds before expiry, within which the near expiry policies refresh a key.
+    *
+    * @param nearExpirySeconds the near expiry window in seconds
+    */
+   public void setNearExpirySeconds(int nearExpirySeconds) {
+      checkFrozen();
+      this.nearExpirySeconds = nearExpirySeconds;
+      valid = false;
+   }
+
+   /**
+    * Fluently sets the near expiry window.
+    *
+    * @param nearExpirySeconds the near expiry window in seconds
+    * @return the scheduled refresh configuration
+    */
+   public ScheduledRefreshConfiguration nearExpirySeconds(int nearExpirySeconds) {
+      setNearExpirySeconds(nearExpirySeconds);
+      return this;
+   }
+
+   /**
+    * Gets whether loaded values equal, under the cache's element value comparator, to the cached ones are not put back.
+    *
+    * @return true if unchanged values are skipped
+    */
+   public boolean isSkipUnchangedValues() {
+      return skipUnchangedValues;
+   }
+
+   /**
+    * Sets whether loaded values equal, under the cache's element value comparator, to the cached ones are not put back.
+    * Skipped entries are neither rewritten nor replicated, so their time to live is not extended by the refresh. Under the
+    * {@link ScheduledRefreshPolicy#NEAR_EXPIRY} and {@link ScheduledRefreshPolicy#ACCESSED_OR_NEAR_EXPIRY} policies,
+    * unchanged entries within the near expiry window are still put back so that they do not expire.
+    *
+    * @param skipUnchangedValues true to skip unchanged values
+    */
+   public void setSkipUnchangedValues(boolean skipUnchangedValues) {
+      checkFrozen();
+      this.skipUnchangedValues = skipUnchangedValues;
+      valid = false;
+   }
+
+   /**
+    * Fluently sets whether unchanged values are skipped.
+    *
+    * @param skipUnchangedValues true to skip unchanged values
+    * @return the scheduled refresh configuration
+    */
+   public ScheduledRefreshConfiguration skipUnchangedValues(boolean skipUnchangedValues) {
+      setSkipUnchangedValues(skipUnchangedValues);
+      return this;
+   }
+
 }
@@ -0,0 +1,114 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.constructs.scheduledrefresh;
+
+import net.sf.ehcache.Element;
+
+/**
+ * Policies selecting which of the keys produced by the {@link ScheduledRefreshKeyGenerator} a scheduled refresh actually
+ * reloads.
+ * <p>
+ * Access based policies compare against the start of the previous refresh run on this scheduler; the first run after the
+ * scheduler starts always refreshes every key.
+ *
+ * @author ehcache
+ */
+public enum ScheduledRefreshPolicy {
+
+   /**
+    * Refresh every key, the historical behavior.
+    */
+   ALL {
+      @Override
+      boolean selects(Element element, long previousRunStart, long now, long nearExpiryMillis) {
+         return true;
+      }
+   },
+
+   /**
+    * Refresh only the keys read since the previous refresh run.
+    */
+   ACCESSED {
+      @Override
+      boolean selects(Element element, long previousRunStart, long now, long nearExpiryMillis) {
+         return accessedSince(element, previousRunStart);
+      }
+   },
+
+   /**
+    * Refresh only the keys that expire within the configured near expiry window.
+    */
+   NEAR_EXPIRY {
+      @Override
+      boolean selects(Element element, long previousRunStart, long now, long nearExpiryMillis) {
+         return expiresWithin(element, now, nearExpiryMillis);
+      }
+
+      @Override
+      boolean renews(Element element, long now, long nearExpiryMillis) {
+         return expiresWithin(element, now, nearExpiryMillis);
+      }
+   },
+
+   /**
+    * Refresh the keys read since the previous refresh run, and those that expire within the near expiry window.
+    */
+   ACCESSED_OR_NEAR_EXPIRY {
+      @Override
+      boolean selects(Element element, long previousRunStart, long now, long nearExpiryMillis) {
+         return accessedSince(element, previousRunStart) || expiresWithin(element, now, nearExpiryMillis);
+      }
+
+      @Override
+      boolean renews(Element element, long now, long nearExpiryMillis) {
+         return expiresWithin(element, now, nearExpiryMillis);
+      }
+   };
+
+   /**
+    * Does this policy select the given element for refresh.
+    *
+    * @param element the element currently mapped to the key
+    * @param previousRunStart the start time of the previous refresh run
+    * @param now the current time
+    * @param nearExpiryMillis the near expiry window
+    * @return true to refresh the key
+    */
+   abstract boolean selects(Element element, long previousRunStart, long now, long nearExpiryMillis);
+
+   /**
+    * Must the refresh put the given element back even when the loaded value is unchanged, so that its time to live is
+    * renewed.
+    *
+    * @param element the element currently mapped to the key
+    * @param now the current time
+    * @param nearExpiryMillis the near expiry window
+    * @return true to put the element back whatever its value
+    */
+   boolean renews(Element element, long now, long nearExpiryMillis) {
+      return false;
+   }
+
+   private static boolean accessedSince(Element element, long time) {
+      // puts reset the hit count, so a hit together with a recent access time means a read since then
+      return element.getHitCount() > 0 && element.getLastAccessTime() >= time;
+   }
+
+   private static boolean expiresWithin(Element element, long now, long window) {
+      long expirationTime = element.getExpirationTime();
+      return expirationTime != Long.MAX_VALUE && expirationTime - now <= window;
+   }
+}
@@ -107,6 +107,89 @@ public class ScheduledRefreshCacheExtensionTest {
        }
    }
 
+   @Test
+   public void testUnchangedValuesAreNotPut() throws InterruptedException {
+
+      CacheManager manager = new CacheManager(new Configuration().name("skip-unchanged"));
+
+       try {
+           manager.addCache(new Cache(new CacheConfiguration().name("test").eternal(true).maxEntriesLocalHeap(5000)));
+           Ehcache cache = manager.getEhcache("test");
+           // evens reload to the value they already hold, odds to a new one
+           cache.registerCacheLoader(new IncrementingCacheLoader(true, 0));
+           cache.registerCacheLoader(stupidCacheLoaderOdds);
+
+           ScheduledRefreshConfiguration config = new ScheduledRefreshConfiguration().batchSize(100).quartzThreadCount
+               (4).cronExpression("0/5 * * * * ?").skipUnchangedValues(true).build();
+           ScheduledRefreshCacheExtension cacheExtension = new ScheduledRefreshCacheExtension(config, cache);
+           cache.registerCacheExtension(cacheExtension);
+           cacheExtension.init();
+           Assert.assertEquals(cacheExtension.getStatus(), Status.STATUS_ALIVE);
+
+           Element[] original = new Element[10];
+           for (int i = 0; i < 10; i++) {
+              original[i] = new Element(i, i + "");
+              cache.put(original[i]);
+           }
+
+         waitOnExtensionState(cacheExtension,TIMED_WAIT_IN_SECS,2);
+
+         for (int i = 0; i < 10; i++) {
+              Element val = cache.getQuiet(i);
+              if ((i & 0x01) == 0) {
+                 // even, never put back
+                 Assert.assertSame(original[i], val);
+              } else {
+                 // odd, refreshed through putAll
+                 Assert.assertEquals(i + 10000, Long.parseLong((String) val.getObjectValue()));
+              }
+           }
+           Assert.assertTrue(cacheExtension.getKeysUnchangedCount() >= 5);
+       } finally {
+           manager.shutdown();
+       }
+   }
+
+   @Test
+   public void testUnchangedValuesNearExpiryArePut() throws InterruptedException {
+
+      CacheManager manager = new CacheManager(new Configuration().name("renew-unchanged"));
+
+       try {
+           // every element expires within the default near expiry window
+           manager.addCache(new Cache(new CacheConfiguration().name("test").timeToLiveSeconds(120).maxEntriesLocalHeap(5000)));
+           Ehcache cache = manager.getEhcache("test");
+           cache.registerCacheLoader(new IncrementingCacheLoader(true, 0));
+           cache.registerCacheLoader(stupidCacheLoaderOdds);
+
+           ScheduledRefreshConfiguration config = new ScheduledRefreshConfiguration().batchSize(100).quartzThreadCount
+               (4).cronExpression("0/5 * * * * ?").refreshPolicy(ScheduledRefreshPolicy.NEAR_EXPIRY)
+               .skipUnchangedValues(true).build();
+           ScheduledRefreshCacheExtension cacheExtension = new ScheduledRefreshCacheExtension(config, cache);
+           cache.registerCacheExtension(cacheExtension);
+           cacheExtension.init();
+           Assert.assertEquals(cacheExtension.getStatus(), Status.STATUS_ALIVE);
+
+           Element[] original = new Element[10];
+           for (int i = 0; i < 10; i++) {
+              original[i] = new Element(i, i + "");
+              cache.put(original[i]);
+           }
+
+         waitOnExtensionState(cacheExtension,TIMED_WAIT_IN_SECS,2);
+
+         for (int i = 0; i < 10; i += 2) {
+              // even, unchanged but put back to renew its time to live
+              Element val = cache.getQuiet(i);
+              Assert.assertNotSame(original[i], val);
+              Assert.assertEquals(original[i].getObjectValue(), val.getObjectValue());
+           }
+           Assert.assertEquals(0, cacheExtension.getKeysUnchangedCount());
+       } finally {
+           manager.shutdown();
+       }
+   }
+
    private void waitOnExtensionState(ScheduledRefreshCacheExtension cacheExtension,
                                     int timeToWaitSecs,
                                     int minRefreshCount) throws InterruptedException {
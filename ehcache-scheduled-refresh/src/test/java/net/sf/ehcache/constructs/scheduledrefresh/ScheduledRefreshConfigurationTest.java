@@ -1,10 +1,12 @@
 package net.sf.ehcache.constructs.scheduledrefresh;
 
 import junit.framework.Assert;
+import net.sf.ehcache.Element;
 import org.junit.Test;
 
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.Properties;
 
 /**
  * Created with IntelliJ IDEA.
@@ -174,6 +176,52 @@ public class ScheduledRefreshConfigurationTest {
 
    }
 
+   @Test
+   public void testRefreshPolicyProperties() {
+      Properties properties = new Properties();
+      properties.setProperty("cronExpression", "0/5 * * * * ?");
+      properties.setProperty("refreshPolicy", "ACCESSED_OR_NEAR_EXPIRY");
+      properties.setProperty("nearExpirySeconds", "30");
+      properties.setProperty("skipUnchangedValues", "true");
+      ScheduledRefreshConfiguration config = new ScheduledRefreshConfiguration().fromProperties(properties);
+
+      Assert.assertEquals(ScheduledRefreshPolicy.ACCESSED_OR_NEAR_EXPIRY, config.getRefreshPolicy());
+      Assert.assertEquals(30, config.getNearExpirySeconds());
+      Assert.assertTrue(config.isSkipUnchangedValues());
+
+      try {
+         new ScheduledRefreshConfiguration().cronExpression("0/5 * * * * ?").nearExpirySeconds(-1).build();
+         Assert.fail();
+      } catch(IllegalArgumentException e) {
+      }
+   }
+
+   @Test
+   public void testRefreshPolicySelection() {
+      long previousRun = 1000000L;
+      long now = previousRun + 60000L;
+      // read since the previous run
+      Element read = new Element("read", "v", 1, previousRun - 5000, previousRun + 100, 3, false, 3600, 0, previousRun - 5000);
+      // put since the previous run, never read
+      Element written = new Element("written", "v", 1, previousRun + 100, previousRun + 100, 0, false, 3600, 0, previousRun + 100);
+      // read before the previous run only, expiring in 10 seconds
+      Element expiring = new Element("expiring", "v", 1, now - 50000, previousRun - 100, 2, false, 60, 0, now - 50000);
+
+      Assert.assertTrue(ScheduledRefreshPolicy.ALL.selects(written, previousRun, now, 0));
+
+      Assert.assertTrue(ScheduledRefreshPolicy.ACCESSED.selects(read, previousRun, now, 30000));
+      Assert.assertFalse(ScheduledRefreshPolicy.ACCESSED.selects(written, previousRun, now, 30000));
+      Assert.assertFalse(ScheduledRefreshPolicy.ACCESSED.selects(expiring, previousRun, now, 30000));
+
+      Assert.assertFalse(ScheduledRefreshPolicy.NEAR_EXPIRY.selects(read, previousRun, now, 30000));
+      Assert.assertTrue(ScheduledRefreshPolicy.NEAR_EXPIRY.selects(expiring, previousRun, now, 30000));
+      Assert.assertFalse(ScheduledRefreshPolicy.NEAR_EXPIRY.selects(expiring, previousRun, now, 5000));
+
+      Assert.assertTrue(ScheduledRefreshPolicy.ACCESSED_OR_NEAR_EXPIRY.selects(read, previousRun, now, 30000));
+      Assert.assertTrue(ScheduledRefreshPolicy.ACCESSED_OR_NEAR_EXPIRY.selects(expiring, previousRun, now, 30000));
+      Assert.assertFalse(ScheduledRefreshPolicy.ACCESSED_OR_NEAR_EXPIRY.selects(written, previousRun, now, 30000));
+   }
+
    public void testEng10MathildeFail() {
       ScheduledRefreshConfiguration config = new ScheduledRefreshConfiguration()
          .cronExpression( (new GregorianCalendar().get(Calendar.SECOND) + 5) % 60 + "/5 * * * * ?")
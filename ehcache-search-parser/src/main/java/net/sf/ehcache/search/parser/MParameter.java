@@ -0,0 +1,156 @@
+/**
+ * Copyright Terracotta, Inc. Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0 Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and limitations under the
+ * License.
+ */
+package net.sf.ehcache.search.parser;
+
+import java.util.Map;
+
+import net.sf.ehcache.search.SearchException;
+
+/**
+ * The model class for prepared statement parameters, either positional ({@code ?}) or named ({@code :name}).
+ * <p>
+ * A parameter has no value of its own: it is resolved against the values bound for the current thread while
+ * {@link ParseModel#getQuery(net.sf.ehcache.Ehcache, Object[], Map)} builds the query.
+ */
+public class MParameter extends MValue<Object> {
+
+    private static final ThreadLocal<Bindings> BINDINGS = new ThreadLocal<Bindings>();
+
+    /**
+     * The position, numbered from 1, or 0 for a named parameter.
+     */
+    private final int position;
+
+    /**
+     * The name, or null for a positional parameter.
+     */
+    private final String name;
+
+    /**
+     * Instantiates a new positional parameter.
+     *
+     * @param tok the token
+     * @param position the position of the parameter, numbered from 1
+     */
+    public MParameter(Token tok, int position) {
+        super(tok, "parameter", null, "?" + position);
+        this.position = position;
+        this.name = null;
+    }
+
+    /**
+     * Instantiates a new named parameter.
+     *
+     * @param tok the token
+     * @param name the parameter name
+     */
+    public MParameter(Token tok, String name) {
+        super(tok, "parameter", null, ":" + name);
+        this.position = 0;
+        this.name = name;
+    }
+
+    /**
+     * Checks if this is a named parameter.
+     *
+     * @return true, if named
+     */
+    public boolean isNamed() {
+        return name != null;
+    }
+
+    /**
+     * Gets the position.
+     *
+     * @return the position, numbered from 1, or 0 for a named parameter
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the name, or null for a positional parameter
+     */
+    public String getName() {
+        return name;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see net.sf.ehcache.search.parser.MValue#asEhcacheObject(java.lang.ClassLoader)
+     */
+    @Override
+    public Object asEhcacheObject(ClassLoader loader) {
+        Bindings bindings = BINDINGS.get();
+        if (bindings == null) {
+            throw new SearchException("No value bound for parameter " + this);
+        }
+        return isNamed() ? bindings.named.get(name) : bindings.positional[position - 1];
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see net.sf.ehcache.search.parser.MValue#constructJavaObject()
+     */
+    @Override
+    protected Object constructJavaObject() {
+        return null;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see net.sf.ehcache.search.parser.MValue#toString()
+     */
+    @Override
+    public String toString() {
+        return isNamed() ? ":" + name : "?";
+    }
+
+    /**
+     * Binds parameter values to the current thread.
+     *
+     * @param positional the positional parameter values
+     * @param named the named parameter values
+     * @return the previous bindings, to be passed to {@link #restore(Bindings)}
+     */
+    static Bindings bind(Object[] positional, Map<String, ?> named) {
+        Bindings previous = BINDINGS.get();
+        BINDINGS.set(new Bindings(positional, named));
+        return previous;
+    }
+
+    /**
+     * Restores the bindings replaced by {@link #bind(Object[], Map)}.
+     *
+     * @param previous the previous bindings
+     */
+    static void restore(Bindings previous) {
+        if (previous == null) {
+            BINDINGS.remove();
+        } else {
+            BINDINGS.set(previous);
+        }
+    }
+
+    /**
+     * Parameter values bound to a thread.
+     */
+    static final class Bindings {
+
+        private final Object[] positional;
+        private final Map<String, ?> named;
+
+        private Bindings(Object[] positional, Map<String, ?> named) {
+            this.positional = positional;
+            this.named = named;
+        }
+    }
+}
@@ -11,8 +11,11 @@ package net.sf.ehcache.search.parser;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.search.Attribute;
@@ -75,6 +78,10 @@ public class ParseModel {
 
     private boolean cacheManagerNameWasAttempted = false;
 
+    private int positionalParameterCount = 0;
+
+    private Set<String> parameterNames = new LinkedHashSet<String>();
+
     /**
      * Instantiates a new query parse model.
      */
@@ -114,6 +121,46 @@ public class ParseModel {
         this.targets.add(new MTarget());
     }
 
+    /**
+     * Creates the next positional parameter of the statement.
+     *
+     * @param tok the parameter token
+     * @return the parameter
+     */
+    public MParameter newPositionalParameter(Token tok) {
+        return new MParameter(tok, ++positionalParameterCount);
+    }
+
+    /**
+     * Creates a named parameter of the statement.
+     *
+     * @param tok the parameter token
+     * @param name the parameter name
+     * @return the parameter
+     */
+    public MParameter newNamedParameter(Token tok, String name) {
+        parameterNames.add(name);
+        return new MParameter(tok, name);
+    }
+
+    /**
+     * Gets the number of positional parameters.
+     *
+     * @return the positional parameter count
+     */
+    public int getPositionalParameterCount() {
+        return positionalParameterCount;
+    }
+
+    /**
+     * Gets the names of the named parameters, in statement order.
+     *
+     * @return the parameter names
+     */
+    public Set<String> getParameterNames() {
+        return Collections.unmodifiableSet(parameterNames);
+    }
+
     /**
      * Sets the criteria.
      *
@@ -334,6 +381,36 @@ public class ParseModel {
         return q;
     }
 
+    /**
+     * Gets the query as an instantiated ehcache query object, with the statement parameters bound to the given values.
+     * <p>
+     * The parse model is not modified, so a single model can be used concurrently to build queries with different
+     * parameter values.
+     *
+     * @param ehcache the ehcache
+     * @param positional the values of the positional parameters, in statement order
+     * @param named the values of the named parameters
+     * @return the query
+     * @throws SearchException if the values do not match the statement parameters
+     */
+    public Query getQuery(Ehcache ehcache, Object[] positional, Map<String, ?> named) throws SearchException {
+        if (positional.length != positionalParameterCount) {
+            throw new SearchException("Statement has " + positionalParameterCount + " positional parameters but "
+                                      + positional.length + " values were given");
+        }
+        for (String name : parameterNames) {
+            if (!named.containsKey(name)) {
+                throw new SearchException("No value bound for parameter :" + name);
+            }
+        }
+        MParameter.Bindings previous = MParameter.bind(positional, named);
+        try {
+            return getQuery(ehcache);
+        } finally {
+            MParameter.restore(previous);
+        }
+    }
+
     private Collection<Attribute> getAttributesImpliedByStar(Ehcache cache) {
         return isIncludedTargetStar() ? cache.getSearchAttributes() : Collections.<Attribute>emptySet();
     }
@@ -0,0 +1,73 @@
+/**
+ *  Copyright Terracotta, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package net.sf.ehcache.search.parser;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.search.Query;
+import net.sf.ehcache.search.SearchException;
+import net.sf.ehcache.search.query.PreparedQuery;
+
+/**
+ * A prepared query over a parsed, parameterized statement.
+ */
+class PreparedQueryImpl implements PreparedQuery {
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final String statement;
+    private final ParseModel model;
+    private final Ehcache cache;
+
+    PreparedQueryImpl(String statement, ParseModel model, Ehcache cache) {
+        this.statement = statement;
+        this.model = model;
+        this.cache = cache;
+    }
+
+    @Override
+    public String getStatement() {
+        return statement;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return model.getPositionalParameterCount();
+    }
+
+    @Override
+    public Set<String> getParameterNames() {
+        return model.getParameterNames();
+    }
+
+    @Override
+    public Query createQuery(Object... parameters) throws SearchException {
+        return model.getQuery(cache, parameters == null ? new Object[] {null} : parameters, Collections.<String, Object>emptyMap());
+    }
+
+    @Override
+    public Query createQuery(Map<String, ?> parameters) throws SearchException {
+        return model.getQuery(cache, NO_VALUES, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return statement;
+    }
+}
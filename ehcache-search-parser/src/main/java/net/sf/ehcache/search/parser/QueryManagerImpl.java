@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,16 +30,46 @@ import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.search.Query;
 import net.sf.ehcache.search.Results;
 import net.sf.ehcache.search.SearchException;
+import net.sf.ehcache.search.query.PreparedQuery;
 import net.sf.ehcache.search.query.QueryManager;
 
 /**
  * Implementation of the QueryParser interface of ehcache-core.
+ * <p>
+ * Parsed statements are kept in a bounded LRU cache keyed by statement text, so repeated statements, prepared or not,
+ * are only parsed once.
  */
 public class QueryManagerImpl implements QueryManager {
 
+    /**
+     * The default number of parsed statements cached.
+     */
+    public static final int DEFAULT_PLAN_CACHE_SIZE = 256;
+
     private final Map<CacheManager, List<Ehcache>> cacheManagerEhcacheMap = new HashMap<CacheManager, List<Ehcache>>();
 
+    private final Map<String, ParseModel> plans;
+
     public QueryManagerImpl(Collection<Ehcache> ehcaches) {
+        this(ehcaches, DEFAULT_PLAN_CACHE_SIZE);
+    }
+
+    /**
+     * Instantiates a query manager over the given caches.
+     *
+     * @param ehcaches the caches that can be queried
+     * @param planCacheSize the number of parsed statements cached, 0 disables caching
+     */
+    public QueryManagerImpl(Collection<Ehcache> ehcaches, final int planCacheSize) {
+        if (planCacheSize < 0) {
+            throw new IllegalArgumentException("Plan cache size cannot be negative: " + planCacheSize);
+        }
+        this.plans = new LinkedHashMap<String, ParseModel>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParseModel> eldest) {
+                return size() > planCacheSize;
+            }
+        };
         CacheManager cm;
         for (Ehcache ehcache : ehcaches) {
             cm = ehcache.getCacheManager();
@@ -53,32 +84,27 @@ public class QueryManagerImpl implements QueryManager {
     }
 
     Results search(Ehcache cache, String statement) throws SearchException {
-        return createQuery(cache, statement).end().execute();
+        return parse(statement).getQuery(cache).end().execute();
     }
 
     @Override
     public Query createQuery(String statement) throws SearchException {
-        Map<String, String> cacheManagerCacheNameMap = extractSearchCacheName(statement);
-        String cacheManagerName = cacheManagerCacheNameMap.values().iterator().next();
-        String cacheName = cacheManagerCacheNameMap.keySet().iterator().next();
-        if (cacheManagerCacheNameMap.size() == 0) {
-            throw new SearchException("Please specify the cache's name with the FROM clause.");
-        } else {
-            return createQuery(getCache(cacheName, cacheManagerName), statement);
+        ParseModel model = parse(statement);
+        return model.getQuery(getCache(model));
+    }
+
+    @Override
+    public PreparedQuery prepareQuery(String statement) throws SearchException {
+        ParseModel model = parse(statement);
+        if (model.getPositionalParameterCount() > 0 && !model.getParameterNames().isEmpty()) {
+            throw new SearchException("Statement cannot mix positional and named parameters: " + statement);
         }
+        return new PreparedQueryImpl(statement, model, getCache(model));
     }
 
     // returns a map of cache name and cache manager name
     Map<String, String> extractSearchCacheName(String statement) throws SearchException {
-        EhcacheSearchParser parser = new EhcacheSearchParser(new StringReader(statement));
-        ParseModel model = null;
-        try {
-            model = parser.QueryStatement();
-        } catch (ParseException p) {
-            throw new SearchException(p);
-        } catch (TokenMgrError e) {
-            throw new SearchException(e);   
-        }
+        ParseModel model = parse(statement);
         Map<String, String> retMap = new HashMap<String, String>();
         String cacheName = model.getCacheName();
         String cacheManagerName = model.getCacheManagerName();
@@ -86,9 +112,17 @@ public class QueryManagerImpl implements QueryManager {
         return retMap;
     }
 
-    private Query createQuery(Ehcache cache, String statement) throws SearchException {
-        EhcacheSearchParser parser = new EhcacheSearchParser(new StringReader(statement));
+    // parsed models are shared through the plan cache and must not be modified
+    private ParseModel parse(String statement) throws SearchException {
         ParseModel model;
+        synchronized (plans) {
+            model = plans.get(statement);
+        }
+        if (model != null) {
+            return model;
+        }
+
+        EhcacheSearchParser parser = new EhcacheSearchParser(new StringReader(statement));
         try {
             model = parser.QueryStatement();
         } catch (ParseException p) {
@@ -96,8 +130,17 @@ public class QueryManagerImpl implements QueryManager {
         } catch (TokenMgrError e) {
             throw new SearchException(e);   
         }
-        
-        return model.getQuery(cache);
+        synchronized (plans) {
+            plans.put(statement, model);
+        }
+        return model;
+    }
+
+    private Ehcache getCache(ParseModel model) throws CacheException {
+        if (model.getCacheName() == null) {
+            throw new SearchException("Please specify the cache's name with the FROM clause.");
+        }
+        return getCache(model.getCacheName(), model.getCacheManagerName());
     }
 
     private Ehcache getCache(String cacheName, String cacheManagerName) throws CacheException {
@@ -19,6 +19,7 @@ package net.sf.ehcache.search.parser;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +35,9 @@ import net.sf.ehcache.config.Searchable;
 import net.sf.ehcache.search.Attribute;
 import net.sf.ehcache.search.Result;
 import net.sf.ehcache.search.Results;
+import net.sf.ehcache.search.SearchException;
 import net.sf.ehcache.search.expression.EqualTo;
+import net.sf.ehcache.search.query.PreparedQuery;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -392,6 +395,71 @@ public class EhcachSearchParseTest {
         }
     }
 
+    @Test
+    public void testPreparedPositionalParameters() {
+        QueryManagerImpl queryManager = new QueryManagerImpl(ehcaches);
+        PreparedQuery prepared = queryManager.prepareQuery("select key from cache1 where (age >= ? and zip != ?)");
+        Assert.assertEquals(2, prepared.getParameterCount());
+        Assert.assertTrue(prepared.getParameterNames().isEmpty());
+
+        Assert.assertEquals(5, prepared.createQuery(25, "21011").end().execute().size());
+        Assert.assertEquals(4, prepared.createQuery(25, "21026").end().execute().size());
+        Assert.assertEquals(20, prepared.createQuery(0, "").end().execute().size());
+        try {
+            prepared.createQuery(25);
+            Assert.fail();
+        } catch (SearchException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPreparedNamedParameters() {
+        QueryManagerImpl queryManager = new QueryManagerImpl(ehcaches);
+        PreparedQuery prepared = queryManager.prepareQuery("select key from cache1 where age between :low and :high");
+        Assert.assertEquals(0, prepared.getParameterCount());
+        Assert.assertEquals(Arrays.asList("low", "high"), new ArrayList<String>(prepared.getParameterNames()));
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("low", 12);
+        parameters.put("high", 14);
+        Assert.assertEquals(3, prepared.createQuery(parameters).end().execute().size());
+        parameters.remove("high");
+        try {
+            prepared.createQuery(parameters);
+            Assert.fail();
+        } catch (SearchException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParameterizedStatementNeedsPreparing() {
+        QueryManagerImpl queryManager = new QueryManagerImpl(ehcaches);
+        try {
+            queryManager.createQuery("select key from cache1 where age = ?");
+            Assert.fail();
+        } catch (SearchException e) {
+            // expected
+        }
+        try {
+            queryManager.prepareQuery("select key from cache1 where (age = ? and zip = :zip)");
+            Assert.fail();
+        } catch (SearchException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRepeatedStatementsShareParsedModel() {
+        QueryManagerImpl queryManager = new QueryManagerImpl(ehcaches, 1);
+        String st = "select key from cache1 where age = 12";
+        Assert.assertEquals(1, queryManager.search(cache, st).size());
+        Assert.assertEquals(1, queryManager.createQuery(st).end().execute().size());
+        Assert.assertEquals(20, queryManager.createQuery("select key from cache1").end().execute().size());
+        Assert.assertEquals(1, queryManager.createQuery(st).end().execute().size());
+    }
+
     private Cache getCache(String st) {
         QueryManagerImpl queryParser = new QueryManagerImpl(ehcaches);
         Map<String, String> m = queryParser.extractSearchCacheName(st);
@@ -0,0 +1,99 @@
+/*
+ * All content copyright (c) 2003-2012 Terracotta, Inc., except as may otherwise be noted in a separate copyright
+ * notice. All rights reserved.
+ */
+package net.sf.ehcache.management.service.impl;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sf.ehcache.management.service.AccessorPrefix;
+import net.sf.ehcache.util.ManagementAttribute;
+
+/**
+ * The attribute accessors of a sampler API, resolved once per API class instead of once per attribute per request.
+ *
+ * @author ehcache
+ */
+final class AccessorTable {
+
+  private static final ConcurrentMap<Class<?>, AccessorTable> TABLES = new ConcurrentHashMap<Class<?>, AccessorTable>();
+
+  private final Map<String, Method> accessors;
+  private final Map<String, Method> managementAttributes;
+
+  private AccessorTable(Class<?> api) {
+    Map<String, Method> methodsByName = new LinkedHashMap<String, Method>();
+    for (Method method : api.getMethods()) {
+      if (method.getParameterTypes().length == 0 && !methodsByName.containsKey(method.getName())) {
+        methodsByName.put(method.getName(), method);
+      }
+    }
+
+    Map<String, Method> byAttribute = new LinkedHashMap<String, Method>();
+    Map<String, Method> annotated = new LinkedHashMap<String, Method>();
+    for (Method method : methodsByName.values()) {
+      String name = method.getName();
+      if (!AccessorPrefix.isAccessor(name)) {
+        continue;
+      }
+      String attribute = AccessorPrefix.trimPrefix(name);
+      if (!byAttribute.containsKey(attribute)) {
+        // honour the prefix precedence of AccessorPrefix when several accessors share an attribute name
+        for (AccessorPrefix prefix : AccessorPrefix.values()) {
+          Method accessor = methodsByName.get(prefix + attribute);
+          if (accessor != null) {
+            byAttribute.put(attribute, accessor);
+            break;
+          }
+        }
+      }
+      if (method.isAnnotationPresent(ManagementAttribute.class)) {
+        annotated.put(attribute, method);
+      }
+    }
+    this.accessors = Collections.unmodifiableMap(byAttribute);
+    this.managementAttributes = Collections.unmodifiableMap(annotated);
+  }
+
+  /**
+   * Returns the accessor table of the given API.
+   *
+   * @param api the sampler API
+   * @return the accessor table
+   */
+  static AccessorTable forApi(Class<?> api) {
+    AccessorTable table = TABLES.get(api);
+    if (table == null) {
+      table = new AccessorTable(api);
+      AccessorTable racer = TABLES.putIfAbsent(api, table);
+      if (racer != null) {
+        table = racer;
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Returns the accessor of the given attribute.
+   *
+   * @param attribute the attribute name, without accessor prefix
+   * @return the accessor, or {@code null} if the API has none
+   */
+  Method getAccessor(String attribute) {
+    return accessors.get(attribute);
+  }
+
+  /**
+   * Returns the accessors annotated as {@link ManagementAttribute}, keyed by attribute name.
+   *
+   * @return the management attribute accessors
+   */
+  Map<String, Method> getManagementAttributes() {
+    return managementAttributes;
+  }
+}
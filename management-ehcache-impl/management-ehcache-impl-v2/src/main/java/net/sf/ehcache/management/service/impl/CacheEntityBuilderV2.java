@@ -4,6 +4,7 @@
  */
 package net.sf.ehcache.management.service.impl;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,13 +29,39 @@ final class CacheEntityBuilderV2 extends ConstrainableEntityBuilderSupportV2<Cac
 
   private static final String C_NAME_ACCESSOR = AccessorPrefix.get + "CacheName";
 
+  private static final int SAMPLER_METHOD_COUNT = CacheSampler.class.getMethods().length;
+
+  private static final AccessorTable SAMPLER_ACCESSORS = AccessorTable.forApi(CacheSampler.class);
+
+  private static final Collection<String> MANAGEMENT_ATTRIBUTE_NAMES = managementAttributeNames();
+
   private final Map<String, Set<CacheSampler>> samplersByCMName = new HashMap<String, Set<CacheSampler>>();
 
+  private final Map<CacheSampler, CacheSamplerSnapshot> snapshotsBySampler = new HashMap<CacheSampler, CacheSamplerSnapshot>();
+
   static CacheEntityBuilderV2 createWith(CacheSampler sampler,
       String cacheManagerName) {
     return new CacheEntityBuilderV2(sampler, cacheManagerName);
   }
 
+  static CacheEntityBuilderV2 createWith(CacheSamplerSnapshot snapshot,
+      String cacheManagerName) {
+    return new CacheEntityBuilderV2().add(snapshot, cacheManagerName);
+  }
+
+  /**
+   * Reads the given attributes of the sampler, as a build constrained to those attributes would report them.
+   */
+  static Map<String, Object> snapshotAttributes(CacheSampler sampler, Collection<String> attributeNames) {
+    Map<String, Object> attributes = new HashMap<String, Object>();
+    new CacheEntityBuilderV2().buildAttributeMapByAttribute(CacheSampler.class, sampler, attributes, attributeNames,
+        C_NAME_ACCESSOR);
+    return Collections.unmodifiableMap(attributes);
+  }
+
+  private CacheEntityBuilderV2() {
+  }
+
   private CacheEntityBuilderV2(CacheSampler sampler,
       String cacheManagerName) {
     addSampler(sampler, cacheManagerName);
@@ -46,6 +73,13 @@ final class CacheEntityBuilderV2 extends ConstrainableEntityBuilderSupportV2<Cac
     return this;
   }
 
+  CacheEntityBuilderV2 add(CacheSamplerSnapshot snapshot,
+      String cacheManagerName) {
+    addSampler(snapshot.getSampler(), cacheManagerName);
+    snapshotsBySampler.put(snapshot.getSampler(), snapshot);
+    return this;
+  }
+
   CacheEntityBuilderV2 add(Set<String> constraintAttributes) {
     addConstraints(constraintAttributes);
     return this;
@@ -62,8 +96,11 @@ final class CacheEntityBuilderV2 extends ConstrainableEntityBuilderSupportV2<Cac
         ce.setAgentId(AgentEntityV2.EMBEDDED_AGENT_ID);
         // ce.setVersion(this.getClass().getPackage().getImplementationVersion());
 
-        if (getAttributeConstraints() != null && !getAttributeConstraints().isEmpty() && getAttributeConstraints()
-            .size() < CacheSampler.class.getMethods().length) {
+        CacheSamplerSnapshot snapshot = snapshotsBySampler.get(sampler);
+        if (snapshot != null) {
+          buildAttributeMapBySnapshot(snapshot, ce.getAttributes());
+        } else if (getAttributeConstraints() != null && !getAttributeConstraints().isEmpty() && getAttributeConstraints()
+            .size() < SAMPLER_METHOD_COUNT) {
           buildAttributeMapByAttribute(CacheSampler.class, sampler, ce.getAttributes(), getAttributeConstraints(),
               C_NAME_ACCESSOR);
         } else {
@@ -78,6 +115,27 @@ final class CacheEntityBuilderV2 extends ConstrainableEntityBuilderSupportV2<Cac
     return ces;
   }
 
+  private void buildAttributeMapBySnapshot(CacheSamplerSnapshot snapshot,
+      Map<String, Object> attributeMap) {
+    Collection<String> names;
+    if (getAttributeConstraints() == null || getAttributeConstraints().isEmpty()) {
+      names = MANAGEMENT_ATTRIBUTE_NAMES;
+    } else {
+      names = new ArrayList<String>(getAttributeConstraints().size());
+      for (String attribute : getAttributeConstraints()) {
+        Method accessor = SAMPLER_ACCESSORS.getAccessor(attribute);
+        if (accessor != null && !C_NAME_ACCESSOR.equals(accessor.getName())) {
+          names.add(attribute);
+        }
+      }
+    }
+
+    Map<String, Object> snapshotAttributes = snapshot.getAttributes(names);
+    for (String attribute : names) {
+      attributeMap.put(attribute, snapshotAttributes.get(attribute));
+    }
+  }
+
   @Override
   Logger getLog() {
     return LOG;
@@ -94,6 +152,16 @@ final class CacheEntityBuilderV2 extends ConstrainableEntityBuilderSupportV2<Cac
     return Collections.emptySet();
   }
 
+  private static Collection<String> managementAttributeNames() {
+    Collection<String> names = new ArrayList<String>();
+    for (Map.Entry<String, Method> accessor : SAMPLER_ACCESSORS.getManagementAttributes().entrySet()) {
+      if (!C_NAME_ACCESSOR.equals(accessor.getValue().getName())) {
+        names.add(accessor.getKey());
+      }
+    }
+    return Collections.unmodifiableCollection(names);
+  }
+
   private void addSampler(CacheSampler sampler,
       String cacheManagerName) {
     if (sampler == null) {
@@ -0,0 +1,96 @@
+/*
+ * All content copyright (c) 2003-2012 Terracotta, Inc., except as may otherwise be noted in a separate copyright
+ * notice. All rights reserved.
+ */
+package net.sf.ehcache.management.service.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.sf.ehcache.management.sampled.CacheSampler;
+
+/**
+ * A periodically refreshed, immutable snapshot of the attributes of a {@link CacheSampler}.
+ * <p>
+ * The snapshot holds every attribute requested since its creation. Those are read from the sampler at most once per
+ * refresh interval, however many requests ask for them: once the interval elapsed a single requesting thread refreshes
+ * the snapshot while concurrent requests are served the previous one. Requesting an attribute the snapshot does not hold
+ * yet refreshes it immediately.
+ *
+ * @author ehcache
+ */
+final class CacheSamplerSnapshot {
+
+  private final CacheSampler sampler;
+  private final long refreshIntervalMillis;
+  private final Set<String> attributeNames = new CopyOnWriteArraySet<String>();
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private final AtomicReference<Attributes> current = new AtomicReference<Attributes>(Attributes.invalid());
+
+  CacheSamplerSnapshot(CacheSampler sampler, long refreshIntervalMillis) {
+    if (sampler == null) {
+      throw new IllegalArgumentException("sampler == null");
+    }
+    this.sampler = sampler;
+    this.refreshIntervalMillis = refreshIntervalMillis;
+  }
+
+  CacheSampler getSampler() {
+    return sampler;
+  }
+
+  /**
+   * Returns the attributes of the sampler, as of at most one refresh interval ago.
+   *
+   * @param names the attributes needed, all of which must have an accessor on {@link CacheSampler}
+   * @return an unmodifiable attribute map holding at least the given attributes
+   */
+  Map<String, Object> getAttributes(Collection<String> names) {
+    Attributes observed = current.get();
+    if (observed.values == null || !observed.values.keySet().containsAll(names)) {
+      attributeNames.addAll(names);
+      return refresh(observed);
+    }
+    if (System.currentTimeMillis() - observed.takenAt < refreshIntervalMillis || !refreshing.compareAndSet(false, true)) {
+      return observed.values;
+    }
+    try {
+      return refresh(observed);
+    } finally {
+      refreshing.set(false);
+    }
+  }
+
+  /**
+   * Discards the current snapshot, the next request reads the attributes from the sampler.
+   */
+  void invalidate() {
+    current.set(Attributes.invalid());
+  }
+
+  private Map<String, Object> refresh(Attributes observed) {
+    long now = System.currentTimeMillis();
+    Attributes fresh = new Attributes(CacheEntityBuilderV2.snapshotAttributes(sampler, attributeNames), now);
+    // an invalidation during the refresh wins, the values read may predate it
+    current.compareAndSet(observed, fresh);
+    return fresh.values;
+  }
+
+  private static final class Attributes {
+    private final Map<String, Object> values;
+    private final long takenAt;
+
+    private Attributes(Map<String, Object> values, long takenAt) {
+      this.values = values;
+      this.takenAt = takenAt;
+    }
+
+    private static Attributes invalid() {
+      return new Attributes(null, 0);
+    }
+  }
+}
@@ -12,8 +12,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import net.sf.ehcache.management.service.AccessorPrefix;
-import net.sf.ehcache.util.ManagementAttribute;
 import net.sf.ehcache.util.counter.Counter;
 import net.sf.ehcache.util.counter.sampled.SampledCounter;
 
@@ -51,17 +49,10 @@ abstract class ConstrainableEntityBuilderSupportV2<SAMPLER> {
                                    Collection<String> attributes,
                                    String nameAccessor) {
     Set<String> excludedNames = getExcludedAttributeNames(sampler);
+    AccessorTable accessors = AccessorTable.forApi(api);
 
     for (String attribute : attributes) {
-      Method method = null;
-      for (AccessorPrefix prefix : AccessorPrefix.values()) {
-        try {
-          method = api.getMethod(prefix + attribute);
-          break;
-        } catch (NoSuchMethodException e) {
-          //This is not the accessor you were looking for....move along
-        }
-      }
+      Method method = accessors.getAccessor(attribute);
 
       if (method != null && !nameAccessor.equals(method.getName())) {
         if (excludedNames.contains(attribute)) {
@@ -82,20 +73,21 @@ abstract class ConstrainableEntityBuilderSupportV2<SAMPLER> {
     Set<String> excludedNames = getExcludedAttributeNames(sampler);
     boolean haveAttributes = attributeMap != null && attributeMap.size() > 0;
 
-    for (Method method : api.getMethods()) {
-      if (!haveAttributes && method.isAnnotationPresent(ManagementAttribute.class)) {
-        String name = method.getName();
-        String trimmedName = AccessorPrefix.trimPrefix(name);
-        if (!nameAccessor.equals(name) && AccessorPrefix.isAccessor(name) && (attributes == null || attributes.contains(
-            trimmedName))) {
-  
-          if (excludedNames.contains(trimmedName)) {
-            attributeMap.put(trimmedName, 0);
-            continue;
-          }
-  
-          addAttribute(sampler, attributeMap, trimmedName, method);
+    if (haveAttributes) {
+      return;
+    }
+
+    for (Map.Entry<String, Method> accessor : AccessorTable.forApi(api).getManagementAttributes().entrySet()) {
+      String trimmedName = accessor.getKey();
+      Method method = accessor.getValue();
+      if (!nameAccessor.equals(method.getName()) && (attributes == null || attributes.contains(trimmedName))) {
+
+        if (excludedNames.contains(trimmedName)) {
+          attributeMap.put(trimmedName, 0);
+          continue;
         }
+
+        addAttribute(sampler, attributeMap, trimmedName, method);
       }
     }
   }
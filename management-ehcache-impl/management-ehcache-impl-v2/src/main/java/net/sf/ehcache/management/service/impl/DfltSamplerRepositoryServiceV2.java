@@ -8,6 +8,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,6 +18,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -44,6 +46,7 @@ import net.sf.ehcache.management.service.CacheManagerServiceV2;
 import net.sf.ehcache.management.service.CacheServiceV2;
 import net.sf.ehcache.management.service.EntityResourceFactoryV2;
 import net.sf.ehcache.management.service.SamplerRepositoryServiceV2;
+import net.sf.ehcache.search.SearchException;
 import net.sf.ehcache.terracotta.ClusteredInstanceFactory;
 
 import org.terracotta.management.ServiceExecutionException;
@@ -78,6 +81,11 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
 
   public static final String AGENCY = "Ehcache";
 
+  /**
+   * Maximum number of result rows returned in one page of query results.
+   */
+  public static final int MAX_QUERY_PAGE_LIMIT = 1000;
+
   final Set<EventListener> listeners = new CopyOnWriteArraySet<EventListener>();
 
   /**
@@ -341,9 +349,9 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
           }
           enableNonStopFor(entry.getValue(), false);
           disabledSamplerRepoEntries.add(entry.getValue());
-          for (CacheSampler sampler : entry.getValue().getComprehensiveCacheSamplers(cacheNames)) {
-            builder = builder == null ? CacheEntityBuilderV2.createWith(sampler, entry.getKey()) : builder
-                .add(sampler, entry.getKey());
+          for (CacheSamplerSnapshot snapshot : entry.getValue().getComprehensiveCacheSnapshots(cacheNames)) {
+            builder = builder == null ? CacheEntityBuilderV2.createWith(snapshot, entry.getKey()) : builder
+                .add(snapshot, entry.getKey());
           }
         }
       } else {
@@ -352,8 +360,8 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
           if (entry != null && entry.isConnectedToCluster(requestClusterUUID)) {
             enableNonStopFor(entry, false);
             disabledSamplerRepoEntries.add(entry);
-            for (CacheSampler sampler : entry.getComprehensiveCacheSamplers(cacheNames)) {
-              builder = builder == null ? CacheEntityBuilderV2.createWith(sampler, cmName) : builder.add(sampler, cmName);
+            for (CacheSamplerSnapshot snapshot : entry.getComprehensiveCacheSnapshots(cacheNames)) {
+              builder = builder == null ? CacheEntityBuilderV2.createWith(snapshot, cmName) : builder.add(snapshot, cmName);
             }
           }
         }
@@ -551,7 +559,19 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
 
   @Override
   public ResponseEntityV2<QueryResultsEntityV2> executeQuery(String cacheManagerName, String queryString) throws ServiceExecutionException {
-    cacheManagerSamplerRepoLock.writeLock().lock();
+    return executeQuery(cacheManagerName, queryString, null, MAX_QUERY_PAGE_LIMIT);
+  }
+
+  @Override
+  public ResponseEntityV2<QueryResultsEntityV2> executeQuery(String cacheManagerName, String queryString, String cursor,
+      int limit) throws ServiceExecutionException {
+    int offset = parseQueryCursor(cursor);
+    if (limit < 1) {
+      throw new ServiceExecutionException("Invalid query limit : " + limit);
+    }
+    int pageLimit = Math.min(limit, MAX_QUERY_PAGE_LIMIT);
+
+    cacheManagerSamplerRepoLock.readLock().lock();
     ResponseEntityV2<QueryResultsEntityV2> responseEntityV2 = new ResponseEntityV2<QueryResultsEntityV2>();
 
     try {
@@ -561,8 +581,7 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
           enableNonStopFor(entry, false);
           CacheManagerSampler cms = entry.getCacheManagerSampler();
 
-          responseEntityV2.getEntities().addAll(
-              buildQueryResultsEntity(cacheManagerName, cms.executeQuery(queryString)));
+          responseEntityV2.getEntities().addAll(executeQueryPage(cms, cacheManagerName, queryString, offset, pageLimit));
           return responseEntityV2;
         } catch (Exception e) {
           Throwable t = ExceptionUtils.getRootCause(e);
@@ -574,16 +593,51 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
         throw new ServiceExecutionException("CacheManager not found !");
       }
     } finally {
-      cacheManagerSamplerRepoLock.writeLock().unlock();
+      cacheManagerSamplerRepoLock.readLock().unlock();
+    }
+  }
+
+  static Collection<QueryResultsEntityV2> executeQueryPage(CacheManagerSampler cms, String cacheManagerName,
+      String queryString, int offset, int pageLimit) {
+    if (offset >= CacheManagerSampler.MAX_QUERY_RESULT_WINDOW) {
+      throw new SearchException("Query pages can not reach past result " + CacheManagerSampler.MAX_QUERY_RESULT_WINDOW
+          + " : offset " + offset);
+    }
+    // one extra row tells whether there is a next page, but the probe must not reach past the result window
+    long pageEnd = (long) offset + pageLimit;
+    int fetched = (int) (Math.min(pageEnd + 1, CacheManagerSampler.MAX_QUERY_RESULT_WINDOW) - offset);
+    Object[][] data = cms.executeQuery(queryString, offset, fetched);
+    String nextCursor = null;
+    if (data.length > pageLimit + 1) {
+      data = Arrays.copyOf(data, pageLimit + 1);
+      nextCursor = Integer.toString(offset + pageLimit);
     }
+    return buildQueryResultsEntity(cacheManagerName, data, nextCursor);
   }
 
-  private Collection<QueryResultsEntityV2> buildQueryResultsEntity(String cacheManagerName, Object[][] data) {
+  private static int parseQueryCursor(String cursor) throws ServiceExecutionException {
+    if (cursor == null) {
+      return 0;
+    }
+    try {
+      int offset = Integer.parseInt(cursor);
+      if (offset >= 0) {
+        return offset;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new ServiceExecutionException("Invalid query cursor : " + cursor);
+  }
+
+  private static Collection<QueryResultsEntityV2> buildQueryResultsEntity(String cacheManagerName, Object[][] data,
+      String nextCursor) {
     QueryResultsEntityV2 qre = new QueryResultsEntityV2();
 
     qre.setAgentId(AgentEntityV2.EMBEDDED_AGENT_ID);
     qre.setName(cacheManagerName);
     qre.setData(data);
+    qre.setNextCursor(nextCursor);
 
     return Collections.singleton(qre);
   }
@@ -780,6 +834,11 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
      */
     private Map<String, CacheSampler> cacheSamplersByName;
 
+    /**
+     * Guarded by cacheSamplerMapLock
+     */
+    private Map<String, CacheSamplerSnapshot> cacheSnapshotsByName;
+
     private volatile Status status = Status.STATUS_UNINITIALISED;
 
     private final ReadWriteLock cacheSamplerMapLock = new ReentrantReadWriteLock();
@@ -797,12 +856,13 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
 
       String[] cNames = cacheManager.getCacheNames();
       this.cacheSamplersByName = new HashMap<String, CacheSampler>(cNames.length);
+      this.cacheSnapshotsByName = new HashMap<String, CacheSamplerSnapshot>(cNames.length);
 
       for (String cName : cNames) {
         Ehcache ehcache = cacheManager.getEhcache(cName);
-        cacheSamplersByName.put(cName, new CacheSamplerImpl(ehcache));
-        PropertyChangeListenerImplementation propertyChangeListener = new PropertyChangeListenerImplementation(ehcache);
-        SamplerCacheConfigurationListener samplerCacheConfigurationListener = new SamplerCacheConfigurationListener(ehcache);
+        CacheSamplerSnapshot snapshot = addSampler(cName, new CacheSamplerImpl(ehcache));
+        PropertyChangeListenerImplementation propertyChangeListener = new PropertyChangeListenerImplementation(ehcache, snapshot);
+        SamplerCacheConfigurationListener samplerCacheConfigurationListener = new SamplerCacheConfigurationListener(ehcache, snapshot);
         propertyChangeListeners.put(cName, propertyChangeListener);
         samplerCacheConfigurationListeners.put(cName, samplerCacheConfigurationListener);
         ehcache.addPropertyChangeListener(propertyChangeListener);
@@ -820,6 +880,36 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
       return cacheManagerSampler;
     }
 
+    private CacheSamplerSnapshot addSampler(String cacheName, CacheSampler sampler) {
+      CacheSamplerSnapshot snapshot = new CacheSamplerSnapshot(sampler,
+          TimeUnit.SECONDS.toMillis(configuration.getSampleIntervalSeconds()));
+      cacheSamplersByName.put(cacheName, sampler);
+      cacheSnapshotsByName.put(cacheName, snapshot);
+      return snapshot;
+    }
+
+    public Collection<CacheSamplerSnapshot> getComprehensiveCacheSnapshots(Set<String> cacheSamplerNames) {
+      Collection<CacheSamplerSnapshot> snapshots = new ArrayList<CacheSamplerSnapshot>();
+
+      cacheSamplerMapLock.readLock().lock();
+      try {
+        if (cacheSamplerNames == null) {
+          snapshots.addAll(cacheSnapshotsByName.values());
+        } else {
+          for (String cName : cacheSamplerNames) {
+            CacheSamplerSnapshot snapshot = cacheSnapshotsByName.get(cName);
+            if (snapshot != null) {
+              snapshots.add(snapshot);
+            }
+          }
+        }
+      } finally {
+        cacheSamplerMapLock.readLock().unlock();
+      }
+
+      return snapshots;
+    }
+
     public Collection<CacheSampler> getComprehensiveCacheSamplers(Set<String> cacheSamplerNames) {
       Collection<CacheSampler> samplers = new HashSet<CacheSampler>();
 
@@ -852,6 +942,7 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
         cs = cacheSamplersByName.get(cacheSamplerName);
         if (cs != null) {
           cs.removeAll();
+          cacheSnapshotsByName.get(cacheSamplerName).invalidate();
         }
       } finally {
         cacheSamplerMapLock.writeLock().unlock();
@@ -921,6 +1012,8 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
             }
           } catch (RuntimeException e) {
             throw new ServiceExecutionException(e);
+          } finally {
+            cacheSnapshotsByName.get(cacheSamplerName).invalidate();
           }
 
         } else {
@@ -957,6 +1050,8 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
       try {
         cacheSamplersByName.clear();
         cacheSamplersByName = null;
+        cacheSnapshotsByName.clear();
+        cacheSnapshotsByName = null;
       } finally {
         cacheSamplerMapLock.writeLock().unlock();
       }
@@ -974,7 +1069,7 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
         Ehcache ehcache = cacheManager.getEhcache(cacheName);
 
         if (ehcache != null) {
-          cacheSamplersByName.put(cacheName, new CacheSamplerImpl(ehcache));
+          CacheSamplerSnapshot snapshot = addSampler(cacheName, new CacheSamplerImpl(ehcache));
 
           Map<String, Object> cacheAttributes = new HashMap<String, Object>();
           cacheAttributes.put("version", this.getClass().getPackage().getImplementationVersion());
@@ -995,8 +1090,8 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
           for (EventListener eventListener : listeners) {
             eventListener.onEvent(evenEntityV2);
           }
-          PropertyChangeListenerImplementation propertyChangeListener = new PropertyChangeListenerImplementation(ehcache);
-          SamplerCacheConfigurationListener samplerCacheConfigurationListener = new SamplerCacheConfigurationListener(ehcache);
+          PropertyChangeListenerImplementation propertyChangeListener = new PropertyChangeListenerImplementation(ehcache, snapshot);
+          SamplerCacheConfigurationListener samplerCacheConfigurationListener = new SamplerCacheConfigurationListener(ehcache, snapshot);
           propertyChangeListeners.put(cacheName, propertyChangeListener);
           samplerCacheConfigurationListeners.put(cacheName, samplerCacheConfigurationListener);
           ehcache.addPropertyChangeListener(propertyChangeListener);
@@ -1020,6 +1115,7 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
         samplerCacheConfigurationListeners.remove(cacheName);
 
         cacheSamplersByName.remove(cacheName);
+        cacheSnapshotsByName.remove(cacheName);
 
         Map<String, Object> cacheAttributes = new HashMap<String, Object>();
         cacheAttributes.put("version", this.getClass().getPackage().getImplementationVersion());
@@ -1047,13 +1143,16 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
 
   class PropertyChangeListenerImplementation implements PropertyChangeListener {
     private final Ehcache cache;
+    private final CacheSamplerSnapshot snapshot;
 
-    public PropertyChangeListenerImplementation(Ehcache cache) {
+    public PropertyChangeListenerImplementation(Ehcache cache, CacheSamplerSnapshot snapshot) {
       this.cache = cache;
+      this.snapshot = snapshot;
     }
 
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
+      snapshot.invalidate();
       String propName = evt.getPropertyName();
       Object propVal = evt.getNewValue();
       
@@ -1069,37 +1168,44 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
   class SamplerCacheConfigurationListener implements CacheConfigurationListener {
 
     private final Ehcache cache;
+    private final CacheSamplerSnapshot snapshot;
 
-    public SamplerCacheConfigurationListener(Ehcache ehcache) {
+    public SamplerCacheConfigurationListener(Ehcache ehcache, CacheSamplerSnapshot snapshot) {
       this.cache = ehcache;
+      this.snapshot = snapshot;
     }
 
     @Override
     public void timeToIdleChanged(long oldTimeToIdle, long newTimeToIdle) {
+      snapshot.invalidate();
       String key = "TimeToIdleSeconds";
       sendCacheEvent(newTimeToIdle, key, cache);
     }
 
     @Override
     public void timeToLiveChanged(long oldTimeToLive, long newTimeToLive) {
+      snapshot.invalidate();
       String key = "TimeToLiveSeconds";
       sendCacheEvent(newTimeToLive, key, cache);
     }
 
     @Override
     public void diskCapacityChanged(int oldCapacity, int newCapacity) {
+      snapshot.invalidate();
       String key = "MaxEntriesLocalDisk";
       sendCacheEvent(newCapacity, key, cache);
     }
 
     @Override
     public void memoryCapacityChanged(int oldCapacity, int newCapacity) {
+      snapshot.invalidate();
       String key = "MaxEntriesLocalHeap";
       sendCacheEvent(newCapacity, key, cache);
     }
 
     @Override
     public void loggingChanged(boolean oldValue, boolean newValue) {
+      snapshot.invalidate();
       String key = "LoggingEnabled";
       sendCacheEvent(newValue, key, cache);
     }
@@ -1114,18 +1220,21 @@ public class DfltSamplerRepositoryServiceV2 implements SamplerRepositoryServiceV
 
     @Override
     public void maxBytesLocalHeapChanged(long oldValue, long newValue) {
+      snapshot.invalidate();
       String key = "MaxBytesLocalHeap";
       sendCacheEvent(newValue, key, cache);
     }
 
     @Override
     public void maxBytesLocalDiskChanged(long oldValue, long newValue) {
+      snapshot.invalidate();
       String key = "MaxBytesLocalDisk";
       sendCacheEvent(newValue, key, cache);
     }
 
     @Override
     public void maxEntriesInCacheChanged(long oldValue, long newValue) {
+      snapshot.invalidate();
       String key = "MaxEntriesInCache";
       sendCacheEvent(newValue, key, cache);
     }
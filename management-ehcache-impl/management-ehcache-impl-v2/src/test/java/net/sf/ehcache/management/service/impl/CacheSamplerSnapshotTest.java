@@ -0,0 +1,94 @@
+/*
+ * All content copyright (c) 2003-2012 Terracotta, Inc., except as may otherwise be noted in a separate copyright
+ * notice. All rights reserved.
+ */
+package net.sf.ehcache.management.service.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.management.resource.CacheEntityV2;
+import net.sf.ehcache.management.sampled.CacheSamplerImpl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author ehcache
+ */
+public class CacheSamplerSnapshotTest {
+
+  private CacheManager cacheManager;
+  private Cache cache;
+
+  @Before
+  public void setUp() {
+    cacheManager = new CacheManager(new Configuration().name("snapshotTestCacheManager"));
+    cache = new Cache(new CacheConfiguration("snapshotTestCache", 100));
+    cacheManager.addCache(cache);
+  }
+
+  @After
+  public void tearDown() {
+    cacheManager.shutdown();
+  }
+
+  @Test
+  public void snapshotIsServedUntilInvalidated() {
+    CacheSamplerSnapshot snapshot = new CacheSamplerSnapshot(new CacheSamplerImpl(cache), Long.MAX_VALUE);
+
+    assertThat(snapshot.getAttributes(Collections.singleton("Size")).get("Size"), is((Object) 0L));
+    cache.put(new Element("key", "value"));
+    assertThat(snapshot.getAttributes(Collections.singleton("Size")).get("Size"), is((Object) 0L));
+
+    snapshot.invalidate();
+    assertThat(snapshot.getAttributes(Collections.singleton("Size")).get("Size"), is((Object) 1L));
+  }
+
+  @Test
+  public void requestingNewAttributesRefreshesTheSnapshot() {
+    CacheSamplerSnapshot snapshot = new CacheSamplerSnapshot(new CacheSamplerImpl(cache), Long.MAX_VALUE);
+
+    snapshot.getAttributes(Collections.singleton("Size"));
+    cache.put(new Element("key", "value"));
+
+    assertThat(snapshot.getAttributes(Arrays.asList("Size", "LocalHeapSize")).get("LocalHeapSize"), is((Object) 1L));
+    assertThat(snapshot.getAttributes(Collections.singleton("Size")).get("Size"), is((Object) 1L));
+  }
+
+  @Test
+  public void expiredSnapshotIsRefreshed() {
+    CacheSamplerSnapshot snapshot = new CacheSamplerSnapshot(new CacheSamplerImpl(cache), 0);
+
+    snapshot.getAttributes(Collections.singleton("Size"));
+    cache.put(new Element("key", "value"));
+    assertThat(snapshot.getAttributes(Collections.singleton("Size")).get("Size"), is((Object) 1L));
+  }
+
+  @Test
+  public void entitiesBuiltFromSnapshotsMatchLiveEntities() {
+    cache.put(new Element("key", "value"));
+    CacheSamplerImpl sampler = new CacheSamplerImpl(cache);
+    CacheSamplerSnapshot snapshot = new CacheSamplerSnapshot(sampler, Long.MAX_VALUE);
+
+    CacheEntityV2 live = CacheEntityBuilderV2.createWith(sampler, "cm").build().iterator().next();
+    CacheEntityV2 snapshotted = CacheEntityBuilderV2.createWith(snapshot, "cm").build().iterator().next();
+    assertThat(snapshotted.getAttributes(), is(live.getAttributes()));
+
+    HashSet<String> constraints = new HashSet<String>(Arrays.asList("Size", "Enabled", "CacheName", "NoSuchAttribute"));
+    live = CacheEntityBuilderV2.createWith(sampler, "cm").add(constraints).build().iterator().next();
+    snapshotted = CacheEntityBuilderV2.createWith(snapshot, "cm").add(constraints).build().iterator().next();
+    assertThat(snapshotted.getAttributes(), is(live.getAttributes()));
+    assertThat(snapshotted.getAttributes().get("Size"), is((Object) 1L));
+  }
+}
@@ -11,16 +11,20 @@ import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.Configuration;
 import net.sf.ehcache.config.ManagementRESTServiceConfiguration;
 import net.sf.ehcache.constructs.blocking.BlockingCache;
+import net.sf.ehcache.management.resource.QueryResultsEntityV2;
+import net.sf.ehcache.management.sampled.CacheManagerSampler;
 import net.sf.ehcache.terracotta.ClusteredInstanceFactory;
 import net.sf.ehcache.terracotta.TerracottaClient;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.terracotta.management.ServiceExecutionException;
 
 import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Mockito.mock;
@@ -101,6 +105,42 @@ public class DfltSamplerRepositoryServiceV2Test {
     repositoryService.register(cacheManager);
   }
 
+  @Test(expected = ServiceExecutionException.class)
+  public void testExecuteQueryRejectsInvalidCursor() throws Exception {
+    repositoryService.executeQuery("testCacheManager", "select * from testCache1", "-1", 10);
+  }
+
+  @Test(expected = ServiceExecutionException.class)
+  public void testExecuteQueryRejectsInvalidLimit() throws Exception {
+    repositoryService.executeQuery("testCacheManager", "select * from testCache1", null, 0);
+  }
+
+  @Test
+  public void testExecuteQueryPageProbesForNextPage() throws Exception {
+    CacheManagerSampler cms = mock(CacheManagerSampler.class);
+    when(cms.executeQuery("q", 20, 11)).thenReturn(new Object[12][]);
+
+    QueryResultsEntityV2 page = DfltSamplerRepositoryServiceV2.executeQueryPage(cms, "testCacheManager", "q", 20, 10)
+        .iterator().next();
+
+    assertThat(page.getData().length, is(11));
+    assertThat(page.getNextCursor(), is("30"));
+  }
+
+  @Test
+  public void testExecuteQueryPageProbeStopsAtResultWindow() throws Exception {
+    int offset = CacheManagerSampler.MAX_QUERY_RESULT_WINDOW - 10;
+    CacheManagerSampler cms = mock(CacheManagerSampler.class);
+    when(cms.executeQuery("q", offset, 10)).thenReturn(new Object[11][]);
+
+    QueryResultsEntityV2 page = DfltSamplerRepositoryServiceV2.executeQueryPage(cms, "testCacheManager", "q", offset, 10)
+        .iterator().next();
+
+    verify(cms).executeQuery("q", offset, 10);
+    assertThat(page.getData().length, is(11));
+    assertThat(page.getNextCursor(), nullValue());
+  }
+
   @After
   public void tearDown() {
     CacheManager.getCacheManager("testCacheManager").shutdown();
@@ -15,6 +15,7 @@ import org.terracotta.management.resource.AbstractEntityV2;
 public class QueryResultsEntityV2 extends AbstractEntityV2 {
   private String     name;
   private Object[][] data;
+  private String     nextCursor;
 
   /**
    * @return the name
@@ -43,4 +44,18 @@ public class QueryResultsEntityV2 extends AbstractEntityV2 {
   public Object[][] getData() {
     return data;
   }
+
+  /**
+   * @param nextCursor to set
+   */
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * @return the cursor to request the next page of results with, or {@code null} if this is the last page
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
 }
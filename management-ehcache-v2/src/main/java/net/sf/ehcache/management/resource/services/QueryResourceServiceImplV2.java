@@ -28,6 +28,10 @@ import org.terracotta.management.resource.services.validator.RequestValidator;
 @Path("/v2/agents/cacheManagers/query")
 public final class QueryResourceServiceImplV2 {
   public final static String ATTR_QUERY_KEY = "text";
+  public final static String ATTR_CURSOR_KEY = "cursor";
+  public final static String ATTR_LIMIT_KEY = "limit";
+
+  public final static int DEFAULT_PAGE_LIMIT = 1000;
 
   private static final Logger LOG = LoggerFactory.getLogger(QueryResourceServiceImplV2.class);
 
@@ -52,9 +56,18 @@ public final class QueryResourceServiceImplV2 {
     MultivaluedMap<String, String> qParams = info.getQueryParameters();
     List<String> querys = qParams.get(ATTR_QUERY_KEY);
     String queryString = querys.size() > 0 ? querys.get(0) : null;
+    String cursor = qParams.getFirst(ATTR_CURSOR_KEY);
+    String limitString = qParams.getFirst(ATTR_LIMIT_KEY);
+
+    int limit;
+    try {
+      limit = limitString == null ? DEFAULT_PAGE_LIMIT : Integer.parseInt(limitString);
+    } catch (NumberFormatException e) {
+      throw new ResourceRuntimeException("Invalid query limit : " + limitString, e, Response.Status.BAD_REQUEST.getStatusCode());
+    }
 
     try {
-      return cacheMgrSvc.executeQuery(cacheManagerName, queryString);
+      return cacheMgrSvc.executeQuery(cacheManagerName, queryString, cursor, limit);
     } catch (ServiceExecutionException e) {
       Throwable t = ExceptionUtils.getRootCause(e);
       throw new ResourceRuntimeException("Failed to execute query", t, Response.Status.BAD_REQUEST.getStatusCode());
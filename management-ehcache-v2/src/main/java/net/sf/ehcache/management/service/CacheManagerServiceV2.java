@@ -34,4 +34,17 @@ public interface CacheManagerServiceV2 {
    * @throws ServiceExecutionException
    */
   ResponseEntityV2 executeQuery(String cacheManagerName, String queryString) throws ServiceExecutionException;
+
+  /**
+   * Execute query against cache manager and returns one page of the results array
+   *
+   * @param queryString
+   * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+   * @param limit the maximum number of result rows in the page, capped by the service
+   * @return {@code ResponseEntityV2} containing {@code QueryResultsEntityV2} entities, carrying the cursor of the next
+   *         page if there are more results
+   * @throws ServiceExecutionException
+   */
+  ResponseEntityV2 executeQuery(String cacheManagerName, String queryString, String cursor, int limit)
+      throws ServiceExecutionException;
 }
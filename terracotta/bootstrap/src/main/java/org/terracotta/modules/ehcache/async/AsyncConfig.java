@@ -75,4 +75,13 @@ public interface AsyncConfig extends Serializable {
    */
   public int getMaxQueueSize();
 
+  /**
+   * The number of threads processing the items of each bucket. With more than one thread, the items of a bucket are
+   * partitioned using the scatter policy so that items scattered alike (for write-behind, operations on the same key)
+   * are still processed in order by a single thread.
+   * 
+   * @return the number of processing threads per bucket, at least 1
+   */
+  public int getWorkersPerBucket();
+
 }
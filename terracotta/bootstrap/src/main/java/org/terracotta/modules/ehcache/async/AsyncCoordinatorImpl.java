@@ -193,7 +193,8 @@ public class AsyncCoordinatorImpl<E extends Serializable> implements AsyncCoordi
                                                                                    "List created should not have size greater than 0"); }
 
     final ProcessingBucket<E> bucket = new ProcessingBucket<E>(bucketName, processingConfig, toolkitList, cluster,
-                                                               processor, workingOnDeadBucket);
+                                                               processor, workingOnDeadBucket, scatterPolicy,
+                                                               concurrency);
     bucket.setItemsFilter(filter);
     if (workingOnDeadBucket) {
       bucket.setCleanupCallback(cleanupDeadBucket(deadBuckets, bucket));
@@ -17,6 +17,7 @@ public class DefaultAsyncConfig implements AsyncConfig {
   public final static long         RETRY_ATTEMPT_DELAY    = TimeUnit.SECONDS.toMillis(1L); // 1 second
   public final static int          RATE_LIMIT             = 0;
   public final static int          MAX_QUEUE_SIZE         = 0;
+  public final static int          WORKERS_PER_BUCKET     = 1;
 
   /**
    * Return an {@code AsyncConfig} instance representing the default configuration.
@@ -75,4 +76,9 @@ public class DefaultAsyncConfig implements AsyncConfig {
   public int getMaxQueueSize() {
     return MAX_QUEUE_SIZE;
   }
+
+  @Override
+  public int getWorkersPerBucket() {
+    return WORKERS_PER_BUCKET;
+  }
 }
@@ -7,13 +7,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terracotta.modules.ehcache.async.AsyncCoordinatorImpl.Callback;
 import org.terracotta.modules.ehcache.async.exceptions.ProcessingException;
+import org.terracotta.modules.ehcache.async.scatterpolicies.ItemScatterPolicy;
 import org.terracotta.toolkit.cluster.ClusterInfo;
 import org.terracotta.toolkit.internal.collections.ToolkitListInternal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -27,6 +35,7 @@ public class ProcessingBucket<E extends Serializable> {
   private static final Logger          LOGGER                   = LoggerFactory.getLogger(ProcessingBucket.class
                                                                     .getName());
   private static final int             UNLIMITED_QUEUE_SIZE     = 0;
+  private static final int             PARTITIONED_CHUNK_SIZE   = 1024;
   private static final String          threadNamePrefix         = "ProcessingWorker|";
   private final String                 bucketName;
   private final AsyncConfig            config;
@@ -49,10 +58,26 @@ public class ProcessingBucket<E extends Serializable> {
   private Callback                     cleanupCallback;
   private final boolean                workingOnDeadBucket;
   private volatile boolean             destroyAfterStop;
+  private final int                    workers;
+  private final ItemScatterPolicy<? super E> partitionPolicy;
+  private final int                    bucketCount;
+  private volatile ExecutorService     partitionExecutor;
 
   public ProcessingBucket(String bucketName, AsyncConfig config, ToolkitListInternal<E> toolkitList,
                           ClusterInfo cluster,
                           ItemProcessor<E> processor, boolean workingOnDeadBucket) {
+    this(bucketName, config, toolkitList, cluster, processor, workingOnDeadBucket, null, 1);
+  }
+
+  /**
+   * Creates a bucket whose items are processed by {@link AsyncConfig#getWorkersPerBucket()} threads.
+   * <p>
+   * Items are partitioned across the threads with the given scatter policy, the one used to scatter items across the
+   * {@code bucketCount} buckets, so that items that would go to the same bucket also go to the same thread.
+   */
+  public ProcessingBucket(String bucketName, AsyncConfig config, ToolkitListInternal<E> toolkitList,
+                          ClusterInfo cluster, ItemProcessor<E> processor, boolean workingOnDeadBucket,
+                          ItemScatterPolicy<? super E> partitionPolicy, int bucketCount) {
     this.bucketName = bucketName;
     this.config = config;
     this.cluster = cluster;
@@ -69,6 +94,9 @@ public class ProcessingBucket<E extends Serializable> {
     this.workingOnDeadBucket = workingOnDeadBucket;
     this.processingWorkerRunnable = new ProcessingWorker(threadNamePrefix + bucketName);
     this.destroyAfterStop = true;
+    this.partitionPolicy = partitionPolicy;
+    this.bucketCount = Math.max(1, bucketCount);
+    this.workers = partitionPolicy == null ? 1 : Math.max(1, config.getWorkersPerBucket());
   }
 
   public String getBucketName() {
@@ -102,12 +130,36 @@ public class ProcessingBucket<E extends Serializable> {
       processingWorkerThread = new Thread(processingWorkerRunnable);
       processingWorkerThread.setName(processingWorkerRunnable.getThreadName());
       processingWorkerThread.setDaemon(true);
+      if (workers > 1) {
+        partitionExecutor = createPartitionExecutor();
+      }
       processingWorkerThread.start();
     } finally {
       bucketWriteLock.unlock();
     }
   }
 
+  private ExecutorService createPartitionExecutor() {
+    // the processing worker thread handles one partition itself
+    return Executors.newFixedThreadPool(workers - 1, new ThreadFactory() {
+      private final AtomicInteger threadID = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, getThreadName() + "|" + threadID.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  private void shutdownPartitionExecutor() {
+    ExecutorService executor = partitionExecutor;
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
   private void ensureNonExistingThread() {
     if (processingWorkerThread != null) { throw new AssertionError(processingWorkerRunnable.getThreadName()); }
   }
@@ -150,6 +202,7 @@ public class ProcessingBucket<E extends Serializable> {
       bucketNotEmpty.signalAll();
       bucketNotFull.signalAll();
       processingWorkerThread.interrupt();
+      shutdownPartitionExecutor();
     } finally {
       bucketWriteLock.unlock();
     }
@@ -207,9 +260,10 @@ public class ProcessingBucket<E extends Serializable> {
           }
         }
       }
-      boolean signalNotEmpty = toolkitList.isEmpty();
+      int size = toolkitList.size();
       toolkitList.unlockedAdd(item);
-      if (signalNotEmpty) {
+      // also wake up the worker early once a full round of work is waiting
+      if (size == 0 || isBacklogged(size + 1)) {
         bucketNotEmpty.signalAll();
       }
     } finally {
@@ -229,6 +283,32 @@ public class ProcessingBucket<E extends Serializable> {
     return batchSize;
   }
 
+  /**
+   * Number of items processed per round when items are partitioned across several threads.
+   */
+  private int determinePartitionedWorkSize() {
+    long workSize = PARTITIONED_CHUNK_SIZE;
+    if (config.isBatchingEnabled() && config.getBatchSize() > 0) {
+      workSize = (long) config.getBatchSize() * workers;
+    }
+    return (int) Math.min(workSize, toolkitList.size());
+  }
+
+  /**
+   * Returns true if enough items are waiting that the work delay should be cut short: a full round of batches, or a full
+   * queue blocking producers. Never true under a rate limit, where waiting is what lets processing resume.
+   */
+  private boolean isBacklogged(int size) {
+    if (config.getRateLimit() > 0) { return false; }
+    if (config.isBatchingEnabled() && config.getBatchSize() > 0) {
+      // processItems() would not process less than a batch
+      if (size < config.getBatchSize()) { return false; }
+      if (size >= (long) config.getBatchSize() * workers) { return true; }
+    }
+    int maxQueueSize = config.getMaxQueueSize();
+    return maxQueueSize != UNLIMITED_QUEUE_SIZE && size >= maxQueueSize;
+  }
+
   private void debug(String message) {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(message);
@@ -303,7 +383,7 @@ public class ProcessingBucket<E extends Serializable> {
         try {
           if (stopState == STOP_STATE.NORMAL) {
             secondsSinceLastWorkDone = (baselinedCurrentTimeMillis() - lastWorkDoneMillis) / 1000;
-            effectiveBatchSize = determineBatchSize();
+            effectiveBatchSize = workers > 1 ? determinePartitionedWorkSize() : determineBatchSize();
             long maxBatchSizeSinceLastWorkDone = rateLimit * secondsSinceLastWorkDone;
             if (effectiveBatchSize > maxBatchSizeSinceLastWorkDone) {
               debug(getThreadName() + " : processItems() : last work was done " + secondsSinceLastWorkDone
@@ -334,7 +414,9 @@ public class ProcessingBucket<E extends Serializable> {
     if (!cluster.areOperationsEnabled()) {
       return;
     } else {
-      if (config.isBatchingEnabled() && config.getBatchSize() > 0) {
+      if (workers > 1) {
+        processPartitionedItems();
+      } else if (config.isBatchingEnabled() && config.getBatchSize() > 0) {
         processBatchedItems();
       } else {
         processListSnapshot();
@@ -365,6 +447,11 @@ public class ProcessingBucket<E extends Serializable> {
   private void processSingleItem() throws ProcessingException {
     // process the next item
     final E item = getItemsFromQueue(1).get(0);
+    processItem(item);
+    removeFromQueue(1);
+  }
+
+  private void processItem(final E item) throws ProcessingException {
     final int retryAttempts = config.getRetryAttempts();
     int executionsLeft = retryAttempts + 1;
     while (executionsLeft-- > 0) {
@@ -390,12 +477,16 @@ public class ProcessingBucket<E extends Serializable> {
         }
       }
     }
-    removeFromQueue(1);
   }
 
   private void processBatchedItems() throws ProcessingException {
     final int effectiveBatchSize = determineBatchSize();
     List<E> batch = getItemsFromQueue(effectiveBatchSize);
+    processBatch(batch);
+    removeFromQueue(effectiveBatchSize);
+  }
+
+  private void processBatch(final List<E> batch) throws ProcessingException {
     final int retryAttempts = config.getRetryAttempts();
     int executionsLeft = retryAttempts + 1;
     while (executionsLeft-- > 0) {
@@ -424,8 +515,110 @@ public class ProcessingBucket<E extends Serializable> {
         }
       }
     }
+  }
 
-    removeFromQueue(effectiveBatchSize);
+  /**
+   * Processes the items at the head of the bucket with several threads. Each chunk of contiguous items is read at once,
+   * split into per-thread partitions that keep the relative order of their items, processed, and only then removed from
+   * the bucket.
+   */
+  private void processPartitionedItems() throws ProcessingException {
+    if (config.isBatchingEnabled() && config.getBatchSize() > 0) {
+      processPartitionedChunk(determinePartitionedWorkSize());
+    } else {
+      int remaining = toolkitList.size();
+      debug(getThreadName() + " : processPartitionedItems size " + remaining + " quarantined items");
+      while (remaining > 0 && !isCancelled()) {
+        int chunkSize = Math.min(remaining, PARTITIONED_CHUNK_SIZE);
+        processPartitionedChunk(chunkSize);
+        remaining -= chunkSize;
+      }
+    }
+  }
+
+  private void processPartitionedChunk(final int chunkSize) throws ProcessingException {
+    if (chunkSize <= 0) { return; }
+    List<E> chunk = getItemsFromQueue(chunkSize);
+    List<List<E>> partitions = new ArrayList<List<E>>(workers);
+    for (int i = 0; i < workers; i++) {
+      partitions.add(new ArrayList<E>());
+    }
+    for (E item : chunk) {
+      partitions.get(partitionFor(item)).add(item);
+    }
+
+    List<Future<Void>> submitted = new ArrayList<Future<Void>>(workers - 1);
+    List<E> own = null;
+    for (final List<E> partition : partitions) {
+      if (partition.isEmpty()) {
+        continue;
+      }
+      if (own == null) {
+        own = partition;
+      } else {
+        submitted.add(partitionExecutor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws ProcessingException {
+            processPartition(partition);
+            return null;
+          }
+        }));
+      }
+    }
+
+    Throwable failure = null;
+    try {
+      processPartition(own);
+    } catch (ProcessingException e) {
+      failure = e;
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+    boolean interrupted = false;
+    for (Future<Void> future : submitted) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    // items stay in the bucket, to be processed again, unless every partition completed
+    if (failure instanceof ProcessingException) { throw (ProcessingException) failure; }
+    if (failure instanceof RuntimeException) { throw (RuntimeException) failure; }
+    if (failure instanceof Error) { throw (Error) failure; }
+    if (failure != null) { throw new ProcessingException("error processing partitioned items", failure); }
+    removeFromQueue(chunkSize);
+  }
+
+  private void processPartition(final List<E> partition) throws ProcessingException {
+    if (config.isBatchingEnabled() && config.getBatchSize() > 0) {
+      int batchSize = config.getBatchSize();
+      for (int from = 0; from < partition.size(); from += batchSize) {
+        processBatch(partition.subList(from, Math.min(partition.size(), from + batchSize)));
+      }
+    } else {
+      for (E item : partition) {
+        processItem(item);
+      }
+    }
+  }
+
+  private int partitionFor(final E item) {
+    // the policy picked this bucket as (index % bucketCount), so spread on the remaining (index / bucketCount)
+    int index = partitionPolicy.selectBucket(bucketCount * workers, item) / bucketCount;
+    return Math.min(index, workers - 1);
   }
 
   private List<E> getItemsFromQueue(final int effectiveBatchSize) {
@@ -502,12 +695,18 @@ public class ProcessingBucket<E extends Serializable> {
           // otherwise it's possible to create a new work list for just a couple of items in case
           // the item processor is very fast, causing a large amount of data churn and broadcasts.
           // However, if the work delay is expired, the processing should start immediately.
+          // The wait is cut short when a full round of work is already waiting, and an empty bucket is not polled: the
+          // worker sleeps until an item arrives, then honors what remains of the work delay.
           bucketWriteLock.lock();
           try {
             try {
               long tmpWorkDelay = workDelay.get();
               if (tmpWorkDelay != 0) {
-                do {
+                while (!workingOnDeadBucket && stopState == STOP_STATE.NORMAL && toolkitList.isEmpty()) {
+                  bucketNotEmpty.await();
+                }
+                while (tmpWorkDelay > 0 && stopState == STOP_STATE.NORMAL
+                       && !(cluster.areOperationsEnabled() && isBacklogged(toolkitList.size()))) {
                   bucketNotEmpty.await(tmpWorkDelay, TimeUnit.MILLISECONDS);
                   long actualWorkDelay = baselinedCurrentTimeMillis() - currentLastProcessing;
                   if (actualWorkDelay < tmpWorkDelay) {
@@ -515,7 +714,7 @@ public class ProcessingBucket<E extends Serializable> {
                   } else {
                     tmpWorkDelay = 0;
                   }
-                } while (tmpWorkDelay > 0 && stopState == STOP_STATE.NORMAL);
+                }
               } else {
                 while (!workingOnDeadBucket && stopState == STOP_STATE.NORMAL && toolkitList.isEmpty()) {
                   bucketNotEmpty.await();
@@ -537,6 +736,8 @@ public class ProcessingBucket<E extends Serializable> {
         }
       }
 
+      shutdownPartitionExecutor();
+
       if (destroyAfterStop) {
         // Destroy anyways, either stop happened or other dead-client bucket was finished processing
         if (workingOnDeadBucket) {
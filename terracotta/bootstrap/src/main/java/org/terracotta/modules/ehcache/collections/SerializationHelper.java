@@ -6,6 +6,7 @@ package org.terracotta.modules.ehcache.collections;
 import net.sf.ehcache.util.FindBugsSuppressWarnings;
 
 import java.io.*;
+import java.util.UUID;
 
 public class SerializationHelper {
   /**
@@ -14,6 +15,23 @@ public class SerializationHelper {
    */
   private static final char MARKER = 0xFFFE;
 
+  /**
+   * String keys which are compact type-tagged encodings of common key types will have this as their first char, followed
+   * by a type tag char and a radix 36 rendering of the value. Like {@link #MARKER} it is a UTF-16 noncharacter.
+   */
+  private static final char COMPACT_MARKER = 0xFFFF;
+
+  private static final int  COMPACT_RADIX  = Character.MAX_RADIX;
+  private static final char UUID_SEPARATOR = '.';
+
+  private static final char LONG_TAG       = 'J';
+  private static final char INTEGER_TAG    = 'I';
+  private static final char SHORT_TAG      = 'S';
+  private static final char BYTE_TAG       = 'B';
+  private static final char CHARACTER_TAG  = 'C';
+  private static final char BOOLEAN_TAG    = 'Z';
+  private static final char UUID_TAG       = 'U';
+
   public static byte[] serialize(Object obj) {
     try {
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -60,13 +78,35 @@ public class SerializationHelper {
     return key;
   }
 
+  /**
+   * Same as {@link #deserializeFromString(String, ClassLoader)} but also decodes keys written by
+   * {@link #serializeToString(Object, boolean)} in compact mode.
+   */
+  public static Object deserializeFromString(String key, final ClassLoader loader, boolean compact) throws IOException,
+      ClassNotFoundException {
+    if (compact && key.length() >= 2 && key.charAt(0) == COMPACT_MARKER) {
+      return decodeCompact(key);
+    }
+    return deserializeFromString(key, loader);
+  }
+
   public static String serializeToString(Object key) throws IOException {
+    return serializeToString(key, false);
+  }
+
+  /**
+   * Serializes the given key to a String. In compact mode keys of a few common immutable types (Long, Integer, Short,
+   * Byte, Character, Boolean and UUID) are written as a short type-tagged string instead of a Java serialization stream.
+   * <p>
+   * Compact and non-compact encodings of the same key differ, so every client of a given store must use the same mode.
+   */
+  public static String serializeToString(Object key, boolean compact) throws IOException {
     if (key instanceof String) {
       String stringKey = (String) key;
 
       // disallow Strings that start with our marker
       if (stringKey.length() >= 1) {
-        if (stringKey.charAt(0) == MARKER) {
+        if (stringKey.charAt(0) == MARKER || (compact && stringKey.charAt(0) == COMPACT_MARKER)) {
           //
           throw new IOException("Illegal string key: " + stringKey);
         }
@@ -76,6 +116,11 @@ public class SerializationHelper {
       return stringKey;
     }
 
+    if (compact) {
+      String encoded = encodeCompact(key);
+      if (encoded != null) { return encoded; }
+    }
+
     StringSerializedObjectOutputStream out = new StringSerializedObjectOutputStream();
     ObjectOutputStream oos = new ObjectOutputStream(out);
     writeStringKey(key, oos);
@@ -84,6 +129,72 @@ public class SerializationHelper {
     return out.toString();
   }
 
+  /**
+   * Returns true if the given key has a compact encoding.
+   */
+  public static boolean isCompactlyEncodable(Object key) {
+    if (key == null) { return false; }
+    Class<?> type = key.getClass();
+    return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+           || type == Character.class || type == Boolean.class || type == UUID.class;
+  }
+
+  private static String encodeCompact(Object key) {
+    if (!isCompactlyEncodable(key)) { return null; }
+
+    StringBuilder sb = new StringBuilder(16).append(COMPACT_MARKER);
+    if (key instanceof Long) {
+      sb.append(LONG_TAG).append(Long.toString((Long) key, COMPACT_RADIX));
+    } else if (key instanceof Integer) {
+      sb.append(INTEGER_TAG).append(Integer.toString((Integer) key, COMPACT_RADIX));
+    } else if (key instanceof Short) {
+      sb.append(SHORT_TAG).append(Integer.toString((Short) key, COMPACT_RADIX));
+    } else if (key instanceof Byte) {
+      sb.append(BYTE_TAG).append(Integer.toString((Byte) key, COMPACT_RADIX));
+    } else if (key instanceof Character) {
+      sb.append(CHARACTER_TAG).append(Integer.toString((Character) key, COMPACT_RADIX));
+    } else if (key instanceof Boolean) {
+      sb.append(BOOLEAN_TAG).append(((Boolean) key) ? '1' : '0');
+    } else {
+      UUID uuid = (UUID) key;
+      sb.append(UUID_TAG).append(Long.toString(uuid.getMostSignificantBits(), COMPACT_RADIX)).append(UUID_SEPARATOR)
+          .append(Long.toString(uuid.getLeastSignificantBits(), COMPACT_RADIX));
+    }
+    return sb.toString();
+  }
+
+  private static Object decodeCompact(String key) throws IOException {
+    String value = key.substring(2);
+    try {
+      switch (key.charAt(1)) {
+        case LONG_TAG:
+          return Long.valueOf(Long.parseLong(value, COMPACT_RADIX));
+        case INTEGER_TAG:
+          return Integer.valueOf(Integer.parseInt(value, COMPACT_RADIX));
+        case SHORT_TAG:
+          return Short.valueOf(Short.parseShort(value, COMPACT_RADIX));
+        case BYTE_TAG:
+          return Byte.valueOf(Byte.parseByte(value, COMPACT_RADIX));
+        case CHARACTER_TAG:
+          return Character.valueOf((char) Integer.parseInt(value, COMPACT_RADIX));
+        case BOOLEAN_TAG:
+          return Boolean.valueOf(value.equals("1"));
+        case UUID_TAG:
+          int separator = value.indexOf(UUID_SEPARATOR);
+          if (separator < 0) {
+            break;
+          }
+          return new UUID(Long.parseLong(value.substring(0, separator), COMPACT_RADIX),
+                          Long.parseLong(value.substring(separator + 1), COMPACT_RADIX));
+        default:
+          break;
+      }
+    } catch (NumberFormatException e) {
+      throw new IOException("Illegal compact key: " + key, e);
+    }
+    throw new IOException("Illegal compact key: " + key);
+  }
+
   private static void writeStringKey(final Object key, final ObjectOutputStream oos) throws IOException {
     oos.writeObject(key);
   }
@@ -0,0 +1,184 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ */
+package org.terracotta.modules.ehcache.store;
+
+import net.sf.ehcache.CacheException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Support for chunked, pipelined bulk operations against the clustered backend.
+ * <p>
+ * A bulk operation is split into chunks. While the calling thread has one chunk in flight against the cluster, the next
+ * chunk is encoded and the results of the previous one are decoded on a shared pool of daemon threads. Backend calls
+ * themselves always stay on the calling thread so that they see its locks and transactions.
+ * <p>
+ * Tasks handed out by this class are never left waiting for a pool thread: awaiting a task that has not started yet runs
+ * it on the awaiting thread.
+ *
+ * @author ehcache
+ */
+final class BulkOperationPipeline {
+
+  /**
+   * Number of keys per chunk of a bulk operation.
+   */
+  static final int                        CHUNK_SIZE = Math.max(1, Integer.getInteger("ehcache.clusteredStore.bulkChunkSize",
+                                                                                      1000));
+
+  private static final ThreadPoolExecutor EXECUTOR   = createExecutor();
+
+  private BulkOperationPipeline() {
+    // static only
+  }
+
+  /**
+   * A CPU bound step of a bulk operation.
+   */
+  interface Stage<I, O> {
+    O apply(I input);
+  }
+
+  /**
+   * Splits the given items into lists of at most {@code chunkSize} items.
+   */
+  static <T> List<List<T>> partition(Collection<? extends T> items, int chunkSize) {
+    if (items.isEmpty()) { return Collections.emptyList(); }
+    List<List<T>> chunks = new ArrayList<List<T>>((items.size() + chunkSize - 1) / chunkSize);
+    List<T> chunk = new ArrayList<T>(Math.min(chunkSize, items.size()));
+    for (T item : items) {
+      if (chunk.size() == chunkSize) {
+        chunks.add(chunk);
+        chunk = new ArrayList<T>(chunkSize);
+      }
+      chunk.add(item);
+    }
+    chunks.add(chunk);
+    return chunks;
+  }
+
+  /**
+   * Returns the inputs transformed by the given stage. While the caller works on one output the next one is computed in
+   * the background.
+   */
+  static <I, O> Iterable<O> readAhead(final List<I> inputs, final Stage<I, O> stage) {
+    return new Iterable<O>() {
+      @Override
+      public Iterator<O> iterator() {
+        return new ReadAheadIterator<I, O>(inputs, stage);
+      }
+    };
+  }
+
+  /**
+   * Schedules the given task on the pipeline threads.
+   */
+  static <T> FutureTask<T> submit(Callable<T> callable) {
+    FutureTask<T> task = new FutureTask<T>(callable);
+    EXECUTOR.execute(task);
+    return task;
+  }
+
+  /**
+   * Waits for the given task, running it on the calling thread if no pool thread has picked it up yet.
+   */
+  static <T> T await(FutureTask<T> task) {
+    // a no-op if the task is already running or done
+    task.run();
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return task.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) { throw (RuntimeException) cause; }
+          if (cause instanceof Error) { throw (Error) cause; }
+          throw new CacheException(cause);
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static ThreadPoolExecutor createExecutor() {
+    ThreadFactory daemonThreadFactory = new ThreadFactory() {
+      private final AtomicInteger threadID = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "ClusteredStoreBulkOperationThread_" + threadID.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                                         new LinkedBlockingQueue<Runnable>(), daemonThreadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static final class ReadAheadIterator<I, O> implements Iterator<O> {
+    private final List<I>     inputs;
+    private final Stage<I, O> stage;
+    private int               index;
+    private FutureTask<O>     pending;
+
+    ReadAheadIterator(List<I> inputs, Stage<I, O> stage) {
+      this.inputs = inputs;
+      this.stage = stage;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < inputs.size();
+    }
+
+    @Override
+    public O next() {
+      if (!hasNext()) { throw new NoSuchElementException(); }
+      FutureTask<O> current = pending != null ? pending : task(inputs.get(index));
+      index++;
+      pending = hasNext() ? submit(callable(inputs.get(index))) : null;
+      return await(current);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    private FutureTask<O> task(I input) {
+      return new FutureTask<O>(callable(input));
+    }
+
+    private Callable<O> callable(final I input) {
+      return new Callable<O>() {
+        @Override
+        public O call() {
+          return stage.apply(input);
+        }
+      };
+    }
+  }
+}
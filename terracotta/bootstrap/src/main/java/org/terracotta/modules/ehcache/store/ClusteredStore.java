@@ -42,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terracotta.modules.ehcache.ClusteredCacheInternalContext;
 import org.terracotta.modules.ehcache.ToolkitInstanceFactory;
+import org.terracotta.modules.ehcache.collections.SerializationHelper;
 import org.terracotta.modules.ehcache.concurrency.TCCacheLockProvider;
 import org.terracotta.statistics.Statistic;
 import org.terracotta.statistics.observer.OperationObserver;
@@ -64,12 +65,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import javax.swing.event.EventListenerList;
 
@@ -80,6 +84,8 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
                                                                                                              .getName());
   private static final String                                CHECK_CONTAINS_KEY_ON_PUT_PROPERTY_NAME = "ehcache.clusteredStore.checkContainsKeyOnPut";
   private static final String                                TRANSACTIONAL_MODE                      = "trasactionalMode";
+  private static final String                                COMPACT_KEYS_PROPERTY_NAME              = "ehcache.clusteredStore.compactKeys";
+  private static final String                                COMPACT_KEYS                            = "compactKeys";
   private static final String                                LEADER_ELECTION_LOCK_NAME               = "SERVER-EVENT-SUBSCRIPTION-LOCK";
   protected static final String                              LEADER_NODE_ID                          = "LEADER-NODE-ID";
 
@@ -92,9 +98,9 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
 
   // final private fields
   private final boolean                                      checkContainsKeyOnPut;
-  private final int                                          localKeyCacheMaxsize;
   private final CacheConfiguration.TransactionalMode         transactionalMode;
-  private final Map<Object, String>                          keyLookupCache;
+  private final boolean                                      compactKeys;
+  private final PortableKeyCache                             keyLookupCache;
   private final CacheConfigChangeBridge                      cacheConfigChangeBridge;
   private final RegisteredEventListeners                     registeredEventListeners;
   private final ClusteredCacheInternalContext                internalContext;
@@ -131,20 +137,28 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
     backend = toolkitInstanceFactory.getOrCreateToolkitCache(cache);
     configMap = toolkitInstanceFactory.getOrCreateClusteredStoreConfigMap(cache.getCacheManager().getName(),
                                                                           cache.getName());
+    boolean createdStore = false;
     CacheConfiguration.TransactionalMode transactionalModeTemp = (TransactionalMode) configMap.get(TRANSACTIONAL_MODE);
     if (transactionalModeTemp == null) {
-      configMap.putIfAbsent(TRANSACTIONAL_MODE, ehcacheConfig.getTransactionalMode());
+      createdStore = configMap.putIfAbsent(TRANSACTIONAL_MODE, ehcacheConfig.getTransactionalMode()) == null;
       transactionalModeTemp = (TransactionalMode) configMap.get(TRANSACTIONAL_MODE);
     }
     transactionalMode = transactionalModeTemp;
 
-    valueModeHandler = ValueModeHandlerFactory.createValueModeHandler(this, ehcacheConfig);
+    // the client creating the store decides the key encoding, as all clients must agree on it. A store created by a
+    // client predating compact keys has no entry, and its other clients keep encoding keys the old way.
+    Boolean compactKeysTemp = (Boolean) configMap.get(COMPACT_KEYS);
+    if (compactKeysTemp == null) {
+      configMap.putIfAbsent(COMPACT_KEYS, createdStore && Boolean.getBoolean(COMPACT_KEYS_PROPERTY_NAME));
+      compactKeysTemp = (Boolean) configMap.get(COMPACT_KEYS);
+    }
+    compactKeys = compactKeysTemp != null && compactKeysTemp;
+
+    valueModeHandler = ValueModeHandlerFactory.createValueModeHandler(this, ehcacheConfig, compactKeys);
 
-    if (terracottaConfiguration.getLocalKeyCache()) {
-      localKeyCacheMaxsize = terracottaConfiguration.getLocalKeyCacheSize();
-      keyLookupCache = new ConcurrentHashMap<Object, String>();
+    if (terracottaConfiguration.getLocalKeyCache() && terracottaConfiguration.getLocalKeyCacheSize() > 0) {
+      keyLookupCache = new PortableKeyCache(terracottaConfiguration.getLocalKeyCacheSize());
     } else {
-      localKeyCacheMaxsize = -1;
       keyLookupCache = null;
     }
 
@@ -296,18 +310,16 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
 
   @Override
   public void putAll(Collection<Element> elements) throws CacheException {
-    Map<String, Serializable> entries = new HashMap<String, Serializable>();
-    for (Element element : elements) {
-      String pKey = generatePortableKeyFor(element.getObjectKey());
-      if (!element.usesCacheDefaultLifespan()) {
-        doPutWithCustomLifespan(pKey, element);
-      } else {
-        // extractSearchAttributes(element);
-        ElementData elementData = valueModeHandler.createElementData(element);
-        entries.put(pKey, elementData);
+    for (PutBatch batch : BulkOperationPipeline.readAhead(BulkOperationPipeline.partition(elements,
+                                                                                          BulkOperationPipeline.CHUNK_SIZE),
+                                                          putBatchEncoder)) {
+      for (Entry<String, Element> entry : batch.customLifespanElements.entrySet()) {
+        doPutWithCustomLifespan(entry.getKey(), entry.getValue());
+      }
+      if (!batch.entries.isEmpty()) {
+        backend.putAll(batch.entries);
       }
     }
-    backend.putAll(entries);
   }
 
   @Override
@@ -354,12 +366,10 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
 
   @Override
   public void removeAll(Collection<?> keys) {
-    Set<String> entries = new HashSet<String>();
-    for (Object key : keys) {
-      String pKey = generatePortableKeyFor(key);
-      entries.add(pKey);
+    for (Map<String, Object> batch : BulkOperationPipeline.readAhead(BulkOperationPipeline
+        .partition(keys, BulkOperationPipeline.CHUNK_SIZE), portableKeyEncoder)) {
+      backend.removeAll(batch.keySet());
     }
-    backend.removeAll(entries);
   }
 
   @Override
@@ -690,26 +700,106 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
     return doGetAll(keys, false);
   }
 
+  /**
+   * Gets the elements for the given keys in the background.
+   * <p>
+   * The backend is called from a pipeline thread, so unlike {@link #getAll(Collection)} the lookup does not take part in
+   * any lock or transaction held by the calling thread.
+   */
+  public Future<Map<Object, Element>> getAllAsync(final Collection<?> keys) {
+    return BulkOperationPipeline.submit(new Callable<Map<Object, Element>>() {
+      @Override
+      public Map<Object, Element> call() {
+        return doGetAll(keys, false);
+      }
+    });
+  }
+
   private Map<Object, Element> doGetAll(Collection<?> keys, boolean quiet) {
-    List<String> pKeys = new ArrayList(keys.size());
-    for (Object key : keys) {
-      pKeys.add(generatePortableKeyFor(key));
+    // keys are encoded one chunk ahead of the chunk in flight, and elements are built while the next chunk is fetched
+    List<FutureTask<Map<Object, Element>>> chunks = new ArrayList<FutureTask<Map<Object, Element>>>();
+    Iterator<Map<String, Object>> batches = BulkOperationPipeline
+        .readAhead(BulkOperationPipeline.partition(keys, BulkOperationPipeline.CHUNK_SIZE), portableKeyEncoder)
+        .iterator();
+    while (batches.hasNext()) {
+      final Map<String, Object> batch = batches.next();
+      final Map<String, Serializable> values;
+      if (quiet) {
+        values = backend.getAllQuiet(batch.keySet());
+      } else {
+        values = backend.getAll(batch.keySet());
+      }
+      Callable<Map<Object, Element>> createElements = new Callable<Map<Object, Element>>() {
+        @Override
+        public Map<Object, Element> call() {
+          return createElements(batch, values);
+        }
+      };
+      chunks.add(batches.hasNext() ? BulkOperationPipeline.submit(createElements)
+          : new FutureTask<Map<Object, Element>>(createElements));
     }
-    final Map<String, Serializable> values;
-    if (quiet) {
-      values = backend.getAllQuiet(pKeys);
-    } else {
-      values = backend.getAll(pKeys);
+    if (chunks.size() == 1) { return BulkOperationPipeline.await(chunks.get(0)); }
+    Map<Object, Element> elements = new HashMap<Object, Element>();
+    for (FutureTask<Map<Object, Element>> chunk : chunks) {
+      elements.putAll(BulkOperationPipeline.await(chunk));
     }
-    Map<Object, Element> elements = new HashMap();
-    Set<Entry<String, Serializable>> entrySet = values.entrySet();
-    for (Map.Entry<String, Serializable> entry : entrySet) {
-      Object key = this.valueModeHandler.getRealKeyObject(entry.getKey());
+    return elements;
+  }
+
+  private Map<Object, Element> createElements(Map<String, Object> keysByPortableKey, Map<String, Serializable> values) {
+    Map<Object, Element> elements = new HashMap<Object, Element>();
+    for (Map.Entry<String, Serializable> entry : values.entrySet()) {
+      // the caller's key is reused rather than deserialized back from the portable key
+      Object key = keysByPortableKey.get(entry.getKey());
+      if (key == null) {
+        key = this.valueModeHandler.getRealKeyObject(entry.getKey());
+      }
       elements.put(key, this.valueModeHandler.createElement(key, entry.getValue()));
     }
     return elements;
   }
 
+  /**
+   * Maps a chunk of keys by their portable keys.
+   */
+  private final BulkOperationPipeline.Stage<List<Object>, Map<String, Object>> portableKeyEncoder =
+      new BulkOperationPipeline.Stage<List<Object>, Map<String, Object>>() {
+    @Override
+    public Map<String, Object> apply(List<Object> keys) {
+      Map<String, Object> batch = new HashMap<String, Object>();
+      for (Object key : keys) {
+        batch.put(generatePortableKeyFor(key), key);
+      }
+      return batch;
+    }
+  };
+
+  /**
+   * Encodes a chunk of elements for {@link #putAll(Collection)}.
+   */
+  private final BulkOperationPipeline.Stage<List<Element>, PutBatch> putBatchEncoder =
+      new BulkOperationPipeline.Stage<List<Element>, PutBatch>() {
+    @Override
+    public PutBatch apply(List<Element> elements) {
+      PutBatch batch = new PutBatch();
+      for (Element element : elements) {
+        String pKey = generatePortableKeyFor(element.getObjectKey());
+        if (!element.usesCacheDefaultLifespan()) {
+          batch.customLifespanElements.put(pKey, element);
+        } else {
+          // extractSearchAttributes(element);
+          batch.entries.put(pKey, valueModeHandler.createElementData(element));
+        }
+      }
+      return batch;
+    }
+  };
+
+  private static final class PutBatch {
+    private final Map<String, Serializable> entries                = new HashMap<String, Serializable>();
+    private final Map<String, Element>      customLifespanElements = new LinkedHashMap<String, Element>();
+  }
+
   /**
    * Generates a portable key for the supplied object.
    */
@@ -728,7 +818,7 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
       throw new CacheException(e);
     }
 
-    if (useCache && keyLookupCache.size() < localKeyCacheMaxsize) {
+    if (useCache) {
       keyLookupCache.put(obj, key);
     }
 
@@ -736,8 +826,9 @@ public class ClusteredStore implements TerracottaStore, StoreListener {
   }
 
   private boolean shouldUseCache(final Object obj) {
-    // no sense putting existing String keys into the soft cache
-    return keyLookupCache != null && !(obj instanceof String);
+    // no sense putting existing String keys, or keys with a compact encoding, into the soft cache
+    return keyLookupCache != null && !(obj instanceof String)
+           && !(compactKeys && SerializationHelper.isCompactlyEncodable(obj));
   }
 
   private boolean doPut(String portableKey, Element element) {
@@ -0,0 +1,138 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ */
+package org.terracotta.modules.ehcache.store;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of key to portable key mappings.
+ * <p>
+ * Lookups are lock free and only set a reference bit on the hit entry. Inserts take a lock and, once the cache is full,
+ * evict an entry chosen by the CLOCK algorithm: the clock hand sweeps the entries, clearing reference bits, and evicts the
+ * first entry it finds unreferenced. Hot keys therefore stay cached after warm-up while cold ones make room for new keys.
+ *
+ * @author ehcache
+ */
+class PortableKeyCache {
+
+  private static final int                         INITIAL_RING_SIZE = 16;
+
+  private final int                                capacity;
+  private final ConcurrentHashMap<Object, Slot>    map;
+  private final ReentrantLock                      lock              = new ReentrantLock();
+
+  // guarded by lock
+  private Slot[]                                   ring;
+  private int                                      used;
+  private int                                      hand;
+
+  /**
+   * Creates a key cache holding at most {@code capacity} mappings.
+   *
+   * @param capacity maximum number of cached keys
+   */
+  PortableKeyCache(int capacity) {
+    if (capacity <= 0) { throw new IllegalArgumentException("capacity must be positive: " + capacity); }
+    this.capacity = capacity;
+    this.map = new ConcurrentHashMap<Object, Slot>();
+    this.ring = new Slot[Math.min(capacity, INITIAL_RING_SIZE)];
+  }
+
+  /**
+   * Returns the cached portable key for the given key, or null if it is not cached.
+   */
+  String get(Object key) {
+    Slot slot = map.get(key);
+    if (slot == null) { return null; }
+    if (!slot.referenced) {
+      slot.referenced = true;
+    }
+    return slot.portableKey;
+  }
+
+  /**
+   * Caches the given mapping, evicting a cold mapping if the cache is full.
+   */
+  void put(Object key, String portableKey) {
+    lock.lock();
+    try {
+      if (map.containsKey(key)) { return; }
+      Slot slot = new Slot(key, portableKey);
+      if (used < capacity) {
+        if (used == ring.length) {
+          ring = Arrays.copyOf(ring, Math.min(capacity, ring.length << 1));
+        }
+        ring[used++] = slot;
+      } else {
+        ring[advanceToVictim()] = slot;
+      }
+      map.put(key, slot);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the mapping for the given key, if any.
+   */
+  void remove(Object key) {
+    // the ring slot is left behind and gets reused by the next eviction sweep that reaches it
+    map.remove(key);
+  }
+
+  void clear() {
+    lock.lock();
+    try {
+      map.clear();
+      Arrays.fill(ring, 0, used, null);
+      used = 0;
+      hand = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    return map.size();
+  }
+
+  /**
+   * Moves the clock hand to the next evictable slot, removes the mapping it holds and returns its index.
+   */
+  private int advanceToVictim() {
+    // bounded sweep: after two full turns every reference bit seen has been cleared once, so give up on fairness
+    for (int i = 0; i < 2 * capacity; i++) {
+      int index = hand;
+      hand = (hand + 1) % capacity;
+      Slot candidate = ring[index];
+      if (map.get(candidate.key) != candidate) {
+        // removed key, slot is free
+        return index;
+      }
+      if (candidate.referenced) {
+        candidate.referenced = false;
+      } else {
+        map.remove(candidate.key, candidate);
+        return index;
+      }
+    }
+    int index = hand;
+    hand = (hand + 1) % capacity;
+    map.remove(ring[index].key, ring[index]);
+    return index;
+  }
+
+  private static final class Slot {
+    private final Object     key;
+    private final String     portableKey;
+    private volatile boolean referenced;
+
+    Slot(Object key, String portableKey) {
+      this.key = key;
+      this.portableKey = portableKey;
+    }
+  }
+}
@@ -50,6 +50,7 @@ public class TerracottaClusteredInstanceFactory implements ClusteredInstanceFact
   public static final Logger                    LOGGER                     = LoggerFactory
                                                                                .getLogger(TerracottaClusteredInstanceFactory.class);
   public static final String                    DEFAULT_CACHE_MANAGER_NAME = "__DEFAULT__";
+  private static final String                   WRITE_BEHIND_WORKERS_PER_BUCKET_PROPERTY_NAME = "ehcache.writeBehind.workersPerBucket";
 
   protected final ToolkitInstanceFactory        toolkitInstanceFactory;
 
@@ -128,7 +129,8 @@ public class TerracottaClusteredInstanceFactory implements ClusteredInstanceFact
                                                                config.getRetryAttempts(),
                                                                config.getRetryAttemptDelaySeconds() * 1000,
                                                                config.getRateLimitPerSecond(),
-                                                               config.getWriteBehindMaxQueueSize());
+                                                               config.getWriteBehindMaxQueueSize(),
+                                                               Integer.getInteger(WRITE_BEHIND_WORKERS_PER_BUCKET_PROPERTY_NAME, 1));
 
     final AsyncCoordinator asyncCoordinator = asyncCoordinatorFactory.getOrCreateAsyncCoordinator(cache, asyncConfig);
     return new AsyncWriteBehind(asyncCoordinator, config.getWriteBehindConcurrency());
@@ -11,6 +11,12 @@ public abstract class ValueModeHandlerFactory {
 
   public static ValueModeHandler createValueModeHandler(final ClusteredStore store,
                                                         final CacheConfiguration cacheConfiguration) {
+    return createValueModeHandler(store, cacheConfiguration, false);
+  }
+
+  public static ValueModeHandler createValueModeHandler(final ClusteredStore store,
+                                                        final CacheConfiguration cacheConfiguration,
+                                                        final boolean compactKeys) {
 
     // TODO: fix this
     // final TerracottaConfiguration terracottaConfiguration = cacheConfiguration.getTerracottaConfiguration();
@@ -22,7 +28,7 @@ public abstract class ValueModeHandlerFactory {
     // return new ValueModeHandlerSerialization(store, cacheConfiguration.isCopyOnRead(),
     // terracottaConfiguration.isCompressionEnabled());
     // }
-    return new ValueModeHandlerSerialization();
+    return new ValueModeHandlerSerialization(compactKeys);
   }
 
   // private static boolean hibernateTypesPresent() {
@@ -15,10 +15,23 @@ import java.io.Serializable;
 
 public class ValueModeHandlerSerialization implements ValueModeHandler {
 
+  private final boolean compactKeys;
+
+  public ValueModeHandlerSerialization() {
+    this(false);
+  }
+
+  /**
+   * @param compactKeys whether common key types are given compact type-tagged portable keys rather than serialized ones
+   */
+  public ValueModeHandlerSerialization(boolean compactKeys) {
+    this.compactKeys = compactKeys;
+  }
+
   @Override
   public Object getRealKeyObject(String portableKey) {
     try {
-      return SerializationHelper.deserializeFromString(portableKey, null);
+      return SerializationHelper.deserializeFromString(portableKey, null, compactKeys);
     } catch (IOException e) {
       return null;
     } catch (ClassNotFoundException e) {
@@ -29,7 +42,7 @@ public class ValueModeHandlerSerialization implements ValueModeHandler {
   @Override
   public Object getRealKeyObject(String portableKey, ClassLoader loader) {
     try {
-      return SerializationHelper.deserializeFromString(portableKey, loader);
+      return SerializationHelper.deserializeFromString(portableKey, loader, compactKeys);
     } catch (IOException e) {
       return null;
     } catch (ClassNotFoundException e) {
@@ -39,7 +52,7 @@ public class ValueModeHandlerSerialization implements ValueModeHandler {
 
   @Override
   public String createPortableKey(Object key) throws IOException {
-    return SerializationHelper.serializeToString(key);
+    return SerializationHelper.serializeToString(key, compactKeys);
   }
 
   @Override
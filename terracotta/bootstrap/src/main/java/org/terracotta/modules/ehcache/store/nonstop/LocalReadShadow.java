@@ -0,0 +1,221 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ */
+package org.terracotta.modules.ehcache.store.nonstop;
+
+import net.sf.ehcache.Element;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, node local copy of recently read elements, used by the local reads timeout behaviors when the element is no
+ * longer held by the local clustered cache.
+ * <p>
+ * Recording is best effort: an element is not recorded if another thread is inserting at the same time, or if a key
+ * of the same stripe was invalidated while the read that produced it was in flight. Invalidations are counted per
+ * stripe of keys so that writes to unrelated keys rarely prevent recording, but on caches where writes are spread over
+ * all keys at a high rate most reads will still go unrecorded. Once full, entries are evicted by the CLOCK algorithm.
+ * Entries older than the configured maximum age are never served.
+ *
+ * @author ehcache
+ */
+final class LocalReadShadow {
+
+  private static final int                      INITIAL_RING_SIZE = 16;
+  private static final int                      STRIPES           = 64;
+
+  private final int                             capacity;
+  private final long                            maxAgeMillis;
+  private final ConcurrentHashMap<Object, Slot> map;
+  private final AtomicLongArray                 invalidations     = new AtomicLongArray(STRIPES);
+  private final ReentrantLock                   lock              = new ReentrantLock();
+
+  // guarded by lock
+  private Slot[]                                ring;
+  private int                                   used;
+  private int                                   hand;
+
+  /**
+   * Creates a shadow holding at most {@code capacity} elements, each served for at most {@code maxAgeMillis} after it
+   * was read.
+   */
+  LocalReadShadow(int capacity, long maxAgeMillis) {
+    if (capacity <= 0) { throw new IllegalArgumentException("capacity must be positive: " + capacity); }
+    this.capacity = capacity;
+    this.maxAgeMillis = maxAgeMillis;
+    this.map = new ConcurrentHashMap<Object, Slot>();
+    this.ring = new Slot[Math.min(capacity, INITIAL_RING_SIZE)];
+  }
+
+  /**
+   * Returns the stamp to pass to {@link #record(Object, Element, long)} for a read of the given key starting now.
+   */
+  long stamp(Object key) {
+    return invalidations.get(stripe(key));
+  }
+
+  /**
+   * Returns the stamps to pass to {@link #recordAll(Map, long[])} for a bulk read starting now.
+   */
+  long[] stamps() {
+    long[] stamps = new long[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stamps[i] = invalidations.get(i);
+    }
+    return stamps;
+  }
+
+  /**
+   * Records the element returned by a read that started at the given stamp.
+   */
+  void record(Object key, Element element, long stamp) {
+    int stripe = stripe(key);
+    if (element == null || stamp != invalidations.get(stripe)) { return; }
+    long now = System.currentTimeMillis();
+    Slot slot = map.get(key);
+    if (slot != null) {
+      slot.element = element;
+      slot.recordedAt = now;
+      slot.referenced = true;
+    } else {
+      if (!lock.tryLock()) { return; }
+      try {
+        if (stamp != invalidations.get(stripe) || map.containsKey(key)) { return; }
+        slot = new Slot(key, element, now);
+        if (used < capacity) {
+          if (used == ring.length) {
+            ring = Arrays.copyOf(ring, Math.min(capacity, ring.length << 1));
+          }
+          ring[used++] = slot;
+        } else {
+          ring[advanceToVictim()] = slot;
+        }
+        map.put(key, slot);
+      } finally {
+        lock.unlock();
+      }
+    }
+    // an invalidation that raced with this read may have missed the slot just written
+    if (stamp != invalidations.get(stripe)) {
+      map.remove(key, slot);
+    }
+  }
+
+  /**
+   * Records the elements returned by a bulk read that started at the given stamps.
+   */
+  void recordAll(Map<?, Element> elements, long[] stamps) {
+    for (Map.Entry<?, Element> entry : elements.entrySet()) {
+      record(entry.getKey(), entry.getValue(), stamps[stripe(entry.getKey())]);
+    }
+  }
+
+  /**
+   * Returns the recorded element for the given key, or null if there is none or it is too old.
+   */
+  Element get(Object key) {
+    Slot slot = map.get(key);
+    if (slot == null) { return null; }
+    if (System.currentTimeMillis() - slot.recordedAt > maxAgeMillis) {
+      map.remove(key, slot);
+      return null;
+    }
+    slot.referenced = true;
+    return slot.element;
+  }
+
+  /**
+   * Forgets the given key. Must be called both before the write to the key is issued and once it has returned, so that
+   * reads overlapping the write cannot record the value it replaces.
+   */
+  void invalidate(Object key) {
+    invalidations.incrementAndGet(stripe(key));
+    map.remove(key);
+  }
+
+  /**
+   * Forgets the given keys. Must be called both before the writes to the keys are issued and once they have returned.
+   */
+  void invalidateAll(Collection<?> keys) {
+    for (Object key : keys) {
+      invalidate(key);
+    }
+  }
+
+  /**
+   * Forgets the keys of the given elements. Must be called both before the writes of the elements are issued and once
+   * they have returned.
+   */
+  void invalidateElements(Collection<Element> elements) {
+    for (Element element : elements) {
+      invalidate(element.getObjectKey());
+    }
+  }
+
+  void clear() {
+    for (int i = 0; i < STRIPES; i++) {
+      invalidations.incrementAndGet(i);
+    }
+    lock.lock();
+    try {
+      map.clear();
+      Arrays.fill(ring, 0, used, null);
+      used = 0;
+      hand = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    return map.size();
+  }
+
+  private static int stripe(Object key) {
+    int hash = key == null ? 0 : key.hashCode();
+    return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+  }
+
+  /**
+   * Moves the clock hand to the next evictable slot, removes the element it holds and returns its index.
+   */
+  private int advanceToVictim() {
+    for (int i = 0; i < 2 * capacity; i++) {
+      int index = hand;
+      hand = (hand + 1) % capacity;
+      Slot candidate = ring[index];
+      if (map.get(candidate.key) != candidate) {
+        // invalidated key, slot is free
+        return index;
+      }
+      if (candidate.referenced) {
+        candidate.referenced = false;
+      } else {
+        map.remove(candidate.key, candidate);
+        return index;
+      }
+    }
+    int index = hand;
+    hand = (hand + 1) % capacity;
+    map.remove(ring[index].key, ring[index]);
+    return index;
+  }
+
+  private static final class Slot {
+    private final Object     key;
+    private volatile Element element;
+    private volatile long    recordedAt;
+    private volatile boolean referenced;
+
+    Slot(Object key, Element element, long recordedAt) {
+      this.key = key;
+      this.element = element;
+      this.recordedAt = recordedAt;
+    }
+  }
+}
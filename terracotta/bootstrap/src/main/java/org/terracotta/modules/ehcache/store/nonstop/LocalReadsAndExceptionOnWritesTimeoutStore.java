@@ -47,6 +47,13 @@ public class LocalReadsAndExceptionOnWritesTimeoutStore implements TerracottaSto
         reader = new LocalReadsOnTimeoutStore(delegate);
     }
 
+    /**
+     * Constructor accepting the {@link TerracottaStore} and a shadow of recently read elements
+     */
+    LocalReadsAndExceptionOnWritesTimeoutStore(TerracottaStore delegate, LocalReadShadow shadow) {
+        reader = new LocalReadsOnTimeoutStore(delegate, shadow);
+    }
+
     public LocalReadsAndExceptionOnWritesTimeoutStore() {
         reader = NoOpOnTimeoutStore.getInstance();
     }
@@ -42,12 +42,22 @@ import java.util.Set;
 public class LocalReadsOnTimeoutStore implements TerracottaStore {
 
   private final TerracottaStore delegate;
+  private final LocalReadShadow shadow;
 
   /**
    * Constructor accepting the {@link TerracottaStore}
    */
   public LocalReadsOnTimeoutStore(TerracottaStore delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * Constructor accepting the {@link TerracottaStore} and a shadow of recently read elements to fall back to when the
+   * local value is not present in the VM
+   */
+  LocalReadsOnTimeoutStore(TerracottaStore delegate, LocalReadShadow shadow) {
     this.delegate = delegate;
+    this.shadow = shadow;
   }
 
     /**
@@ -77,11 +87,15 @@ public class LocalReadsOnTimeoutStore implements TerracottaStore {
   /**
    * {@inheritDoc}.
    * <p>
-   * Uses the underlying store to get the local value present in the VM
+   * Uses the underlying store to get the local value present in the VM, falling back to the recently read elements
    */
   @Override
   public Element getQuiet(Object key) throws IllegalStateException, CacheException {
-    return delegate.unsafeGet(key);
+    Element element = delegate.unsafeGet(key);
+    if (element == null && shadow != null) {
+      element = shadow.get(key);
+    }
+    return element;
   }
 
   /**
@@ -91,7 +105,7 @@ public class LocalReadsOnTimeoutStore implements TerracottaStore {
   public Map<Object, Element> getAllQuiet(Collection<?> keys) {
     Map<Object, Element> rv = new HashMap<Object, Element>();
     for (Object key : keys) {
-      rv.put(key, delegate.unsafeGet(key));
+      rv.put(key, getQuiet(key));
     }
     return rv;
   }
@@ -70,6 +70,13 @@ public class NonStopStoreWrapper implements TerracottaStore {
   private static final Set<String>                                                 LOCAL_METHODS                     = new HashSet<String>();
   private static final long                                                        REJOIN_RETRY_INTERVAL             = TimeUnit.SECONDS
                                                                                                                          .toMillis(10);
+  private static final int                                                         LOCAL_READ_SHADOW_SIZE            = Integer
+                                                                                                                         .getInteger("ehcache.nonstop.localReadShadow.size",
+                                                                                                                                     0);
+  private static final long                                                        LOCAL_READ_SHADOW_MAX_AGE         = Long
+                                                                                                                         .getLong("ehcache.nonstop.localReadShadow.maxAgeMillis",
+                                                                                                                                  TimeUnit.MINUTES
+                                                                                                                                      .toMillis(1));
 
   static {
     LOCAL_METHODS.add("unsafeGet");
@@ -95,6 +102,34 @@ public class NonStopStoreWrapper implements TerracottaStore {
         .add("public abstract void net.sf.ehcache.store.Store.removeStoreListener(net.sf.ehcache.store.StoreListener)");
     METHODS_TO_SKIP
         .add("public abstract void net.sf.ehcache.store.Store.waitUntilClusterCoherent() throws java.lang.UnsupportedOperationException,net.sf.ehcache.terracotta.TerracottaNotRunningException,java.lang.InterruptedException");
+    // hand made to maintain the local read shadow
+    METHODS_TO_SKIP.add("public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.remove(java.lang.Object)");
+    METHODS_TO_SKIP.add("public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.get(java.lang.Object)");
+    METHODS_TO_SKIP
+        .add("public abstract boolean net.sf.ehcache.store.Store.put(net.sf.ehcache.Element) throws net.sf.ehcache.CacheException");
+    METHODS_TO_SKIP
+        .add("public abstract void net.sf.ehcache.store.Store.putAll(java.util.Collection<net.sf.ehcache.Element>) throws net.sf.ehcache.CacheException");
+    METHODS_TO_SKIP
+        .add("public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.putIfAbsent(net.sf.ehcache.Element) throws java.lang.NullPointerException");
+    METHODS_TO_SKIP
+        .add("public abstract boolean net.sf.ehcache.store.Store.replace(net.sf.ehcache.Element,net.sf.ehcache.Element,net.sf.ehcache.store.ElementValueComparator) throws java.lang.NullPointerException,java.lang.IllegalArgumentException");
+    METHODS_TO_SKIP
+        .add("public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.replace(net.sf.ehcache.Element) throws java.lang.NullPointerException");
+    METHODS_TO_SKIP
+        .add("public abstract void net.sf.ehcache.store.Store.removeAll() throws net.sf.ehcache.CacheException");
+    METHODS_TO_SKIP.add("public abstract void net.sf.ehcache.store.Store.removeAll(java.util.Collection<?>)");
+    METHODS_TO_SKIP
+        .add("public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.removeElement(net.sf.ehcache.Element,net.sf.ehcache.store.ElementValueComparator) throws java.lang.NullPointerException");
+    METHODS_TO_SKIP
+        .add("public abstract java.util.Map<java.lang.Object, net.sf.ehcache.Element> net.sf.ehcache.store.Store.getAllQuiet(java.util.Collection<?>)");
+    METHODS_TO_SKIP
+        .add("public abstract java.util.Map<java.lang.Object, net.sf.ehcache.Element> net.sf.ehcache.store.Store.getAll(java.util.Collection<?>)");
+    METHODS_TO_SKIP
+        .add("public abstract boolean net.sf.ehcache.store.Store.putWithWriter(net.sf.ehcache.Element,net.sf.ehcache.writer.CacheWriterManager) throws net.sf.ehcache.CacheException");
+    METHODS_TO_SKIP
+        .add("public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.removeWithWriter(java.lang.Object,net.sf.ehcache.writer.CacheWriterManager) throws net.sf.ehcache.CacheException");
+    METHODS_TO_SKIP.add("public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.getQuiet(java.lang.Object)");
+    METHODS_TO_SKIP.add("public abstract void net.sf.ehcache.store.TerracottaStore.quickClear()");
   }
 
   private volatile TerracottaStore                                                 delegate;
@@ -105,6 +140,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
   private final BulkOpsToolkitNonStopConfiguration                                 bulkOpsToolkitNonStopConfiguration;
   private final ClusteredCacheInternalContext                                      clusteredCacheInternalContext;
   private final TerracottaStoreInitializationService                               initializationService;
+  private final LocalReadShadow                                                    localReadShadow;
 
   private final Ehcache                                                            cache;
 
@@ -129,6 +165,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
         .getNonstopConfiguration();
     this.toolkitNonStopConfiguration = new ToolkitNonStopExceptionOnTimeoutConfiguration(ehcacheNonStopConfiguration);
     this.bulkOpsToolkitNonStopConfiguration = new BulkOpsToolkitNonStopConfiguration(ehcacheNonStopConfiguration);
+    this.localReadShadow = createLocalReadShadow(ehcacheNonStopConfiguration);
 
     Toolkit toolkit = toolkitInstanceFactory.getToolkit();
     CacheLockProvider cacheLockProvider = createCacheLockProvider(toolkit, toolkitInstanceFactory);
@@ -158,6 +195,18 @@ public class NonStopStoreWrapper implements TerracottaStore {
     }
   }
 
+  private static LocalReadShadow createLocalReadShadow(NonstopConfiguration nonstopConfiguration) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    if (LOCAL_READ_SHADOW_SIZE <= 0 || nonstopConfiguration == null || !nonstopConfiguration.isEnabled()) { return null; }
+    switch (nonstopConfiguration.getTimeoutBehavior().getTimeoutBehaviorType()) {
+      case LOCAL_READS:
+      case LOCAL_READS_AND_EXCEPTION_ON_WRITES:
+        return new LocalReadShadow(LOCAL_READ_SHADOW_SIZE, LOCAL_READ_SHADOW_MAX_AGE);
+      default:
+        return null;
+    }
+  }
+
   private CacheLockProvider createCacheLockProvider(Toolkit toolkit, ToolkitInstanceFactory toolkitInstanceFactory) {
     // THIS IS HAND MADE CODE -- DO NOT GENERATED
     return new NonStopCacheLockProvider(toolkit.getFeature(ToolkitFeatureType.NONSTOP), ehcacheNonStopConfiguration,
@@ -407,7 +456,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
         case LOCAL_READS:
           if (localReadDelegate == null) {
             if (delegate == null) { return NoOpOnTimeoutStore.getInstance(); }
-            localReadDelegate = new LocalReadsOnTimeoutStore(delegate);
+            localReadDelegate = new LocalReadsOnTimeoutStore(delegate, localReadShadow);
           }
           return localReadDelegate;
         case LOCAL_READS_AND_EXCEPTION_ON_WRITES:
@@ -415,7 +464,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
             if (delegate == null) {
               return new LocalReadsAndExceptionOnWritesTimeoutStore();
             } else {
-              localReadDelegate = new LocalReadsAndExceptionOnWritesTimeoutStore(delegate);
+              localReadDelegate = new LocalReadsAndExceptionOnWritesTimeoutStore(delegate, localReadShadow);
             }
           }
           return localReadDelegate;
@@ -432,6 +481,67 @@ public class NonStopStoreWrapper implements TerracottaStore {
     }
   }
 
+  private long shadowStamp(Object key) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    return localReadShadow == null ? 0L : localReadShadow.stamp(key);
+  }
+
+  private long[] shadowStamps() {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    return localReadShadow == null ? null : localReadShadow.stamps();
+  }
+
+  private void recordShadowRead(Object key, Element element, long stamp) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    if (localReadShadow != null) {
+      localReadShadow.record(key, element, stamp);
+    }
+  }
+
+  private void recordShadowReads(Map<Object, Element> elements, long[] stamps) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    if (localReadShadow != null) {
+      localReadShadow.recordAll(elements, stamps);
+    }
+  }
+
+  private void invalidateShadowKey(Object key) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    // invalidated before the write is issued and again once it returns, whatever its outcome: a read overlapping the
+    // write may return the value being replaced, and a timed out write may still be applied
+    if (localReadShadow != null) {
+      localReadShadow.invalidate(key);
+    }
+  }
+
+  private void invalidateShadowKeys(Collection<?> keys) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    if (localReadShadow != null) {
+      localReadShadow.invalidateAll(keys);
+    }
+  }
+
+  private void invalidateShadowElement(Element element) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    if (localReadShadow != null && element != null) {
+      localReadShadow.invalidate(element.getObjectKey());
+    }
+  }
+
+  private void invalidateShadowElements(Collection<Element> elements) {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    if (localReadShadow != null) {
+      localReadShadow.invalidateElements(elements);
+    }
+  }
+
+  private void clearShadow() {
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    if (localReadShadow != null) {
+      localReadShadow.clear();
+    }
+  }
+
   private static class BulkOpsToolkitNonStopConfiguration extends ToolkitNonStopExceptionOnTimeoutConfiguration {
 
     public BulkOpsToolkitNonStopConfiguration(NonstopConfiguration ehcacheNonStopConfig) {
@@ -660,8 +770,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public void quickClear() {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract void net.sf.ehcache.store.TerracottaStore.quickClear()
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    clearShadow();
     nonStop.start(bulkOpsToolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -678,6 +788,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       getTimeoutBehavior(true).quickClear();
     } finally {
       nonStop.finish();
+      clearShadow();
     }
   }
 
@@ -757,8 +868,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Element remove(Object arg0) {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.remove(java.lang.Object)
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowKey(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -776,6 +887,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).remove(arg0);
     } finally {
       nonStop.finish();
+      invalidateShadowKey(arg0);
     }
   }
 
@@ -784,12 +896,13 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Element get(Object arg0) {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.get(java.lang.Object)
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    long shadowStamp = shadowStamp(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
       Element _ret = this.delegate.get(arg0);
+      recordShadowRead(arg0, _ret, shadowStamp);
       nonstopObserver.end(NonStopOperationOutcomes.SUCCESS);
       return _ret;
     } catch (NonStopToolkitInstantiationException e) {
@@ -811,9 +924,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public boolean put(Element arg0) throws CacheException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract boolean net.sf.ehcache.store.Store.put(net.sf.ehcache.Element) throws
-    // net.sf.ehcache.CacheException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowElement(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -831,6 +943,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).put(arg0);
     } finally {
       nonStop.finish();
+      invalidateShadowElement(arg0);
     }
   }
 
@@ -839,9 +952,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public void putAll(Collection arg0) throws CacheException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract void net.sf.ehcache.store.Store.putAll(java.util.Collection<net.sf.ehcache.Element>) throws
-    // net.sf.ehcache.CacheException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowElements(arg0);
     nonStop.start(bulkOpsToolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -858,6 +970,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       getTimeoutBehavior(true).putAll(arg0);
     } finally {
       nonStop.finish();
+      invalidateShadowElements(arg0);
     }
   }
 
@@ -866,9 +979,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Element putIfAbsent(Element arg0) throws NullPointerException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.putIfAbsent(net.sf.ehcache.Element) throws
-    // java.lang.NullPointerException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowElement(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -886,6 +998,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).putIfAbsent(arg0);
     } finally {
       nonStop.finish();
+      invalidateShadowElement(arg0);
     }
   }
 
@@ -948,10 +1061,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
   @Override
   public boolean replace(Element arg0, Element arg1, ElementValueComparator arg2) throws NullPointerException,
       IllegalArgumentException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract boolean
-    // net.sf.ehcache.store.Store.replace(net.sf.ehcache.Element,net.sf.ehcache.Element,net.sf.ehcache.store.ElementValueComparator)
-    // throws java.lang.NullPointerException,java.lang.IllegalArgumentException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowElement(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -969,6 +1080,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).replace(arg0, arg1, arg2);
     } finally {
       nonStop.finish();
+      invalidateShadowElement(arg0);
     }
   }
 
@@ -977,9 +1089,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Element replace(Element arg0) throws NullPointerException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.replace(net.sf.ehcache.Element) throws
-    // java.lang.NullPointerException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowElement(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -997,6 +1108,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).replace(arg0);
     } finally {
       nonStop.finish();
+      invalidateShadowElement(arg0);
     }
   }
 
@@ -1032,8 +1144,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public void removeAll() throws CacheException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract void net.sf.ehcache.store.Store.removeAll() throws net.sf.ehcache.CacheException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    clearShadow();
     nonStop.start(bulkOpsToolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -1050,6 +1162,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       getTimeoutBehavior(true).removeAll();
     } finally {
       nonStop.finish();
+      clearShadow();
     }
   }
 
@@ -1058,8 +1171,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public void removeAll(Collection arg0) {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract void net.sf.ehcache.store.Store.removeAll(java.util.Collection<?>)
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowKeys(arg0);
     nonStop.start(bulkOpsToolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -1076,6 +1189,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       getTimeoutBehavior(true).removeAll(arg0);
     } finally {
       nonStop.finish();
+      invalidateShadowKeys(arg0);
     }
   }
 
@@ -1084,10 +1198,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Element removeElement(Element arg0, ElementValueComparator arg1) throws NullPointerException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract net.sf.ehcache.Element
-    // net.sf.ehcache.store.Store.removeElement(net.sf.ehcache.Element,net.sf.ehcache.store.ElementValueComparator)
-    // throws java.lang.NullPointerException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowElement(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -1105,6 +1217,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).removeElement(arg0, arg1);
     } finally {
       nonStop.finish();
+      invalidateShadowElement(arg0);
     }
   }
 
@@ -1230,13 +1343,14 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Map getAllQuiet(Collection arg0) {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract java.util.Map<java.lang.Object, net.sf.ehcache.Element>
-    // net.sf.ehcache.store.Store.getAllQuiet(java.util.Collection<?>)
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    long[] shadowStamps = shadowStamps();
     nonStop.start(bulkOpsToolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
-      Map _ret = NonStopSubTypeProxyUtil.newNonStopSubTypeProxy(Map.class, this.delegate.getAllQuiet(arg0));
+      Map<Object, Element> elements = this.delegate.getAllQuiet(arg0);
+      recordShadowReads(elements, shadowStamps);
+      Map _ret = NonStopSubTypeProxyUtil.newNonStopSubTypeProxy(Map.class, elements);
       nonstopObserver.end(NonStopOperationOutcomes.SUCCESS);
       return _ret;
     } catch (NonStopToolkitInstantiationException e) {
@@ -1258,13 +1372,14 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Map getAll(Collection arg0) {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract java.util.Map<java.lang.Object, net.sf.ehcache.Element>
-    // net.sf.ehcache.store.Store.getAll(java.util.Collection<?>)
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    long[] shadowStamps = shadowStamps();
     nonStop.start(bulkOpsToolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
-      Map _ret = NonStopSubTypeProxyUtil.newNonStopSubTypeProxy(Map.class, this.delegate.getAll(arg0));
+      Map<Object, Element> elements = this.delegate.getAll(arg0);
+      recordShadowReads(elements, shadowStamps);
+      Map _ret = NonStopSubTypeProxyUtil.newNonStopSubTypeProxy(Map.class, elements);
       nonstopObserver.end(NonStopOperationOutcomes.SUCCESS);
       return _ret;
     } catch (NonStopToolkitInstantiationException e) {
@@ -1420,10 +1535,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public boolean putWithWriter(Element arg0, CacheWriterManager arg1) throws CacheException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract boolean
-    // net.sf.ehcache.store.Store.putWithWriter(net.sf.ehcache.Element,net.sf.ehcache.writer.CacheWriterManager) throws
-    // net.sf.ehcache.CacheException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowElement(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -1441,6 +1554,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).putWithWriter(arg0, arg1);
     } finally {
       nonStop.finish();
+      invalidateShadowElement(arg0);
     }
   }
 
@@ -1691,10 +1805,8 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Element removeWithWriter(Object arg0, CacheWriterManager arg1) throws CacheException {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract net.sf.ehcache.Element
-    // net.sf.ehcache.store.Store.removeWithWriter(java.lang.Object,net.sf.ehcache.writer.CacheWriterManager) throws
-    // net.sf.ehcache.CacheException
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    invalidateShadowKey(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
@@ -1712,6 +1824,7 @@ public class NonStopStoreWrapper implements TerracottaStore {
       return getTimeoutBehavior(true).removeWithWriter(arg0, arg1);
     } finally {
       nonStop.finish();
+      invalidateShadowKey(arg0);
     }
   }
 
@@ -1818,12 +1931,13 @@ public class NonStopStoreWrapper implements TerracottaStore {
    */
   @Override
   public Element getQuiet(Object arg0) {
-    // THIS IS GENERATED CODE -- DO NOT HAND MODIFY!
-    // public abstract net.sf.ehcache.Element net.sf.ehcache.store.Store.getQuiet(java.lang.Object)
+    // THIS IS HAND MADE CODE -- DO NOT GENERATED
+    long shadowStamp = shadowStamp(arg0);
     nonStop.start(toolkitNonStopConfiguration);
     try {
       throwNonStopExceptionWhenClusterNotInit();
       Element _ret = this.delegate.getQuiet(arg0);
+      recordShadowRead(arg0, _ret, shadowStamp);
       nonstopObserver.end(NonStopOperationOutcomes.SUCCESS);
       return _ret;
     } catch (NonStopToolkitInstantiationException e) {
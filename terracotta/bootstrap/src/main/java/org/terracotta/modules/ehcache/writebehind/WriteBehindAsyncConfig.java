@@ -15,10 +15,18 @@ public class WriteBehindAsyncConfig implements AsyncConfig {
   private final long    retryAttemptDelay;
   private final int     rateLimit;
   private final int     maxQueueSize;
+  private final int     workersPerBucket;
 
   public WriteBehindAsyncConfig(long workDelay, long maxAllowedFallBehind, boolean batchingEnabled, int batchSize,
                                 boolean synchronousWrite, int retryAttempts, long retryAttemptDelay, int rateLimit,
                                 final int maxQueueSize) {
+    this(workDelay, maxAllowedFallBehind, batchingEnabled, batchSize, synchronousWrite, retryAttempts,
+         retryAttemptDelay, rateLimit, maxQueueSize, 1);
+  }
+
+  public WriteBehindAsyncConfig(long workDelay, long maxAllowedFallBehind, boolean batchingEnabled, int batchSize,
+                                boolean synchronousWrite, int retryAttempts, long retryAttemptDelay, int rateLimit,
+                                final int maxQueueSize, final int workersPerBucket) {
     this.workDelay = workDelay;
     this.maxFallBehind = maxAllowedFallBehind;
     this.batchingEnabled = batchingEnabled;
@@ -28,6 +36,7 @@ public class WriteBehindAsyncConfig implements AsyncConfig {
     this.retryAttemptDelay = retryAttemptDelay;
     this.rateLimit = rateLimit;
     this.maxQueueSize = maxQueueSize;
+    this.workersPerBucket = Math.max(1, workersPerBucket);
   }
 
   @Override
@@ -43,6 +52,7 @@ public class WriteBehindAsyncConfig implements AsyncConfig {
     result = prime * result + retryAttempts;
     result = prime * result + (synchronousWrite ? 1231 : 1237);
     result = prime * result + (int) (workDelay ^ (workDelay >>> 32));
+    result = prime * result + workersPerBucket;
     return result;
   }
 
@@ -61,6 +71,7 @@ public class WriteBehindAsyncConfig implements AsyncConfig {
     if (retryAttempts != other.retryAttempts) return false;
     if (synchronousWrite != other.synchronousWrite) return false;
     if (workDelay != other.workDelay) return false;
+    if (workersPerBucket != other.workersPerBucket) return false;
     return true;
   }
 
@@ -69,7 +80,7 @@ public class WriteBehindAsyncConfig implements AsyncConfig {
     return "WriteBehindAsyncConfig [workDelay=" + workDelay + ", maxFallBehind=" + maxFallBehind + ", batchingEnabled="
            + batchingEnabled + ", batchSize=" + batchSize + ", synchronousWrite=" + synchronousWrite
            + ", retryAttempts=" + retryAttempts + ", retryAttemptDelay=" + retryAttemptDelay + ", rateLimit="
-           + rateLimit + ", maxQueueSize=" + maxQueueSize + "]";
+           + rateLimit + ", maxQueueSize=" + maxQueueSize + ", workersPerBucket=" + workersPerBucket + "]";
   }
 
   public long getWorkDelay() {
@@ -111,4 +122,8 @@ public class WriteBehindAsyncConfig implements AsyncConfig {
   public int getRateLimit() {
     return rateLimit;
   }
+
+  public int getWorkersPerBucket() {
+    return workersPerBucket;
+  }
 }
@@ -0,0 +1,146 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ */
+package org.terracotta.modules.ehcache.async;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.terracotta.modules.ehcache.async.exceptions.ProcessingException;
+import org.terracotta.modules.ehcache.async.scatterpolicies.ItemScatterPolicy;
+import org.terracotta.modules.ehcache.writebehind.WriteBehindAsyncConfig;
+import org.terracotta.toolkit.cluster.ClusterInfo;
+import org.terracotta.toolkit.internal.collections.ToolkitListInternal;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ehcache
+ */
+public class ProcessingBucketTest {
+
+  private static final int KEYS       = 16;
+  private static final int OPERATIONS = 2000;
+
+  @Test
+  public void testPartitionedProcessingKeepsPerKeyOrder() throws Exception {
+    checkPartitionedProcessing(false);
+  }
+
+  @Test
+  public void testPartitionedBatchProcessingKeepsPerKeyOrder() throws Exception {
+    checkPartitionedProcessing(true);
+  }
+
+  private void checkPartitionedProcessing(boolean batching) throws Exception {
+    ToolkitListInternal<Operation> list = localToolkitList();
+    ClusterInfo cluster = mock(ClusterInfo.class);
+    when(cluster.areOperationsEnabled()).thenReturn(true);
+    RecordingProcessor processor = new RecordingProcessor();
+    AsyncConfig config = new WriteBehindAsyncConfig(10, 20, batching, 10, false, 0, 0, 0, 0, 4);
+
+    ProcessingBucket<Operation> bucket = new ProcessingBucket<Operation>("test", config, list, cluster, processor, false,
+                                                                         new KeyScatterPolicy(), 1);
+    bucket.start();
+    for (int i = 0; i < OPERATIONS; i++) {
+      bucket.add(new Operation(i % KEYS, i));
+    }
+    bucket.stop();
+
+    assertThat(list.isEmpty(), is(true));
+    assertThat(processor.threads.size(), greaterThan(1));
+    int processed = 0;
+    for (List<Integer> sequences : processor.sequencesByKey.values()) {
+      List<Integer> sorted = new ArrayList<Integer>(sequences);
+      Collections.sort(sorted);
+      assertThat(sequences, is(sorted));
+      processed += sequences.size();
+    }
+    assertThat(processed, is(OPERATIONS));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ToolkitListInternal<Operation> localToolkitList() {
+    final List<Operation> delegate = Collections.synchronizedList(new ArrayList<Operation>());
+    return mock(ToolkitListInternal.class, new Answer<Object>() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getName().equals("unlockedAdd")) { return delegate.add((Operation) invocation.getArguments()[0]); }
+        if (method.getName().equals("destroy")) { return null; }
+        return List.class.getMethod(method.getName(), method.getParameterTypes())
+            .invoke(delegate, invocation.getArguments());
+      }
+    });
+  }
+
+  private static class Operation implements Serializable {
+    private final int key;
+    private final int sequence;
+
+    Operation(int key, int sequence) {
+      this.key = key;
+      this.sequence = sequence;
+    }
+  }
+
+  private static class KeyScatterPolicy implements ItemScatterPolicy<Operation> {
+    @Override
+    public int selectBucket(int count, Operation item) {
+      return item.key % count;
+    }
+  }
+
+  private static class RecordingProcessor implements ItemProcessor<Operation> {
+    private final Map<Integer, List<Integer>> sequencesByKey = new ConcurrentHashMap<Integer, List<Integer>>();
+    private final Set<Thread>                 threads        = Collections.synchronizedSet(new HashSet<Thread>());
+
+    @Override
+    public void process(Operation item) {
+      threads.add(Thread.currentThread());
+      List<Integer> sequences = sequencesByKey.get(item.key);
+      if (sequences == null) {
+        sequences = Collections.synchronizedList(new ArrayList<Integer>());
+        List<Integer> previous = ((ConcurrentHashMap<Integer, List<Integer>>) sequencesByKey).putIfAbsent(item.key,
+                                                                                                        sequences);
+        if (previous != null) {
+          sequences = previous;
+        }
+      }
+      sequences.add(item.sequence);
+      try {
+        TimeUnit.MICROSECONDS.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void process(Collection<Operation> items) throws ProcessingException {
+      for (Operation item : items) {
+        process(item);
+      }
+    }
+
+    @Override
+    public void throwAway(Operation item, RuntimeException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ */
+package org.terracotta.modules.ehcache.store;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author ehcache
+ */
+public class BulkOperationPipelineTest {
+
+  @Test
+  public void testPartition() {
+    List<List<Integer>> chunks = BulkOperationPipeline.partition(Arrays.asList(1, 2, 3, 4, 5), 2);
+    assertThat(chunks.size(), is(3));
+    assertThat(chunks.get(0), is(Arrays.asList(1, 2)));
+    assertThat(chunks.get(2), is(Arrays.asList(5)));
+    assertThat(BulkOperationPipeline.partition(Collections.<Integer> emptyList(), 2).isEmpty(), is(true));
+  }
+
+  @Test
+  public void testNextChunkIsEncodedWhileCurrentChunkIsInFlight() throws Exception {
+    final CountDownLatch secondChunkEncoded = new CountDownLatch(1);
+    BulkOperationPipeline.Stage<Integer, Integer> stage = new BulkOperationPipeline.Stage<Integer, Integer>() {
+      @Override
+      public Integer apply(Integer input) {
+        if (input == 1) {
+          secondChunkEncoded.countDown();
+        }
+        return input * 10;
+      }
+    };
+
+    List<Integer> outputs = new ArrayList<Integer>();
+    for (Integer output : BulkOperationPipeline.readAhead(Arrays.asList(0, 1, 2), stage)) {
+      if (output == 0) {
+        // simulates the first chunk being in flight
+        assertThat(secondChunkEncoded.await(10, TimeUnit.SECONDS), is(true));
+      }
+      outputs.add(output);
+    }
+    assertThat(outputs, is(Arrays.asList(0, 10, 20)));
+  }
+
+  @Test
+  public void testAwaitRunsUnstartedTaskOnCallingThread() {
+    final Thread caller = Thread.currentThread();
+    FutureTask<Boolean> task = new FutureTask<Boolean>(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return Thread.currentThread() == caller;
+      }
+    });
+    assertThat(BulkOperationPipeline.await(task), is(true));
+  }
+
+  @Test
+  public void testAwaitRethrowsStageFailure() {
+    FutureTask<Object> task = BulkOperationPipeline.submit(new Callable<Object>() {
+      @Override
+      public Object call() {
+        throw new IllegalStateException("boom");
+      }
+    });
+    try {
+      BulkOperationPipeline.await(task);
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), is("boom"));
+    }
+  }
+}
@@ -28,6 +28,8 @@ import net.sf.ehcache.store.DefaultElementValueComparator;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.terracotta.modules.ehcache.ToolkitInstanceFactory;
 import org.terracotta.toolkit.cache.ToolkitCacheListener;
 import org.terracotta.toolkit.collections.ToolkitMap;
@@ -38,6 +40,16 @@ import org.terracotta.toolkit.internal.ToolkitProperties;
 import org.terracotta.toolkit.internal.cache.ToolkitCacheInternal;
 import org.terracotta.toolkit.internal.cache.ToolkitValueComparator;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -170,4 +182,80 @@ public class ClusteredStoreTest {
     verify(toolkitCacheInternal, times(1)).removeListener(any(ToolkitCacheListener.class));
     verify(configMap).remove(ClusteredStore.LEADER_NODE_ID); // make sure we drop leader status
   }
+
+  @Test
+  public void clusteredStore_getAll_is_pipelined_in_chunks() throws Exception {
+    // a backend that takes a little while to answer, like a remote server would
+    when(toolkitCacheInternal.getAll(any(Collection.class))).thenAnswer(new Answer<Map<String, Serializable>>() {
+      @Override
+      public Map<String, Serializable> answer(InvocationOnMock invocation) throws Throwable {
+        TimeUnit.MILLISECONDS.sleep(10);
+        Map<String, Serializable> values = new HashMap<String, Serializable>();
+        for (Object key : (Collection<?>) invocation.getArguments()[0]) {
+          values.put((String) key, new NonEternalElementData(new Element(key, "value-" + key)));
+        }
+        return values;
+      }
+    });
+
+    List<String> keys = new ArrayList<String>();
+    for (int i = 0; i < 2 * BulkOperationPipeline.CHUNK_SIZE + 1; i++) {
+      keys.add("key-" + i);
+    }
+    Map<Object, Element> elements = clusteredStore.getAllAsync(keys).get();
+
+    verify(toolkitCacheInternal, times(3)).getAll(any(Collection.class));
+    assertEquals(keys.size(), elements.size());
+    for (String key : keys) {
+      assertEquals("value-" + key, elements.get(key).getObjectValue());
+    }
+  }
+
+  @Test
+  public void clusteredStore_removeAll_is_pipelined_in_chunks() throws Exception {
+    List<String> keys = new ArrayList<String>();
+    for (int i = 0; i < BulkOperationPipeline.CHUNK_SIZE + 1; i++) {
+      keys.add("key-" + i);
+    }
+    clusteredStore.removeAll(keys);
+    verify(toolkitCacheInternal, times(2)).removeAll(any(Set.class));
+  }
+
+  @Test
+  public void clusteredStore_compactKeys_property_applies_to_created_store() throws Exception {
+    System.setProperty("ehcache.clusteredStore.compactKeys", "true");
+    try {
+      ToolkitMap createdConfigMap = mock(ToolkitMap.class);
+      when(toolkitInstanceFactory.getOrCreateClusteredStoreConfigMap(eq("ClusteredStoreTest-cm"), eq("ClusteredStoreTest-cache"))).thenReturn(createdConfigMap);
+      newClusteredStore();
+      verify(createdConfigMap).putIfAbsent("compactKeys", true);
+    } finally {
+      System.clearProperty("ehcache.clusteredStore.compactKeys");
+    }
+  }
+
+  @Test
+  public void clusteredStore_compactKeys_property_ignored_for_existing_store() throws Exception {
+    System.setProperty("ehcache.clusteredStore.compactKeys", "true");
+    try {
+      // created by a client that did not know about compact keys
+      ToolkitMap existingConfigMap = mock(ToolkitMap.class);
+      when(existingConfigMap.get("trasactionalMode")).thenReturn(CacheConfiguration.TransactionalMode.OFF);
+      when(toolkitInstanceFactory.getOrCreateClusteredStoreConfigMap(eq("ClusteredStoreTest-cm"), eq("ClusteredStoreTest-cache"))).thenReturn(existingConfigMap);
+      newClusteredStore();
+      verify(existingConfigMap).putIfAbsent("compactKeys", false);
+      verify(existingConfigMap, never()).putIfAbsent(eq("trasactionalMode"), any());
+    } finally {
+      System.clearProperty("ehcache.clusteredStore.compactKeys");
+    }
+  }
+
+  private ClusteredStore newClusteredStore() {
+    return new ClusteredStore(toolkitInstanceFactory, cache, cacheCluster) {
+      @Override
+      void setUpWanConfig() {
+        // Do Nothing
+      }
+    };
+  }
 }
@@ -0,0 +1,57 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ */
+package org.terracotta.modules.ehcache.store;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author ehcache
+ */
+public class PortableKeyCacheTest {
+
+  @Test
+  public void testCacheIsBounded() {
+    PortableKeyCache cache = new PortableKeyCache(100);
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, "key-" + i);
+      assertThat(cache.get(i), is("key-" + i));
+    }
+    assertThat(cache.size(), is(100));
+  }
+
+  @Test
+  public void testHotKeysSurviveEviction() {
+    PortableKeyCache cache = new PortableKeyCache(10);
+    for (int i = 0; i < 10; i++) {
+      cache.put(i, "key-" + i);
+    }
+    for (int i = 10; i < 1000; i++) {
+      cache.get(0);
+      cache.put(i, "key-" + i);
+    }
+    assertThat(cache.get(0), is("key-0"));
+    assertThat(cache.size(), is(10));
+  }
+
+  @Test
+  public void testRemoveAndClear() {
+    PortableKeyCache cache = new PortableKeyCache(2);
+    cache.put("a", "pa");
+    cache.put("b", "pb");
+    cache.remove("a");
+    assertThat(cache.get("a"), nullValue());
+    cache.put("a", "pa");
+    cache.put("c", "pc");
+    assertThat(cache.size(), is(2));
+    cache.clear();
+    assertThat(cache.size(), is(0));
+    assertThat(cache.get("b"), nullValue());
+    cache.put("d", "pd");
+    assertThat(cache.get("d"), is("pd"));
+  }
+}
@@ -13,9 +13,13 @@ import org.junit.Test;
 
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
 
 import junit.framework.Assert;
 
@@ -75,6 +79,42 @@ public class ValueModeHandlerSerializationTest {
   }
 
 
+  @Test
+  public void testCompactPortableKeysRoundTrip() throws Exception {
+    ValueModeHandlerSerialization compact = new ValueModeHandlerSerialization(true);
+    for (Object key : Arrays.asList(0L, Long.MIN_VALUE, Long.MAX_VALUE, -42, Integer.MAX_VALUE, (short) -7, (byte) 3, 'x',
+                                    Character.MAX_VALUE, true, false, UUID.randomUUID(), new UUID(-1L, Long.MIN_VALUE),
+                                    "plain", new Date(1234L))) {
+      String portableKey = compact.createPortableKey(key);
+      Object realKey = compact.getRealKeyObject(portableKey);
+      Assert.assertEquals(key, realKey);
+      Assert.assertEquals(key.getClass(), realKey.getClass());
+    }
+  }
+
+  @Test
+  public void testCompactPortableKeysAreSmaller() throws Exception {
+    ValueModeHandlerSerialization compact = new ValueModeHandlerSerialization(true);
+    for (Object key : Arrays.asList(Long.MAX_VALUE, 12345, UUID.randomUUID())) {
+      Assert.assertTrue(compact.createPortableKey(key).length() < valueModeHandler.createPortableKey(key).length());
+    }
+  }
+
+  @Test
+  public void testLegacyPortableKeysStillReadable() throws Exception {
+    ValueModeHandlerSerialization compact = new ValueModeHandlerSerialization(true);
+    Assert.assertEquals(42L, compact.getRealKeyObject(valueModeHandler.createPortableKey(42L)));
+    // without compact keys a string starting with the compact marker is just a string
+    String markedString = "\uFFFFJ16";
+    Assert.assertEquals(markedString, valueModeHandler.getRealKeyObject(valueModeHandler.createPortableKey(markedString)));
+    try {
+      compact.createPortableKey(markedString);
+      Assert.fail();
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
   private void checkSerialization(Element element) throws Exception {
     // Create ElementData and Serialize it
     ElementData eternalElementData = valueModeHandler.createElementData(element);
@@ -0,0 +1,149 @@
+/*
+ * All content copyright Terracotta, Inc., unless otherwise indicated. All rights reserved.
+ */
+package org.terracotta.modules.ehcache.store.nonstop;
+
+import net.sf.ehcache.Element;
+import net.sf.ehcache.store.TerracottaStore;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ehcache
+ */
+public class LocalReadShadowTest {
+
+  @Test
+  public void testShadowIsBounded() {
+    LocalReadShadow shadow = new LocalReadShadow(100, Long.MAX_VALUE);
+    for (int i = 0; i < 1000; i++) {
+      shadow.record(i, new Element(i, "value-" + i), shadow.stamp(i));
+    }
+    assertThat(shadow.size(), is(100));
+    assertThat(shadow.get(999).getObjectValue(), is((Object) "value-999"));
+  }
+
+  @Test
+  public void testHotKeysSurviveEviction() {
+    LocalReadShadow shadow = new LocalReadShadow(10, Long.MAX_VALUE);
+    for (int i = 0; i < 1000; i++) {
+      shadow.get(0);
+      shadow.record(i, new Element(i, "value-" + i), shadow.stamp(i));
+    }
+    assertThat(shadow.get(0).getObjectValue(), is((Object) "value-0"));
+  }
+
+  @Test
+  public void testInvalidation() {
+    LocalReadShadow shadow = new LocalReadShadow(10, Long.MAX_VALUE);
+    shadow.record("a", new Element("a", "1"), shadow.stamp("a"));
+    shadow.record("b", new Element("b", "2"), shadow.stamp("b"));
+    shadow.record("c", new Element("c", "3"), shadow.stamp("c"));
+    shadow.invalidate("a");
+    assertThat(shadow.get("a"), nullValue());
+    shadow.invalidateAll(Arrays.asList("b"));
+    assertThat(shadow.get("b"), nullValue());
+    shadow.invalidateElements(Arrays.asList(new Element("c", "4")));
+    assertThat(shadow.get("c"), nullValue());
+    assertThat(shadow.size(), is(0));
+  }
+
+  @Test
+  public void testReadRacingInvalidationIsNotRecorded() {
+    LocalReadShadow shadow = new LocalReadShadow(10, Long.MAX_VALUE);
+    shadow.record("a", new Element("a", "old"), shadow.stamp("a"));
+
+    long stamp = shadow.stamp("a");
+    shadow.invalidate("a");
+    shadow.record("a", new Element("a", "old"), stamp);
+    assertThat(shadow.get("a"), nullValue());
+
+    shadow.record("a", new Element("a", "new"), shadow.stamp("a"));
+    assertThat(shadow.get("a").getObjectValue(), is((Object) "new"));
+  }
+
+  @Test
+  public void testReadOverlappingWriteIsNotRecorded() {
+    LocalReadShadow shadow = new LocalReadShadow(10, Long.MAX_VALUE);
+    Element old = new Element("a", "old");
+
+    // the write invalidates, then a read starts and returns the value the write is about to replace
+    shadow.invalidate("a");
+    long stamp = shadow.stamp("a");
+    // the write is applied and returns before the read records its result
+    shadow.invalidate("a");
+    shadow.record("a", old, stamp);
+    assertThat(shadow.get("a"), nullValue());
+
+    // the read records its result before the write returns
+    shadow.invalidate("a");
+    stamp = shadow.stamp("a");
+    shadow.record("a", old, stamp);
+    shadow.invalidate("a");
+    assertThat(shadow.get("a"), nullValue());
+  }
+
+  @Test
+  public void testWritesToOtherStripesDoNotPreventRecording() {
+    LocalReadShadow shadow = new LocalReadShadow(10, Long.MAX_VALUE);
+    long stamp = shadow.stamp(1);
+    long[] stamps = shadow.stamps();
+    shadow.invalidate(2);
+    shadow.record(1, new Element(1, "1"), stamp);
+    assertThat(shadow.get(1).getObjectValue(), is((Object) "1"));
+
+    shadow.recordAll(Collections.singletonMap(3, new Element(3, "3")), stamps);
+    assertThat(shadow.get(3).getObjectValue(), is((Object) "3"));
+    shadow.recordAll(Collections.singletonMap(2, new Element(2, "2")), stamps);
+    assertThat(shadow.get(2), nullValue());
+  }
+
+  @Test
+  public void testOldEntriesAreNotServed() throws Exception {
+    LocalReadShadow shadow = new LocalReadShadow(10, 10);
+    shadow.record("a", new Element("a", "1"), shadow.stamp("a"));
+    Thread.sleep(50);
+    assertThat(shadow.get("a"), nullValue());
+    assertThat(shadow.size(), is(0));
+  }
+
+  @Test
+  public void testClear() {
+    LocalReadShadow shadow = new LocalReadShadow(10, Long.MAX_VALUE);
+    for (int i = 0; i < 10; i++) {
+      shadow.record(i, new Element(i, i), shadow.stamp(i));
+    }
+    shadow.clear();
+    assertThat(shadow.size(), is(0));
+    shadow.record(1, new Element(1, 1), shadow.stamp(1));
+    assertThat(shadow.size(), is(1));
+  }
+
+  @Test
+  public void testLocalReadsFallBackToShadow() {
+    Element local = new Element("local", "1");
+    Element shadowed = new Element("shadowed", "2");
+    TerracottaStore delegate = mock(TerracottaStore.class);
+    when(delegate.unsafeGet("local")).thenReturn(local);
+    LocalReadShadow shadow = new LocalReadShadow(10, Long.MAX_VALUE);
+    shadow.record("local", new Element("local", "stale"), shadow.stamp("local"));
+    shadow.record("shadowed", shadowed, shadow.stamp("shadowed"));
+
+    LocalReadsOnTimeoutStore store = new LocalReadsOnTimeoutStore(delegate, shadow);
+    assertThat(store.get("local"), sameInstance(local));
+    assertThat(store.get("shadowed"), sameInstance(shadowed));
+    assertThat(store.get("missing"), nullValue());
+    assertThat(new LocalReadsAndExceptionOnWritesTimeoutStore(delegate, shadow).getQuiet("shadowed"),
+               sameInstance(shadowed));
+  }
+}